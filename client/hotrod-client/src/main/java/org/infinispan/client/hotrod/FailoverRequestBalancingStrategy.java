@@ -3,6 +3,7 @@
 import java.net.SocketAddress;
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.ToDoubleFunction;
 
 import net.jcip.annotations.NotThreadSafe;
 
@@ -22,4 +23,13 @@ public interface FailoverRequestBalancingStrategy {
     * @return Address of the next server the request should be routed to.
     */
    SocketAddress nextServer(Set<SocketAddress> failedServers);
+
+   /**
+    * Gives the strategy access to the load of the servers, i.e. the expected cost of sending them a request based on
+    * their response time and on the requests waiting for their response. The function is thread-safe.
+    * @param serverLoad the load of a server, lower is better
+    * @since 13.0
+    */
+   default void setServerLoad(ToDoubleFunction<SocketAddress> serverLoad) {
+   }
 }
@@ -283,6 +283,19 @@ default CloseableIterator<Entry<Object, Object>> retrieveEntries(String filterCo
     */
    Publisher<Entry<K, MetadataValue<V>>> publishEntriesWithMetadata(Set<Integer> segments, int batchSize);
 
+   /**
+    * Publishes the entries mapped to the given keys, like {@link #getAll(Set)}, but emits the entries of each
+    * request as soon as the server answers it instead of waiting for all the servers. Keys that are not mapped are
+    * not published.
+    * <p>
+    * Any subscriber that subscribes to the returned Publisher must not block. It is therefore recommended to offload
+    * any blocking or long running operations to a different thread and not use the invoking one. Failure to do so
+    * may cause concurrent operations to stall.
+    * @param keys the keys to retrieve
+    * @return Publisher containing the entries mapped to the keys
+    */
+   Publisher<Entry<K, V>> publishEntriesByKeys(Set<? extends K> keys);
+
    /**
     * Returns the {@link MetadataValue} associated to the supplied key param, or null if it doesn't exist.
     */
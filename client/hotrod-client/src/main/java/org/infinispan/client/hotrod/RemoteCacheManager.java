@@ -580,7 +580,8 @@ private <K, V> InternalRemoteCache<K, V> createRemoteCache(String cacheName) {
       NearCacheConfiguration nearCache;
       if (remoteCacheConfiguration != null) {
          nearCache = new NearCacheConfiguration(remoteCacheConfiguration.nearCacheMode(), remoteCacheConfiguration.nearCacheMaxEntries(),
-               remoteCacheConfiguration.nearCacheBloomFilter());
+               remoteCacheConfiguration.nearCacheBloomFilter(), null, remoteCacheConfiguration.nearCacheWarmUp(),
+               remoteCacheConfiguration.nearCacheMaxBytes());
       } else {
          Pattern pattern = configuration.nearCache().cacheNamePattern();
          if (pattern == null || pattern.matcher(cacheName).matches()) {
@@ -198,6 +198,26 @@ public ConfigurationBuilder batchSize(int batchSize) {
       return builder.batchSize(batchSize);
    }
 
+   @Override
+   public ConfigurationBuilder bulkBatchSize(int bulkBatchSize) {
+      return builder.bulkBatchSize(bulkBatchSize);
+   }
+
+   @Override
+   public ConfigurationBuilder bulkBatchBytes(int bulkBatchBytes) {
+      return builder.bulkBatchBytes(bulkBatchBytes);
+   }
+
+   @Override
+   public ConfigurationBuilder balanceReads(boolean balanceReads) {
+      return builder.balanceReads(balanceReads);
+   }
+
+   @Override
+   public ConfigurationBuilder hedgedReads(boolean hedgedReads) {
+      return builder.hedgedReads(hedgedReads);
+   }
+
    @Override
    public StatisticsConfigurationBuilder statistics() {
       return builder.statistics();
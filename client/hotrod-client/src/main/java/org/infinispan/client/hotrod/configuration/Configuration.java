@@ -4,7 +4,10 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CALLBACK_HANDLER;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_CLIENT_SUBJECT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_SERVER_NAME;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BALANCE_READS;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BATCH_SIZE;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BULK_BATCH_BYTES;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BULK_BATCH_SIZE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CACHE_CONFIGURATION_SUFFIX;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CACHE_MARSHALLER;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CACHE_NEAR_CACHE_MODE_SUFFIX;
@@ -14,6 +17,7 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_EXHAUSTED_ACTION;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_ACTIVE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_PIPELINE_WAIT_MICROS;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_WAIT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_IDLE;
@@ -22,6 +26,7 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.DEFAULT_EXECUTOR_FACTORY_POOL_SIZE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.FORCE_RETURN_VALUES;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HASH_FUNCTION_PREFIX;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HEDGED_READS;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JAVA_SERIAL_ALLOWLIST;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_SIZE_ESTIMATE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_CERTIFICATE_PASSWORD;
@@ -105,6 +110,10 @@ public class Configuration {
    private final List<ClusterConfiguration> clusters;
    private final List<String> serialAllowList;
    private final int batchSize;
+   private final int bulkBatchSize;
+   private final int bulkBatchBytes;
+   private final boolean balanceReads;
+   private final boolean hedgedReads;
    private final ClassAllowList classAllowList;
    private final StatisticsConfiguration statistics;
    @Deprecated
@@ -120,6 +129,7 @@ public Configuration(ExecutorFactoryConfiguration asyncExecutorFactory, Supplier
                         ProtocolVersion protocolVersion, List<ServerConfiguration> servers, int socketTimeout, SecurityConfiguration security, boolean tcpNoDelay, boolean tcpKeepAlive,
                         int valueSizeEstimate, int maxRetries, NearCacheConfiguration nearCache,
                         List<ClusterConfiguration> clusters, List<String> serialAllowList, int batchSize,
+                        int bulkBatchSize, int bulkBatchBytes, boolean balanceReads, boolean hedgedReads,
                         TransactionConfiguration transaction, StatisticsConfiguration statistics, Features features,
                         List<SerializationContextInitializer> contextInitializers,
                         Map<String, RemoteCacheConfiguration> remoteCaches,
@@ -148,6 +158,10 @@ public Configuration(ExecutorFactoryConfiguration asyncExecutorFactory, Supplier
       this.serialAllowList = serialAllowList;
       this.classAllowList = new ClassAllowList(serialAllowList);
       this.batchSize = batchSize;
+      this.bulkBatchSize = bulkBatchSize;
+      this.bulkBatchBytes = bulkBatchBytes;
+      this.balanceReads = balanceReads;
+      this.hedgedReads = hedgedReads;
       this.transaction = transaction;
       this.statistics = statistics;
       this.features = features;
@@ -282,6 +296,22 @@ public int batchSize() {
       return batchSize;
    }
 
+   public int bulkBatchSize() {
+      return bulkBatchSize;
+   }
+
+   public int bulkBatchBytes() {
+      return bulkBatchBytes;
+   }
+
+   public boolean balanceReads() {
+      return balanceReads;
+   }
+
+   public boolean hedgedReads() {
+      return hedgedReads;
+   }
+
    public Map<String, RemoteCacheConfiguration> remoteCaches() {
       return Collections.unmodifiableMap(remoteCaches);
    }
@@ -359,6 +389,10 @@ public String toString() {
             + ", valueSizeEstimate=" + valueSizeEstimate + ", maxRetries=" + maxRetries
             + ", serialAllowList=" + serialAllowList
             + ", batchSize=" + batchSize
+            + ", bulkBatchSize=" + bulkBatchSize
+            + ", bulkBatchBytes=" + bulkBatchBytes
+            + ", balanceReads=" + balanceReads
+            + ", hedgedReads=" + hedgedReads
             + ", nearCache=" + nearCache
             + ", remoteCaches= " + remoteCaches
             + ", transaction=" + transaction
@@ -409,6 +443,7 @@ public Properties properties() {
       properties.setProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, connectionPool().minEvictableIdleTime());
       properties.setProperty("minEvictableIdleTimeMillis", connectionPool().minEvictableIdleTime());
       properties.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, connectionPool().maxPendingRequests());
+      properties.setProperty(CONNECTION_POOL_PIPELINE_WAIT_MICROS, connectionPool().pipelineWaitMicros());
 
       StringBuilder servers = new StringBuilder();
       for (ServerConfiguration server : servers()) {
@@ -465,6 +500,10 @@ public Properties properties() {
       properties.setProperty(JAVA_SERIAL_ALLOWLIST, String.join(",", serialAllowList));
 
       properties.setProperty(BATCH_SIZE, Integer.toString(batchSize));
+      properties.setProperty(BULK_BATCH_SIZE, Integer.toString(bulkBatchSize));
+      properties.setProperty(BULK_BATCH_BYTES, Integer.toString(bulkBatchBytes));
+      properties.setProperty(BALANCE_READS, Boolean.toString(balanceReads));
+      properties.setProperty(HEDGED_READS, Boolean.toString(hedgedReads));
 
       transaction.toProperties(properties);
 
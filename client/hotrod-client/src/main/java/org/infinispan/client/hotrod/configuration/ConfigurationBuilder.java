@@ -84,6 +84,10 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private final NearCacheConfigurationBuilder nearCache;
    private final List<String> allowListRegExs = new ArrayList<>();
    private int batchSize = ConfigurationProperties.DEFAULT_BATCH_SIZE;
+   private int bulkBatchSize = ConfigurationProperties.DEFAULT_BULK_BATCH_SIZE;
+   private int bulkBatchBytes = ConfigurationProperties.DEFAULT_BULK_BATCH_BYTES;
+   private boolean balanceReads;
+   private boolean hedgedReads;
    private final TransactionConfigurationBuilder transaction;
    private final StatisticsConfigurationBuilder statistics;
    private final List<ClusterConfigurationBuilder> clusters = new ArrayList<>();
@@ -366,6 +370,36 @@ public ConfigurationBuilder batchSize(int batchSize) {
       return this;
    }
 
+   @Override
+   public ConfigurationBuilder bulkBatchSize(int bulkBatchSize) {
+      if (bulkBatchSize <= 0) {
+         throw new IllegalArgumentException("bulkBatchSize must be greater than 0");
+      }
+      this.bulkBatchSize = bulkBatchSize;
+      return this;
+   }
+
+   @Override
+   public ConfigurationBuilder bulkBatchBytes(int bulkBatchBytes) {
+      if (bulkBatchBytes <= 0) {
+         throw new IllegalArgumentException("bulkBatchBytes must be greater than 0");
+      }
+      this.bulkBatchBytes = bulkBatchBytes;
+      return this;
+   }
+
+   @Override
+   public ConfigurationBuilder balanceReads(boolean balanceReads) {
+      this.balanceReads = balanceReads;
+      return this;
+   }
+
+   @Override
+   public ConfigurationBuilder hedgedReads(boolean hedgedReads) {
+      this.hedgedReads = hedgedReads;
+      return this;
+   }
+
    @Override
    public StatisticsConfigurationBuilder statistics() {
       return statistics;
@@ -486,6 +520,18 @@ public ConfigurationBuilder withProperties(Properties properties) {
       if (typed.containsKey(ConfigurationProperties.BATCH_SIZE)) {
          this.batchSize(typed.getIntProperty(ConfigurationProperties.BATCH_SIZE, batchSize, true));
       }
+      if (typed.containsKey(ConfigurationProperties.BULK_BATCH_SIZE)) {
+         this.bulkBatchSize(typed.getIntProperty(ConfigurationProperties.BULK_BATCH_SIZE, bulkBatchSize, true));
+      }
+      if (typed.containsKey(ConfigurationProperties.BULK_BATCH_BYTES)) {
+         this.bulkBatchBytes(typed.getIntProperty(ConfigurationProperties.BULK_BATCH_BYTES, bulkBatchBytes, true));
+      }
+      if (typed.containsKey(ConfigurationProperties.BALANCE_READS)) {
+         this.balanceReads(typed.getBooleanProperty(ConfigurationProperties.BALANCE_READS, balanceReads, true));
+      }
+      if (typed.containsKey(ConfigurationProperties.HEDGED_READS)) {
+         this.hedgedReads(typed.getBooleanProperty(ConfigurationProperties.HEDGED_READS, hedgedReads, true));
+      }
       //TODO read TRANSACTION_TIMEOUT property after TransactionConfigurationBuilder is removed.
       transaction.withTransactionProperties(typed);
       nearCache.withProperties(properties);
@@ -576,7 +622,7 @@ public Configuration create() {
             clientIntelligence, connectionPool.create(), connectionTimeout, consistentHashImpl, forceReturnValues,
             keySizeEstimate, buildMarshaller, buildMarshallerClass, protocolVersion, servers, socketTimeout,
             security.create(), tcpNoDelay, tcpKeepAlive, valueSizeEstimate, maxRetries, nearCache.create(),
-            serverClusterConfigs, allowListRegExs, batchSize, transaction.create(), statistics.create(), features,
+            serverClusterConfigs, allowListRegExs, batchSize, bulkBatchSize, bulkBatchBytes, balanceReads, hedgedReads, transaction.create(), statistics.create(), features,
             contextInitializers, remoteCaches, transportFactory);
    }
 
@@ -626,6 +672,10 @@ public ConfigurationBuilder read(Configuration template) {
       this.transportFactory = template.transportFactory();
       this.valueSizeEstimate = template.valueSizeEstimate();
       this.maxRetries = template.maxRetries();
+      this.bulkBatchSize = template.bulkBatchSize();
+      this.bulkBatchBytes = template.bulkBatchBytes();
+      this.balanceReads = template.balanceReads();
+      this.hedgedReads = template.hedgedReads();
       this.nearCache.read(template.nearCache());
       this.allowListRegExs.addAll(template.serialWhitelist());
       this.transaction.read(template.transaction());
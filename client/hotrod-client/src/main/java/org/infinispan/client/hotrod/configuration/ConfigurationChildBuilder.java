@@ -226,6 +226,42 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder batchSize(int batchSize);
 
+   /**
+    * Sets the maximum number of entries sent to a server in a single request by the bulk operations
+    * (ie. <code>getAll</code> and <code>putAll</code>). Larger bulk operations are split in several requests,
+    * which are pipelined. Defaults to 1_000
+    * @param bulkBatchSize the maximum number of entries in a request
+    * @return this configuration builder with the bulk batch size set
+    */
+   ConfigurationBuilder bulkBatchSize(int bulkBatchSize);
+
+   /**
+    * Sets the approximate maximum size in bytes of the entries sent to a server in a single request by the bulk
+    * operations (ie. <code>getAll</code> and <code>putAll</code>). For <code>getAll</code> the size of the values is
+    * estimated with {@link #valueSizeEstimate(int)}. A request always contains at least one entry. Defaults to 1 MiB
+    * @param bulkBatchBytes the maximum size of the entries in a request
+    * @return this configuration builder with the bulk batch bytes set
+    */
+   ConfigurationBuilder bulkBatchBytes(int bulkBatchBytes);
+
+   /**
+    * Whether the reads of a key (ie. <code>get</code> and <code>getWithMetadata</code>) are routed to the least loaded
+    * of two owners of the key, based on their response time and on the requests waiting for their response, instead
+    * of the primary owner. Only applies with {@link ClientIntelligence#HASH_DISTRIBUTION_AWARE}. Defaults to false
+    * @param balanceReads whether to balance the reads across the owners
+    * @return this configuration builder with the reads balancing set
+    */
+   ConfigurationBuilder balanceReads(boolean balanceReads);
+
+   /**
+    * Whether a read of a key (ie. <code>get</code> and <code>getWithMetadata</code>) is sent to another owner of the
+    * key when the response of the first owner is late compared to its usual response time. The first response
+    * completes the read. Only applies with {@link ClientIntelligence#HASH_DISTRIBUTION_AWARE}. Defaults to false
+    * @param hedgedReads whether to hedge the reads
+    * @return this configuration builder with the hedged reads set
+    */
+   ConfigurationBuilder hedgedReads(boolean hedgedReads);
+
    /**
     * Configures client-side statistics.
     */
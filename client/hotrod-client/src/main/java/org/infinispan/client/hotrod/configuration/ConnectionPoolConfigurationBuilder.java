@@ -19,6 +19,7 @@ public class ConnectionPoolConfigurationBuilder extends AbstractConfigurationChi
    private int minIdle = 1;
    private long minEvictableIdleTime = 1800000;
    private int maxPendingRequests = 5;
+   private long pipelineWaitMicros = ConfigurationProperties.DEFAULT_PIPELINE_WAIT_MICROS;
 
    ConnectionPoolConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -112,6 +113,17 @@ public ConnectionPoolConfigurationBuilder maxPendingRequests(int maxPendingReque
       return this;
    }
 
+   /**
+    * Specifies the time in microseconds a request waits for one of the connections to a server to be released, when
+    * all of them are in use but can still pipeline more requests, before creating a new connection instead.
+    * Setting it to 0 creates a new connection right away, as long as {@link #maxActive(int)} allows it.
+    * Default setting for this parameter is 1000 (1 millisecond).
+    */
+   public ConnectionPoolConfigurationBuilder pipelineWaitMicros(long pipelineWaitMicros) {
+      this.pipelineWaitMicros = pipelineWaitMicros;
+      return this;
+   }
+
    /**
     * Configures the connection pool parameter according to properties
     */
@@ -135,6 +147,8 @@ public ConnectionPoolConfigurationBuilder withPoolProperties(Properties properti
       maxPendingRequests(typed.getIntProperty(ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS,
             typed.getIntProperty("maxPendingRequests", maxPendingRequests, true),
             true));
+      pipelineWaitMicros(typed.getLongProperty(ConfigurationProperties.CONNECTION_POOL_PIPELINE_WAIT_MICROS,
+            pipelineWaitMicros, true));
 
       return this;
    }
@@ -145,7 +159,8 @@ public void validate() {
 
    @Override
    public ConnectionPoolConfiguration create() {
-      return new ConnectionPoolConfiguration(exhaustedAction, maxActive, maxWait, minIdle, minEvictableIdleTime, maxPendingRequests);
+      return new ConnectionPoolConfiguration(exhaustedAction, maxActive, maxWait, minIdle, minEvictableIdleTime, maxPendingRequests,
+            pipelineWaitMicros);
    }
 
    @Override
@@ -156,6 +171,7 @@ public ConnectionPoolConfigurationBuilder read(ConnectionPoolConfiguration templ
       minIdle = template.minIdle();
       minEvictableIdleTime = template.minEvictableIdleTime();
       maxPendingRequests = template.maxPendingRequests();
+      pipelineWaitMicros = template.pipelineWaitMicros();
       return this;
    }
 
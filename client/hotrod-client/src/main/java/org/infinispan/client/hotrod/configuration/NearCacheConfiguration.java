@@ -8,16 +8,30 @@ public class NearCacheConfiguration {
    private final int maxEntries;
    private final boolean bloomFilter;
    private final Pattern cacheNamePattern;
+   private final boolean warmUp;
+   private final long maxBytes;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries, boolean bloomFilterOptimization) {
       this(mode, maxEntries, bloomFilterOptimization, null);
    }
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries, boolean bloomFilter, Pattern cacheNamePattern) {
+      this(mode, maxEntries, bloomFilter, cacheNamePattern, false);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, boolean bloomFilter, Pattern cacheNamePattern,
+                                 boolean warmUp) {
+      this(mode, maxEntries, bloomFilter, cacheNamePattern, warmUp, -1);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, boolean bloomFilter, Pattern cacheNamePattern,
+                                 boolean warmUp, long maxBytes) {
       this.mode = mode;
       this.maxEntries = maxEntries;
       this.bloomFilter = bloomFilter;
       this.cacheNamePattern = cacheNamePattern;
+      this.warmUp = warmUp;
+      this.maxBytes = maxBytes;
    }
 
    public int maxEntries() {
@@ -36,6 +50,14 @@ public Pattern cacheNamePattern() {
       return cacheNamePattern;
    }
 
+   public boolean warmUp() {
+      return warmUp;
+   }
+
+   public long maxBytes() {
+      return maxBytes;
+   }
+
    @Override
    public String toString() {
       return "NearCacheConfiguration{" +
@@ -43,6 +65,8 @@ public String toString() {
             ", maxEntries=" + maxEntries +
             ", bloomFilter=" + bloomFilter +
             ", cacheNamePattern=" + cacheNamePattern +
+            ", warmUp=" + warmUp +
+            ", maxBytes=" + maxBytes +
             '}';
    }
 }
@@ -16,6 +16,8 @@ public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBui
    private Integer maxEntries = null; // undefined
    private Pattern cacheNamePattern = null; // matches all
    private boolean bloomFilter = false;
+   private boolean warmUp = false;
+   private long maxBytes = -1;
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -32,6 +34,19 @@ public NearCacheConfigurationBuilder maxEntries(int maxEntries) {
       return this;
    }
 
+   /**
+    * Specifies the maximum amount of memory, in bytes, the near cache can use. When positive, the near cache keeps the
+    * entries marshalled in off-heap memory and unmarshalls them on each read, evicting entries when either this limit
+    * or {@link #maxEntries(int)}, if positive, is reached.
+    *
+    * @param maxBytes maximum memory used by the near cache.
+    * @return an instance of the builder
+    */
+   public NearCacheConfigurationBuilder maxBytes(long maxBytes) {
+      this.maxBytes = maxBytes;
+      return this;
+   }
+
    /**
     * Specifies whether bloom filter should be used for near cache to limit the number of write
     * notifications for unrelated keys.
@@ -43,6 +58,18 @@ public NearCacheConfigurationBuilder bloomFilter(boolean enable) {
       return this;
    }
 
+   /**
+    * Specifies whether the near cache should be populated when it starts with the entries the server holds in memory,
+    * up to {@link #maxEntries(int)}, instead of warming up key by key.
+    *
+    * @param enable whether to warm up the near cache
+    * @return an instance of this builder
+    */
+   public NearCacheConfigurationBuilder warmUp(boolean enable) {
+      this.warmUp = enable;
+      return this;
+   }
+
    /**
     * Specifies the near caching mode. See {@link NearCacheMode} for details on the available modes.
     *
@@ -84,10 +111,11 @@ public NearCacheConfigurationBuilder cacheNamePattern(Pattern pattern) {
    @Override
    public void validate() {
       if (mode.enabled()) {
-         if (maxEntries == null) {
+         // The off-heap near cache can be bounded by its memory alone
+         if (maxEntries == null && maxBytes <= 0) {
             throw HOTROD.nearCacheMaxEntriesUndefined();
-         } else if (maxEntries < 0 && bloomFilter) {
-            throw HOTROD.nearCacheMaxEntriesPositiveWithBloom(maxEntries);
+         } else if ((maxEntries == null || maxEntries < 0) && bloomFilter) {
+            throw HOTROD.nearCacheMaxEntriesPositiveWithBloom(maxEntries == null ? -1 : maxEntries);
          }
 
          if (bloomFilter) {
@@ -102,7 +130,8 @@ public void validate() {
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, bloomFilter, cacheNamePattern);
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, bloomFilter, cacheNamePattern, warmUp,
+            maxBytes);
    }
 
    @Override
@@ -110,6 +139,8 @@ public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
       bloomFilter = template.bloomFilter();
+      warmUp = template.warmUp();
+      maxBytes = template.maxBytes();
       cacheNamePattern = template.cacheNamePattern();
       return this;
    }
@@ -120,12 +151,18 @@ public ConfigurationBuilder withProperties(Properties properties) {
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES)) {
          this.maxEntries(typed.getIntProperty(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES, -1));
       }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MAX_BYTES)) {
+         this.maxBytes(typed.getLongProperty(ConfigurationProperties.NEAR_CACHE_MAX_BYTES, -1));
+      }
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MODE)) {
          this.mode(NearCacheMode.valueOf(typed.getProperty(ConfigurationProperties.NEAR_CACHE_MODE)));
       }
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER)) {
          this.bloomFilter(typed.getBooleanProperty(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER, false));
       }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_WARM_UP)) {
+         this.warmUp(typed.getBooleanProperty(ConfigurationProperties.NEAR_CACHE_WARM_UP, false));
+      }
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_NAME_PATTERN)) {
          this.cacheNamePattern(typed.getProperty(ConfigurationProperties.NEAR_CACHE_NAME_PATTERN));
       }
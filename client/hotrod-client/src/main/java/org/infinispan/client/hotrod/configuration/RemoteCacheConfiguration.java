@@ -20,6 +20,8 @@ public class RemoteCacheConfiguration {
    public static final AttributeDefinition<NearCacheMode> NEAR_CACHE_MODE = AttributeDefinition.builder("near-cache-mode", NearCacheMode.DISABLED).build();
    public static final AttributeDefinition<Integer> NEAR_CACHE_MAX_ENTRIES = AttributeDefinition.builder("near-cache-max-entries", -1).build();
    public static final AttributeDefinition<Boolean> NEAR_CACHE_BLOOM_FILTER = AttributeDefinition.builder("near-cache-bloom-filter", false).build();
+   public static final AttributeDefinition<Long> NEAR_CACHE_MAX_BYTES = AttributeDefinition.builder("near-cache-max-bytes", -1L).build();
+   public static final AttributeDefinition<Boolean> NEAR_CACHE_WARM_UP = AttributeDefinition.builder("near-cache-warm-up", false).build();
    public static final AttributeDefinition<String> TEMPLATE_NAME = AttributeDefinition.builder("template-name", null, String.class).build();
    public static final AttributeDefinition<TransactionMode> TRANSACTION_MODE = AttributeDefinition.builder("transaction-mode", TransactionMode.NONE).build();
    public static final AttributeDefinition<TransactionManagerLookup> TRANSACTION_MANAGER = AttributeDefinition.builder("transaction-manager", GenericTransactionManagerLookup.getInstance(), TransactionManagerLookup.class).build();
@@ -27,7 +29,7 @@ public class RemoteCacheConfiguration {
    public static final AttributeDefinition<Class> MARSHALLER_CLASS = AttributeDefinition.builder("marshallerClass", null, Class.class).build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(RemoteCacheConfiguration.class, CONFIGURATION, FORCE_RETURN_VALUES, NAME, MARSHALLER, MARSHALLER_CLASS, NEAR_CACHE_MODE, NEAR_CACHE_MAX_ENTRIES, NEAR_CACHE_BLOOM_FILTER, TEMPLATE_NAME, TRANSACTION_MODE, TRANSACTION_MANAGER);
+      return new AttributeSet(RemoteCacheConfiguration.class, CONFIGURATION, FORCE_RETURN_VALUES, NAME, MARSHALLER, MARSHALLER_CLASS, NEAR_CACHE_MODE, NEAR_CACHE_MAX_ENTRIES, NEAR_CACHE_BLOOM_FILTER, NEAR_CACHE_MAX_BYTES, NEAR_CACHE_WARM_UP, TEMPLATE_NAME, TRANSACTION_MODE, TRANSACTION_MANAGER);
    }
 
    private final Attribute<String> configuration;
@@ -38,6 +40,8 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<NearCacheMode> nearCacheMode;
    private final Attribute<Integer> nearCacheMaxEntries;
    private final Attribute<Boolean> nearCacheBloomFilter;
+   private final Attribute<Long> nearCacheMaxBytes;
+   private final Attribute<Boolean> nearCacheWarmUp;
    private final Attribute<String> templateName;
    private final Attribute<TransactionMode> transactionMode;
    private final Attribute<TransactionManagerLookup> transactionManager;
@@ -53,6 +57,8 @@ static AttributeSet attributeDefinitionSet() {
       nearCacheMode = attributes.attribute(NEAR_CACHE_MODE);
       nearCacheMaxEntries = attributes.attribute(NEAR_CACHE_MAX_ENTRIES);
       nearCacheBloomFilter = attributes.attribute(NEAR_CACHE_BLOOM_FILTER);
+      nearCacheMaxBytes = attributes.attribute(NEAR_CACHE_MAX_BYTES);
+      nearCacheWarmUp = attributes.attribute(NEAR_CACHE_WARM_UP);
       templateName = attributes.attribute(TEMPLATE_NAME);
       transactionMode = attributes.attribute(TRANSACTION_MODE);
       transactionManager = attributes.attribute(TRANSACTION_MANAGER);
@@ -90,6 +96,14 @@ public boolean nearCacheBloomFilter() {
       return nearCacheBloomFilter.get();
    }
 
+   public long nearCacheMaxBytes() {
+      return nearCacheMaxBytes.get();
+   }
+
+   public boolean nearCacheWarmUp() {
+      return nearCacheWarmUp.get();
+   }
+
    public String templateName() {
       return templateName.get();
    }
@@ -6,8 +6,10 @@
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.MARSHALLER_CLASS;
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.NAME;
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.NEAR_CACHE_BLOOM_FILTER;
+import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.NEAR_CACHE_MAX_BYTES;
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.NEAR_CACHE_MAX_ENTRIES;
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.NEAR_CACHE_MODE;
+import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.NEAR_CACHE_WARM_UP;
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.TEMPLATE_NAME;
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.TRANSACTION_MANAGER;
 import static org.infinispan.client.hotrod.configuration.RemoteCacheConfiguration.TRANSACTION_MODE;
@@ -96,6 +98,30 @@ public RemoteCacheConfigurationBuilder nearCacheUseBloomFilter(boolean enable) {
       return this;
    }
 
+   /**
+    * Specifies the maximum amount of memory, in bytes, the near cache can use. When positive, the entries are kept
+    * marshalled in off-heap memory and unmarshalled on each read.
+    *
+    * @param maxBytes maximum memory used by the near cache
+    * @return an instance of this builder
+    */
+   public RemoteCacheConfigurationBuilder nearCacheMaxBytes(long maxBytes) {
+      attributes.attribute(NEAR_CACHE_MAX_BYTES).set(maxBytes);
+      return this;
+   }
+
+   /**
+    * Specifies whether the near cache should be populated when it starts with the entries the server holds in memory,
+    * up to {@link #nearCacheMaxEntries(int)}.
+    *
+    * @param enable whether to warm up the near cache
+    * @return an instance of this builder
+    */
+   public RemoteCacheConfigurationBuilder nearCacheWarmUp(boolean enable) {
+      attributes.attribute(NEAR_CACHE_WARM_UP).set(enable);
+      return this;
+   }
+
    /**
     * Specifies the declarative configuration to be used to create the cache if it doesn't already exist on the server.
     *
@@ -92,6 +92,30 @@
  *          <td>The {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#batchSize(int) size} of a batches when iterating</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.bulk_batch_size</b></td>
+ *          <td>Integer</td>
+ *          <td>1000</td>
+ *          <td>The maximum {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#bulkBatchSize(int) number of entries} sent to a server in a single getAll/putAll request</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.bulk_batch_bytes</b></td>
+ *          <td>Integer</td>
+ *          <td>1048576</td>
+ *          <td>The approximate maximum {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#bulkBatchBytes(int) size} of the entries sent to a server in a single getAll/putAll request</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.balance_reads</b></td>
+ *          <td>Boolean</td>
+ *          <td>false</td>
+ *          <td>Whether to {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#balanceReads(boolean) route} the reads of a key to the least loaded of its owners instead of its primary owner</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.hedged_reads</b></td>
+ *          <td>Boolean</td>
+ *          <td>false</td>
+ *          <td>Whether to {@link org.infinispan.client.hotrod.configuration.ConfigurationBuilder#hedgedReads(boolean) send} a read of a key to another owner when the response of the first one is late</td>
+ *       </tr>
+ *       <tr>
  *          <td><b>infinispan.client.hotrod.protocol_version</b></td>
  *          <td>String</td>
  *          <td>The highest version supported by the client in use</td>
@@ -143,6 +167,12 @@
  *          <td>Specifies maximum number of {@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfigurationBuilder#maxPendingRequests(int) requests} sent over single connection at one instant.</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.connection_pool.pipeline_wait_micros</b></td>
+ *          <td>Long</td>
+ *          <td>1000</td>
+ *          <td>{@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfigurationBuilder#pipelineWaitMicros(long) Time} to wait in microseconds for a connection that can pipeline more requests before creating a new one. 0 creates a new connection right away.</td>
+ *       </tr>
+ *       <tr>
  *          <th colspan="4">Thread pool properties</th>
  *       </tr>
  *       <tr>
@@ -392,6 +422,18 @@
  *          <td>The {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#maxEntries(int) maximum} number of entries to keep in the local cache. It is preferable to use the per-cache configuration.</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.max_bytes</b></td>
+ *          <td>Long</td>
+ *          <td>-1 (on-heap near cache)</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#maxBytes(long) maximum} amount of memory used by the near cache. When positive, the entries are kept marshalled in off-heap memory. It is preferable to use the per-cache configuration.</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.warm_up</b></td>
+ *          <td>Boolean</td>
+ *          <td>false</td>
+ *          <td>Whether to {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#warmUp(boolean) populate} the near cache with the entries held in memory by the server when it starts. It is preferable to use the per-cache configuration.</td>
+ *       </tr>
+ *       <tr>
  *          <td><b><s>infinispan.client.hotrod.near_cache.name_pattern</s></b></td>
  *          <td>String (regex pattern, see {@link java.util.regex.Pattern})</td>
  *          <td>null (matches all cache names)</td>
@@ -4,6 +4,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
 import org.infinispan.client.hotrod.jmx.RemoteCacheClientStatisticsMXBean;
 import org.infinispan.client.hotrod.near.NearCacheService;
 import org.infinispan.commons.time.TimeService;
@@ -15,14 +16,24 @@ public final class ClientStatistics implements RemoteCacheClientStatisticsMXBean
    private final AtomicLong resetNanoseconds = new AtomicLong(0);
    private final NearCacheService nearCacheService;
    private final TimeService timeService;
+   private final ChannelFactory channelFactory;
    private final StripedCounters<StripeB> counters = new StripedCounters<>(StripeC::new);
+   // The flushes are counted by the channel factory, keep the count at the last reset
+   private volatile long flushesAtReset;
+   private volatile long flushesResetNanoseconds;
 
-   ClientStatistics(boolean enabled, TimeService timeService, NearCacheService nearCacheService) {
+   ClientStatistics(boolean enabled, TimeService timeService, NearCacheService nearCacheService, ChannelFactory channelFactory) {
       this.enabled = enabled;
       this.timeService = timeService;
       this.nearCacheService = nearCacheService;
+      this.channelFactory = channelFactory;
       if (nearCacheService != null)
          nearCacheService.setInvalidationCallback(this::incrementNearCacheInvalidations);
+      resetFlushes();
+   }
+
+   ClientStatistics(boolean enabled, TimeService timeService, NearCacheService nearCacheService) {
+      this(enabled, timeService, nearCacheService, null);
    }
 
    ClientStatistics(boolean enabled, TimeService timeService) {
@@ -100,6 +111,26 @@ public long getNearCacheSize() {
       return nearCacheService != null ? nearCacheService.size() : 0;
    }
 
+   @Override
+   public double getPipelineDepth() {
+      return channelFactory != null ? channelFactory.getPipelineDepth() : 0;
+   }
+
+   @Override
+   public double getFlushesPerSecond() {
+      if (channelFactory == null)
+         return 0;
+      long nanoseconds = timeService.timeDuration(flushesResetNanoseconds, TimeUnit.NANOSECONDS);
+      if (nanoseconds == 0)
+         return 0;
+      return (channelFactory.getFlushes() - flushesAtReset) * (double) TimeUnit.SECONDS.toNanos(1) / nanoseconds;
+   }
+
+   private void resetFlushes() {
+      flushesAtReset = channelFactory != null ? channelFactory.getFlushes() : 0;
+      flushesResetNanoseconds = timeService.time();
+   }
+
    public long time() {
       return timeService.time();
    }
@@ -156,6 +187,7 @@ public void resetStatistics() {
       counters.reset(StripeB.nearCacheMissesFieldUpdater);
       counters.reset(StripeB.nearCacheInvalidationsFieldUpdater);
 
+      resetFlushes();
       startNanoseconds.set(timeService.time());
       resetNanoseconds.set(startNanoseconds.get());
    }
@@ -87,6 +87,10 @@ public class ConfigurationProperties {
    @Deprecated
    public static final String JAVA_SERIAL_WHITELIST = ICH + "java_serial_whitelist";
    public static final String BATCH_SIZE = ICH + "batch_size";
+   public static final String BULK_BATCH_SIZE = ICH + "bulk_batch_size";
+   public static final String BULK_BATCH_BYTES = ICH + "bulk_batch_bytes";
+   public static final String BALANCE_READS = ICH + "balance_reads";
+   public static final String HEDGED_READS = ICH + "hedged_reads";
    // Statistics properties
    public static final String STATISTICS = ICH + "statistics";
    public static final String JMX = ICH + "jmx";
@@ -100,12 +104,15 @@ public class ConfigurationProperties {
    public static final String NEAR_CACHE_MAX_ENTRIES = ICH + "near_cache.max_entries";
    public static final String NEAR_CACHE_MODE = ICH + "near_cache.mode";
    public static final String NEAR_CACHE_BLOOM_FILTER = ICH + "near_cache.bloom_filter";
+   public static final String NEAR_CACHE_MAX_BYTES = ICH + "near_cache.max_bytes";
+   public static final String NEAR_CACHE_WARM_UP = ICH + "near_cache.warm_up";
    public static final String NEAR_CACHE_NAME_PATTERN = ICH + "near_cache.name_pattern";
    // Pool properties
    public static final String CONNECTION_POOL_MAX_ACTIVE = ICH + "connection_pool.max_active";
    public static final String CONNECTION_POOL_MAX_WAIT = ICH + "connection_pool.max_wait";
    public static final String CONNECTION_POOL_MIN_IDLE = ICH + "connection_pool.min_idle";
    public static final String CONNECTION_POOL_MAX_PENDING_REQUESTS = ICH + "connection_pool.max_pending_requests";
+   public static final String CONNECTION_POOL_PIPELINE_WAIT_MICROS = ICH + "connection_pool.pipeline_wait_micros";
    public static final String CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME = ICH + "connection_pool.min_evictable_idle_time";
    public static final String CONNECTION_POOL_EXHAUSTED_ACTION = ICH + "connection_pool.exhausted_action";
    // XSite properties
@@ -140,7 +147,10 @@ public class ConfigurationProperties {
    public static final int DEFAULT_CONNECT_TIMEOUT = 60_000;
    public static final int DEFAULT_MAX_RETRIES = 10;
    public static final int DEFAULT_BATCH_SIZE = 10_000;
+   public static final int DEFAULT_BULK_BATCH_SIZE = 1_000;
+   public static final int DEFAULT_BULK_BATCH_BYTES = 1024 * 1024;
    public static final int DEFAULT_MAX_PENDING_REQUESTS = 5;
+   public static final long DEFAULT_PIPELINE_WAIT_MICROS = 1000L;
    public static final long DEFAULT_MIN_EVICTABLE_IDLE_TIME = 1800000L;
    public static final int DEFAULT_MAX_ACTIVE = -1;
    public static final int DEFAULT_MAX_WAIT = -1;
@@ -494,6 +504,38 @@ public void setBatchSize(int batchSize) {
       props.setProperty(BATCH_SIZE, batchSize);
    }
 
+   public int getBulkBatchSize() {
+      return props.getIntProperty(BULK_BATCH_SIZE, DEFAULT_BULK_BATCH_SIZE);
+   }
+
+   public void setBulkBatchSize(int bulkBatchSize) {
+      props.setProperty(BULK_BATCH_SIZE, bulkBatchSize);
+   }
+
+   public int getBulkBatchBytes() {
+      return props.getIntProperty(BULK_BATCH_BYTES, DEFAULT_BULK_BATCH_BYTES);
+   }
+
+   public void setBulkBatchBytes(int bulkBatchBytes) {
+      props.setProperty(BULK_BATCH_BYTES, bulkBatchBytes);
+   }
+
+   public boolean getBalanceReads() {
+      return props.getBooleanProperty(BALANCE_READS, false);
+   }
+
+   public void setBalanceReads(boolean balanceReads) {
+      props.setProperty(BALANCE_READS, balanceReads);
+   }
+
+   public boolean getHedgedReads() {
+      return props.getBooleanProperty(HEDGED_READS, false);
+   }
+
+   public void setHedgedReads(boolean hedgedReads) {
+      props.setProperty(HEDGED_READS, hedgedReads);
+   }
+
    public void setStatistics(boolean statistics) {
       props.setProperty(STATISTICS, statistics);
    }
@@ -586,6 +628,14 @@ public void setConnectionPoolMaxPendingRequests(int connectionPoolMaxPendingRequ
       props.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, connectionPoolMaxPendingRequests);
    }
 
+   public long getConnectionPoolPipelineWaitMicros() {
+      return props.getLongProperty(CONNECTION_POOL_PIPELINE_WAIT_MICROS, DEFAULT_PIPELINE_WAIT_MICROS);
+   }
+
+   public void setConnectionPoolPipelineWaitMicros(long connectionPoolPipelineWaitMicros) {
+      props.setProperty(CONNECTION_POOL_PIPELINE_WAIT_MICROS, connectionPoolPipelineWaitMicros);
+   }
+
    public long setConnectionPoolMinEvictableIdleTime() {
       return props.getLongProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, DEFAULT_MIN_EVICTABLE_IDLE_TIME);
    }
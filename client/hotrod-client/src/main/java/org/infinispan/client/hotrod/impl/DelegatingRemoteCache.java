@@ -249,6 +249,11 @@ public Publisher<Entry<K, MetadataValue<V>>> publishEntriesWithMetadata(Set<Inte
       return delegate.publishEntriesWithMetadata(segments, batchSize);
    }
 
+   @Override
+   public Publisher<Entry<K, V>> publishEntriesByKeys(Set<? extends K> keys) {
+      return delegate.publishEntriesByKeys(keys);
+   }
+
    @Override
    public CompletableFuture<V> removeAsync(Object key) {
       return delegate.removeAsync(key);
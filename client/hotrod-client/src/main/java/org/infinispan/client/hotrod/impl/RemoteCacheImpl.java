@@ -66,7 +66,9 @@
 import org.infinispan.query.dsl.Query;
 import org.reactivestreams.Publisher;
 
+import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.FlowableEmitter;
 
 /**
  * @author Mircea.Markus@jboss.com
@@ -96,7 +98,8 @@ public RemoteCacheImpl(RemoteCacheManager rcm, String name, TimeService timeServ
       this.name = name;
       this.remoteCacheManager = rcm;
       this.dataFormat = DataFormat.builder().build();
-      this.clientStatistics = new ClientStatistics(rcm.getConfiguration().statistics().enabled(), timeService, nearCacheService);
+      this.clientStatistics = new ClientStatistics(rcm.getConfiguration().statistics().enabled(), timeService, nearCacheService,
+            rcm.getChannelFactory());
    }
 
    protected RemoteCacheImpl(RemoteCacheManager rcm, String name, ClientStatistics clientStatistics) {
@@ -233,6 +236,30 @@ public Publisher<Entry<K, MetadataValue<V>>> publishEntriesWithMetadata(Set<Inte
             batchSize, true, dataFormat);
    }
 
+   @Override
+   public Publisher<Entry<K, V>> publishEntriesByKeys(Set<? extends K> keys) {
+      assertRemoteCacheManagerIsStarted();
+      if (keys.isEmpty()) {
+         return Flowable.empty();
+      }
+      Set<byte[]> byteKeys = new HashSet<>(keys.size());
+      for (Object key : keys) {
+         byteKeys.add(keyToBytes(key));
+      }
+      return Flowable.<Map<K, V>>create(emitter -> {
+         FlowableEmitter<Map<K, V>> serialEmitter = emitter.serialize();
+         GetAllParallelOperation<K, V> op = operationsFactory.newGetAllOperation(byteKeys, dataFormat, serialEmitter::onNext);
+         serialEmitter.setCancellable(() -> op.cancel(true));
+         op.execute().whenComplete((ignore, t) -> {
+            if (t != null) {
+               serialEmitter.onError(t);
+            } else {
+               serialEmitter.onComplete();
+            }
+         });
+      }, BackpressureStrategy.BUFFER).concatMapIterable(Map::entrySet);
+   }
+
    @Override
    public CompletableFuture<MetadataValue<V>> getWithMetadataAsync(K key) {
       assertRemoteCacheManagerIsStarted();
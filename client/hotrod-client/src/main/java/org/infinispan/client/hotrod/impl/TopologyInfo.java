@@ -156,6 +156,19 @@ public Optional<SocketAddress> getHashAwareServer(Object key, byte[] cacheName)
       return Optional.empty();
    }
 
+   /**
+    * @return the owners of the key, the primary owner first, or {@code null} if the consistent hash is not known
+    */
+   public SocketAddress[] getHashAwareOwners(Object key, byte[] cacheName) {
+      if (isTopologyValid(cacheName)) {
+         ConsistentHash consistentHash = consistentHashes.get(new WrappedByteArray(cacheName));
+         if (consistentHash != null) {
+            return consistentHash.getOwners(key);
+         }
+      }
+      return null;
+   }
+
    public boolean isTopologyValid(byte[] cacheName) {
       Integer id = topologyIds.get(new WrappedByteArray(cacheName)).get();
       Boolean valid = id == null || id.intValue() != HotRodConstants.SWITCH_CLUSTER_TOPOLOGY;
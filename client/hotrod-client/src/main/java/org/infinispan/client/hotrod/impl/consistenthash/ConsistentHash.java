@@ -17,6 +17,13 @@ public interface ConsistentHash {
 
    SocketAddress getServer(Object key);
 
+   /**
+    * @return the servers owning the key, the primary owner first
+    */
+   default SocketAddress[] getOwners(Object key) {
+      return new SocketAddress[]{getServer(key)};
+   }
+
    /**
     * Computes hash code of a given object, and then normalizes it to ensure a positive
     * value is always returned.
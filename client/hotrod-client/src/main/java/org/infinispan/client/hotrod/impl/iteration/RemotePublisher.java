@@ -43,6 +43,7 @@
    private final boolean metadata;
    private final DataFormat dataFormat;
    private final KeyTracker segmentKeyTracker;
+   private final int flags;
 
    private final Set<SocketAddress> failedServers = ConcurrentHashMap.newKeySet();
 
@@ -51,6 +52,8 @@ public RemotePublisher(OperationsFactory operationsFactory, String filterConvert
       this.operationsFactory = operationsFactory;
       this.filterConverterFactory = filterConverterFactory;
       this.filterParams = filterParams;
+      // The flags are thread local, capture them for the operations started when subscribing
+      this.flags = operationsFactory.flags();
       SegmentConsistentHash segmentConsistentHash = (SegmentConsistentHash) operationsFactory.getConsistentHash();
       if (segments == null) {
          if (segmentConsistentHash != null) {
@@ -175,6 +178,7 @@ void completeSegments(IntSet completedSegments) {
 
    CompletionStage<IterationStartResponse> newIteratorStartOperation(SocketAddress address, IntSet segments,
          int batchSize) {
+      operationsFactory.setFlags(flags);
       IterationStartOperation iterationStartOperation = operationsFactory.newIterationStartOperation(filterConverterFactory,
             filterParams, segments, batchSize, metadata, dataFormat, address);
       return iterationStartOperation.execute();
@@ -44,6 +44,11 @@ protected void fetchChannelAndInvoke(int retryCount, Set<SocketAddress> failedSe
       }
    }
 
+   @Override
+   public long responseTime() {
+      return elapsedSinceRegistered();
+   }
+
    protected T returnPossiblePrevValue(ByteBuf buf, short status) {
       return (T) codec.returnPossiblePrevValue(buf, status, dataFormat, flags, cfg.getClassAllowList(), channelFactory.getMarshaller());
    }
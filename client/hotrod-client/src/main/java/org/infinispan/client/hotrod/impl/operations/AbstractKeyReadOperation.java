@@ -0,0 +1,132 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.impl.ClientStatistics;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelRecord;
+
+import io.netty.channel.Channel;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Base class for the operations reading a single key.
+ * <p>
+ * With {@link Configuration#balanceReads()} the read is routed to any owner of the key, see
+ * {@link ChannelFactory#fetchChannelAndInvokeRead}. With {@link Configuration#hedgedReads()}, when the server does
+ * not respond within its {@link ChannelFactory#getLateResponseTime(SocketAddress) late response time}, a copy of the
+ * read is sent to another owner, and the first response completes the operation.
+ *
+ * @since 13.0
+ */
+@Immutable
+public abstract class AbstractKeyReadOperation<T> extends AbstractKeyOperation<T> {
+   // Only set in the hedged copy of a read
+   private SocketAddress hedgedServer;
+   private boolean hedgeScheduled;
+   private volatile ScheduledFuture<?> hedgeFuture;
+
+   protected AbstractKeyReadOperation(short requestCode, short responseCode, Codec codec, ChannelFactory channelFactory,
+                                      Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId,
+                                      int flags, Configuration cfg, DataFormat dataFormat,
+                                      ClientStatistics clientStatistics) {
+      super(requestCode, responseCode, codec, channelFactory, key, keyBytes, cacheName, topologyId, flags, cfg,
+            dataFormat, clientStatistics);
+   }
+
+   /**
+    * @return a new operation reading the same key with the same parameters
+    */
+   protected abstract AbstractKeyReadOperation<T> copy();
+
+   /**
+    * @return whether the read can be sent to another owner when the response is late
+    */
+   protected boolean canHedge() {
+      return true;
+   }
+
+   @Override
+   protected void fetchChannelAndInvoke(int retryCount, Set<SocketAddress> failedServers) {
+      if (retryCount == 0 && hedgedServer != null) {
+         channelFactory.fetchChannelAndInvoke(hedgedServer, this);
+      } else if (retryCount == 0) {
+         channelFactory.fetchChannelAndInvokeRead(key == null ? keyBytes : key, failedServers, cacheName, this);
+      } else {
+         super.fetchChannelAndInvoke(retryCount, failedServers);
+      }
+   }
+
+   @Override
+   protected void scheduleRead(Channel channel) {
+      super.scheduleRead(channel);
+      if (cfg.hedgedReads() && hedgedServer == null && !hedgeScheduled && canHedge()) {
+         // Only the first attempt is hedged, a retry already goes to another server
+         hedgeScheduled = true;
+         SocketAddress server = ChannelRecord.of(channel).getUnresolvedAddress();
+         long lateResponseTime = channelFactory.getLateResponseTime(server);
+         if (lateResponseTime > 0) {
+            hedgeFuture = channel.eventLoop().schedule(() -> hedge(server), lateResponseTime, TimeUnit.NANOSECONDS);
+            // The response may be received before the future is set
+            if (isDone()) {
+               cancelHedge();
+            }
+         }
+      }
+   }
+
+   @Override
+   public boolean complete(T value) {
+      cancelHedge();
+      return super.complete(value);
+   }
+
+   @Override
+   public boolean completeExceptionally(Throwable ex) {
+      cancelHedge();
+      return super.completeExceptionally(ex);
+   }
+
+   private void cancelHedge() {
+      ScheduledFuture<?> future = hedgeFuture;
+      if (future != null) {
+         future.cancel(false);
+      }
+   }
+
+   private void hedge(SocketAddress server) {
+      if (isDone()) {
+         return;
+      }
+      SocketAddress otherOwner = channelFactory.getHedgedReadServer(key == null ? keyBytes : key, server, cacheName);
+      if (otherOwner == null) {
+         return;
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("No response from %s for %s, sending it to %s", server, this, otherOwner);
+      }
+      AbstractKeyReadOperation<T> copy = copy();
+      copy.hedgedServer = otherOwner;
+      // The response of this operation is ignored if the copy completes it first, and vice versa
+      copy.execute().whenComplete((value, throwable) -> {
+         if (throwable == null) {
+            complete(value);
+         }
+      });
+   }
+
+   @Override
+   protected void statsDataRead(boolean success) {
+      // The read is only counted by the original operation
+      if (hedgedServer == null) {
+         super.statsDataRead(success);
+      }
+   }
+}
@@ -27,14 +27,23 @@
 @Immutable
 public class GetAllOperation<K, V> extends StatsAffectingRetryingOperation<Map<K, V>> {
 
+   private final GetAllParallelOperation<K, V> parent;
    private Map<K, V> result;
    private int size = -1;
 
    public GetAllOperation(Codec codec, ChannelFactory channelFactory,
                           Set<byte[]> keys, byte[] cacheName, AtomicInteger topologyId,
                           int flags, Configuration cfg, DataFormat dataFormat, ClientStatistics clientStatistics) {
+      this(codec, channelFactory, keys, cacheName, topologyId, flags, cfg, dataFormat, clientStatistics, null);
+   }
+
+   GetAllOperation(Codec codec, ChannelFactory channelFactory,
+                   Set<byte[]> keys, byte[] cacheName, AtomicInteger topologyId,
+                   int flags, Configuration cfg, DataFormat dataFormat, ClientStatistics clientStatistics,
+                   GetAllParallelOperation<K, V> parent) {
       super(GET_ALL_REQUEST, GET_ALL_RESPONSE, codec, channelFactory, cacheName, topologyId, flags, cfg, dataFormat, clientStatistics);
       this.keys = keys;
+      this.parent = parent;
    }
 
    protected final Set<byte[]> keys;
@@ -66,6 +75,10 @@ protected void reset() {
 
    @Override
    protected void fetchChannelAndInvoke(int retryCount, Set<SocketAddress> failedServers) {
+      if (retryCount > 0 && parent != null) {
+         // Only retry the keys that are still routed together, the others are sent in new batches
+         parent.reroute(keys, failedServers);
+      }
       channelFactory.fetchChannelAndInvoke(keys.iterator().next(), failedServers, cacheName, this);
    }
 
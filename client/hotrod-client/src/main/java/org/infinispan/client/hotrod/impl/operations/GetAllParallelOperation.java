@@ -1,18 +1,22 @@
 package org.infinispan.client.hotrod.impl.operations;
 
 import java.net.SocketAddress;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.impl.ClientStatistics;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
 import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
 
 /**
@@ -21,26 +25,47 @@
 public class GetAllParallelOperation<K, V> extends ParallelHotRodOperation<Map<K, V>, GetAllOperation<K, V>> {
 
    private final Set<byte[]> keys;
+   private final Consumer<Map<K, V>> partialResults;
 
    protected GetAllParallelOperation(Codec codec, ChannelFactory channelFactory, Set<byte[]> keys, byte[]
          cacheName, AtomicInteger topologyId, int flags, Configuration cfg, DataFormat dataFormat, ClientStatistics clientStatistics) {
+      this(codec, channelFactory, keys, cacheName, topologyId, flags, cfg, dataFormat, clientStatistics, null);
+   }
+
+   /**
+    * @param partialResults if not {@code null}, receives the results of each batch as soon as the server answers,
+    *                       one batch at a time, and the operation completes with an empty map
+    */
+   protected GetAllParallelOperation(Codec codec, ChannelFactory channelFactory, Set<byte[]> keys, byte[]
+         cacheName, AtomicInteger topologyId, int flags, Configuration cfg, DataFormat dataFormat, ClientStatistics clientStatistics,
+                                     Consumer<Map<K, V>> partialResults) {
       super(codec, channelFactory, cacheName, topologyId, flags, cfg, dataFormat, clientStatistics);
       this.keys = keys;
+      this.partialResults = partialResults;
    }
 
    @Override
    protected List<GetAllOperation<K, V>> mapOperations() {
-      Map<SocketAddress, Set<byte[]>> splittedKeys = new HashMap<>();
+      return mapOperations(keys);
+   }
 
-      for (byte[] key : keys) {
-         SocketAddress socketAddress = channelFactory.getSocketAddress(key, cacheName);
-         Set<byte[]> keys = splittedKeys.computeIfAbsent(socketAddress, k -> new HashSet<>());
-         keys.add(key);
-      }
+   private List<GetAllOperation<K, V>> mapOperations(Collection<byte[]> keys) {
+      // The size of the response is what matters for the budget
+      int valueSizeEstimate = cfg.valueSizeEstimate();
+      return split(keys, Function.identity(), key -> ByteBufUtil.estimateArraySize(key) + valueSizeEstimate).stream().map(
+            keysSubset -> new GetAllOperation<K, V>(codec, channelFactory, new HashSet<>(keysSubset), cacheName, header.topologyId(),
+                  flags, cfg, dataFormat, clientStatistics, this)).collect(Collectors.toList());
+   }
 
-      return splittedKeys.values().stream().map(
-            keysSubset -> new GetAllOperation<K, V>(codec, channelFactory, keysSubset, cacheName, header.topologyId(),
-                  flags, cfg, dataFormat, clientStatistics)).collect(Collectors.toList());
+   /**
+    * Invoked by a batch that is about to be retried: the keys that are no longer routed together with its first key
+    * are removed from the batch and sent in new batches.
+    */
+   void reroute(Set<byte[]> batchKeys, Set<SocketAddress> failedServers) {
+      List<byte[]> rerouted = extractRerouted(batchKeys, Function.identity(), failedServers);
+      if (rerouted != null) {
+         submit(mapOperations(rerouted));
+      }
    }
 
    @Override
@@ -50,6 +75,10 @@ protected Map<K, V> createCollector() {
 
    @Override
    protected void combine(Map<K, V> collector, Map<K, V> result) {
-      collector.putAll(result);
+      if (partialResults != null) {
+         partialResults.accept(result);
+      } else {
+         collector.putAll(result);
+      }
    }
 }
@@ -22,7 +22,7 @@
  * @since 4.1
  */
 @Immutable
-public class GetOperation<V> extends AbstractKeyOperation<V> {
+public class GetOperation<V> extends AbstractKeyReadOperation<V> {
 
    public GetOperation(Codec codec, ChannelFactory channelFactory,
                        Object key, byte[] keyBytes, byte[] cacheName, AtomicInteger topologyId, int flags,
@@ -30,6 +30,12 @@ public GetOperation(Codec codec, ChannelFactory channelFactory,
       super(GET_REQUEST, GET_RESPONSE, codec, channelFactory, key, keyBytes, cacheName, topologyId, flags, cfg, dataFormat, clientStatistics);
    }
 
+   @Override
+   protected GetOperation<V> copy() {
+      return new GetOperation<>(codec, channelFactory, key, keyBytes, cacheName, header.topologyId(), flags, cfg,
+            dataFormat, clientStatistics);
+   }
+
    @Override
    public void executeOperation(Channel channel) {
       scheduleRead(channel);
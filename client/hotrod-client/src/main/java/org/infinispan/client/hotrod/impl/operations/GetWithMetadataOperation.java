@@ -29,7 +29,7 @@
  * @since 5.2
  */
 @Immutable
-public class GetWithMetadataOperation<V> extends AbstractKeyOperation<MetadataValue<V>> implements RetryAwareCompletionStage<MetadataValue<V>> {
+public class GetWithMetadataOperation<V> extends AbstractKeyReadOperation<MetadataValue<V>> implements RetryAwareCompletionStage<MetadataValue<V>> {
 
    private static final Log log = LogFactory.getLog(GetWithMetadataOperation.class);
 
@@ -52,6 +52,18 @@ public RetryAwareCompletionStage<MetadataValue<V>> internalExecute() {
       return (RetryAwareCompletionStage<MetadataValue<V>>) super.execute();
    }
 
+   @Override
+   protected GetWithMetadataOperation<V> copy() {
+      return new GetWithMetadataOperation<>(codec, channelFactory, key, keyBytes, cacheName, header.topologyId(), flags,
+            cfg, dataFormat, clientStatistics, null);
+   }
+
+   @Override
+   protected boolean canHedge() {
+      // The near cache reads from the server its listener is registered on
+      return preferredServer == null;
+   }
+
    @Override
    protected void executeOperation(Channel channel) {
       scheduleRead(channel);
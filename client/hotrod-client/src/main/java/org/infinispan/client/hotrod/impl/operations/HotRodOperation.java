@@ -52,6 +52,7 @@
    private final MarshallerRegistry marshallerRegistry;
    protected volatile ScheduledFuture<?> timeoutFuture;
    private Channel channel;
+   private long registeredNanos;
 
    private static final byte NO_TX = 0;
    private static final byte XA_TX = 1;
@@ -169,9 +170,22 @@ public boolean completeExceptionally(Throwable ex) {
    public void scheduleTimeout(Channel channel) {
       assert timeoutFuture == null;
       this.channel = channel;
+      this.registeredNanos = System.nanoTime();
       this.timeoutFuture = channel.eventLoop().schedule(this, channelFactory.socketTimeout(), TimeUnit.MILLISECONDS);
    }
 
+   /**
+    * @return the nanoseconds elapsed since the request was registered on its channel, or -1 if the operation is not
+    * representative of the response time of the server, e.g. because it is a bulk operation
+    */
+   public long responseTime() {
+      return -1;
+   }
+
+   protected long elapsedSinceRegistered() {
+      return System.nanoTime() - registeredNanos;
+   }
+
    private void cancelTimeout() {
       // Timeout future is not set if the operation completes before scheduling a read:
       // see RemoveClientListenerOperation.fetchChannelAndInvoke
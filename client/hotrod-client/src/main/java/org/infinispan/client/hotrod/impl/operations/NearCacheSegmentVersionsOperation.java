@@ -0,0 +1,78 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelOperation;
+import org.infinispan.client.hotrod.impl.transport.netty.HeaderDecoder;
+import org.infinispan.client.hotrod.near.SegmentVersions;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * Retrieves the invalidation sequence numbers of the segments a server is the primary owner of.
+ *
+ * @since 13.0
+ */
+public class NearCacheSegmentVersionsOperation extends HotRodOperation<SegmentVersions> implements ChannelOperation {
+   private final SocketAddress address;
+   private long epoch;
+   private int numSegments;
+   private int size = -1;
+   private Map<Integer, Long> sequences;
+
+   protected NearCacheSegmentVersionsOperation(Codec codec, ChannelFactory channelFactory, byte[] cacheName,
+                                               AtomicInteger topologyId, int flags, Configuration cfg,
+                                               SocketAddress address) {
+      super(NEAR_CACHE_SEGMENT_VERSIONS_REQUEST, NEAR_CACHE_SEGMENT_VERSIONS_RESPONSE, codec, flags, cfg, cacheName,
+            topologyId, channelFactory);
+      this.address = address;
+   }
+
+   @Override
+   public CompletableFuture<SegmentVersions> execute() {
+      try {
+         channelFactory.fetchChannelAndInvoke(address, this);
+      } catch (Exception e) {
+         completeExceptionally(e);
+      }
+      return this;
+   }
+
+   @Override
+   public void invoke(Channel channel) {
+      sendHeaderAndRead(channel);
+      releaseChannel(channel);
+   }
+
+   @Override
+   public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
+      if (size < 0) {
+         epoch = buf.readLong();
+         numSegments = ByteBufUtil.readVInt(buf);
+         size = ByteBufUtil.readVInt(buf);
+         sequences = new HashMap<>(size);
+         decoder.checkpoint();
+      }
+      while (sequences.size() < size) {
+         int segment = ByteBufUtil.readVInt(buf);
+         long sequence = ByteBufUtil.readVLong(buf);
+         sequences.put(segment, sequence);
+         decoder.checkpoint();
+      }
+      complete(new SegmentVersions(epoch, numSegments, sequences));
+   }
+
+   @Override
+   public void cancel(SocketAddress address, Throwable cause) {
+      completeExceptionally(cause);
+   }
+}
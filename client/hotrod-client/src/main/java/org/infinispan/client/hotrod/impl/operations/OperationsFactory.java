@@ -1,11 +1,14 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import javax.transaction.xa.Xid;
 
@@ -108,6 +111,12 @@ public <K, V> GetAllParallelOperation<K, V> newGetAllOperation(Set<byte[]> keys,
             cfg, dataFormat, clientStatistics);
    }
 
+   public <K, V> GetAllParallelOperation<K, V> newGetAllOperation(Set<byte[]> keys, DataFormat dataFormat,
+                                                                  Consumer<Map<K, V>> partialResults) {
+      return new GetAllParallelOperation<>(codec, channelFactory, keys, cacheNameBytes, topologyId, flags(),
+            cfg, dataFormat, clientStatistics, partialResults);
+   }
+
    public <V> RemoveOperation<V> newRemoveOperation(Object key, byte[] keyBytes, DataFormat dataFormat) {
       return new RemoveOperation<>(
             codec, channelFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), cfg, dataFormat, clientStatistics);
@@ -215,6 +224,12 @@ public UpdateBloomFilterOperation newUpdateBloomFilterOperation(SocketAddress ad
             bloomBytes);
    }
 
+   public NearCacheSegmentVersionsOperation newNearCacheSegmentVersionsOperation(SocketAddress address) {
+      // The flags are not used, and the thread local ones belong to the operation that triggered the request
+      return new NearCacheSegmentVersionsOperation(codec, channelFactory, cacheNameBytes, topologyId, 0, cfg,
+            address);
+   }
+
    /**
     * Construct a ping request directed to a particular node.
     *
@@ -313,6 +328,10 @@ public ConsistentHash getConsistentHash() {
       return channelFactory.getConsistentHash(cacheNameBytes);
    }
 
+   public Collection<InetSocketAddress> getServers() {
+      return channelFactory.getServers(cacheNameBytes);
+   }
+
    public int getTopologyId() {
       return channelFactory.getTopologyId(cacheNameBytes);
    }
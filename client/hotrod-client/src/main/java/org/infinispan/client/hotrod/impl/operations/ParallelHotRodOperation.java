@@ -1,8 +1,20 @@
 package org.infinispan.client.hotrod.impl.operations;
 
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.configuration.Configuration;
@@ -15,11 +27,19 @@
 
 /**
  * An HotRod operation that span across multiple remote nodes concurrently (like getAll / putAll).
+ * <p>
+ * The entries are split by their primary owner and the entries of each owner are cut in batches of at most
+ * {@link Configuration#bulkBatchSize()} entries and {@link Configuration#bulkBatchBytes()} bytes, which are pipelined
+ * on the connections to that owner. When a batch has to be retried, its entries that are now owned by a different
+ * server are re-routed in new batches rather than retrying the whole batch on a single server.
  *
  * @author Guillaume Darmont / guillaume@dropinocean.com
  */
 public abstract class ParallelHotRodOperation<T, SUBOP extends HotRodOperation<T>> extends StatsAffectingHotRodOperation<T> {
    protected final ChannelFactory channelFactory;
+   private final AtomicInteger pending = new AtomicInteger();
+   private final Queue<SUBOP> operations = new ConcurrentLinkedQueue<>();
+   private T collector;
 
    protected ParallelHotRodOperation(Codec codec, ChannelFactory channelFactory, byte[] cacheName, AtomicInteger
          topologyId, int flags, Configuration cfg, DataFormat dataFormat, ClientStatistics clientStatistics) {
@@ -33,20 +53,31 @@ public CompletableFuture<T> execute() {
 
       if (operations.isEmpty()) {
          return CompletableFuture.completedFuture(createCollector());
-      } else if (operations.size() == 1) {
-         // Only one operation to do, we stay in the caller thread
-         return operations.get(0).execute();
-      } else {
-         // Multiple operation, submit to the thread poll
-         return executeParallel(operations);
       }
+      collector = createCollector();
+      this.exceptionally(throwable -> {
+         for (SUBOP operation : this.operations) {
+            operation.cancel(true);
+         }
+         return null;
+      });
+      submit(operations);
+      return this;
    }
 
-   private CompletableFuture<T> executeParallel(List<SUBOP> operations) {
-      T collector = createCollector();
-      AtomicInteger counter = new AtomicInteger(operations.size());
+   /**
+    * Executes additional sub-operations, e.g. the batches re-routed by a sub-operation that is retried.
+    * Must be invoked before the sub-operation that re-routed the entries completes.
+    */
+   protected void submit(List<SUBOP> operations) {
+      if (isDone()) {
+         return;
+      }
+      pending.addAndGet(operations.size());
       for (SUBOP operation : operations) {
+         this.operations.add(operation);
          operation.execute().whenComplete((result, throwable) -> {
+            this.operations.remove(operation);
             if (throwable != null) {
                completeExceptionally(throwable);
             } else {
@@ -55,19 +86,78 @@ private CompletableFuture<T> executeParallel(List<SUBOP> operations) {
                      combine(collector, result);
                   }
                }
-               if (counter.decrementAndGet() == 0) {
+               if (pending.decrementAndGet() == 0) {
                   complete(collector);
                }
             }
          });
       }
-      this.exceptionally(throwable -> {
-         for (SUBOP operation : operations) {
-            operation.cancel(true);
+   }
+
+   /**
+    * Splits the entries by the server owning their key, and cuts the entries of each server in batches that fit in
+    * the configured entry and byte budget. A batch contains at least one entry.
+    *
+    * @param entries     the entries to split
+    * @param keyFunction returns the key of an entry
+    * @param sizeFunction returns the estimated size in bytes of an entry
+    * @return the batches
+    */
+   protected <E> List<List<E>> split(Collection<E> entries, Function<E, byte[]> keyFunction, ToIntFunction<E> sizeFunction) {
+      int maxEntries = cfg.bulkBatchSize();
+      long maxBytes = cfg.bulkBatchBytes();
+      List<List<E>> batches = new ArrayList<>();
+      Map<SocketAddress, List<E>> openBatches = new HashMap<>();
+      Map<SocketAddress, Long> openBytes = new HashMap<>();
+      for (E entry : entries) {
+         SocketAddress socketAddress = channelFactory.getSocketAddress(keyFunction.apply(entry), cacheName);
+         int size = sizeFunction.applyAsInt(entry);
+         List<E> batch = openBatches.get(socketAddress);
+         long bytes = openBytes.getOrDefault(socketAddress, 0L);
+         if (batch == null || batch.size() >= maxEntries || (!batch.isEmpty() && bytes + size > maxBytes)) {
+            batch = new ArrayList<>();
+            batches.add(batch);
+            openBatches.put(socketAddress, batch);
+            bytes = 0;
          }
-         return null;
-      });
-      return this;
+         batch.add(entry);
+         openBytes.put(socketAddress, bytes + size);
+      }
+      return batches;
+   }
+
+   /**
+    * Removes from the entries of a sub-operation that is about to be retried the entries that are no longer routed to
+    * the same server as its first entry, e.g. after a topology change or because their owner failed.
+    *
+    * @param entries       the entries of the sub-operation, the first entry is retained
+    * @param keyFunction   returns the key of an entry
+    * @param failedServers the servers the sub-operation failed on
+    * @return the entries that were removed and must be re-routed, or {@code null} if all the entries still go together
+    */
+   protected <E> List<E> extractRerouted(Collection<E> entries, Function<E, byte[]> keyFunction, Set<SocketAddress> failedServers) {
+      List<E> rerouted = null;
+      SocketAddress target = null;
+      boolean first = true;
+      for (Iterator<E> iterator = entries.iterator(); iterator.hasNext(); ) {
+         E entry = iterator.next();
+         SocketAddress socketAddress = channelFactory.getSocketAddress(keyFunction.apply(entry), cacheName);
+         if (failedServers != null && failedServers.contains(socketAddress)) {
+            // Routed to whichever server the balancing strategy picks
+            socketAddress = null;
+         }
+         if (first) {
+            target = socketAddress;
+            first = false;
+         } else if (!Objects.equals(target, socketAddress)) {
+            if (rerouted == null) {
+               rerouted = new ArrayList<>();
+            }
+            rerouted.add(entry);
+            iterator.remove();
+         }
+      }
+      return rerouted;
    }
 
    protected abstract List<SUBOP> mapOperations();
@@ -35,14 +35,25 @@ public PutAllOperation(Codec codec, ChannelFactory channelFactory,
                           int flags, Configuration cfg,
                           long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit,
                           DataFormat dataFormat, ClientStatistics clientStatistics) {
+      this(codec, channelFactory, map, cacheName, topologyId, flags, cfg, lifespan, lifespanTimeUnit, maxIdle,
+            maxIdleTimeUnit, dataFormat, clientStatistics, null);
+   }
+
+   PutAllOperation(Codec codec, ChannelFactory channelFactory,
+                   Map<byte[], byte[]> map, byte[] cacheName, AtomicInteger topologyId,
+                   int flags, Configuration cfg,
+                   long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit,
+                   DataFormat dataFormat, ClientStatistics clientStatistics, PutAllParallelOperation parent) {
       super(PUT_ALL_REQUEST, PUT_ALL_RESPONSE, codec, channelFactory, cacheName, topologyId, flags, cfg, dataFormat, clientStatistics);
       this.map = map;
       this.lifespan = lifespan;
       this.lifespanTimeUnit = lifespanTimeUnit;
       this.maxIdle = maxIdle;
       this.maxIdleTimeUnit = maxIdleTimeUnit;
+      this.parent = parent;
    }
 
+   private final PutAllParallelOperation parent;
    protected final Map<byte[], byte[]> map;
    protected final long lifespan;
    private final TimeUnit lifespanTimeUnit;
@@ -73,6 +84,10 @@ protected void executeOperation(Channel channel) {
 
    @Override
    protected void fetchChannelAndInvoke(int retryCount, Set<SocketAddress> failedServers) {
+      if (retryCount > 0 && parent != null) {
+         // Only retry the entries that are still routed together, the others are sent in new batches
+         parent.reroute(map, failedServers);
+      }
       channelFactory.fetchChannelAndInvoke(map.keySet().iterator().next(), failedServers, cacheName, this);
    }
 
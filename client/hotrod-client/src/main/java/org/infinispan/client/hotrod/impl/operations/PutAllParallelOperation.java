@@ -1,9 +1,11 @@
 package org.infinispan.client.hotrod.impl.operations;
 
 import java.net.SocketAddress;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -12,6 +14,7 @@
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.impl.ClientStatistics;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
 import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
 
 /**
@@ -39,21 +42,30 @@ public PutAllParallelOperation(Codec codec, ChannelFactory channelFactory, Map<b
 
    @Override
    protected List<PutAllOperation> mapOperations() {
-      Map<SocketAddress, Map<byte[], byte[]>> splittedMaps = new HashMap<>();
+      return mapOperations(map.entrySet());
+   }
 
-      for (Map.Entry<byte[], byte[]> entry : map.entrySet()) {
-         SocketAddress socketAddress = channelFactory.getSocketAddress(entry.getKey(), cacheName);
-         Map<byte[], byte[]> keyValueMap = splittedMaps.get(socketAddress);
-         if (keyValueMap == null) {
-            keyValueMap = new HashMap<>();
-            splittedMaps.put(socketAddress, keyValueMap);
+   private List<PutAllOperation> mapOperations(Collection<Map.Entry<byte[], byte[]>> entries) {
+      return split(entries, Map.Entry::getKey, entry -> ByteBufUtil.estimateArraySize(entry.getKey()) +
+            ByteBufUtil.estimateArraySize(entry.getValue())).stream().map(entriesSubset -> {
+         Map<byte[], byte[]> mapSubset = new HashMap<>(entriesSubset.size());
+         for (Map.Entry<byte[], byte[]> entry : entriesSubset) {
+            mapSubset.put(entry.getKey(), entry.getValue());
          }
-         keyValueMap.put(entry.getKey(), entry.getValue());
-      }
+         return new PutAllOperation(codec, channelFactory, mapSubset, cacheName, header.topologyId(), flags,
+               cfg, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, dataFormat, clientStatistics, this);
+      }).collect(Collectors.toList());
+   }
 
-      return splittedMaps.values().stream().map(
-            mapSubset -> new PutAllOperation(codec, channelFactory, mapSubset, cacheName, header.topologyId(), flags,
-                  cfg, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, dataFormat, clientStatistics)).collect(Collectors.toList());
+   /**
+    * Invoked by a batch that is about to be retried: the entries that are no longer routed together with its first
+    * entry are removed from the batch and sent in new batches.
+    */
+   void reroute(Map<byte[], byte[]> batch, Set<SocketAddress> failedServers) {
+      List<Map.Entry<byte[], byte[]>> rerouted = extractRerouted(batch.entrySet(), Map.Entry::getKey, failedServers);
+      if (rerouted != null) {
+         submit(mapOperations(rerouted));
+      }
    }
 
    @Override
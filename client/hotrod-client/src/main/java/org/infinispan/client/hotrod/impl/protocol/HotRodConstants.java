@@ -70,6 +70,7 @@ public interface HotRodConstants {
 
    byte ADD_BLOOM_FILTER_NEAR_CACHE_LISTENER_REQUEST = 0x41;
    byte UPDATE_BLOOM_FILTER_REQUEST = 0x43;
+   byte NEAR_CACHE_SEGMENT_VERSIONS_REQUEST = 0x45;
 
    byte COUNTER_CREATE_REQUEST = 0x4B;
    byte COUNTER_GET_CONFIGURATION_REQUEST = 0x4D;
@@ -122,6 +123,7 @@ public interface HotRodConstants {
    byte ROLLBACK_RESPONSE = 0x40;
    byte ADD_BLOOM_FILTER_NEAR_CACHE_LISTENER_RESPONSE= 0x42;
    byte UPDATE_BLOOM_FILTER_RESPONSE = 0x44;
+   byte NEAR_CACHE_SEGMENT_VERSIONS_RESPONSE = 0x46;
    byte FORGET_TX_RESPONSE = 0x7A;
    byte FETCH_TX_RECOVERY_RESPONSE = 0x7C;
    byte PREPARE_TX_2_RESPONSE = 0x7E;
@@ -21,6 +21,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -99,6 +100,7 @@ public class ChannelFactory {
 
    private MarshallerRegistry marshallerRegistry;
    private final LongAdder totalRetries = new LongAdder();
+   private final FlushCountingHandler flushCountingHandler = new FlushCountingHandler();
 
    public void start(Codec codec, Configuration configuration, AtomicInteger defaultCacheTopologyId,
                      Marshaller marshaller, ExecutorService executorService,
@@ -180,16 +182,18 @@ private ChannelPool newPool(SocketAddress address) {
       if (maxConnections < 0) {
          maxConnections = Integer.MAX_VALUE;
       }
-      ChannelInitializer channelInitializer = new ChannelInitializer(bootstrap, address, operationsFactory, configuration, this);
+      ChannelInitializer channelInitializer = new ChannelInitializer(bootstrap, address, operationsFactory, configuration, this, flushCountingHandler);
       bootstrap.handler(channelInitializer);
       ChannelPool pool = new ChannelPool(bootstrap.config().group().next(), address, channelInitializer, configuration.connectionPool().exhaustedAction(),
-            configuration.connectionPool().maxWait(), maxConnections, configuration.connectionPool().maxPendingRequests());
+            configuration.connectionPool().maxWait(), maxConnections, configuration.connectionPool().maxPendingRequests(),
+            configuration.connectionPool().pipelineWaitMicros());
       channelInitializer.setChannelPool(pool);
       return pool;
    }
 
    private FailoverRequestBalancingStrategy createBalancer(WrappedByteArray cacheName) {
       FailoverRequestBalancingStrategy balancer = configuration.balancingStrategyFactory().get();
+      balancer.setServerLoad(this::getServerLoad);
       balancer.setServers((Collection)topologyInfo.getServers(cacheName));
       return balancer;
    }
@@ -324,6 +328,47 @@ public <T extends ChannelOperation> T fetchChannelAndInvoke(Object key, Set<Sock
       return fetchChannelAndInvoke(server, operation);
    }
 
+   /**
+    * Like {@link #fetchChannelAndInvoke(Object, Set, byte[], ChannelOperation)} for an operation reading the key:
+    * if {@link Configuration#balanceReads()} is enabled, the read is routed to the least loaded of two owners of the
+    * key instead of the primary owner.
+    */
+   public <T extends ChannelOperation> T fetchChannelAndInvokeRead(Object key, Set<SocketAddress> failedServers, byte[] cacheName, T operation) {
+      if (configuration.balanceReads()) {
+         SocketAddress[] owners = topologyInfo.getHashAwareOwners(key, cacheName);
+         SocketAddress server = owners == null ? null : selectOwner(owners, failedServers, null);
+         if (server != null) {
+            return fetchChannelAndInvoke(server, operation);
+         }
+      }
+      return fetchChannelAndInvoke(key, failedServers, cacheName, operation);
+   }
+
+   /**
+    * @return the owner of the key a hedged read should be sent to, or {@code null} if the key has no other owner
+    */
+   public SocketAddress getHedgedReadServer(Object key, SocketAddress server, byte[] cacheName) {
+      SocketAddress[] owners = topologyInfo.getHashAwareOwners(key, cacheName);
+      return owners == null ? null : selectOwner(owners, null, server);
+   }
+
+   private SocketAddress selectOwner(SocketAddress[] owners, Set<SocketAddress> failedServers, SocketAddress excluded) {
+      SocketAddress first = null;
+      int start = ThreadLocalRandom.current().nextInt(owners.length);
+      for (int i = 0; i < owners.length; i++) {
+         SocketAddress owner = owners[(start + i) % owners.length];
+         if (owner.equals(excluded) || failedServers != null && failedServers.contains(owner)) {
+            continue;
+         }
+         if (first == null) {
+            first = owner;
+         } else {
+            return getServerLoad(first) <= getServerLoad(owner) ? first : owner;
+         }
+      }
+      return first;
+   }
+
    public void releaseChannel(Channel channel) {
       // Due to ISPN-7955 we need to keep addresses unresolved. However resolved and unresolved addresses
       // are not deemed equal, and that breaks the comparison in channelPool - had we used channel.remoteAddress()
@@ -587,6 +632,39 @@ public int getNumActive(SocketAddress address) {
       return pool == null ? 0 : pool.getActive();
    }
 
+   /**
+    * @return the expected cost of sending a request to the server, see {@link FailoverRequestBalancingStrategy#setServerLoad}.
+    * A server without a response time yet is expected to respond like the average of the other servers, so that it
+    * is neither always preferred nor always avoided.
+    */
+   public double getServerLoad(SocketAddress address) {
+      long unsampledResponseTime = getMeanResponseTime();
+      ChannelPool pool = channelPoolMap.get(address);
+      return pool == null ? unsampledResponseTime : pool.getLoad(unsampledResponseTime);
+   }
+
+   private long getMeanResponseTime() {
+      long total = 0;
+      int sampled = 0;
+      for (ChannelPool pool : channelPoolMap.values()) {
+         long responseTime = pool.getResponseTime();
+         if (responseTime > 0) {
+            total += responseTime;
+            sampled++;
+         }
+      }
+      // Without any response time the servers are only compared by their pending requests
+      return sampled == 0 ? 1 : total / sampled;
+   }
+
+   /**
+    * @return the nanoseconds after which a response of the server is late, or 0 if it is not known yet
+    */
+   public long getLateResponseTime(SocketAddress address) {
+      ChannelPool pool = channelPoolMap.get(address);
+      return pool == null ? 0 : pool.getLateResponseTime();
+   }
+
    public int getNumIdle(SocketAddress address) {
       ChannelPool pool = channelPoolMap.get(address);
       return pool == null ? 0 : pool.getIdle();
@@ -600,6 +678,27 @@ public int getNumIdle() {
       return channelPoolMap.values().stream().mapToInt(ChannelPool::getIdle).sum();
    }
 
+   /**
+    * @return the average number of requests waiting for a response on each connection to the servers
+    */
+   public double getPipelineDepth() {
+      long pendingRequests = 0;
+      int connected = 0;
+      for (ChannelPool pool : channelPoolMap.values()) {
+         pendingRequests += pool.getPendingRequests();
+         connected += pool.getConnected();
+      }
+      return connected == 0 ? 0 : (double) pendingRequests / connected;
+   }
+
+   /**
+    * @return the number of flushes of the connections to the servers, each of them writing the requests written to
+    * a connection in the same event loop iteration
+    */
+   public long getFlushes() {
+      return flushCountingHandler.getFlushes();
+   }
+
    public Configuration getConfiguration() {
       return configuration;
    }
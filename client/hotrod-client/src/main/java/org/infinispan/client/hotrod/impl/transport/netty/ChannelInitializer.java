@@ -33,6 +33,7 @@
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.handler.ssl.SslContext;
@@ -42,21 +43,24 @@
 
 class ChannelInitializer extends io.netty.channel.ChannelInitializer<Channel> {
    private static final Log log = LogFactory.getLog(ChannelInitializer.class);
+   private static final String FLUSH_CONSOLIDATION_HANDLER = "flush-consolidation-handler";
 
    private final Bootstrap bootstrap;
    private final SocketAddress unresolvedAddress;
    private final OperationsFactory operationsFactory;
    private final Configuration configuration;
    private final ChannelFactory channelFactory;
+   private final FlushCountingHandler flushCountingHandler;
    private ChannelPool channelPool;
    private volatile boolean isFirstPing = true;
 
-   ChannelInitializer(Bootstrap bootstrap, SocketAddress unresolvedAddress, OperationsFactory operationsFactory, Configuration configuration, ChannelFactory channelFactory) {
+   ChannelInitializer(Bootstrap bootstrap, SocketAddress unresolvedAddress, OperationsFactory operationsFactory, Configuration configuration, ChannelFactory channelFactory, FlushCountingHandler flushCountingHandler) {
       this.bootstrap = bootstrap;
       this.unresolvedAddress = unresolvedAddress;
       this.operationsFactory = operationsFactory;
       this.configuration = configuration;
       this.channelFactory = channelFactory;
+      this.flushCountingHandler = flushCountingHandler;
    }
 
    CompletableFuture<Channel> createChannel() {
@@ -74,6 +78,8 @@ protected void initChannel(Channel channel) throws Exception {
       if (configuration.security().ssl().enabled()) {
          initSsl(channel);
       }
+      // Counts the flushes that reach the socket, so it must be closest to it
+      channel.pipeline().addFirst(FlushCountingHandler.NAME, flushCountingHandler);
 
       AuthenticationConfiguration authentication = configuration.security().authentication();
       if (authentication.enabled()) {
@@ -93,6 +99,9 @@ protected void initChannel(Channel channel) throws Exception {
          channel.pipeline().addLast(ActivationHandler.NAME, ActivationHandler.INSTANCE);
       }
       channel.pipeline().addLast(HeaderDecoder.NAME, new HeaderDecoder(operationsFactory.getCodec(), channelFactory, configuration, operationsFactory.getListenerNotifier()));
+      // The requests are written and flushed from many threads, coalesce the flushes of an event loop iteration
+      channel.pipeline().addLast(FLUSH_CONSOLIDATION_HANDLER, new FlushConsolidationHandler(
+            FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
       if (configuration.connectionPool().minEvictableIdleTime() > 0) {
          // This handler needs to be the last so that HeaderDecoder has the chance to cancel the idle event
          channel.pipeline().addLast(IdleStateHandlerProvider.NAME,
@@ -31,9 +31,15 @@
  * channel is available.
  * <p>
  * The connections are handled LIFO, pending requests are handled FIFO.
+ * <p>
+ * A channel is only acquired while a request is written, the responses are matched to the requests by the
+ * {@link HeaderDecoder}, so many requests can be in flight on the same channel. When all the channels are acquired but
+ * they are still below {@code maxPendingRequests} requests in flight each, the request waits for a channel to be
+ * released rather than opening a new connection, unless no channel is released within {@code pipelineWaitMicros}.
  */
 class ChannelPool {
    private static final AtomicIntegerFieldUpdater<TimeoutCallback> invokedUpdater = AtomicIntegerFieldUpdater.newUpdater(TimeoutCallback.class, "invoked");
+   private static final AtomicIntegerFieldUpdater<PipelineCallback> pipelineInvokedUpdater = AtomicIntegerFieldUpdater.newUpdater(PipelineCallback.class, "invoked");
    private static final Log log = LogFactory.getLog(ChannelPool.class);
    private static final int MAX_FULL_CHANNELS_SEEN = 10;
 
@@ -46,12 +52,20 @@ class ChannelPool {
    private final long maxWait;
    private final int maxConnections;
    private final int maxPendingRequests;
+   private final long pipelineWaitMicros;
    private final AtomicInteger created = new AtomicInteger();
    private final AtomicInteger active = new AtomicInteger();
+   // requests written to the channels of this pool and still waiting for a response
+   private final AtomicInteger pendingRequests = new AtomicInteger();
+   // Response time of the server and its variation in nanoseconds, smoothed like the TCP round-trip time (RFC 6298).
+   // The responses are received by several event loops, an update lost in a race only delays the estimate.
+   private volatile long smoothedResponseTime;
+   private volatile long responseTimeVariation;
    private final StampedLock lock = new StampedLock();
    private volatile boolean terminated = false;
 
-   ChannelPool(EventExecutor executor, SocketAddress address, ChannelInitializer newChannelInvoker, ExhaustedAction exhaustedAction, long maxWait, int maxConnections, int maxPendingRequests) {
+   ChannelPool(EventExecutor executor, SocketAddress address, ChannelInitializer newChannelInvoker, ExhaustedAction exhaustedAction, long maxWait, int maxConnections, int maxPendingRequests,
+               long pipelineWaitMicros) {
       this.executor = executor;
       this.address = address;
       this.newChannelInvoker = newChannelInvoker;
@@ -59,6 +73,7 @@ class ChannelPool {
       this.maxWait = maxWait;
       this.maxConnections = maxConnections;
       this.maxPendingRequests = maxPendingRequests;
+      this.pipelineWaitMicros = pipelineWaitMicros;
    }
 
    public void acquire(ChannelOperation callback) {
@@ -86,6 +101,45 @@ public void acquire(ChannelOperation callback) {
          return;
       }
       int current = created.get();
+      if (pipelineWaitMicros > 0 && current > 0 && pendingRequests.get() < (long) current * maxPendingRequests) {
+         // The existing connections can pipeline more requests, they just need to be released
+         waitForRelease(callback);
+         return;
+      }
+      createOrWait(callback);
+   }
+
+   private void waitForRelease(ChannelOperation callback) {
+      PipelineCallback pipelineCallback = new PipelineCallback(callback);
+      Channel channel;
+      long stamp = lock.writeLock();
+      try {
+         for (;;) {
+            channel = channels.pollFirst();
+            if (channel == null) {
+               callbacks.addLast(pipelineCallback);
+               break;
+            } else if (channel.isActive()) {
+               break;
+            }
+         }
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+      if (channel != null) {
+         activateChannel(channel, callback, false);
+      } else {
+         pipelineCallback.timeoutFuture = executor.schedule(pipelineCallback, pipelineWaitMicros, TimeUnit.MICROSECONDS);
+      }
+   }
+
+   private void createOrWait(ChannelOperation callback) {
+      if (terminated) {
+         callback.cancel(address, new RejectedExecutionException("Pool was terminated"));
+         return;
+      }
+      Channel channel;
+      int current = created.get();
       while (current < maxConnections) {
          if (created.compareAndSet(current, current + 1)) {
             int currentActive = active.incrementAndGet();
@@ -266,6 +320,58 @@ public int getIdle() {
       return Math.max(0, created.get() - active.get());
    }
 
+   public int getConnected() {
+      return created.get();
+   }
+
+   public int getPendingRequests() {
+      return pendingRequests.get();
+   }
+
+   void requestRegistered() {
+      pendingRequests.incrementAndGet();
+   }
+
+   void requestsCompleted(int count) {
+      pendingRequests.addAndGet(-count);
+   }
+
+   void responseReceived(long responseTime) {
+      long smoothed = smoothedResponseTime;
+      if (smoothed == 0) {
+         responseTimeVariation = responseTime / 2;
+         smoothedResponseTime = Math.max(responseTime, 1);
+      } else {
+         responseTimeVariation = responseTimeVariation - (responseTimeVariation >> 2) + (Math.abs(smoothed - responseTime) >> 2);
+         smoothedResponseTime = Math.max(smoothed - (smoothed >> 3) + (responseTime >> 3), 1);
+      }
+   }
+
+   /**
+    * @return the smoothed response time of the server in nanoseconds, or 0 if no response was received yet
+    */
+   public long getResponseTime() {
+      return smoothedResponseTime;
+   }
+
+   /**
+    * @return the time in nanoseconds after which a response is late, like the TCP retransmission timeout, or 0 if
+    * no response was received yet
+    */
+   public long getLateResponseTime() {
+      return smoothedResponseTime + 4 * responseTimeVariation;
+   }
+
+   /**
+    * @param unsampledResponseTime the response time to use if no response was received from the server yet
+    * @return the expected cost of sending a request to the server: its response time times the requests waiting for a
+    * response, including the new request
+    */
+   public double getLoad(long unsampledResponseTime) {
+      long responseTime = smoothedResponseTime;
+      return (double) (responseTime == 0 ? unsampledResponseTime : responseTime) * (pendingRequests.get() + 1);
+   }
+
    public void close() {
       terminated = true;
       long stamp = lock.writeLock();
@@ -289,6 +395,7 @@ public String toString() {
             ", maxWait=" + maxWait +
             ", maxConnections=" + maxConnections +
             ", maxPendingRequests=" + maxPendingRequests +
+            ", pipelineWaitMicros=" + pipelineWaitMicros +
             ", created=" + created +
             ", active=" + active +
             ", terminated=" + terminated +
@@ -329,4 +436,56 @@ public void cancel(SocketAddress address, Throwable cause) {
          throw new UnsupportedOperationException();
       }
    }
+
+   /**
+    * Waits for a channel to be released, and opens a new connection if none is released in time
+    */
+   private class PipelineCallback implements ChannelOperation, Runnable {
+      final ChannelOperation callback;
+      volatile ScheduledFuture<?> timeoutFuture;
+      @SuppressWarnings("unused")
+      volatile int invoked = 0;
+
+      private PipelineCallback(ChannelOperation callback) {
+         this.callback = callback;
+      }
+
+      @Override
+      public void run() {
+         callbacks.remove(this);
+         if (pipelineInvokedUpdater.compareAndSet(this, 0, 1)) {
+            if (log.isTraceEnabled()) log.tracef("No channel to %s was released in time, created = %d", address, created.get());
+            try {
+               createOrWait(callback);
+            } catch (Throwable t) {
+               callback.cancel(address, t);
+            }
+         }
+      }
+
+      @Override
+      public void invoke(Channel channel) {
+         ScheduledFuture<?> timeoutFuture = this.timeoutFuture;
+         if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+         }
+         if (pipelineInvokedUpdater.compareAndSet(this, 0, 1)) {
+            callback.invoke(channel);
+         } else {
+            // The request already found another channel
+            release(channel, ChannelRecord.of(channel));
+         }
+      }
+
+      @Override
+      public void cancel(SocketAddress address, Throwable cause) {
+         ScheduledFuture<?> timeoutFuture = this.timeoutFuture;
+         if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+         }
+         if (pipelineInvokedUpdater.compareAndSet(this, 0, 1)) {
+            callback.cancel(address, cause);
+         }
+      }
+   }
 }
@@ -41,6 +41,10 @@ public SocketAddress getUnresolvedAddress() {
       return unresolvedAddress;
    }
 
+   ChannelPool getChannelPool() {
+      return channelPool;
+   }
+
    @Override
    public boolean complete(Channel channel) {
       channel.closeFuture().addListener(this);
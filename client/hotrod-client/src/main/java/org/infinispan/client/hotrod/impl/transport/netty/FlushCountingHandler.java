@@ -0,0 +1,30 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+
+/**
+ * Handler that is added to the beginning of the pipeline of all channels of a {@link ChannelFactory}.
+ * It counts the flushes that reach the socket, after the {@link io.netty.handler.flush.FlushConsolidationHandler}
+ * coalesced the flushes of the requests written in the same event loop iteration.
+ *
+ * @since 13.0
+ */
+@Sharable
+class FlushCountingHandler extends ChannelOutboundHandlerAdapter {
+   static final String NAME = "flush-counter";
+   private final LongAdder flushes = new LongAdder();
+
+   @Override
+   public void flush(ChannelHandlerContext ctx) throws Exception {
+      flushes.increment();
+      ctx.flush();
+   }
+
+   long getFlushes() {
+      return flushes.sum();
+   }
+}
@@ -46,6 +46,8 @@ public class HeaderDecoder extends HintedReplayingDecoder<HeaderDecoder.State> {
    private final ConcurrentMap<Long, HotRodOperation<?>> incomplete = new ConcurrentHashMap<>();
    private final List<byte[]> listeners = new ArrayList<>();
    private volatile boolean closing;
+   // accessed only from the event loop thread
+   private boolean pendingRequestsReleased;
 
    private HotRodOperation<?> operation;
    private short status;
@@ -74,6 +76,7 @@ public void registerOperation(Channel channel, HotRodOperation<?> operation) {
       }
       HotRodOperation<?> prev = incomplete.put(operation.header().messageId(), operation);
       assert prev == null : "Already registered: " + prev + ", new: " + operation;
+      ChannelRecord.of(channel).getChannelPool().requestRegistered();
       operation.scheduleTimeout(channel);
    }
 
@@ -127,6 +130,12 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
                if (operation == null) {
                   throw HOTROD.unknownMessageId(messageId);
                }
+               ChannelPool pool = ChannelRecord.of(ctx.channel()).getChannelPool();
+               pool.requestsCompleted(1);
+               long responseTime = operation.responseTime();
+               if (responseTime >= 0) {
+                  pool.responseReceived(responseTime);
+               }
                if (log.isTraceEnabled()) {
                   log.tracef("Received response for request %d, %s", messageId, operation);
                }
@@ -222,6 +231,7 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
 
    @Override
    public void channelInactive(ChannelHandlerContext ctx) {
+      releasePendingRequests(ctx.channel());
       for (HotRodOperation<?> op : incomplete.values()) {
          try {
             op.channelInactive(ctx.channel());
@@ -232,6 +242,25 @@ public void channelInactive(ChannelHandlerContext ctx) {
       failoverClientListeners();
    }
 
+   @Override
+   protected void handlerRemoved0(ChannelHandlerContext ctx) throws Exception {
+      // The decoder is removed before the channel is closed when an operation fails, e.g. on timeout,
+      // and then the channel inactive event does not reach it
+      releasePendingRequests(ctx.channel());
+      super.handlerRemoved0(ctx);
+   }
+
+   private void releasePendingRequests(Channel channel) {
+      if (pendingRequestsReleased) {
+         return;
+      }
+      pendingRequestsReleased = true;
+      ChannelRecord record = ChannelRecord.of(channel);
+      if (record != null) {
+         record.getChannelPool().requestsCompleted(incomplete.size());
+      }
+   }
+
    public void failoverClientListeners() {
       for (byte[] listenerId : listeners) {
          listenerNotifier.failoverClientListener(listenerId);
@@ -0,0 +1,73 @@
+package org.infinispan.client.hotrod.impl.transport.tcp;
+
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+import org.infinispan.client.hotrod.FailoverRequestBalancingStrategy;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+
+/**
+ * Latency-aware implementation of {@link FailoverRequestBalancingStrategy}: picks two servers at random and selects
+ * the one with the lowest load, i.e. the smoothed response time of the server times the requests waiting for its
+ * response ("power of two choices"). Unlike always selecting the least loaded server, it does not make every client
+ * pile onto the same server until its load is updated.
+ *
+ * @since 13.0
+ */
+public class LatencyAwareBalancingStrategy implements FailoverRequestBalancingStrategy {
+
+   private static final Log log = LogFactory.getLog(LatencyAwareBalancingStrategy.class);
+
+   private SocketAddress[] servers;
+   private ToDoubleFunction<SocketAddress> serverLoad = server -> 0;
+
+   @Override
+   public void setServers(Collection<SocketAddress> servers) {
+      this.servers = servers.toArray(new SocketAddress[servers.size()]);
+      if (log.isTraceEnabled()) {
+         log.tracef("New server list is: " + Arrays.toString(this.servers));
+      }
+   }
+
+   @Override
+   public void setServerLoad(ToDoubleFunction<SocketAddress> serverLoad) {
+      this.serverLoad = serverLoad;
+   }
+
+   /**
+    * @param failedServers Servers that should not be returned (if any other are available)
+    */
+   @Override
+   public SocketAddress nextServer(Set<SocketAddress> failedServers) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      SocketAddress first = pick(random, failedServers, null);
+      SocketAddress second = pick(random, failedServers, first);
+      SocketAddress server = second == null || serverLoad.applyAsDouble(first) <= serverLoad.applyAsDouble(second) ?
+            first : second;
+      if (log.isTraceEnabled()) {
+         log.tracef("Selected %s from %s, with failed servers %s", server, Arrays.toString(servers), failedServers);
+      }
+      return server;
+   }
+
+   private SocketAddress pick(ThreadLocalRandom random, Set<SocketAddress> failedServers, SocketAddress other) {
+      int start = random.nextInt(servers.length);
+      for (int i = 0; i < servers.length; i++) {
+         SocketAddress server = servers[(start + i) % servers.length];
+         if (server != other && (failedServers == null || !failedServers.contains(server))) {
+            return server;
+         }
+      }
+      // All the servers failed, try any of them
+      return other == null ? servers[start] : null;
+   }
+
+   public SocketAddress[] getServers() {
+      return servers;
+   }
+}
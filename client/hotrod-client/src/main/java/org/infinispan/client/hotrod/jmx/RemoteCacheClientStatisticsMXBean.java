@@ -61,6 +61,18 @@ public interface RemoteCacheClientStatisticsMXBean {
     */
    long getNearCacheSize();
 
+   /**
+    * Returns the average number of requests waiting for a response on each connection to the servers. The connections
+    * are shared by all the caches of the remote cache manager.
+    */
+   double getPipelineDepth();
+
+   /**
+    * Returns the number of flushes per second of the connections to the servers since the last reset. A flush writes
+    * all the requests written to a connection in the same event loop iteration.
+    */
+   double getFlushesPerSecond();
+
    /**
     * Resets statistics.
     */
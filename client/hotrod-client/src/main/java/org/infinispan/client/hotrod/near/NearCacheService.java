@@ -1,11 +1,15 @@
 package org.infinispan.client.hotrod.near;
 
 import java.net.SocketAddress;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
+import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryExpired;
@@ -20,6 +24,9 @@
 import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
 import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
 import org.infinispan.client.hotrod.impl.InternalRemoteCache;
+import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHash;
+import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.util.BloomFilter;
@@ -27,6 +34,9 @@
 import org.infinispan.commons.util.MurmurHash3BloomFilter;
 import org.infinispan.commons.util.Util;
 
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.Disposable;
+
 /**
  * Near cache service, manages the lifecycle of the near cache.
  *
@@ -34,6 +44,9 @@
  */
 public class NearCacheService<K, V> implements NearCache<K, V> {
    private static final Log log = LogFactory.getLog(NearCacheService.class);
+   private static final int REVALIDATED = 0;
+   private static final int STALE = 1;
+   private static final int REVALIDATING = 2;
 
    private final NearCacheConfiguration config;
    private final ClientListenerNotifier listenerNotifier;
@@ -47,6 +60,13 @@
    private InternalRemoteCache<K, V> remote;
 
    private SocketAddress listenerAddress;
+   // The segment versions when the listener was (re-)registered, null if the servers do not track them.
+   // They are not refreshed on the events: the current versions of the servers may include modifications whose
+   // events are not delivered yet, and would be lost with the server of the listener.
+   private volatile SegmentVersions segmentVersions;
+   // Whether the near cache may contain entries modified while the listener was disconnected
+   private final AtomicInteger revalidation = new AtomicInteger(REVALIDATED);
+   private Disposable warmUp;
 
    protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       this.config = config;
@@ -54,6 +74,7 @@ protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier
    }
 
    public SocketAddress start(InternalRemoteCache<K, V> remote) {
+      this.remote = remote;
       if (cache == null) {
          // Create near cache
          cache = createNearCache(config, this::entryRemovedFromNearCache);
@@ -72,11 +93,97 @@ public SocketAddress start(InternalRemoteCache<K, V> remote) {
          }
          // Get the listener ID for faster listener connected lookups
          listenerId = listenerNotifier.findListenerId(listener);
+         // The modifications done after this point are either notified to the listener or tracked by the versions
+         fetchSegmentVersions().whenComplete((versions, t) -> {
+            if (t != null) {
+               log.debugf(t, "Unable to retrieve the segment versions, the near cache will be cleared on fail-over");
+            } else {
+               segmentVersions = versions;
+            }
+         });
+         if (config.warmUp() && bloomFilterBits <= 0) {
+            warmUp = warmUp(remote);
+         }
       }
-      this.remote = remote;
       return listenerAddress;
    }
 
+   private Disposable warmUp(InternalRemoteCache<K, V> remote) {
+      int batchSize = remote.getRemoteCacheManager().getConfiguration().batchSize();
+      // Only the entries in memory, as those are the ones recently used
+      Flowable<Map.Entry<K, MetadataValue<V>>> entries = Flowable.fromPublisher(
+            remote.withFlags(Flag.SKIP_CACHE_LOAD).publishEntriesWithMetadata(null, batchSize));
+      if (config.maxEntries() > 0) {
+         entries = entries.take(config.maxEntries());
+      }
+      // Entries with max idle are not cached, see InvalidatedNearRemoteCache.getWithMetadataAsync
+      return entries.filter(entry -> entry.getValue().getMaxIdle() <= 0)
+            .subscribe(entry -> cache.putIfAbsent(entry.getKey(), entry.getValue()),
+                  t -> log.debugf(t, "Unable to warm up the near cache (listenerId=%s)", Util.printArray(listenerId)),
+                  () -> {
+                     if (log.isTraceEnabled())
+                        log.tracef("Warmed up near cache with %d entries (listenerId=%s)", cache.size(),
+                              Util.printArray(listenerId));
+                  });
+   }
+
+   private CompletionStage<SegmentVersions> fetchSegmentVersions() {
+      OperationsFactory operationsFactory = remote.getOperationsFactory();
+      CompletableFuture<SegmentVersions> versions = null;
+      for (SocketAddress server : operationsFactory.getServers()) {
+         CompletableFuture<SegmentVersions> serverVersions =
+               operationsFactory.newNearCacheSegmentVersionsOperation(server).execute();
+         versions = versions == null ? serverVersions :
+               versions.thenCombine(serverVersions, (v1, v2) -> v1 == null ? null : v1.merge(v2));
+      }
+      return versions == null ? CompletableFuture.completedFuture(null) : versions;
+   }
+
+   /**
+    * Invoked when the listener is failed over to another server: the near cache cannot be read until the segments
+    * modified in the meantime are invalidated, or it is cleared if the servers do not track the segment versions.
+    */
+   void failover() {
+      if (segmentVersions == null) {
+         if (log.isTraceEnabled()) log.trace("Clear near cache after fail-over of server");
+         cache.clear();
+      } else {
+         revalidation.set(STALE);
+      }
+   }
+
+   private void revalidate() {
+      if (!revalidation.compareAndSet(STALE, REVALIDATING)) {
+         return;
+      }
+      SegmentVersions previous = segmentVersions;
+      fetchSegmentVersions().whenComplete((current, t) -> {
+         BitSet staleSegments = t != null || current == null || previous == null ? null : previous.staleSegments(current);
+         ConsistentHash ch = remote.getOperationsFactory().getConsistentHash();
+         if (staleSegments == null || !(ch instanceof SegmentConsistentHash)
+               || ((SegmentConsistentHash) ch).getNumSegments() != current.numSegments()) {
+            if (staleSegments == null || !staleSegments.isEmpty()) {
+               if (log.isTraceEnabled()) log.trace("Clear near cache after fail-over of server");
+               cache.clear();
+            }
+         } else if (!staleSegments.isEmpty()) {
+            SegmentConsistentHash segmentConsistentHash = (SegmentConsistentHash) ch;
+            for (Map.Entry<K, MetadataValue<V>> entry : cache) {
+               K key = entry.getKey();
+               if (staleSegments.get(segmentConsistentHash.getSegment(remote.keyToBytes(key)))) {
+                  cache.remove(key);
+               }
+            }
+         }
+         if (log.isTraceEnabled())
+            log.tracef("Revalidated near cache after fail-over of server, stale segments %s (listenerId=%s)",
+                  staleSegments, Util.printArray(listenerId));
+         segmentVersions = current;
+         // A new fail-over during the revalidation requires another one
+         revalidation.compareAndSet(REVALIDATING, REVALIDATED);
+      });
+   }
+
    private static int determineBloomFilterBits(int maxEntries) {
       int bloomFilterBitScaler = Integer.parseInt(System.getProperty("infinispan.bloom-filter.bit-multiplier", "4"));
       return maxEntries * bloomFilterBitScaler;
@@ -101,6 +208,9 @@ public void stop(RemoteCache<K, V> remote) {
       if (log.isTraceEnabled())
          log.tracef("Stop near cache, remove underlying listener id %s", Util.printArray(listenerId));
 
+      if (warmUp != null) {
+         warmUp.dispose();
+      }
       // Remove listener
       remote.removeClientListener(listener);
       // Empty cache
@@ -108,6 +218,10 @@ public void stop(RemoteCache<K, V> remote) {
    }
 
    protected NearCache<K, V> createNearCache(NearCacheConfiguration config, BiConsumer<K, MetadataValue<V>> removedConsumer) {
+      if (config.maxBytes() > 0) {
+         return OffHeapNearCache.create(config, remote.getDataFormat(),
+               remote.getRemoteCacheManager().getConfiguration().getClassAllowList(), removedConsumer);
+      }
       return config.maxEntries() > 0
             ? BoundedConcurrentMapNearCache.create(config, removedConsumer)
             : ConcurrentMapNearCache.create();
@@ -156,7 +270,7 @@ public boolean remove(K key) {
 
    @Override
    public MetadataValue<V> get(K key) {
-      boolean listenerConnected = isConnected();
+      boolean listenerConnected = isReadable();
       if (listenerConnected) {
          MetadataValue<V> value = cache.get(key);
          if (log.isTraceEnabled())
@@ -192,6 +306,21 @@ boolean isConnected() {
       return listenerNotifier.isListenerConnected(listenerId);
    }
 
+   /**
+    * @return whether the near cache can be read, starting the revalidation of the entries if the listener was
+    * registered again after a fail-over
+    */
+   boolean isReadable() {
+      if (!isConnected()) {
+         return false;
+      }
+      if (revalidation.get() == REVALIDATED) {
+         return true;
+      }
+      revalidate();
+      return false;
+   }
+
    public void setInvalidationCallback(Runnable r) {
       this.invalidationCallback = r;
    }
@@ -219,10 +348,9 @@ public byte[] calculateBloomBits() {
 
       @ClientListener
    private static class InvalidatedNearCacheListener<K, V> {
-      private static final Log log = LogFactory.getLog(InvalidatedNearCacheListener.class);
-      private final NearCache<K, V> cache;
+      private final NearCacheService<K, V> cache;
 
-      private InvalidatedNearCacheListener(NearCache<K, V> cache) {
+      private InvalidatedNearCacheListener(NearCacheService<K, V> cache) {
          this.cache = cache;
       }
 
@@ -247,8 +375,7 @@ public void handleExpiredEvent(ClientCacheEntryExpiredEvent<K> event) {
       @ClientCacheFailover
       @SuppressWarnings("unused")
       public void handleFailover(ClientCacheFailoverEvent e) {
-         if (log.isTraceEnabled()) log.trace("Clear near cache after fail-over of server");
-         cache.clear();
+         cache.failover();
       }
 
       private void invalidate(K key) {
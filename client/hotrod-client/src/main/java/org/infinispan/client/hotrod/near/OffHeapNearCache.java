@@ -0,0 +1,269 @@
+package org.infinispan.client.hotrod.near;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
+import org.infinispan.commons.configuration.ClassAllowList;
+import org.infinispan.commons.marshall.WrappedByteArray;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.IllegalReferenceCountException;
+
+/**
+ * Near cache that keeps the values marshalled in off-heap memory, and unmarshalls them on each read.
+ * <p>
+ * The keys are indexed by their marshalled form, the only objects kept on the heap for each entry are its key bytes
+ * and a small descriptor. The memory is bounded by {@link NearCacheConfiguration#maxBytes()}, and by
+ * {@link NearCacheConfiguration#maxEntries()} when positive, evicting the entries with a CLOCK policy: an entry read
+ * since the eviction last visited it gets a second chance.
+ *
+ * @since 13.0
+ */
+final class OffHeapNearCache<K, V> implements NearCache<K, V> {
+   // created, lifespan, last used, max idle and version
+   private static final int HEADER_SIZE = 8 + 4 + 8 + 4 + 8;
+   // The buffers are not pooled: a released buffer must not be reused while a reader may still retain it
+   private static final ByteBufAllocator ALLOCATOR = new UnpooledByteBufAllocator(true);
+
+   private final ConcurrentMap<WrappedByteArray, Entry> index = new ConcurrentHashMap<>();
+   // Insertion order of the entries, including the removed entries not visited yet by the eviction
+   private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger removedInClock = new AtomicInteger();
+   private final AtomicLong bytes = new AtomicLong();
+   private final ReentrantLock evictionLock = new ReentrantLock();
+   private final long maxBytes;
+   private final int maxEntries;
+   private final DataFormat dataFormat;
+   private final ClassAllowList allowList;
+   private final BiConsumer<? super K, ? super MetadataValue<V>> removedConsumer;
+
+   private OffHeapNearCache(long maxBytes, int maxEntries, DataFormat dataFormat, ClassAllowList allowList,
+                            BiConsumer<? super K, ? super MetadataValue<V>> removedConsumer) {
+      this.maxBytes = maxBytes;
+      this.maxEntries = maxEntries;
+      this.dataFormat = dataFormat;
+      this.allowList = allowList;
+      this.removedConsumer = removedConsumer;
+   }
+
+   public static <K, V> NearCache<K, V> create(NearCacheConfiguration config, DataFormat dataFormat,
+                                               ClassAllowList allowList,
+                                               BiConsumer<? super K, ? super MetadataValue<V>> removedConsumer) {
+      return new OffHeapNearCache<>(config.maxBytes(), config.maxEntries(), dataFormat, allowList, removedConsumer);
+   }
+
+   @Override
+   public void put(K key, MetadataValue<V> value) {
+      Entry entry = newEntry(key, value);
+      Entry previous = index.put(entry.key, entry);
+      if (previous != null) {
+         removed(previous);
+      }
+      added(entry);
+   }
+
+   @Override
+   public void putIfAbsent(K key, MetadataValue<V> value) {
+      WrappedByteArray keyBytes = new WrappedByteArray(dataFormat.keyToBytes(key));
+      if (index.containsKey(keyBytes)) {
+         return;
+      }
+      Entry entry = newEntry(keyBytes, value);
+      if (index.putIfAbsent(keyBytes, entry) == null) {
+         added(entry);
+      } else {
+         entry.buf.release();
+      }
+   }
+
+   @Override
+   public boolean remove(K key) {
+      Entry entry = index.remove(new WrappedByteArray(dataFormat.keyToBytes(key)));
+      if (entry == null) {
+         return false;
+      }
+      removed(entry);
+      return true;
+   }
+
+   @Override
+   public MetadataValue<V> get(K key) {
+      Entry entry = index.get(new WrappedByteArray(dataFormat.keyToBytes(key)));
+      if (entry == null) {
+         return null;
+      }
+      entry.accessed = true;
+      return read(entry);
+   }
+
+   @Override
+   public void clear() {
+      for (Entry entry : index.values()) {
+         if (index.remove(entry.key, entry)) {
+            removed(entry);
+         }
+      }
+   }
+
+   @Override
+   public int size() {
+      return index.size();
+   }
+
+   @Override
+   public Iterator<Map.Entry<K, MetadataValue<V>>> iterator() {
+      Iterator<Entry> entries = index.values().iterator();
+      return new Iterator<Map.Entry<K, MetadataValue<V>>>() {
+         private Map.Entry<K, MetadataValue<V>> next;
+
+         @Override
+         public boolean hasNext() {
+            while (next == null && entries.hasNext()) {
+               Entry entry = entries.next();
+               // Skip the entries removed concurrently
+               MetadataValue<V> value = read(entry);
+               if (value != null) {
+                  next = new AbstractMap.SimpleImmutableEntry<>(dataFormat.keyToObj(entry.key.getBytes(), allowList), value);
+               }
+            }
+            return next != null;
+         }
+
+         @Override
+         public Map.Entry<K, MetadataValue<V>> next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            Map.Entry<K, MetadataValue<V>> entry = next;
+            next = null;
+            return entry;
+         }
+      };
+   }
+
+   /**
+    * @return the off-heap memory used by the entries, in bytes
+    */
+   long bytes() {
+      return bytes.get();
+   }
+
+   private Entry newEntry(K key, MetadataValue<V> value) {
+      return newEntry(new WrappedByteArray(dataFormat.keyToBytes(key)), value);
+   }
+
+   private Entry newEntry(WrappedByteArray key, MetadataValue<V> value) {
+      byte[] valueBytes = dataFormat.valueToBytes(value.getValue());
+      int size = HEADER_SIZE + valueBytes.length;
+      ByteBuf buf = ALLOCATOR.directBuffer(size, size);
+      buf.writeLong(value.getCreated());
+      buf.writeInt(value.getLifespan());
+      buf.writeLong(value.getLastUsed());
+      buf.writeInt(value.getMaxIdle());
+      buf.writeLong(value.getVersion());
+      buf.writeBytes(valueBytes);
+      return new Entry(key, buf);
+   }
+
+   private MetadataValue<V> read(Entry entry) {
+      ByteBuf buf = entry.buf;
+      try {
+         buf.retain();
+      } catch (IllegalReferenceCountException e) {
+         // Removed concurrently
+         return null;
+      }
+      try {
+         byte[] valueBytes = new byte[buf.writerIndex() - HEADER_SIZE];
+         buf.getBytes(HEADER_SIZE, valueBytes);
+         return new MetadataValueImpl<>(buf.getLong(0), buf.getInt(8), buf.getLong(12), buf.getInt(20),
+               buf.getLong(24), dataFormat.valueToObj(valueBytes, allowList));
+      } finally {
+         buf.release();
+      }
+   }
+
+   private void added(Entry entry) {
+      bytes.addAndGet(entry.size());
+      clock.offer(entry);
+      if (bytes.get() > maxBytes || (maxEntries > 0 && index.size() > maxEntries)) {
+         evict();
+      }
+   }
+
+   private void removed(Entry entry) {
+      bytes.addAndGet(-entry.size());
+      entry.removed = true;
+      if (removedConsumer != null) {
+         removedConsumer.accept(dataFormat.keyToObj(entry.key.getBytes(), allowList), null);
+      }
+      entry.buf.release();
+      // The removed entries stay in the clock until the eviction visits them, drop them when they are too many
+      if (removedInClock.incrementAndGet() > index.size() + 64 && evictionLock.tryLock()) {
+         try {
+            clock.removeIf(e -> e.removed);
+            removedInClock.set(0);
+         } finally {
+            evictionLock.unlock();
+         }
+      }
+   }
+
+   private void evict() {
+      // A single thread evicts, the others can go on even if the bounds are exceeded for a while
+      if (!evictionLock.tryLock()) {
+         return;
+      }
+      try {
+         while (bytes.get() > maxBytes || (maxEntries > 0 && index.size() > maxEntries)) {
+            Entry entry = clock.poll();
+            if (entry == null) {
+               break;
+            }
+            if (entry.removed) {
+               removedInClock.decrementAndGet();
+            } else if (entry.accessed) {
+               entry.accessed = false;
+               clock.offer(entry);
+            } else if (index.remove(entry.key, entry)) {
+               removed(entry);
+               removedInClock.decrementAndGet();
+            }
+         }
+      } finally {
+         evictionLock.unlock();
+      }
+   }
+
+   private static final class Entry {
+      final WrappedByteArray key;
+      final ByteBuf buf;
+      volatile boolean accessed;
+      volatile boolean removed;
+
+      Entry(WrappedByteArray key, ByteBuf buf) {
+         this.key = key;
+         this.buf = buf;
+      }
+
+      int size() {
+         return buf.capacity();
+      }
+   }
+}
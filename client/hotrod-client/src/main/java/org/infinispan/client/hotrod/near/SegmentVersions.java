@@ -0,0 +1,97 @@
+package org.infinispan.client.hotrod.near;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Invalidation sequence numbers of the segments of a cache, as reported by the primary owners of the segments.
+ * <p>
+ * A sequence number is only comparable with one reported with the same epoch, i.e. by the same server since it
+ * started tracking the cache. A segment is stale when its sequence number changed, or when it cannot be compared
+ * because it was not reported, was reported by another server, or was reported by several servers during a
+ * rebalance.
+ *
+ * @since 13.0
+ */
+public class SegmentVersions {
+   private final int numSegments;
+   private final long[] epochs;
+   private final long[] sequences;
+   private final BitSet reported;
+   private final BitSet conflicting;
+
+   /**
+    * @param epoch            the epoch of the server
+    * @param numSegments      the number of segments of the cache
+    * @param primarySequences the sequence numbers of the segments the server is the primary owner of
+    */
+   public SegmentVersions(long epoch, int numSegments, Map<Integer, Long> primarySequences) {
+      this.numSegments = numSegments;
+      this.epochs = new long[numSegments];
+      this.sequences = new long[numSegments];
+      this.reported = new BitSet(numSegments);
+      this.conflicting = new BitSet(numSegments);
+      primarySequences.forEach((segment, sequence) -> {
+         epochs[segment] = epoch;
+         sequences[segment] = sequence;
+         reported.set(segment);
+      });
+   }
+
+   public int numSegments() {
+      return numSegments;
+   }
+
+   /**
+    * Adds the segments reported by another server to this instance.
+    *
+    * @return this instance, or {@code null} if the servers do not agree on the number of segments
+    */
+   public SegmentVersions merge(SegmentVersions other) {
+      if (other.numSegments != numSegments) {
+         return null;
+      }
+      for (int segment = other.reported.nextSetBit(0); segment >= 0; segment = other.reported.nextSetBit(segment + 1)) {
+         if (reported.get(segment)) {
+            conflicting.set(segment);
+         } else {
+            epochs[segment] = other.epochs[segment];
+            sequences[segment] = other.sequences[segment];
+            reported.set(segment);
+         }
+      }
+      conflicting.or(other.conflicting);
+      return this;
+   }
+
+   /**
+    * @return the segments that may have been modified between this instance and {@code current}, or {@code null} if
+    * the segments of the two instances cannot be compared
+    */
+   public BitSet staleSegments(SegmentVersions current) {
+      if (current.numSegments != numSegments) {
+         return null;
+      }
+      BitSet stale = new BitSet(numSegments);
+      for (int segment = 0; segment < numSegments; segment++) {
+         if (!isComparable(segment) || !current.isComparable(segment) || epochs[segment] != current.epochs[segment]
+               || sequences[segment] != current.sequences[segment]) {
+            stale.set(segment);
+         }
+      }
+      return stale;
+   }
+
+   private boolean isComparable(int segment) {
+      return reported.get(segment) && !conflicting.get(segment);
+   }
+
+   @Override
+   public String toString() {
+      return "SegmentVersions{" +
+            "numSegments=" + numSegments +
+            ", reported=" + reported +
+            ", conflicting=" + conflicting +
+            '}';
+   }
+}
@@ -0,0 +1,77 @@
+package org.infinispan.client.hotrod;
+
+import static java.util.stream.IntStream.range;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.MultiHotRodServersTest;
+import org.infinispan.configuration.cache.CacheMode;
+import org.testng.annotations.Test;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Tests the bulk operations split in several pipelined requests per server, and the re-routing of the entries of a
+ * failed request.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.BulkBatchingTest")
+public class BulkBatchingTest extends MultiHotRodServersTest {
+   private static final int NUM_ENTRIES = 1000;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createHotRodServers(3, hotRodCacheConfiguration(getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false)));
+   }
+
+   @Override
+   protected int maxRetries() {
+      return 10;
+   }
+
+   @Override
+   protected ConfigurationBuilder createHotRodClientConfigurationBuilder(String host, int serverPort) {
+      ConfigurationBuilder builder = super.createHotRodClientConfigurationBuilder(host, serverPort);
+      builder.bulkBatchSize(50).bulkBatchBytes(2048);
+      return builder;
+   }
+
+   public void testBatchedBulkOperations() {
+      RemoteCache<Integer, String> remoteCache = client(0).getCache();
+      Map<Integer, String> entries = new HashMap<>();
+      range(0, NUM_ENTRIES).forEach(i -> entries.put(i, "value" + i));
+      remoteCache.putAll(entries);
+
+      Set<Integer> keys = entries.keySet();
+      assertEquals(entries, remoteCache.getAll(keys));
+
+      List<Map.Entry<Integer, String>> published = Flowable.fromPublisher(remoteCache.publishEntriesByKeys(keys))
+            .toList().blockingGet();
+      assertEquals(entries, published.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+   }
+
+   @Test(dependsOnMethods = "testBatchedBulkOperations")
+   public void testReroutingAfterFailure() {
+      RemoteCache<Integer, String> remoteCache = client(0).getCache();
+      Set<Integer> keys = range(0, NUM_ENTRIES).boxed().collect(Collectors.toSet());
+
+      HotRodClientTestingUtil.killServers(server(0));
+
+      Map<Integer, String> entries = remoteCache.getAll(keys);
+      assertEquals(NUM_ENTRIES, entries.size());
+      entries.forEach((k, v) -> assertEquals("value" + k, v));
+
+      Map<Integer, String> updates = keys.stream().collect(Collectors.toMap(k -> k, k -> "updated" + k));
+      remoteCache.putAll(updates);
+      assertEquals(updates, remoteCache.getAll(keys));
+   }
+}
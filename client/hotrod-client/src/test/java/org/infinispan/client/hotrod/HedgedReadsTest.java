@@ -0,0 +1,96 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.infinispan.test.TestingUtil.extractInterceptorChain;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.tcp.LatencyAwareBalancingStrategy;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.MultiHotRodServersTest;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the reads are balanced across the owners of the keys, and that a read is sent to another owner when the
+ * response of the first one is late.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.HedgedReadsTest")
+public class HedgedReadsTest extends MultiHotRodServersTest {
+   private static final int NUM_KEYS = 50;
+   private static final int DELAY_MILLIS = 5000;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(2);
+      createHotRodServers(2, hotRodCacheConfiguration(builder));
+   }
+
+   @Override
+   protected org.infinispan.client.hotrod.configuration.ConfigurationBuilder createHotRodClientConfigurationBuilder(String host, int serverPort) {
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder builder =
+            super.createHotRodClientConfigurationBuilder(host, serverPort);
+      builder.balancingStrategy(LatencyAwareBalancingStrategy.class).balanceReads(true).hedgedReads(true);
+      return builder;
+   }
+
+   public void testReadsBalancedAcrossOwners() {
+      RemoteCache<Integer, String> remoteCache = client(0).getCache();
+      for (int i = 0; i < NUM_KEYS; i++) {
+         remoteCache.put(i, "v" + i);
+      }
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, remoteCache.get(i));
+      }
+
+      // Both servers own all the keys, the client estimated the response time of both
+      ChannelFactory channelFactory = client(0).getChannelFactory();
+      for (SocketAddress server : channelFactory.getServers()) {
+         assertTrue("No response time for " + server, channelFactory.getLateResponseTime(server) > 0);
+      }
+   }
+
+   public void testUnsampledServerLoad() {
+      RemoteCacheManager remoteCacheManager = new RemoteCacheManager(
+            createHotRodClientConfigurationBuilder(server(0).getHost(), server(0).getPort()).build());
+      try {
+         // The first write receives the topology, the servers that did not respond yet are not considered idle
+         remoteCacheManager.getCache().put(0, "v0");
+         ChannelFactory channelFactory = remoteCacheManager.getChannelFactory();
+         assertEquals(2, channelFactory.getServers().size());
+         for (SocketAddress server : channelFactory.getServers()) {
+            assertTrue("No load for " + server, channelFactory.getServerLoad(server) > 0);
+         }
+      } finally {
+         HotRodClientTestingUtil.killRemoteCacheManager(remoteCacheManager);
+      }
+   }
+
+   @Test(dependsOnMethods = "testReadsBalancedAcrossOwners")
+   public void testLateReadHedged() throws Exception {
+      RemoteCache<Integer, String> remoteCache = client(0).getCache();
+      Integer key = HotRodClientTestingUtil.getIntKeyForServer(server(0));
+      remoteCache.put(key, "value");
+
+      AsyncInterceptorChain chain = extractInterceptorChain(cache(0));
+      chain.addInterceptor(new HeavyLoadConnectionPoolingTest.ConstantDelayTransportInterceptor(DELAY_MILLIS), 0);
+      try {
+         // Whichever owner the read is routed to first, the other one answers before the delay
+         for (int i = 0; i < 5; i++) {
+            assertEquals("value", remoteCache.getAsync(key).get(DELAY_MILLIS / 2, TimeUnit.MILLISECONDS));
+            assertEquals("value", remoteCache.getWithMetadataAsync(key).get(DELAY_MILLIS / 2, TimeUnit.MILLISECONDS).getValue());
+         }
+      } finally {
+         chain.removeInterceptor(HeavyLoadConnectionPoolingTest.ConstantDelayTransportInterceptor.class);
+      }
+   }
+}
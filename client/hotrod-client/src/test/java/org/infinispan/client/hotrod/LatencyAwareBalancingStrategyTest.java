@@ -0,0 +1,59 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.infinispan.client.hotrod.impl.transport.tcp.LatencyAwareBalancingStrategy;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "client.hotrod.LatencyAwareBalancingStrategyTest")
+public class LatencyAwareBalancingStrategyTest extends AbstractInfinispanTest {
+
+   SocketAddress addr1 = new InetSocketAddress("localhost", 1111);
+   SocketAddress addr2 = new InetSocketAddress("localhost", 2222);
+   private final Map<SocketAddress, Double> loads = new HashMap<>();
+   private LatencyAwareBalancingStrategy strategy;
+
+   @BeforeMethod
+   public void setUp() {
+      loads.clear();
+      strategy = new LatencyAwareBalancingStrategy();
+      strategy.setServerLoad(server -> loads.getOrDefault(server, 0d));
+      strategy.setServers(Arrays.asList(addr1, addr2));
+   }
+
+   public void testLeastLoadedServerSelected() {
+      loads.put(addr1, 100d);
+      loads.put(addr2, 1d);
+      for (int i = 0; i < 20; i++) {
+         assertEquals(addr2, strategy.nextServer(null));
+      }
+      loads.put(addr2, 1000d);
+      for (int i = 0; i < 20; i++) {
+         assertEquals(addr1, strategy.nextServer(null));
+      }
+   }
+
+   public void testFailedServersAvoided() {
+      loads.put(addr1, 100d);
+      loads.put(addr2, 1d);
+      for (int i = 0; i < 20; i++) {
+         assertEquals(addr1, strategy.nextServer(Collections.singleton(addr2)));
+      }
+      // All the servers failed, any of them can be selected
+      SocketAddress server = strategy.nextServer(new HashSet<>(Arrays.asList(addr1, addr2)));
+      assertEquals(true, server == addr1 || server == addr2);
+   }
+}
@@ -0,0 +1,67 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.test.TestingUtil.extractInterceptorChain;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.BaseAsyncInterceptor;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a request that timed out is no longer counted as waiting for a response on its connection.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.PipelinedRequestTimeoutTest")
+public class PipelinedRequestTimeoutTest extends SingleHotRodServerTest {
+   private static final int SOCKET_TIMEOUT = 100;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cacheManager = super.createCacheManager();
+      extractInterceptorChain(cacheManager.getCache()).addInterceptor(new SlowPutInterceptor(), 0);
+      return cacheManager;
+   }
+
+   @Override
+   protected ConfigurationBuilder createHotRodClientConfigurationBuilder(String host, int serverPort) {
+      ConfigurationBuilder builder = super.createHotRodClientConfigurationBuilder(host, serverPort);
+      builder.socketTimeout(SOCKET_TIMEOUT).maxRetries(0);
+      return builder;
+   }
+
+   public void testTimedOutRequestIsNotPending() throws Exception {
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      ChannelFactory channelFactory = remoteCacheManager.getChannelFactory();
+
+      CompletableFuture<String> put = remoteCache.putAsync("k", "v");
+      Exceptions.expectException(ExecutionException.class, () -> put.get(10, TimeUnit.SECONDS));
+
+      // The timed out request closed its connection, the next one is sent on a new connection
+      assertNull(remoteCache.get("missing"));
+      eventually(() -> channelFactory.getNumActive() + channelFactory.getNumIdle() > 0);
+      assertEquals(0, channelFactory.getPipelineDepth(), 0);
+   }
+
+   static class SlowPutInterceptor extends BaseAsyncInterceptor {
+      @Override
+      public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+         if (command instanceof PutKeyValueCommand) {
+            Thread.sleep(SOCKET_TIMEOUT * 5);
+         }
+         return invokeNext(ctx, command);
+      }
+   }
+}
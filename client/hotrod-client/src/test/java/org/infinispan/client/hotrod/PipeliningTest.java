@@ -0,0 +1,66 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.test.TestingUtil.extractInterceptorChain;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.jmx.RemoteCacheClientStatisticsMXBean;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that concurrent requests are pipelined on the existing connections rather than opening new ones.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.PipeliningTest")
+public class PipeliningTest extends SingleHotRodServerTest {
+   private static final int MAX_PENDING_REQUESTS = 5;
+   private static final int NUM_REQUESTS = 20;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cacheManager = super.createCacheManager();
+      // make sure the requests are still in flight when the next ones are sent
+      extractInterceptorChain(cacheManager.getCache())
+            .addInterceptor(new HeavyLoadConnectionPoolingTest.ConstantDelayTransportInterceptor(50), 0);
+      return cacheManager;
+   }
+
+   @Override
+   protected ConfigurationBuilder createHotRodClientConfigurationBuilder(String host, int serverPort) {
+      ConfigurationBuilder builder = super.createHotRodClientConfigurationBuilder(host, serverPort);
+      builder.statistics().enable();
+      builder.connectionPool().maxPendingRequests(MAX_PENDING_REQUESTS);
+      return builder;
+   }
+
+   public void testRequestsArePipelined() throws Exception {
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      RemoteCacheClientStatisticsMXBean stats = remoteCache.clientStatistics();
+      ChannelFactory channelFactory = remoteCacheManager.getChannelFactory();
+      remoteCache.put("k", "v");
+
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 0; i < NUM_REQUESTS; i++) {
+         futures.add(remoteCache.putAsync("k" + i, "v" + i));
+      }
+      eventually(() -> stats.getPipelineDepth() > 1);
+      for (CompletableFuture<String> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+
+      int connections = channelFactory.getNumActive() + channelFactory.getNumIdle();
+      assertTrue("Too many connections: " + connections, connections < NUM_REQUESTS / 2);
+      assertEquals(0, stats.getPipelineDepth(), 0);
+      assertTrue(stats.getFlushesPerSecond() > 0);
+   }
+}
@@ -7,15 +7,20 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_REALM;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_SERVER_NAME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.AUTH_USERNAME;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BALANCE_READS;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BULK_BATCH_BYTES;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.BULK_BATCH_SIZE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CLUSTER_PROPERTIES_PREFIX;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_EXHAUSTED_ACTION;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_ACTIVE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_PIPELINE_WAIT_MICROS;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_WAIT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_IDLE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECT_TIMEOUT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HASH_FUNCTION_PREFIX;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HEDGED_READS;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JAVA_SERIAL_ALLOWLIST;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JMX;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.JMX_DOMAIN;
@@ -107,6 +112,7 @@ public class ConfigurationTest extends AbstractInfinispanTest {
       OPTIONS.put("minEvictableIdleTimeMillis", c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MAX_PENDING_REQUESTS, c -> c.connectionPool().maxPendingRequests());
+      OPTIONS.put(CONNECTION_POOL_PIPELINE_WAIT_MICROS, c -> c.connectionPool().pipelineWaitMicros());
       OPTIONS.put(CONNECT_TIMEOUT, Configuration::connectionTimeout);
       OPTIONS.put(PROTOCOL_VERSION, Configuration::version);
       OPTIONS.put(SO_TIMEOUT, Configuration::socketTimeout);
@@ -115,6 +121,10 @@ public class ConfigurationTest extends AbstractInfinispanTest {
       OPTIONS.put(KEY_SIZE_ESTIMATE, Configuration::keySizeEstimate);
       OPTIONS.put(VALUE_SIZE_ESTIMATE, Configuration::valueSizeEstimate);
       OPTIONS.put(MAX_RETRIES, Configuration::maxRetries);
+      OPTIONS.put(BULK_BATCH_SIZE, Configuration::bulkBatchSize);
+      OPTIONS.put(BULK_BATCH_BYTES, Configuration::bulkBatchBytes);
+      OPTIONS.put(BALANCE_READS, Configuration::balanceReads);
+      OPTIONS.put(HEDGED_READS, Configuration::hedgedReads);
       OPTIONS.put(USE_SSL, c -> c.security().ssl().enabled());
       OPTIONS.put(KEY_STORE_FILE_NAME, c -> c.security().ssl().keyStoreFileName());
       OPTIONS.put(SNI_HOST_NAME, c -> c.security().ssl().sniHostName());
@@ -195,6 +205,7 @@ public void testConfiguration() {
             .minEvictableIdleTime(12000)
             .exhaustedAction(ExhaustedAction.WAIT)
             .maxPendingRequests(12)
+            .pipelineWaitMicros(500)
             .connectionTimeout(100)
             .version(ProtocolVersion.PROTOCOL_VERSION_29)
             .consistentHashImpl(2, SomeCustomConsistentHashV2.class)
@@ -203,6 +214,10 @@ public void testConfiguration() {
             .keySizeEstimate(128)
             .valueSizeEstimate(1024)
             .maxRetries(0)
+            .bulkBatchSize(100)
+            .bulkBatchBytes(65536)
+            .balanceReads(true)
+            .hedgedReads(true)
             .tcpKeepAlive(true)
             .security()
             .ssl()
@@ -258,6 +273,7 @@ public void testWithProperties() {
       p.setProperty("timeBetweenEvictionRunsMillis", "15000");
       p.setProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, "12000");
       p.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, "12");
+      p.setProperty(CONNECTION_POOL_PIPELINE_WAIT_MICROS, "500");
       p.setProperty("testOnBorrow", "true");
       p.setProperty("testOnReturn", "true");
       p.setProperty("testWhileIdle", "false");
@@ -269,6 +285,10 @@ public void testWithProperties() {
       p.setProperty(KEY_SIZE_ESTIMATE, "128");
       p.setProperty(VALUE_SIZE_ESTIMATE, "1024");
       p.setProperty(MAX_RETRIES, "0");
+      p.setProperty(BULK_BATCH_SIZE, "100");
+      p.setProperty(BULK_BATCH_BYTES, "65536");
+      p.setProperty(BALANCE_READS, "true");
+      p.setProperty(HEDGED_READS, "true");
       p.setProperty(USE_SSL, "true");
       p.setProperty(KEY_STORE_FILE_NAME, "my-key-store.file");
       p.setProperty(KEY_STORE_PASSWORD, "my-key-store.password");
@@ -575,6 +595,7 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(12000L, "minEvictableIdleTimeMillis", configuration);
       assertEqualsConfig(12000L, CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, configuration);
       assertEqualsConfig(12, CONNECTION_POOL_MAX_PENDING_REQUESTS, configuration);
+      assertEqualsConfig(500L, CONNECTION_POOL_PIPELINE_WAIT_MICROS, configuration);
       assertEqualsConfig(100, CONNECT_TIMEOUT, configuration);
       assertEqualsConfig(100, SO_TIMEOUT, configuration);
       assertEqualsConfig(false, TCP_NO_DELAY, configuration);
@@ -582,6 +603,10 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(128, KEY_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(1024, VALUE_SIZE_ESTIMATE, configuration);
       assertEqualsConfig(0, MAX_RETRIES, configuration);
+      assertEqualsConfig(100, BULK_BATCH_SIZE, configuration);
+      assertEqualsConfig(65536, BULK_BATCH_BYTES, configuration);
+      assertEqualsConfig(true, BALANCE_READS, configuration);
+      assertEqualsConfig(true, HEDGED_READS, configuration);
       assertEqualsConfig(true, USE_SSL, configuration);
       assertEqualsConfig("my-key-store.file", KEY_STORE_FILE_NAME, configuration);
       assertEqualsConfig("my-key-store.password", KEY_STORE_PASSWORD, configuration);
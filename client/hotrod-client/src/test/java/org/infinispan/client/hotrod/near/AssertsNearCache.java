@@ -256,6 +256,14 @@ public boolean isNearCacheConnected() {
       return this.nearCacheService.get().isConnected();
    }
 
+   public boolean isNearCacheReadable() {
+      return this.nearCacheService.get().isReadable();
+   }
+
+   public void nearCacheFailover() {
+      this.nearCacheService.get().failover();
+   }
+
    public int nearCacheSize() {
       return this.nearCacheService.get().size();
    }
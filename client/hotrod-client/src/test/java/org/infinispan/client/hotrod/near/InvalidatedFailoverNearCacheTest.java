@@ -2,6 +2,7 @@
 
 import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.findServerAndKill;
 import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -63,7 +64,7 @@ protected NearCacheMode getNearCacheMode() {
       return NearCacheMode.INVALIDATED;
    }
 
-   public void testNearCacheClearedUponFailover() {
+   public void testNearCacheRevalidatedUponFailover() {
       AssertsNearCache<Integer, String> stickyClient = createStickyAssertClient();
       try {
          stickyClient.put(1, "v1").expectNearPreemptiveRemove(1);
@@ -76,23 +77,26 @@ public void testNearCacheClearedUponFailover() {
          boolean tailClientClear = isClientListenerAttachedToSameServer(tailClient(), stickyClient);
          killServerForClient(stickyClient);
 
-         // The clear will be executed when the connection to the server is closed from the listener.
-         stickyClient.expectNearClear();
-
-         // Also make sure the near cache is fully connected so the events will work deterministically
-         eventually(stickyClient::isNearCacheConnected);
+         // Once the listener is registered again, the entries of the segments modified since the segment versions
+         // were fetched are invalidated, even if their events were received, and all the keys were written after
+         // the near cache started
+         eventually(stickyClient::isNearCacheReadable);
+         assertEquals(0, stickyClient.nearCacheSize());
+         stickyClient.resetEvents();
 
          stickyClient.get(1, "v1")
                .expectNearGetNull(1)
                .expectNearPutIfAbsent(1, "v1");
          stickyClient.expectNoNearEvents();
          if (headClientClear) {
-            headClient().expectNearClear();
+            eventually(headClient()::isNearCacheReadable);
+            headClient().resetEvents();
          }
          headClient().get(2, "v1").expectNearGetNull(2).expectNearPutIfAbsent(2, "v1");
          headClient().expectNoNearEvents();
          if (tailClientClear) {
-            tailClient().expectNearClear();
+            eventually(tailClient()::isNearCacheReadable);
+            tailClient().resetEvents();
          }
          tailClient().get(3, "v1").expectNearGetNull(3).expectNearPutIfAbsent(3, "v1");
          tailClient().expectNoNearEvents();
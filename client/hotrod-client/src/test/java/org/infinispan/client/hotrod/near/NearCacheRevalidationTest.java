@@ -0,0 +1,104 @@
+package org.infinispan.client.hotrod.near;
+
+import static java.util.stream.IntStream.range;
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.findServerAndKill;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.event.StickyServerLoadBalancingStrategy;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.MultiHotRodServersTest;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the warm-up of the near cache, and that a fail-over only invalidates the segments modified while the listener
+ * was disconnected.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.near.NearCacheRevalidationTest")
+public class NearCacheRevalidationTest extends MultiHotRodServersTest {
+   private static final int NUM_ENTRIES = 50;
+
+   private AssertsNearCache<Integer, String> nearClient;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(2);
+      createHotRodServers(3, hotRodCacheConfiguration(builder));
+   }
+
+   @AfterClass(alwaysRun = true)
+   @Override
+   protected void destroy() {
+      if (nearClient != null) {
+         nearClient.stop();
+      }
+      super.destroy();
+   }
+
+   private AssertsNearCache<Integer, String> createNearClient() {
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder =
+            HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      for (HotRodServer server : servers)
+         clientBuilder.addServer().host(server.getHost()).port(server.getPort());
+      clientBuilder.balancingStrategy(StickyServerLoadBalancingStrategy.class);
+      clientBuilder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(-1).warmUp(true);
+      return AssertsNearCache.create(cache(0), clientBuilder);
+   }
+
+   public void testWarmUp() {
+      RemoteCache<Integer, String> remoteCache = client(0).getCache();
+      range(0, NUM_ENTRIES).forEach(i -> remoteCache.put(i, "v" + i));
+
+      nearClient = createNearClient();
+      eventually(() -> nearClient.nearCacheSize() == NUM_ENTRIES);
+   }
+
+   @Test(dependsOnMethods = "testWarmUp")
+   public void testLostEventInvalidatedUponFailover() {
+      NearCacheService<Integer, String> nearCache = nearClient.nearCacheService.get();
+      MetadataValue<String> stale = nearCache.get(1);
+      client(0).getCache().put(1, "updated");
+      eventually(() -> nearClient.nearCacheSize() == NUM_ENTRIES - 1);
+      // As if the event had been lost with the server of the listener
+      nearCache.put(1, stale);
+
+      nearClient.nearCacheFailover();
+
+      eventually(nearClient::isNearCacheReadable);
+      assertNull(nearCache.get(1));
+      // Read the invalidated entries of the segment of the key into the near cache again
+      range(0, NUM_ENTRIES).forEach(i -> assertEquals(i == 1 ? "updated" : "v" + i, nearClient.remote.get(i)));
+      eventually(() -> nearClient.nearCacheSize() == NUM_ENTRIES);
+      nearClient.resetEvents();
+   }
+
+   @Test(dependsOnMethods = "testLostEventInvalidatedUponFailover")
+   public void testStaleSegmentsInvalidatedUponFailover() {
+      client(0).getCache().put(0, "updated");
+      eventually(() -> nearClient.nearCacheSize() == NUM_ENTRIES - 1);
+      nearClient.resetEvents();
+
+      findServerAndKill(nearClient.manager, servers, cacheManagers);
+
+      // The segments owned by the killed server and the one of the modified key are invalidated, the others are kept
+      eventually(nearClient::isNearCacheReadable);
+      int size = nearClient.nearCacheSize();
+      assertTrue("Near cache not revalidated: " + size, size < NUM_ENTRIES - 1);
+      assertTrue("Near cache cleared", size > 0);
+
+      nearClient.resetEvents();
+      range(0, NUM_ENTRIES).forEach(i -> assertEquals(i <= 1 ? "updated" : "v" + i, nearClient.remote.get(i)));
+   }
+}
@@ -0,0 +1,76 @@
+package org.infinispan.client.hotrod.near;
+
+import static java.util.stream.IntStream.range;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collections;
+
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the near cache keeping the entries marshalled off-heap, bounded by the memory it uses.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.near.OffHeapNearCacheTest")
+public class OffHeapNearCacheTest extends SingleHotRodServerTest {
+   private static final long MAX_BYTES = 2048;
+
+   private AssertsNearCache<Integer, String> assertClient;
+
+   @Override
+   protected void teardown() {
+      if (assertClient != null) {
+         assertClient.stop();
+         assertClient = null;
+      }
+
+      super.teardown();
+   }
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      // The maximum number of entries can be left undefined
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxBytes(MAX_BYTES);
+      assertClient = AssertsNearCache.create(cache(), builder);
+      return assertClient.manager;
+   }
+
+   public void testGetAndInvalidate() {
+      assertClient.expectNoNearEvents();
+      assertClient.get(1, null).expectNearGetNull(1);
+      assertClient.put(1, "v1").expectNearPreemptiveRemove(1);
+      assertClient.get(1, "v1").expectNearGetNull(1).expectNearPutIfAbsent(1, "v1");
+      assertClient.get(1, "v1").expectNearGetValueVersion(1, "v1");
+      assertClient.put(1, "v2").expectNearRemove(1);
+      assertClient.get(1, "v2").expectNearGetNull(1).expectNearPutIfAbsent(1, "v2");
+      assertClient.get(1, "v2").expectNearGetValueVersion(1, "v2");
+      assertClient.remove(1).expectNearRemove(1);
+      assertClient.get(1, null).expectNearGetNull(1);
+   }
+
+   public void testEvictAfterReachingMaxBytes() {
+      // Each entry uses a few hundred bytes, the near cache can only keep a few of them
+      int numEntries = 30;
+      String value = String.join("", Collections.nCopies(200, "v"));
+      range(0, numEntries).forEach(i -> assertClient.remote.put(i, value + i));
+      assertClient.resetEvents();
+      range(0, numEntries).forEach(i -> assertEquals(value + i, assertClient.remote.get(i)));
+      assertClient.resetEvents();
+
+      int size = assertClient.nearCacheSize();
+      assertTrue("Near cache not evicted: " + size, size < numEntries);
+      assertTrue("Near cache empty", size > 0);
+      // The entries evicted from the near cache are read from the server
+      range(0, numEntries).forEach(i -> assertEquals(value + i, assertClient.remote.get(i)));
+      assertClient.resetEvents();
+   }
+}
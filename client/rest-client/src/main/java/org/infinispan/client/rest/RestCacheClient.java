@@ -260,6 +260,11 @@ default CompletionStage<RestResponse> configuration() {
     */
    CompletionStage<RestResponse> stats();
 
+   /**
+    * Obtains the keys that are read, written and waited on for their lock the most in the cache
+    */
+   CompletionStage<RestResponse> hotKeys();
+
    /**
     * Creates the cache using the supplied configuration
     *
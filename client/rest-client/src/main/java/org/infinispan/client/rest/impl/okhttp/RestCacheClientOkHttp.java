@@ -336,6 +336,13 @@ public CompletionStage<RestResponse> stats() {
       return client.execute(builder);
    }
 
+   @Override
+   public CompletionStage<RestResponse> hotKeys() {
+      Request.Builder builder = new Request.Builder();
+      builder.url(cacheUrl + "?action=hot-keys").get();
+      return client.execute(builder);
+   }
+
    @Override
    public CompletionStage<RestResponse> query(String query, boolean local) {
       Request.Builder builder = new Request.Builder();
@@ -250,6 +250,7 @@ private void validateStoreWithAnnotations() {
 
    @Override
    public void validate(GlobalConfiguration globalConfig) {
+      async.validate(globalConfig);
    }
 
    @Override
@@ -22,9 +22,10 @@ public class AsyncStoreConfiguration implements ConfigurationInfo {
    @Deprecated
    public static final AttributeDefinition<Integer> THREAD_POOL_SIZE = AttributeDefinition.builder("threadPoolSize", 1).immutable().build();
    public static final AttributeDefinition<Boolean> FAIL_SILENTLY = AttributeDefinition.builder("failSilently", false).immutable().build();
+   public static final AttributeDefinition<Boolean> JOURNAL = AttributeDefinition.builder("journal", false).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE, FAIL_SILENTLY);
+      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE, FAIL_SILENTLY, JOURNAL);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(WRITE_BEHIND.getLocalName());
@@ -33,6 +34,7 @@ public static AttributeSet attributeDefinitionSet() {
    private final Attribute<Integer> modificationQueueSize;
    private final Attribute<Integer> threadPoolSize;
    private final Attribute<Boolean> failSilently;
+   private final Attribute<Boolean> journal;
 
    private final AttributeSet attributes;
 
@@ -42,6 +44,7 @@ public AsyncStoreConfiguration(AttributeSet attributes) {
       this.modificationQueueSize = attributes.attribute(MODIFICATION_QUEUE_SIZE);
       this.threadPoolSize = attributes.attribute(THREAD_POOL_SIZE);
       this.failSilently = attributes.attribute(FAIL_SILENTLY);
+      this.journal = attributes.attribute(JOURNAL);
    }
 
    @Override
@@ -79,6 +82,14 @@ public boolean failSilently() {
       return failSilently.get();
    }
 
+   /**
+    * If true, the modifications are written to a local journal before they are acknowledged, and the modifications
+    * not yet written to the store are replayed from the journal when the cache is restarted.
+    */
+   public boolean journal() {
+      return journal.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
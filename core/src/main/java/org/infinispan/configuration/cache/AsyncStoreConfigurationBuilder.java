@@ -2,8 +2,10 @@
 
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.ENABLED;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.FAIL_SILENTLY;
+import static org.infinispan.configuration.cache.AsyncStoreConfiguration.JOURNAL;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.MODIFICATION_QUEUE_SIZE;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.THREAD_POOL_SIZE;
+import static org.infinispan.util.logging.Log.CONFIG;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
@@ -97,6 +99,16 @@ public AsyncStoreConfigurationBuilder<S> failSilently(boolean failSilently) {
       return this;
    }
 
+   /**
+    * @param journal If true, the modifications are written to a local journal, in the global persistent location,
+    *           before they are acknowledged. The modifications that were not written to the underlying store when
+    *           the cache stopped or crashed are replayed from the journal when the cache is restarted.
+    */
+   public AsyncStoreConfigurationBuilder<S> journal(boolean journal) {
+      attributes.attribute(JOURNAL).set(journal);
+      return this;
+   }
+
    @Override
    public
    void validate() {
@@ -104,6 +116,9 @@ void validate() {
 
    @Override
    public void validate(GlobalConfiguration globalConfig) {
+      if (attributes.attribute(JOURNAL).get() && !globalConfig.globalState().enabled()) {
+         throw CONFIG.writeBehindJournalRequiresGlobalState();
+      }
    }
 
    @Override
@@ -22,11 +22,13 @@ public class ExpirationConfiguration implements Matchable<ExpirationConfiguratio
    public static final AttributeDefinition<Boolean> REAPER_ENABLED = AttributeDefinition.builder("reaperEnabled", true).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Long> WAKEUP_INTERVAL = AttributeDefinition.builder("wakeUpInterval", TimeUnit.MINUTES.toMillis(1)).xmlName("interval").build();
    public static final AttributeDefinition<TouchMode> TOUCH = AttributeDefinition.builder("touch", TouchMode.SYNC).immutable().build();
+   public static final AttributeDefinition<Integer> REAPER_PARALLELISM = AttributeDefinition.builder("reaperParallelism", 0).immutable().build();
+   public static final AttributeDefinition<Boolean> INDEXED = AttributeDefinition.builder("indexed", false).immutable().build();
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(EXPIRATION.getLocalName());
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL, TOUCH);
+      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL, TOUCH, REAPER_PARALLELISM, INDEXED);
    }
 
    @Override
@@ -39,6 +41,8 @@ public ElementDefinition getElementDefinition() {
    private final Attribute<Boolean> reaperEnabled;
    private final Attribute<Long> wakeUpInterval;
    private final Attribute<TouchMode> touch;
+   private final Attribute<Integer> reaperParallelism;
+   private final Attribute<Boolean> indexed;
    private final AttributeSet attributes;
 
    ExpirationConfiguration(AttributeSet attributes) {
@@ -48,6 +52,8 @@ public ElementDefinition getElementDefinition() {
       reaperEnabled = attributes.attribute(REAPER_ENABLED);
       wakeUpInterval = attributes.attribute(WAKEUP_INTERVAL);
       touch = attributes.attribute(TOUCH);
+      reaperParallelism = attributes.attribute(REAPER_PARALLELISM);
+      indexed = attributes.attribute(INDEXED);
    }
 
    /**
@@ -98,6 +104,22 @@ public TouchMode touch() {
       return touch.get();
    }
 
+   /**
+    * Maximum number of segments the expiration reaper processes in parallel. 0 means a quarter of the available
+    * processors.
+    */
+   public int reaperParallelism() {
+      return reaperParallelism.get();
+   }
+
+   /**
+    * Whether the entries that can expire are indexed by their expiration time, so that the reaper finds the expired
+    * entries without looking at the others.
+    */
+   public boolean indexed() {
+      return indexed.get();
+   }
+
    @Override
    public String toString() {
       return "ExpirationConfiguration [attributes=" + attributes + "]";
@@ -1,8 +1,10 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.ExpirationConfiguration.INDEXED;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.LIFESPAN;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.MAX_IDLE;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.REAPER_ENABLED;
+import static org.infinispan.configuration.cache.ExpirationConfiguration.REAPER_PARALLELISM;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.TOUCH;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.WAKEUP_INTERVAL;
 
@@ -146,6 +148,34 @@ public ExpirationConfigurationBuilder touch(TouchMode touchMode) {
       return this;
    }
 
+   /**
+    * Maximum number of segments the expiration reaper processes in parallel, limiting how much CPU it takes away from
+    * requests while it runs. 0, the default, means a quarter of the available processors.
+    */
+   public ExpirationConfigurationBuilder reaperParallelism(int parallelism) {
+      attributes.attribute(REAPER_PARALLELISM).set(parallelism);
+      return this;
+   }
+
+   public int reaperParallelism() {
+      return attributes.attribute(REAPER_PARALLELISM).get();
+   }
+
+   /**
+    * Indexes the entries that can expire by their expiration time, so that the reaper removes them shortly after they
+    * expire without looking at the other entries. Every write of an entry that can expire then updates the index, and
+    * the index holds a copy of the key of each such entry on the heap, including with off-heap storage. Defaults to
+    * false, where the reaper looks at every entry of the segments that may hold an expired entry.
+    */
+   public ExpirationConfigurationBuilder indexed(boolean indexed) {
+      attributes.attribute(INDEXED).set(indexed);
+      return this;
+   }
+
+   public boolean indexed() {
+      return attributes.attribute(INDEXED).get();
+   }
+
    @Override
    public void validate() {
       Attribute<TouchMode> touch = attributes.attribute(TOUCH);
@@ -153,6 +183,9 @@ public void validate() {
       if (touch.isModified() && touch.get() == TouchMode.SYNC && !clustering().cacheMode().isSynchronous()) {
          throw Log.CONFIG.invalidTouchMode(clustering().cacheMode());
       }
+      if (attributes.attribute(REAPER_PARALLELISM).get() < 0) {
+         throw Log.CONFIG.invalidReaperParallelism(attributes.attribute(REAPER_PARALLELISM).get());
+      }
    }
 
    @Override
@@ -25,11 +25,15 @@ public class MemoryConfiguration implements Matchable<MemoryConfiguration>, Conf
    public static final AttributeDefinition<String> MAX_SIZE = AttributeDefinition.builder("maxSize", null, String.class).build();
    public static final AttributeDefinition<Long> MAX_COUNT = AttributeDefinition.builder("maxCount", -1L).build();
    public static final AttributeDefinition<EvictionStrategy> WHEN_FULL = AttributeDefinition.builder("whenFull", EvictionStrategy.NONE).immutable().build();
+   public static final AttributeDefinition<OffHeapAllocatorType> ALLOCATOR = AttributeDefinition.builder("allocator", OffHeapAllocatorType.UNPOOLED).immutable().build();
+   public static final AttributeDefinition<Long> EXPECTED_ENTRIES = AttributeDefinition.builder("expectedEntries", -1L).immutable().build();
+   public static final AttributeDefinition<OffHeapEvictionPolicy> EVICTION_POLICY = AttributeDefinition.builder("evictionPolicy", OffHeapEvictionPolicy.LRU).immutable().build();
+   public static final AttributeDefinition<Boolean> COMPACT = AttributeDefinition.builder("compact", false).immutable().build();
 
    private final MemoryStorageConfiguration memoryStorageConfiguration;
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL);
+      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL, ALLOCATOR, EXPECTED_ENTRIES, EVICTION_POLICY, COMPACT);
    }
 
    private final AttributeSet attributes;
@@ -165,6 +169,34 @@ public EvictionStrategy whenFull() {
       return attributes.attribute(WHEN_FULL).get();
    }
 
+   /**
+    * @return The {@link OffHeapAllocatorType} used when the storage is off-heap.
+    */
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(ALLOCATOR).get();
+   }
+
+   /**
+    * @return how many entries the off-heap data container is expected to hold or -1 if not configured.
+    */
+   public long expectedEntries() {
+      return attributes.attribute(EXPECTED_ENTRIES).get();
+   }
+
+   /**
+    * @return The {@link OffHeapEvictionPolicy} used when the storage is off-heap and eviction is enabled.
+    */
+   public OffHeapEvictionPolicy evictionPolicy() {
+      return attributes.attribute(EVICTION_POLICY).get();
+   }
+
+   /**
+    * @return true if heap storage packs entries with binary keys and values into byte arrays.
+    */
+   public boolean compact() {
+      return attributes.attribute(COMPACT).get();
+   }
+
    /**
     * Returns whether remove eviction is in use
     */
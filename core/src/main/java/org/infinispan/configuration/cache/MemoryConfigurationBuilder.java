@@ -252,6 +252,71 @@ public EvictionStrategy whenFull() {
       return attributes.attribute(MemoryConfiguration.WHEN_FULL).get();
    }
 
+   /**
+    * Defines how native memory is allocated when the storage is {@link StorageType#OFF_HEAP}. This setting has no
+    * effect for other storage types.
+    * @param allocator the allocator type
+    * @return this configuration builder
+    */
+   public MemoryConfigurationBuilder allocator(OffHeapAllocatorType allocator) {
+      attributes.attribute(MemoryConfiguration.ALLOCATOR).set(allocator);
+      return this;
+   }
+
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(MemoryConfiguration.ALLOCATOR).get();
+   }
+
+   /**
+    * Defines how many entries the cache is expected to hold when the storage is {@link StorageType#OFF_HEAP}, so that
+    * the off-heap lookup table can be sized up front instead of being resized while the cache is populated. The
+    * value applies to the whole cache and is divided between segments. This setting has no effect for other storage
+    * types.
+    * @param expectedEntries the expected number of entries
+    * @return this configuration builder
+    */
+   public MemoryConfigurationBuilder expectedEntries(long expectedEntries) {
+      attributes.attribute(MemoryConfiguration.EXPECTED_ENTRIES).set(expectedEntries);
+      return this;
+   }
+
+   public long expectedEntries() {
+      return attributes.attribute(MemoryConfiguration.EXPECTED_ENTRIES).get();
+   }
+
+   /**
+    * Defines which entries are evicted first when the storage is {@link StorageType#OFF_HEAP} and the cache is bounded
+    * with {@link EvictionStrategy#REMOVE}. This setting has no effect for other storage types.
+    * @param evictionPolicy the eviction policy
+    * @return this configuration builder
+    */
+   public MemoryConfigurationBuilder evictionPolicy(OffHeapEvictionPolicy evictionPolicy) {
+      attributes.attribute(MemoryConfiguration.EVICTION_POLICY).set(evictionPolicy);
+      return this;
+   }
+
+   public OffHeapEvictionPolicy evictionPolicy() {
+      return attributes.attribute(MemoryConfiguration.EVICTION_POLICY).get();
+   }
+
+   /**
+    * Enables packing the entries of the cache into byte arrays when the storage is {@link StorageType#HEAP} and both
+    * keys and values are encoded as {@code application/x-protostream} or {@code application/octet-stream}. Immortal
+    * and mortal entries then only take the space of their bytes, at the cost of creating a new entry instance every
+    * time one is read. This setting has no effect for other storage types, other encodings or when the cache is
+    * bounded with {@link EvictionStrategy#REMOVE}.
+    * @param compact whether entries are packed into byte arrays
+    * @return this configuration builder
+    */
+   public MemoryConfigurationBuilder compact(boolean compact) {
+      attributes.attribute(MemoryConfiguration.COMPACT).set(compact);
+      return this;
+   }
+
+   public boolean compact() {
+      return attributes.attribute(MemoryConfiguration.COMPACT).get();
+   }
+
    /**
     * The configured eviction strategy, please see {@link MemoryConfigurationBuilder#evictionStrategy(EvictionStrategy)}.
     * @return the configured eviction stategy
@@ -323,6 +388,10 @@ public void validate() {
 
    @Override
    public void validate(GlobalConfiguration globalConfig) {
+      if (storage() == StorageType.OFF_HEAP && allocator() == OffHeapAllocatorType.MAPPED_FILE &&
+            !globalConfig.globalState().enabled()) {
+         throw CONFIG.mappedFileAllocatorRequiresGlobalState();
+      }
    }
 
    @Override
@@ -0,0 +1,36 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining how native memory is obtained when the data container uses {@link StorageType#OFF_HEAP}.
+ *
+ * @since 13.0
+ */
+public enum OffHeapAllocatorType {
+   /**
+    * Every entry is allocated and freed individually through the native allocator.
+    */
+   UNPOOLED,
+   /**
+    * Entries are carved out of size-classed slabs that are kept until the cache is stopped. This avoids calling
+    * the native allocator for every write and limits fragmentation of the native heap, at the cost of keeping
+    * freed memory reserved for reuse.
+    * <p>
+    * Reads are also first attempted without acquiring the lock protecting the entry, in which case memory released
+    * by a write is only reused once no such read can still be observing it.
+    */
+   POOLED,
+   /**
+    * Same as {@link #POOLED}, except that memory is obtained from a memory-mapped file under the global persistent
+    * location instead of the native heap. The operating system can then page entries out to disk, which allows the
+    * cache to hold more than the physical memory. The file is only a paging space, not a persistent copy of the
+    * entries: it is recreated every time the cache is started, so the cache always starts empty.
+    */
+   MAPPED_FILE;
+
+   /**
+    * @return true if freed memory is kept for reuse until the cache is stopped
+    */
+   public boolean isPooled() {
+      return this != UNPOOLED;
+   }
+}
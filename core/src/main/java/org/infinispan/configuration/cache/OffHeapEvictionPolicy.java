@@ -0,0 +1,21 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining which entries are removed first when a bounded data container using
+ * {@link StorageType#OFF_HEAP} is full. Heap storage always uses the frequency based policy of Caffeine.
+ *
+ * @since 13.0
+ */
+public enum OffHeapEvictionPolicy {
+   /**
+    * Evicts the least recently used entry.
+    */
+   LRU,
+   /**
+    * Window TinyLFU: new entries are admitted into a small LRU window and only replace an entry of the main
+    * segmented LRU space if they have been accessed more often, according to a count-min sketch kept in native
+    * memory. This retains frequently used entries when the cache is scanned, at the cost of the memory required by
+    * the sketch.
+    */
+   TINY_LFU
+}
@@ -22,8 +22,12 @@ public class PersistenceConfiguration implements Matchable<PersistenceConfigurat
    public static final AttributeDefinition<Integer> AVAILABILITY_INTERVAL = AttributeDefinition.builder("availabilityInterval", 1000).immutable().build();
    public static final AttributeDefinition<Integer> CONNECTION_ATTEMPTS = AttributeDefinition.builder("connectionAttempts", 10).immutable().build();
    public static final AttributeDefinition<Integer> CONNECTION_INTERVAL = AttributeDefinition.builder("connectionInterval", 50).immutable().build();
+   public static final AttributeDefinition<Integer> PRELOAD_PARALLELISM = AttributeDefinition.builder("preloadParallelism", 0).immutable().build();
+   public static final AttributeDefinition<Boolean> PRELOAD_ASYNC = AttributeDefinition.builder("preloadAsync", false).immutable().build();
+   public static final AttributeDefinition<Integer> BLOOM_FILTER_BITS = AttributeDefinition.builder("bloomFilterBits", 0).immutable().build();
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(PersistenceConfiguration.class, PASSIVATION, AVAILABILITY_INTERVAL, CONNECTION_ATTEMPTS, CONNECTION_INTERVAL);
+      return new AttributeSet(PersistenceConfiguration.class, PASSIVATION, AVAILABILITY_INTERVAL, CONNECTION_ATTEMPTS, CONNECTION_INTERVAL,
+            PRELOAD_PARALLELISM, PRELOAD_ASYNC, BLOOM_FILTER_BITS);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(PERSISTENCE.getLocalName());
@@ -32,6 +36,9 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<Integer> availabilityInterval;
    private final Attribute<Integer> connectionAttempts;
    private final Attribute<Integer> connectionInterval;
+   private final Attribute<Integer> preloadParallelism;
+   private final Attribute<Boolean> preloadAsync;
+   private final Attribute<Integer> bloomFilterBits;
    private final AttributeSet attributes;
    private final List<StoreConfiguration> stores;
    private final List<ConfigurationInfo> subElements = new ArrayList<>();
@@ -43,6 +50,9 @@ static AttributeSet attributeDefinitionSet() {
       this.availabilityInterval = attributes.attribute(AVAILABILITY_INTERVAL);
       this.connectionAttempts = attributes.attribute(CONNECTION_ATTEMPTS);
       this.connectionInterval = attributes.attribute(CONNECTION_INTERVAL);
+      this.preloadParallelism = attributes.attribute(PRELOAD_PARALLELISM);
+      this.preloadAsync = attributes.attribute(PRELOAD_ASYNC);
+      this.bloomFilterBits = attributes.attribute(BLOOM_FILTER_BITS);
       this.stores = stores;
       this.subElements.addAll(stores);
    }
@@ -77,6 +87,29 @@ public int connectionInterval() {
       return connectionInterval.get();
    }
 
+   /**
+    * Maximum number of groups of segments that are preloaded in parallel. 0 means the number of available processors.
+    */
+   public int preloadParallelism() {
+      return preloadParallelism.get();
+   }
+
+   /**
+    * If true, the cache starts without waiting for the preload to complete, and the entries not preloaded yet are
+    * loaded from the store when they are read.
+    */
+   public boolean preloadAsync() {
+      return preloadAsync.get();
+   }
+
+   /**
+    * Number of bits of the bloom filter of the keys in the stores kept for each segment, which allows loads of absent
+    * keys to skip the stores. 0 means the keys are not filtered.
+    */
+   public int bloomFilterBits() {
+      return bloomFilterBits.get();
+   }
+
    public List<StoreConfiguration> stores() {
       return stores;
    }
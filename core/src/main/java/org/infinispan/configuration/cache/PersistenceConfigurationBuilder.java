@@ -4,6 +4,9 @@
 import static org.infinispan.configuration.cache.PersistenceConfiguration.CONNECTION_ATTEMPTS;
 import static org.infinispan.configuration.cache.PersistenceConfiguration.CONNECTION_INTERVAL;
 import static org.infinispan.configuration.cache.PersistenceConfiguration.PASSIVATION;
+import static org.infinispan.configuration.cache.PersistenceConfiguration.BLOOM_FILTER_BITS;
+import static org.infinispan.configuration.cache.PersistenceConfiguration.PRELOAD_ASYNC;
+import static org.infinispan.configuration.cache.PersistenceConfiguration.PRELOAD_PARALLELISM;
 import static org.infinispan.configuration.parsing.Element.CLUSTER_LOADER;
 import static org.infinispan.configuration.parsing.Element.FILE_STORE;
 import static org.infinispan.configuration.parsing.Element.SINGLE_FILE_STORE;
@@ -140,6 +143,38 @@ public PersistenceConfigurationBuilder connectionInterval(int interval) {
       return this;
    }
 
+   /**
+    * Maximum number of groups of segments that are preloaded in parallel, each reading its segments from the store
+    * with its own subscription. Stores that are not segmented are always preloaded with a single subscription.
+    * 0, the default, means the number of available processors.
+    */
+   public PersistenceConfigurationBuilder preloadParallelism(int parallelism) {
+      attributes.attribute(PRELOAD_PARALLELISM).set(parallelism);
+      return this;
+   }
+
+   /**
+    * If true, the cache starts without waiting for the preload to complete. Entries that are not preloaded yet are
+    * loaded from the store when they are read, as they would be without preload, and the preload never overwrites
+    * an entry that was written or removed since the cache started. Defaults to false.
+    */
+   public PersistenceConfigurationBuilder preloadAsync(boolean preloadAsync) {
+      attributes.attribute(PRELOAD_ASYNC).set(preloadAsync);
+      return this;
+   }
+
+   /**
+    * Number of bits of the bloom filter kept for each segment with the keys written to the stores. A load of a key
+    * that is definitely not in the stores then completes without reading them, which helps caches where most reads
+    * are for absent keys. The filters are built from the keys in the stores when the cache starts and when it receives
+    * segments, and are not used with shared stores or stores that cannot iterate their keys.
+    * 0, the default, disables the filters.
+    */
+   public PersistenceConfigurationBuilder bloomFilterBits(int bits) {
+      attributes.attribute(BLOOM_FILTER_BITS).set(bits);
+      return this;
+   }
+
    /**
     * If true, data is written to the cache store only when it is evicted from memory, which is known as 'passivation'.
     * When the data is requested again it is activated, which returns the data to memory and removes it from the
@@ -255,6 +290,18 @@ public void validate() {
       if (numPreload > 1) {
          throw CONFIG.onlyOnePreloadStoreAllowed();
       }
+      int preloadParallelism = attributes.attribute(PRELOAD_PARALLELISM).get();
+      if (preloadParallelism < 0) {
+         throw CONFIG.invalidPreloadParallelism(preloadParallelism);
+      }
+      int bloomFilterBits = attributes.attribute(BLOOM_FILTER_BITS).get();
+      if (bloomFilterBits < 0) {
+         throw CONFIG.invalidBloomFilterBits(bloomFilterBits);
+      }
+      if (numPreload > 0 && attributes.attribute(PRELOAD_ASYNC).get() && builder.indexing().enabled() &&
+            builder.indexing().attributes().attribute(IndexingConfiguration.STORAGE).get() == IndexStorage.LOCAL_HEAP) {
+         throw CONFIG.preloadAsyncWithVolatileIndex();
+      }
 
       // If a store is present, the reaper expiration thread must be enabled.
       if (!stores.isEmpty()) {
@@ -16,15 +16,17 @@ public class StatisticsConfiguration extends JMXStatisticsConfiguration implemen
 
    public static final AttributeDefinition<Boolean> ENABLED = AttributeDefinition.builder("enabled", false).xmlName("statistics").build();
    public static final AttributeDefinition<Boolean> AVAILABLE = AttributeDefinition.builder("available", true).xmlName("statistics-available").build();
+   public static final AttributeDefinition<Integer> HOT_KEYS = AttributeDefinition.builder("hotKeys", 0).xmlName("statistics-hot-keys").immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(StatisticsConfiguration.class, ENABLED, AVAILABLE);
+      return new AttributeSet(StatisticsConfiguration.class, ENABLED, AVAILABLE, HOT_KEYS);
    }
 
    static final ElementDefinition<StatisticsConfiguration> ELEMENT_DEFINITION = new DefaultElementDefinition<>("", false);
 
    private final Attribute<Boolean> enabled;
    private final Attribute<Boolean> available;
+   private final Attribute<Integer> hotKeys;
    private final AttributeSet attributes;
 
    /**
@@ -36,6 +38,7 @@ static AttributeSet attributeDefinitionSet() {
       this.attributes = attributes.checkProtection();
       enabled = attributes.attribute(ENABLED);
       available = attributes.attribute(AVAILABLE);
+      hotKeys = attributes.attribute(HOT_KEYS);
    }
 
    @Override
@@ -57,6 +60,14 @@ public boolean available() {
       return available.get();
    }
 
+   /**
+    * How many of the keys that are read, written and waited on for their lock the most are tracked. 0 when hot keys
+    * are not tracked.
+    */
+   public int hotKeys() {
+      return hotKeys.get();
+   }
+
    @Override
    public AttributeSet attributes() {
       return attributes;
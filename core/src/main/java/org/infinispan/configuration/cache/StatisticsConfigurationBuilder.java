@@ -3,6 +3,7 @@
 import static org.infinispan.configuration.cache.StatisticsConfiguration.AVAILABLE;
 import static org.infinispan.configuration.cache.StatisticsConfiguration.ELEMENT_DEFINITION;
 import static org.infinispan.configuration.cache.StatisticsConfiguration.ENABLED;
+import static org.infinispan.configuration.cache.StatisticsConfiguration.HOT_KEYS;
 import static org.infinispan.util.logging.Log.CONFIG;
 
 import org.infinispan.commons.configuration.Builder;
@@ -69,6 +70,16 @@ public StatisticsConfigurationBuilder available(boolean available) {
       return this;
    }
 
+   /**
+    * Sets how many of the keys that are read, written and waited on for their lock the most are tracked while
+    * statistics are enabled. The keys are estimated from a sample of the operations. Defaults to 0, which disables
+    * the tracking of hot keys.
+    */
+   public StatisticsConfigurationBuilder hotKeys(int hotKeys) {
+      attributes.attribute(HOT_KEYS).set(hotKeys);
+      return this;
+   }
+
    @Override
    public void validate() {
       Attribute<Boolean> enabled = attributes.attribute(ENABLED);
@@ -78,6 +89,10 @@ public void validate() {
             throw CONFIG.statisticsEnabledNotAvailable();
          }
       }
+      int hotKeys = attributes.attribute(HOT_KEYS).get();
+      if (hotKeys < 0) {
+         throw CONFIG.invalidHotKeys(hotKeys);
+      }
    }
 
    @Override
@@ -18,6 +18,7 @@ public enum Attribute {
     ADDRESS_COUNT,
     AFTER,
     ALIASES,
+    ALLOCATOR,
     @Deprecated
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
     @Deprecated
@@ -35,15 +36,19 @@ public enum Attribute {
     BIAS_ACQUISITION,
     BIAS_LIFESPAN,
     BLOCKING_EXECUTOR,
+    BLOOM_FILTER_BITS,
     CACHE_SIZE,
     CACHE_TIMEOUT,
     CALIBRATE_BY_DELETES,
     CAPACITY_FACTOR("capacity"),
+    CHECKPOINT_INTERVAL,
     CHUNK_SIZE,
     CLASS,
     CLUSTER,
     COMMIT_INTERVAL,
+    COMPACT,
     COMPACTION_THRESHOLD,
+    COMPRESSION_THRESHOLD,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
     CONCURRENCY_LEVEL,
     CONFIGURATION,
@@ -59,9 +64,11 @@ public enum Attribute {
     ENABLED,
     ENCODER,
     EXECUTOR,
+    EXPECTED_ENTRIES,
     EVICTION,
     @Deprecated
     EVICTION_EXECUTOR,
+    EVICTION_POLICY,
     @Deprecated
     EVICTION_STRATEGY,
     EXPIRATION_EXECUTOR,
@@ -80,6 +87,7 @@ public enum Attribute {
     @Deprecated
     INDEX,
     INDEX_QUEUE_LENGTH("max-queue-length"),
+    INDEXED,
     INITIAL_CLUSTER_SIZE,
     INITIAL_CLUSTER_TIMEOUT,
     INTERVAL,
@@ -87,6 +95,7 @@ public enum Attribute {
     INVALIDATION_CLEANUP_TASK_FREQUENCY("l1-cleanup-interval"),
     ISOLATION,
     JNDI_NAME,
+    JOURNAL,
     KEEP_ALIVE_TIME("keepalive-time"),
     KEY,
     KEY_EQUIVALENCE,
@@ -102,6 +111,7 @@ public enum Attribute {
     MAPPER,
     MARSHALLER_CLASS("marshaller"),
     MAX_BATCH_SIZE,
+    MAX_COMPACTION_RATE,
     MAX_COUNT,
     MAX_ENTRIES,
     MAX_FILE_SIZE,
@@ -137,6 +147,8 @@ public enum Attribute {
     POSITION,
     PREFIX,
     PRELOAD,
+    PRELOAD_ASYNC,
+    PRELOAD_PARALLELISM,
     PRIORITY,
     PURGE,
     QUEUE_COUNT,
@@ -147,6 +159,7 @@ public enum Attribute {
     RACK_ID("rack"),
     RAM_BUFFER_SIZE,
     READ_ONLY,
+    REAPER_PARALLELISM,
     REAPER_WAKE_UP_INTERVAL("reaper-interval"),
     RECOVERY_INFO_CACHE_NAME("recovery-cache"),
     REFRESH_INTERVAL,
@@ -173,6 +186,7 @@ public enum Attribute {
     SPIN_DURATION("deadlock-detection-spin"),
     STATISTICS,
     STATISTICS_AVAILABLE,
+    STATISTICS_HOT_KEYS,
     START,
     @Deprecated
     STATE_TRANSFER_EXECUTOR,
@@ -183,6 +197,8 @@ public enum Attribute {
     STRIPING,
     STACK,
     STOP_TIMEOUT,
+    SYNC_BATCH_SIZE,
+    SYNC_WINDOW,
     SYNC_WRITES,
     TAKE_BACKUP_OFFLINE_AFTER_FAILURES("after-failures"),
     TAKE_BACKUP_OFFLINE_MIN_WAIT("min-wait"),
@@ -37,6 +37,8 @@
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfigurationBuilder;
 import org.infinispan.configuration.cache.MemoryConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.configuration.cache.PartitionHandlingConfigurationBuilder;
 import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
 import org.infinispan.configuration.cache.SecurityConfigurationBuilder;
@@ -187,6 +189,14 @@ private void parseCacheAttribute(ConfigurationReader reader,
             builder.statistics().available(Boolean.parseBoolean(value));
             break;
          }
+         case STATISTICS_HOT_KEYS: {
+            if (reader.getSchema().since(13, 0)) {
+               builder.statistics().hotKeys(Integer.parseInt(value));
+            } else {
+               throw ParseUtils.unexpectedAttribute(reader, index);
+            }
+            break;
+         }
          case SPIN_DURATION: {
             if (reader.getSchema().since(10, 0)) {
                throw ParseUtils.attributeRemoved(reader, index);
@@ -594,6 +604,18 @@ private void parseMemory(final ConfigurationReader reader, final ConfigurationBu
                case WHEN_FULL:
                   memoryBuilder.whenFull(EvictionStrategy.valueOf(value));
                   break;
+               case ALLOCATOR:
+                  memoryBuilder.allocator(OffHeapAllocatorType.valueOf(value));
+                  break;
+               case EXPECTED_ENTRIES:
+                  memoryBuilder.expectedEntries(Long.parseLong(value));
+                  break;
+               case EVICTION_POLICY:
+                  memoryBuilder.evictionPolicy(OffHeapEvictionPolicy.valueOf(value));
+                  break;
+               case COMPACT:
+                  memoryBuilder.compact(Boolean.parseBoolean(value));
+                  break;
                default:
                   throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1013,6 +1035,22 @@ private void parseExpiration(ConfigurationReader reader, ConfigurationBuilder bu
                }
                break;
             }
+            case REAPER_PARALLELISM: {
+               if (reader.getSchema().since(13, 0)) {
+                  builder.expiration().reaperParallelism(Integer.parseInt(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            }
+            case INDEXED: {
+               if (reader.getSchema().since(13, 0)) {
+                  builder.expiration().indexed(Boolean.parseBoolean(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1343,6 +1381,27 @@ private void parsePersistence(final ConfigurationReader reader, final Configurat
             case CONNECTION_INTERVAL:
                builder.persistence().connectionInterval(Integer.parseInt(value));
                break;
+            case PRELOAD_PARALLELISM:
+               if (reader.getSchema().since(13, 0)) {
+                  builder.persistence().preloadParallelism(Integer.parseInt(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            case PRELOAD_ASYNC:
+               if (reader.getSchema().since(13, 0)) {
+                  builder.persistence().preloadAsync(Boolean.parseBoolean(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            case BLOOM_FILTER_BITS:
+               if (reader.getSchema().since(13, 0)) {
+                  builder.persistence().bloomFilterBits(Integer.parseInt(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1461,6 +1520,13 @@ protected void parseFileStore(ConfigurationReader reader, ConfigurationBuilderHo
                   throw ParseUtils.unexpectedAttribute(reader, i);
                }
                break;
+            case MAX_COMPACTION_RATE:
+               if (sifsBuilder != null && reader.getSchema().since(13, 0)) {
+                  sifsBuilder.maxCompactionRate(Long.parseLong(value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
             case PURGE: {
                actualStoreConfig.purgeOnStartup(Boolean.parseBoolean(value));
                break;
@@ -1514,6 +1580,21 @@ private void parseData(ConfigurationReader reader, SoftIndexFileStoreConfigurati
             case SYNC_WRITES:
                builder.syncWrites(Boolean.parseBoolean(value));
                break;
+            case SYNC_WINDOW:
+               if (!reader.getSchema().since(13, 0))
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               builder.syncWindow(Long.parseLong(value));
+               break;
+            case SYNC_BATCH_SIZE:
+               if (!reader.getSchema().since(13, 0))
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               builder.syncBatchSize(Integer.parseInt(value));
+               break;
+            case COMPRESSION_THRESHOLD:
+               if (!reader.getSchema().since(13, 0))
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               builder.compressionThreshold(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1548,6 +1629,11 @@ private void parseIndex(ConfigurationReader reader, SoftIndexFileStoreConfigurat
             case MAX_NODE_SIZE:
                builder.maxNodeSize(Integer.parseInt(value));
                break;
+            case CHECKPOINT_INTERVAL:
+               if (!reader.getSchema().since(13, 0))
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               builder.checkpointInterval(Long.parseLong(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1687,6 +1773,11 @@ public static void parseStoreWriteBehind(ConfigurationReader reader, AsyncStoreC
             case FAIL_SILENTLY:
                storeBuilder.failSilently(Boolean.parseBoolean(value));
                break;
+            case JOURNAL:
+               if (!reader.getSchema().since(13, 0))
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               storeBuilder.journal(Boolean.parseBoolean(value));
+               break;
             case SHUTDOWN_TIMEOUT: {
                if (reader.getSchema().since(9, 0)) {
                   throw ParseUtils.attributeRemoved(reader, i);
@@ -577,6 +577,7 @@ private void writeCommonClusteredCacheAttributes(ConfigurationWriter writer, Con
    private void writeCommonCacheAttributesElements(ConfigurationWriter writer, String name, Configuration configuration) {
       writer.writeAttribute(Attribute.NAME, name);
       configuration.statistics().attributes().write(writer, StatisticsConfiguration.ENABLED, Attribute.STATISTICS);
+      configuration.statistics().attributes().write(writer, StatisticsConfiguration.HOT_KEYS, Attribute.STATISTICS_HOT_KEYS);
       configuration.unsafe().attributes().write(writer);
       writeBackup(writer, configuration);
       writeEncoding(writer, configuration);
@@ -661,6 +662,10 @@ private void writeMemory(ConfigurationWriter writer, Configuration configuration
             attributes.write(writer, MemoryConfiguration.MAX_SIZE, Attribute.MAX_SIZE);
          }
          attributes.write(writer, MemoryConfiguration.WHEN_FULL, Attribute.WHEN_FULL);
+         attributes.write(writer, MemoryConfiguration.ALLOCATOR, Attribute.ALLOCATOR);
+         attributes.write(writer, MemoryConfiguration.EXPECTED_ENTRIES, Attribute.EXPECTED_ENTRIES);
+         attributes.write(writer, MemoryConfiguration.EVICTION_POLICY, Attribute.EVICTION_POLICY);
+         attributes.write(writer, MemoryConfiguration.COMPACT, Attribute.COMPACT);
          writer.writeEndElement();
       }
    }
@@ -740,6 +745,9 @@ private void writePersistence(ConfigurationWriter writer, Configuration configur
          attributes.write(writer, PersistenceConfiguration.AVAILABILITY_INTERVAL, Attribute.AVAILABILITY_INTERVAL);
          attributes.write(writer, PersistenceConfiguration.CONNECTION_ATTEMPTS, Attribute.CONNECTION_ATTEMPTS);
          attributes.write(writer, PersistenceConfiguration.CONNECTION_INTERVAL, Attribute.CONNECTION_INTERVAL);
+         attributes.write(writer, PersistenceConfiguration.PRELOAD_PARALLELISM, Attribute.PRELOAD_PARALLELISM);
+         attributes.write(writer, PersistenceConfiguration.PRELOAD_ASYNC, Attribute.PRELOAD_ASYNC);
+         attributes.write(writer, PersistenceConfiguration.BLOOM_FILTER_BITS, Attribute.BLOOM_FILTER_BITS);
          for (StoreConfiguration store : persistence.stores()) {
             writeStore(writer, store);
          }
@@ -832,7 +840,10 @@ private void writeDataElement(ConfigurationWriter writer, SoftIndexFileStoreConf
       configuration.data().attributes().write(writer, Element.DATA.getLocalName(),
             DataConfiguration.DATA_LOCATION,
             DataConfiguration.MAX_FILE_SIZE,
-            DataConfiguration.SYNC_WRITES);
+            DataConfiguration.SYNC_WRITES,
+            DataConfiguration.SYNC_WINDOW,
+            DataConfiguration.SYNC_BATCH_SIZE,
+            DataConfiguration.COMPRESSION_THRESHOLD);
    }
 
    private void writeIndexElement(ConfigurationWriter writer, SoftIndexFileStoreConfiguration configuration) {
@@ -841,7 +852,8 @@ private void writeIndexElement(ConfigurationWriter writer, SoftIndexFileStoreCon
             IndexConfiguration.INDEX_QUEUE_LENGTH,
             IndexConfiguration.INDEX_SEGMENTS,
             IndexConfiguration.MIN_NODE_SIZE,
-            IndexConfiguration.MAX_NODE_SIZE);
+            IndexConfiguration.MAX_NODE_SIZE,
+            IndexConfiguration.CHECKPOINT_INTERVAL);
    }
 
    private void writeSingleFileStore(ConfigurationWriter writer, SingleFileStoreConfiguration configuration) {
@@ -50,6 +50,11 @@ public InternalCacheEntry<K, V> peek(int segment, Object k) {
       return delegate().peek(segment, k);
    }
 
+   @Override
+   public InternalCacheEntry<K, V> peekAndRecordAccess(int segment, Object k) {
+      return delegate().peekAndRecordAccess(segment, k);
+   }
+
    @Override
    public boolean touch(int segment, Object k, long currentTimeMillis) {
       return delegate().touch(segment, k, currentTimeMillis);
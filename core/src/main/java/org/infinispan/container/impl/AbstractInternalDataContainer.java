@@ -150,6 +150,9 @@ public void put(int segment, K k, V v, Metadata metadata, PrivateMetadata intern
          if (log.isTraceEnabled())
             log.tracef("Store %s=%s in container", k, copy);
          entries.put(k, copy);
+         if (copy.canExpire()) {
+            expirationManager.entryWrittenInMemory(segment, copy);
+         }
       } else {
          log.tracef("Insertion attempted for key: %s but there was no map created for it at segment: %d", k, segment);
       }
@@ -187,6 +190,9 @@ public InternalCacheEntry<K, V> remove(int segment, Object k) {
          if (log.isTraceEnabled()) {
             log.tracef("Removed %s=%s from container", k, e);
          }
+         if (e != null && e.canExpire()) {
+            expirationManager.entryRemovedInMemory(segment, k);
+         }
 
          return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
       }
@@ -212,6 +218,9 @@ public CompletionStage<Void> evict(int segment, K key) {
          // - we don't need eviction manager either as it is handled in NotifyHelper
          evictionStageRef.set(handleEviction(entry, null, passivator.running(), null, this, null));
          computeEntryRemoved(o, entry);
+         if (entry.canExpire()) {
+            expirationManager.entryRemovedInMemory(segment, o);
+         }
          return null;
       });
       return evictionStageRef.get();
@@ -227,10 +236,17 @@ public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.Comput
       PeekableTouchableMap<K, V> entries = getMapForSegment(segment);
       return entries != null ? entries.compute(key, (k, oldEntry) -> {
          InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
+         if (newEntry != null && newEntry.canExpire()) {
+            // The action may have updated the metadata of the old entry in place
+            expirationManager.entryWrittenInMemory(segment, newEntry);
+         }
          if (newEntry == oldEntry) {
             return oldEntry;
          } else if (newEntry == null) {
             computeEntryRemoved(k, oldEntry);
+            if (oldEntry != null && oldEntry.canExpire()) {
+               expirationManager.entryRemovedInMemory(segment, k);
+            }
             return null;
          }
          computeEntryWritten(k, newEntry);
@@ -253,6 +269,7 @@ public void clear(IntSet segments) {
             map.clear();
          }
       });
+      expirationManager.entriesClearedInMemory(segments);
    }
 
    /**
@@ -339,6 +356,9 @@ public void delete(K key, InternalCacheEntry<K, V> value, RemovalCause cause) {
                additionalWriter.delete(key, value, cause);
             }
             if (cause == RemovalCause.SIZE) {
+               if (value.canExpire()) {
+                  expirationManager.entryRemovedInMemory(getSegmentForKey(key), key);
+               }
                listener.onEntryChosenForEviction(key, value);
             }
          }
@@ -124,11 +124,13 @@ public InternalCacheEntry<K, V> peek(Object k) {
    @Override
    public void clear() {
       entries.clear();
+      expirationManager.entriesClearedInMemory();
    }
 
    @Override
    public void clear(IntSet segments) {
       clear(segments, false);
+      expirationManager.entriesClearedInMemory(segments);
    }
 
    @Override
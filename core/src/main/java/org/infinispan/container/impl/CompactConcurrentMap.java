@@ -0,0 +1,750 @@
+package org.infinispan.container.impl;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.MortalCacheEntry;
+import org.infinispan.container.offheap.Bits;
+import org.infinispan.metadata.impl.PrivateMetadata;
+
+/**
+ * {@link PeekableTouchableMap} for caches that store keys and values as byte arrays, which packs immortal and mortal
+ * entries into a single byte array instead of keeping an {@link InternalCacheEntry} and two {@link WrappedByteArray}
+ * instances alive for each of them.
+ * <p>
+ * Every packed entry is a record appended to the data array, made of a flags byte, the key length, the value length,
+ * the created timestamp and lifespan when the entry is mortal, followed by the key and value bytes. Records are looked
+ * up through an open addressing index with linear probing, where each slot holds the hash code of the key in the upper
+ * 32 bits and the offset of the record plus one in the lower 32 bits, so that an empty slot is 0. Records are never
+ * modified once written: replacing or removing an entry only updates the index, and the space of stale records is
+ * reclaimed by copying the live records to a new array when the data array is full.
+ * <p>
+ * Entries that cannot be packed, because their key or value is not a {@link WrappedByteArray} or because they carry
+ * a version, max idle, private metadata or a very large value, are kept as regular objects in a separate map.
+ * {@link InternalCacheEntry} instances are only created when an entry is read, so any change made to a returned
+ * entry is not reflected in the map unless it is put again, the same as with off-heap storage.
+ * <p>
+ * All operations are guarded by a single {@link StampedLock}, which is meant to be used with one map per segment,
+ * or striped by {@link StripedCompactConcurrentMap} when the container has no segments.
+ * Iterators are weakly consistent: they see the entries present when they are created, at the cost of copying the
+ * index.
+ * @since 13.0
+ */
+public class CompactConcurrentMap extends AbstractMap<Object, InternalCacheEntry<Object, Object>>
+      implements PeekableTouchableMap<Object, Object> {
+   private static final int INITIAL_INDEX_CAPACITY = 16;
+   private static final int INITIAL_DATA_LENGTH = 1 << 10;
+   // Larger records would waste a lot of the data array when they are replaced, so they are kept as objects
+   static final int MAXIMUM_RECORD_LENGTH = 1 << 16;
+   private static final int MAXIMUM_DATA_LENGTH = Integer.MAX_VALUE - 8;
+
+   private static final byte MORTAL = 1;
+   private static final int KEY_LENGTH_OFFSET = 1;
+   private static final int VALUE_LENGTH_OFFSET = KEY_LENGTH_OFFSET + 4;
+   private static final int HEADER_LENGTH = VALUE_LENGTH_OFFSET + 4;
+   private static final int CREATED_OFFSET = HEADER_LENGTH;
+   private static final int LIFESPAN_OFFSET = CREATED_OFFSET + 8;
+   private static final int MORTAL_HEADER_LENGTH = LIFESPAN_OFFSET + 8;
+
+   private final StampedLock lock = new StampedLock();
+   private final Map<Object, InternalCacheEntry<Object, Object>> objectEntries = new HashMap<>();
+
+   private long[] index = new long[INITIAL_INDEX_CAPACITY];
+   private int indexSize;
+   private byte[] data;
+   private int dataLength;
+   private int staleLength;
+
+   @Override
+   public InternalCacheEntry<Object, Object> get(Object key) {
+      return peek(key);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> peek(Object key) {
+      long stamp = lock.readLock();
+      try {
+         return lookup(key);
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   @Override
+   public boolean containsKey(Object key) {
+      long stamp = lock.readLock();
+      try {
+         if (key instanceof WrappedBytes && findSlot((WrappedBytes) key) >= 0) {
+            return true;
+         }
+         return objectEntries.containsKey(key);
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   @Override
+   public boolean touchKey(Object key, long currentTimeMillis) {
+      long stamp = lock.readLock();
+      try {
+         // Packed entries are immortal or mortal, which are not affected by touching them
+         if (key instanceof WrappedBytes && findSlot((WrappedBytes) key) >= 0) {
+            return true;
+         }
+         InternalCacheEntry<Object, Object> ice = objectEntries.get(key);
+         if (ice != null) {
+            ice.touch(currentTimeMillis);
+            return true;
+         }
+         return false;
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   @Override
+   public void touchAll(long currentTimeMillis) {
+      long stamp = lock.readLock();
+      try {
+         for (InternalCacheEntry<Object, Object> ice : objectEntries.values()) {
+            ice.touch(currentTimeMillis);
+         }
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   @Override
+   public int size() {
+      long stamp = lock.readLock();
+      try {
+         return indexSize + objectEntries.size();
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   @Override
+   public boolean isEmpty() {
+      return size() == 0;
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> put(Object key, InternalCacheEntry<Object, Object> value) {
+      Objects.requireNonNull(value);
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         store(key, value);
+         return previous;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> putIfAbsent(Object key, InternalCacheEntry<Object, Object> value) {
+      Objects.requireNonNull(value);
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         if (previous == null) {
+            store(key, value);
+         }
+         return previous;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> remove(Object key) {
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         if (previous != null) {
+            delete(key);
+         }
+         return previous;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public boolean remove(Object key, Object value) {
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         if (previous != null && previous.equals(value)) {
+            delete(key);
+            return true;
+         }
+         return false;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public boolean replace(Object key, InternalCacheEntry<Object, Object> oldValue,
+         InternalCacheEntry<Object, Object> newValue) {
+      Objects.requireNonNull(newValue);
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         if (previous != null && previous.equals(oldValue)) {
+            store(key, newValue);
+            return true;
+         }
+         return false;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> replace(Object key, InternalCacheEntry<Object, Object> value) {
+      Objects.requireNonNull(value);
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         if (previous != null) {
+            store(key, value);
+         }
+         return previous;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> compute(Object key, BiFunction<? super Object,
+         ? super InternalCacheEntry<Object, Object>, ? extends InternalCacheEntry<Object, Object>> remappingFunction) {
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         return update(key, previous, remappingFunction.apply(key, previous));
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> computeIfPresent(Object key, BiFunction<? super Object,
+         ? super InternalCacheEntry<Object, Object>, ? extends InternalCacheEntry<Object, Object>> remappingFunction) {
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         if (previous == null) {
+            return null;
+         }
+         return update(key, previous, remappingFunction.apply(key, previous));
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> computeIfAbsent(Object key,
+         Function<? super Object, ? extends InternalCacheEntry<Object, Object>> mappingFunction) {
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         if (previous != null) {
+            return previous;
+         }
+         return update(key, null, mappingFunction.apply(key));
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> merge(Object key, InternalCacheEntry<Object, Object> value,
+         BiFunction<? super InternalCacheEntry<Object, Object>, ? super InternalCacheEntry<Object, Object>,
+               ? extends InternalCacheEntry<Object, Object>> remappingFunction) {
+      Objects.requireNonNull(value);
+      long stamp = lock.writeLock();
+      try {
+         InternalCacheEntry<Object, Object> previous = lookup(key);
+         return update(key, previous, previous == null ? value : remappingFunction.apply(previous, value));
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   private InternalCacheEntry<Object, Object> update(Object key, InternalCacheEntry<Object, Object> previous,
+         InternalCacheEntry<Object, Object> entry) {
+      if (entry == null) {
+         if (previous != null) {
+            delete(key);
+         }
+      } else {
+         // The same instance may have been modified, so it is stored again unless its record is identical
+         store(key, entry);
+      }
+      return entry;
+   }
+
+   @Override
+   public void putAll(Map<?, ? extends InternalCacheEntry<Object, Object>> m) {
+      for (Entry<?, ? extends InternalCacheEntry<Object, Object>> entry : m.entrySet()) {
+         put(entry.getKey(), entry.getValue());
+      }
+   }
+
+   @Override
+   public void clear() {
+      long stamp = lock.writeLock();
+      try {
+         index = new long[INITIAL_INDEX_CAPACITY];
+         indexSize = 0;
+         data = null;
+         dataLength = 0;
+         staleLength = 0;
+         objectEntries.clear();
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   /**
+    * @return how many bytes of the data array are taken by records, including stale ones
+    */
+   int dataLength() {
+      long stamp = lock.readLock();
+      try {
+         return dataLength;
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   /**
+    * @return how many entries are kept as objects because they could not be packed
+    */
+   int objectEntryCount() {
+      long stamp = lock.readLock();
+      try {
+         return objectEntries.size();
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   // Must be invoked while holding the lock
+   private InternalCacheEntry<Object, Object> lookup(Object key) {
+      if (key instanceof WrappedBytes) {
+         int slot = findSlot((WrappedBytes) key);
+         if (slot >= 0) {
+            return materialize(data, index[slot]);
+         }
+      }
+      return objectEntries.isEmpty() ? null : objectEntries.get(key);
+   }
+
+   // Must be invoked while holding the write lock
+   private void store(Object key, InternalCacheEntry<Object, Object> entry) {
+      int recordLength = recordLength(key, entry);
+      if (recordLength < 0) {
+         delete(key);
+         objectEntries.put(key, entry);
+         return;
+      }
+      WrappedBytes wrappedKey = (WrappedBytes) key;
+      int hashCode = wrappedKey.hashCode();
+      int slot = findSlot(wrappedKey, hashCode);
+      if (slot >= 0 && recordMatches(recordOffset(index[slot]), entry)) {
+         return;
+      }
+      if (!ensureDataCapacity(recordLength)) {
+         delete(key);
+         objectEntries.put(key, entry);
+         return;
+      }
+      if (!objectEntries.isEmpty()) {
+         objectEntries.remove(key);
+      }
+      // Compacting the data array rewrites the offsets in the index but never moves its slots
+      int offset = writeRecord(wrappedKey, entry);
+      long slotValue = (((long) hashCode) << 32) | (offset + 1L);
+      if (slot >= 0) {
+         staleLength += recordLength(data, recordOffset(index[slot]));
+         index[slot] = slotValue;
+      } else {
+         if (indexSize + 1 > index.length - (index.length >>> 2)) {
+            resizeIndex(index.length << 1);
+         }
+         index[emptySlot(hashCode)] = slotValue;
+         indexSize++;
+      }
+   }
+
+   // Must be invoked while holding the write lock
+   private void delete(Object key) {
+      if (key instanceof WrappedBytes) {
+         int slot = findSlot((WrappedBytes) key);
+         if (slot >= 0) {
+            staleLength += recordLength(data, recordOffset(index[slot]));
+            removeSlot(slot);
+            return;
+         }
+      }
+      if (!objectEntries.isEmpty()) {
+         objectEntries.remove(key);
+      }
+   }
+
+   /**
+    * @return the length of the record for the given entry or -1 if it cannot be packed
+    */
+   private static int recordLength(Object key, InternalCacheEntry<Object, Object> entry) {
+      if (key.getClass() != WrappedByteArray.class) {
+         return -1;
+      }
+      Object value = entry.getValue();
+      if (value == null || value.getClass() != WrappedByteArray.class) {
+         return -1;
+      }
+      int headerLength;
+      Class<?> entryClass = entry.getClass();
+      if (entryClass == ImmortalCacheEntry.class) {
+         headerLength = HEADER_LENGTH;
+      } else if (entryClass == MortalCacheEntry.class) {
+         headerLength = MORTAL_HEADER_LENGTH;
+      } else {
+         return -1;
+      }
+      PrivateMetadata internalMetadata = entry.getInternalMetadata();
+      if (internalMetadata != null && !internalMetadata.isEmpty()) {
+         return -1;
+      }
+      long length = (long) headerLength + ((WrappedBytes) key).getLength() + ((WrappedBytes) value).getLength();
+      return length > MAXIMUM_RECORD_LENGTH ? -1 : (int) length;
+   }
+
+   private static int recordLength(byte[] data, int offset) {
+      int headerLength = data[offset] == MORTAL ? MORTAL_HEADER_LENGTH : HEADER_LENGTH;
+      return headerLength + Bits.getInt(data, offset + KEY_LENGTH_OFFSET) +
+            Bits.getInt(data, offset + VALUE_LENGTH_OFFSET);
+   }
+
+   private static int recordOffset(long slotValue) {
+      return ((int) slotValue) - 1;
+   }
+
+   private static int spread(int hashCode) {
+      int h = hashCode * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+   private int findSlot(WrappedBytes key) {
+      return indexSize == 0 ? -1 : findSlot(key, key.hashCode());
+   }
+
+   private int findSlot(WrappedBytes key, int hashCode) {
+      int mask = index.length - 1;
+      // The index always has empty slots, so probing ends
+      for (int slot = spread(hashCode) & mask; ; slot = (slot + 1) & mask) {
+         long slotValue = index[slot];
+         if (slotValue == 0) {
+            return -1;
+         }
+         if ((int) (slotValue >>> 32) == hashCode && keyMatches(recordOffset(slotValue), key)) {
+            return slot;
+         }
+      }
+   }
+
+   private int emptySlot(int hashCode) {
+      int mask = index.length - 1;
+      int slot = spread(hashCode) & mask;
+      while (index[slot] != 0) {
+         slot = (slot + 1) & mask;
+      }
+      return slot;
+   }
+
+   /**
+    * Removes the slot by shifting back the entries of the same probe sequence, so that no tombstones are needed.
+    */
+   private void removeSlot(int slot) {
+      int mask = index.length - 1;
+      int hole = slot;
+      for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+         int home = spread((int) (index[next] >>> 32)) & mask;
+         // Only move the entry if its home slot is not between the hole and its current slot, cyclically
+         if (((next - home) & mask) >= ((next - hole) & mask)) {
+            index[hole] = index[next];
+            hole = next;
+         }
+      }
+      index[hole] = 0;
+      indexSize--;
+   }
+
+   private void resizeIndex(int capacity) {
+      long[] oldIndex = index;
+      index = new long[capacity];
+      for (long slotValue : oldIndex) {
+         if (slotValue != 0) {
+            index[emptySlot((int) (slotValue >>> 32))] = slotValue;
+         }
+      }
+   }
+
+   /**
+    * Makes sure a record of the given length can be appended, by compacting the data array in place when enough of it
+    * is stale, or by compacting it into a larger array otherwise.
+    * @return false if the data array cannot hold that many bytes
+    */
+   private boolean ensureDataCapacity(int recordLength) {
+      if (data == null) {
+         data = new byte[Math.max(INITIAL_DATA_LENGTH, recordLength)];
+         return true;
+      }
+      if (data.length - dataLength >= recordLength) {
+         return true;
+      }
+      long required = (long) dataLength - staleLength + recordLength;
+      if (required > MAXIMUM_DATA_LENGTH) {
+         return false;
+      }
+      // Growing leaves a third of the array free, so that the copies are amortized without wasting too much space
+      long newLength = required + (required >>> 1);
+      if (newLength <= data.length) {
+         newLength = data.length;
+      }
+      compact((int) Math.min(newLength, MAXIMUM_DATA_LENGTH));
+      return true;
+   }
+
+   /**
+    * Copies the live records to a new array, in the order of the index. Iterators keep reading the previous array,
+    * which is never modified again.
+    */
+   private void compact(int length) {
+      byte[] newData = new byte[length];
+      int offset = 0;
+      for (int slot = 0; slot < index.length; ++slot) {
+         long slotValue = index[slot];
+         if (slotValue != 0) {
+            int recordOffset = recordOffset(slotValue);
+            int recordLength = recordLength(data, recordOffset);
+            System.arraycopy(data, recordOffset, newData, offset, recordLength);
+            index[slot] = (slotValue & 0xFFFFFFFF00000000L) | (offset + 1L);
+            offset += recordLength;
+         }
+      }
+      data = newData;
+      dataLength = offset;
+      staleLength = 0;
+   }
+
+   private int writeRecord(WrappedBytes key, InternalCacheEntry<Object, Object> entry) {
+      WrappedBytes value = (WrappedBytes) entry.getValue();
+      int offset = dataLength;
+      int position = offset;
+      if (entry.getClass() == MortalCacheEntry.class) {
+         data[position] = MORTAL;
+         Bits.putLong(data, position + CREATED_OFFSET, entry.getCreated());
+         Bits.putLong(data, position + LIFESPAN_OFFSET, entry.getLifespan());
+         position += MORTAL_HEADER_LENGTH;
+      } else {
+         data[position] = 0;
+         position += HEADER_LENGTH;
+      }
+      Bits.putInt(data, offset + KEY_LENGTH_OFFSET, key.getLength());
+      Bits.putInt(data, offset + VALUE_LENGTH_OFFSET, value.getLength());
+      System.arraycopy(key.getBytes(), key.backArrayOffset(), data, position, key.getLength());
+      position += key.getLength();
+      System.arraycopy(value.getBytes(), value.backArrayOffset(), data, position, value.getLength());
+      dataLength = position + value.getLength();
+      return offset;
+   }
+
+   private static int keyStart(byte[] data, int offset) {
+      return offset + (data[offset] == MORTAL ? MORTAL_HEADER_LENGTH : HEADER_LENGTH);
+   }
+
+   private boolean keyMatches(int offset, WrappedBytes key) {
+      int keyLength = Bits.getInt(data, offset + KEY_LENGTH_OFFSET);
+      return keyLength == key.getLength() && bytesMatch(data, keyStart(data, offset), key, keyLength);
+   }
+
+   private boolean recordMatches(int offset, InternalCacheEntry<Object, Object> entry) {
+      boolean mortal = entry.getClass() == MortalCacheEntry.class;
+      if (mortal != (data[offset] == MORTAL)) {
+         return false;
+      }
+      if (mortal && (Bits.getLong(data, offset + CREATED_OFFSET) != entry.getCreated() ||
+            Bits.getLong(data, offset + LIFESPAN_OFFSET) != entry.getLifespan())) {
+         return false;
+      }
+      WrappedBytes value = (WrappedBytes) entry.getValue();
+      int valueLength = Bits.getInt(data, offset + VALUE_LENGTH_OFFSET);
+      int valueStart = keyStart(data, offset) + Bits.getInt(data, offset + KEY_LENGTH_OFFSET);
+      return valueLength == value.getLength() && bytesMatch(data, valueStart, value, valueLength);
+   }
+
+   private static boolean bytesMatch(byte[] data, int start, WrappedBytes bytes, int length) {
+      byte[] otherBytes = bytes.getBytes();
+      int otherStart = bytes.backArrayOffset();
+      for (int i = 0; i < length; ++i) {
+         if (data[start + i] != otherBytes[otherStart + i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static InternalCacheEntry<Object, Object> materialize(byte[] data, long slotValue) {
+      int offset = recordOffset(slotValue);
+      int keyLength = Bits.getInt(data, offset + KEY_LENGTH_OFFSET);
+      int valueLength = Bits.getInt(data, offset + VALUE_LENGTH_OFFSET);
+      int keyStart = keyStart(data, offset);
+      int valueStart = keyStart + keyLength;
+      WrappedByteArray key = new WrappedByteArray(Arrays.copyOfRange(data, keyStart, valueStart),
+            (int) (slotValue >>> 32));
+      WrappedByteArray value = new WrappedByteArray(Arrays.copyOfRange(data, valueStart, valueStart + valueLength));
+      if (data[offset] == MORTAL) {
+         return new MortalCacheEntry(key, value, Bits.getLong(data, offset + LIFESPAN_OFFSET),
+               Bits.getLong(data, offset + CREATED_OFFSET));
+      }
+      return new ImmortalCacheEntry(key, value);
+   }
+
+   @Override
+   public Set<Entry<Object, InternalCacheEntry<Object, Object>>> entrySet() {
+      return new AbstractSet<Entry<Object, InternalCacheEntry<Object, Object>>>() {
+         @Override
+         public Iterator<Entry<Object, InternalCacheEntry<Object, Object>>> iterator() {
+            Iterator<InternalCacheEntry<Object, Object>> iterator = new ValueIterator();
+            return new Iterator<Entry<Object, InternalCacheEntry<Object, Object>>>() {
+               @Override
+               public boolean hasNext() {
+                  return iterator.hasNext();
+               }
+
+               @Override
+               public Entry<Object, InternalCacheEntry<Object, Object>> next() {
+                  InternalCacheEntry<Object, Object> ice = iterator.next();
+                  return new SimpleImmutableEntry<>(ice.getKey(), ice);
+               }
+
+               @Override
+               public void remove() {
+                  iterator.remove();
+               }
+            };
+         }
+
+         @Override
+         public int size() {
+            return CompactConcurrentMap.this.size();
+         }
+      };
+   }
+
+   @Override
+   public Collection<InternalCacheEntry<Object, Object>> values() {
+      return new AbstractCollection<InternalCacheEntry<Object, Object>>() {
+         @Override
+         public Iterator<InternalCacheEntry<Object, Object>> iterator() {
+            return new ValueIterator();
+         }
+
+         @Override
+         public int size() {
+            return CompactConcurrentMap.this.size();
+         }
+      };
+   }
+
+   /**
+    * Iterates over a copy of the index, reading the records from the data array that was current when the copy was
+    * made. Records are never overwritten, so the copy stays valid even if the map is modified or compacted.
+    */
+   private class ValueIterator implements Iterator<InternalCacheEntry<Object, Object>> {
+      private final long[] indexCopy;
+      private final byte[] dataCopy;
+      private final Iterator<InternalCacheEntry<Object, Object>> objectIterator;
+
+      private int slot;
+      private InternalCacheEntry<Object, Object> next;
+      private InternalCacheEntry<Object, Object> current;
+
+      ValueIterator() {
+         long stamp = lock.readLock();
+         try {
+            indexCopy = indexSize == 0 ? null : index.clone();
+            dataCopy = data;
+            if (objectEntries.isEmpty()) {
+               objectIterator = Collections.emptyIterator();
+            } else {
+               List<InternalCacheEntry<Object, Object>> objects = new ArrayList<>(objectEntries.values());
+               objectIterator = objects.iterator();
+            }
+         } finally {
+            lock.unlockRead(stamp);
+         }
+         next = advance();
+      }
+
+      private InternalCacheEntry<Object, Object> advance() {
+         if (indexCopy != null) {
+            while (slot < indexCopy.length) {
+               long slotValue = indexCopy[slot++];
+               if (slotValue != 0) {
+                  return materialize(dataCopy, slotValue);
+               }
+            }
+         }
+         return objectIterator.hasNext() ? objectIterator.next() : null;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return next != null;
+      }
+
+      @Override
+      public InternalCacheEntry<Object, Object> next() {
+         if (next == null) {
+            throw new NoSuchElementException();
+         }
+         current = next;
+         next = advance();
+         return current;
+      }
+
+      @Override
+      public void remove() {
+         if (current == null) {
+            throw new IllegalStateException();
+         }
+         CompactConcurrentMap.this.remove(current.getKey());
+         current = null;
+      }
+   }
+}
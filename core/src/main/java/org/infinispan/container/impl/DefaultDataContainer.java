@@ -49,6 +49,11 @@ public DefaultDataContainer(int concurrencyLevel) {
       evictionCache = null;
    }
 
+   protected DefaultDataContainer(PeekableTouchableMap<K, V> entries) {
+      this.entries = entries;
+      evictionCache = null;
+   }
+
    protected DefaultDataContainer(int concurrencyLevel, long thresholdSize, EvictionType thresholdPolicy) {
       DefaultEvictionListener evictionListener = new DefaultEvictionListener();
       Caffeine<K, InternalCacheEntry<K, V>> caffeine = caffeineBuilder();
@@ -111,6 +116,15 @@ public static <K, V> DefaultDataContainer<K, V> unBoundedDataContainer(int concu
       return new DefaultDataContainer<>(concurrencyLevel);
    }
 
+   /**
+    * @return an unbounded data container that packs entries with binary keys and values into byte arrays, striped
+    * by key for the given concurrency level
+    * @see CompactConcurrentMap
+    */
+   public static DefaultDataContainer<Object, Object> compactDataContainer(int concurrencyLevel) {
+      return new DefaultDataContainer<>(new StripedCompactConcurrentMap(concurrencyLevel));
+   }
+
    @Override
    protected PeekableTouchableMap<K, V> getMapForSegment(int segment) {
       return entries;
@@ -156,6 +170,7 @@ public void clear(IntSet segments) {
          iter.next();
          iter.remove();
       }
+      expirationManager.entriesClearedInMemory(segments);
    }
 
    @Stop
@@ -163,6 +178,7 @@ public void clear(IntSet segments) {
    public void clear() {
       log.tracef("Clearing data container");
       entries.clear();
+      expirationManager.entriesClearedInMemory();
    }
 
    @Override
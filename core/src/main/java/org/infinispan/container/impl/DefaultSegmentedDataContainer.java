@@ -213,6 +213,7 @@ public void clear() {
             map.clear();
          }
       }
+      expirationManager.entriesClearedInMemory();
    }
 
    @Override
@@ -252,6 +253,7 @@ public void removeSegments(IntSet segments) {
             int segment = segmentIterator.nextInt();
             stopMap(segment, true);
          }
+         expirationManager.entriesClearedInMemory(segments);
       }
    }
 
@@ -77,7 +77,7 @@ public final CompletionStage<Void> wrapEntryForReading(InvocationContext ctx, Ob
       CompletionStage<Void> returnedStage = CompletableFutures.completedNull();
       CacheEntry cacheEntry = getFromContext(ctx, key);
       if (cacheEntry == null) {
-         InternalCacheEntry readEntry = getFromContainer(key, segment);
+         InternalCacheEntry readEntry = getFromContainerForRead(key, segment);
          if (readEntry == null) {
             if (isOwner) {
                addReadEntryToContext(ctx, NullCacheEntry.getInstance(), key);
@@ -286,6 +286,14 @@ private boolean isPrimaryOwner(int segment) {
             distributionManager.getCacheTopology().getSegmentDistribution(segment).isPrimary();
    }
 
+   private InternalCacheEntry getFromContainerForRead(Object key, int segment) {
+      InternalCacheEntry ice = container.peekAndRecordAccess(segment, key);
+      if (log.isTraceEnabled()) {
+         log.tracef("Retrieved from container %s", ice);
+      }
+      return ice;
+   }
+
    private InternalCacheEntry getFromContainer(Object key, int segment) {
       InternalCacheEntry ice = container.peek(segment, key);
       if (log.isTraceEnabled()) {
@@ -62,6 +62,18 @@
     */
    InternalCacheEntry<K, V> peek(int segment, Object k);
 
+   /**
+    * Same as {@link #peek(int, Object)} except that the read may count as an access for eviction based recency or
+    * frequency. Unlike {@link #get(int, Object)} this does not check whether the entry has expired, so it never
+    * blocks.
+    * @param segment segment for the key
+    * @param k key under which entry is stored
+    * @return entry, if it exists, or null if not
+    */
+   default InternalCacheEntry<K, V> peekAndRecordAccess(int segment, Object k) {
+      return peek(segment, k);
+   }
+
    /**
     * Touches an entry in the data container. This will update the last access time of the entry as well as count this
     * as a access for eviction based recency.
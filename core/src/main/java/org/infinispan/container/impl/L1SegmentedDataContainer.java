@@ -166,11 +166,20 @@ public void clear(IntSet segments) {
          IntSet finalExtraSegments = extraSegments;
          nonOwnedEntries.keySet().removeIf(k -> finalExtraSegments.contains(getSegmentForKey(k)));
       }
+      expirationManager.entriesClearedInMemory(segments);
    }
 
    @Override
    public void removeSegments(IntSet segments) {
       nonOwnedEntries.clear();
       super.removeSegments(segments);
+      // The L1 entries of every segment that is not owned were removed as well
+      IntSet nonOwnedSegments = IntSets.mutableEmptySet(maps.length());
+      for (int i = 0; i < maps.length(); ++i) {
+         if (maps.get(i) == null) {
+            nonOwnedSegments.set(i);
+         }
+      }
+      expirationManager.entriesClearedInMemory(nonOwnedSegments);
    }
 }
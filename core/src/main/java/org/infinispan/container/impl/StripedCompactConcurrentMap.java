@@ -0,0 +1,265 @@
+package org.infinispan.container.impl;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.infinispan.commons.util.Util;
+import org.infinispan.container.entries.InternalCacheEntry;
+
+/**
+ * {@link PeekableTouchableMap} that spreads the entries over several {@link CompactConcurrentMap} stripes by the hash
+ * code of their key, so that the entries of a container without segments are not all guarded by a single lock.
+ * <p>
+ * Iterators go over the stripes one after the other, and are weakly consistent the same as the iterators of each
+ * stripe.
+ * @since 13.0
+ */
+class StripedCompactConcurrentMap extends AbstractMap<Object, InternalCacheEntry<Object, Object>>
+      implements PeekableTouchableMap<Object, Object> {
+   private final CompactConcurrentMap[] stripes;
+   private final int shift;
+
+   /**
+    * @param concurrencyLevel the expected number of concurrent writers, rounded up to a power of two stripes
+    */
+   StripedCompactConcurrentMap(int concurrencyLevel) {
+      int stripeCount = Util.findNextHighestPowerOfTwo(Math.max(1, concurrencyLevel));
+      stripes = new CompactConcurrentMap[stripeCount];
+      for (int i = 0; i < stripeCount; ++i) {
+         stripes[i] = new CompactConcurrentMap();
+      }
+      shift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+   }
+
+   private CompactConcurrentMap stripe(Object key) {
+      if (stripes.length == 1) {
+         return stripes[0];
+      }
+      // The index of each stripe spreads the hash code with another multiplier and uses its lower bits
+      return stripes[(key.hashCode() * 0x85EBCA6B) >>> shift];
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> get(Object key) {
+      return stripe(key).get(key);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> peek(Object key) {
+      return stripe(key).peek(key);
+   }
+
+   @Override
+   public boolean containsKey(Object key) {
+      return stripe(key).containsKey(key);
+   }
+
+   @Override
+   public boolean touchKey(Object key, long currentTimeMillis) {
+      return stripe(key).touchKey(key, currentTimeMillis);
+   }
+
+   @Override
+   public void touchAll(long currentTimeMillis) {
+      for (CompactConcurrentMap stripe : stripes) {
+         stripe.touchAll(currentTimeMillis);
+      }
+   }
+
+   @Override
+   public int size() {
+      long size = 0;
+      for (CompactConcurrentMap stripe : stripes) {
+         size += stripe.size();
+      }
+      return (int) Math.min(size, Integer.MAX_VALUE);
+   }
+
+   @Override
+   public boolean isEmpty() {
+      for (CompactConcurrentMap stripe : stripes) {
+         if (!stripe.isEmpty()) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> put(Object key, InternalCacheEntry<Object, Object> value) {
+      return stripe(key).put(key, value);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> putIfAbsent(Object key, InternalCacheEntry<Object, Object> value) {
+      return stripe(key).putIfAbsent(key, value);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> remove(Object key) {
+      return stripe(key).remove(key);
+   }
+
+   @Override
+   public boolean remove(Object key, Object value) {
+      return stripe(key).remove(key, value);
+   }
+
+   @Override
+   public boolean replace(Object key, InternalCacheEntry<Object, Object> oldValue,
+         InternalCacheEntry<Object, Object> newValue) {
+      return stripe(key).replace(key, oldValue, newValue);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> replace(Object key, InternalCacheEntry<Object, Object> value) {
+      return stripe(key).replace(key, value);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> compute(Object key, BiFunction<? super Object,
+         ? super InternalCacheEntry<Object, Object>, ? extends InternalCacheEntry<Object, Object>> remappingFunction) {
+      return stripe(key).compute(key, remappingFunction);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> computeIfPresent(Object key, BiFunction<? super Object,
+         ? super InternalCacheEntry<Object, Object>, ? extends InternalCacheEntry<Object, Object>> remappingFunction) {
+      return stripe(key).computeIfPresent(key, remappingFunction);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> computeIfAbsent(Object key,
+         Function<? super Object, ? extends InternalCacheEntry<Object, Object>> mappingFunction) {
+      return stripe(key).computeIfAbsent(key, mappingFunction);
+   }
+
+   @Override
+   public InternalCacheEntry<Object, Object> merge(Object key, InternalCacheEntry<Object, Object> value,
+         BiFunction<? super InternalCacheEntry<Object, Object>, ? super InternalCacheEntry<Object, Object>,
+               ? extends InternalCacheEntry<Object, Object>> remappingFunction) {
+      return stripe(key).merge(key, value, remappingFunction);
+   }
+
+   @Override
+   public void putAll(Map<?, ? extends InternalCacheEntry<Object, Object>> m) {
+      for (Entry<?, ? extends InternalCacheEntry<Object, Object>> entry : m.entrySet()) {
+         put(entry.getKey(), entry.getValue());
+      }
+   }
+
+   @Override
+   public void clear() {
+      for (CompactConcurrentMap stripe : stripes) {
+         stripe.clear();
+      }
+   }
+
+   /**
+    * @return how many bytes of the data arrays of all stripes are taken by records, including stale ones
+    */
+   int dataLength() {
+      int dataLength = 0;
+      for (CompactConcurrentMap stripe : stripes) {
+         dataLength += stripe.dataLength();
+      }
+      return dataLength;
+   }
+
+   /**
+    * @return how many entries of all stripes are kept as objects because they could not be packed
+    */
+   int objectEntryCount() {
+      int count = 0;
+      for (CompactConcurrentMap stripe : stripes) {
+         count += stripe.objectEntryCount();
+      }
+      return count;
+   }
+
+   int stripeCount() {
+      return stripes.length;
+   }
+
+   @Override
+   public Set<Entry<Object, InternalCacheEntry<Object, Object>>> entrySet() {
+      return new AbstractSet<Entry<Object, InternalCacheEntry<Object, Object>>>() {
+         @Override
+         public Iterator<Entry<Object, InternalCacheEntry<Object, Object>>> iterator() {
+            return new StripeIterator<>(stripe -> stripe.entrySet().iterator());
+         }
+
+         @Override
+         public int size() {
+            return StripedCompactConcurrentMap.this.size();
+         }
+      };
+   }
+
+   @Override
+   public Collection<InternalCacheEntry<Object, Object>> values() {
+      return new AbstractCollection<InternalCacheEntry<Object, Object>>() {
+         @Override
+         public Iterator<InternalCacheEntry<Object, Object>> iterator() {
+            return new StripeIterator<>(stripe -> stripe.values().iterator());
+         }
+
+         @Override
+         public int size() {
+            return StripedCompactConcurrentMap.this.size();
+         }
+      };
+   }
+
+   /**
+    * Iterates over the stripes in order, only creating the iterator of a stripe once the previous one is exhausted.
+    */
+   private class StripeIterator<E> implements Iterator<E> {
+      private final Function<CompactConcurrentMap, Iterator<E>> iteratorFunction;
+      private int stripe;
+      private Iterator<E> current;
+      private Iterator<E> last;
+
+      StripeIterator(Function<CompactConcurrentMap, Iterator<E>> iteratorFunction) {
+         this.iteratorFunction = iteratorFunction;
+         this.current = iteratorFunction.apply(stripes[0]);
+      }
+
+      @Override
+      public boolean hasNext() {
+         while (!current.hasNext()) {
+            if (stripe + 1 == stripes.length) {
+               return false;
+            }
+            current = iteratorFunction.apply(stripes[++stripe]);
+         }
+         return true;
+      }
+
+      @Override
+      public E next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         last = current;
+         return current.next();
+      }
+
+      @Override
+      public void remove() {
+         if (last == null) {
+            throw new IllegalStateException();
+         }
+         last.remove();
+         last = null;
+      }
+   }
+}
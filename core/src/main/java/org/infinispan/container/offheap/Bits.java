@@ -8,14 +8,14 @@
  */
 public class Bits {
 
-   static int getInt(byte[] b, int off) {
+   public static int getInt(byte[] b, int off) {
       return ((b[off + 3] & 0xFF)) +
             ((b[off + 2] & 0xFF) << 8) +
             ((b[off + 1] & 0xFF) << 16) +
             ((b[off]) << 24);
    }
 
-   static long getLong(byte[] b, int off) {
+   public static long getLong(byte[] b, int off) {
       return ((b[off + 7] & 0xFFL)) +
             ((b[off + 6] & 0xFFL) << 8) +
             ((b[off + 5] & 0xFFL) << 16) +
@@ -26,14 +26,14 @@ static long getLong(byte[] b, int off) {
             (((long) b[off]) << 56);
    }
 
-   static void putInt(byte[] b, int off, int val) {
+   public static void putInt(byte[] b, int off, int val) {
       b[off + 3] = (byte) (val);
       b[off + 2] = (byte) (val >>> 8);
       b[off + 1] = (byte) (val >>> 16);
       b[off] = (byte) (val >>> 24);
    }
 
-   static void putLong(byte[] b, int off, long val) {
+   public static void putLong(byte[] b, int off, long val) {
       b[off + 7] = (byte) (val);
       b[off + 6] = (byte) (val >>> 8);
       b[off + 5] = (byte) (val >>> 16);
@@ -88,6 +88,11 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> get(int segment, Object k)
       return super.get(0, k);
    }
 
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> peekAndRecordAccess(int segment, Object k) {
+      return super.peekAndRecordAccess(0, k);
+   }
+
    @Override
    public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(int segment, WrappedBytes key,
                                                                  ComputeAction<WrappedBytes, WrappedBytes> action) {
@@ -0,0 +1,178 @@
+package org.infinispan.container.offheap;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Allocator that delegates allocation to another {@link OffHeapMemoryAllocator} but defers deallocation until no
+ * optimistic reader could still be reading the memory, using epoch based reclamation.
+ * <p>
+ * A thread that reads off-heap memory without holding a lock must surround the read with {@link #enterRead()} and
+ * {@link #exitRead(ReaderSlot)}. These only write to a slot owned by the reading thread, so readers never write to a
+ * memory location shared with other threads. Every deallocation is tagged with the current global epoch and is only
+ * passed to the delegate once every active reader has announced a later epoch, which means the reader started after
+ * the memory was no longer reachable.
+ * <p>
+ * Reads must not be nested on the same thread, since a thread only owns a single slot.
+ * @since 13.0
+ */
+final class EpochReclaimingAllocator implements OffHeapMemoryAllocator {
+   // How many deallocations are buffered before trying to reclaim them
+   private static final int RECLAIM_THRESHOLD = 64;
+   private static final long IDLE = 0;
+
+   private static final AtomicLong GLOBAL_EPOCH = new AtomicLong(1);
+   private static final Queue<ReaderSlot> SLOTS = new ConcurrentLinkedQueue<>();
+   private static final ThreadLocal<ReaderSlot> LOCAL_SLOT = ThreadLocal.withInitial(() -> {
+      ReaderSlot slot = new ReaderSlot(Thread.currentThread());
+      SLOTS.add(slot);
+      return slot;
+   });
+
+   private final OffHeapMemoryAllocator delegate;
+
+   // Guarded by this - each retired block uses 3 consecutive longs: address, size and epoch
+   private long[] retired = new long[RECLAIM_THRESHOLD * 3];
+   private int retiredCount;
+   // Guarded by this - retired count at which the next reclamation is attempted
+   private int reclaimAt = RECLAIM_THRESHOLD;
+
+   EpochReclaimingAllocator(OffHeapMemoryAllocator delegate) {
+      this.delegate = delegate;
+   }
+
+   /**
+    * Announces that the current thread is about to read off-heap memory without holding a lock.
+    * @return the slot that must be passed to {@link #exitRead(ReaderSlot)} when the read is complete
+    */
+   static ReaderSlot enterRead() {
+      ReaderSlot slot = LOCAL_SLOT.get();
+      // Volatile write so that the announcement is visible before we read any memory
+      slot.epoch = GLOBAL_EPOCH.get();
+      return slot;
+   }
+
+   /**
+    * Announces that the current thread no longer reads any off-heap memory.
+    * @param slot the slot returned from {@link #enterRead()}
+    */
+   static void exitRead(ReaderSlot slot) {
+      ReaderSlot.EPOCH_UPDATER.lazySet(slot, IDLE);
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      return delegate.allocate(memoryLength);
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      boolean reclaim;
+      synchronized (this) {
+         int offset = retiredCount * 3;
+         if (offset == retired.length) {
+            long[] newRetired = new long[retired.length << 1];
+            System.arraycopy(retired, 0, newRetired, 0, retired.length);
+            retired = newRetired;
+         }
+         retired[offset] = memoryAddress;
+         retired[offset + 1] = size;
+         retired[offset + 2] = GLOBAL_EPOCH.get();
+         reclaim = ++retiredCount >= reclaimAt;
+      }
+      if (reclaim) {
+         reclaim();
+      }
+   }
+
+   @Override
+   public long getAllocatedAmount() {
+      return delegate.getAllocatedAmount();
+   }
+
+   @Override
+   public long getReservedAmount() {
+      return delegate.getReservedAmount();
+   }
+
+   /**
+    * Passes to the delegate all deallocations that can no longer be observed by an optimistic reader.
+    * @return whether there are still deallocations pending
+    */
+   boolean reclaim() {
+      // Advance the epoch so readers that start from now on do not hold up anything retired before
+      GLOBAL_EPOCH.incrementAndGet();
+      long safeEpoch = minimumActiveEpoch();
+      synchronized (this) {
+         int kept = 0;
+         for (int i = 0; i < retiredCount; ++i) {
+            int offset = i * 3;
+            if (retired[offset + 2] < safeEpoch) {
+               delegate.deallocate(retired[offset], retired[offset + 1]);
+            } else {
+               int keptOffset = kept * 3;
+               retired[keptOffset] = retired[offset];
+               retired[keptOffset + 1] = retired[offset + 1];
+               retired[keptOffset + 2] = retired[offset + 2];
+               kept++;
+            }
+         }
+         retiredCount = kept;
+         // Blocks held back by a slow reader shouldn't cause every deallocation to scan the readers again
+         reclaimAt = kept + RECLAIM_THRESHOLD;
+         return kept != 0;
+      }
+   }
+
+   /**
+    * Passes all pending deallocations to the delegate, waiting for any in progress optimistic reads to complete
+    * if needed. Optimistic reads are short, so this should only have to wait for a brief time.
+    */
+   void reclaimAll() {
+      while (reclaim()) {
+         Thread.yield();
+      }
+   }
+
+   private static long minimumActiveEpoch() {
+      long minimum = Long.MAX_VALUE;
+      Iterator<ReaderSlot> iterator = SLOTS.iterator();
+      while (iterator.hasNext()) {
+         ReaderSlot slot = iterator.next();
+         long epoch = slot.epoch;
+         if (epoch == IDLE) {
+            if (slot.owner.get() == null) {
+               // The owning thread is gone and can't start a new read
+               iterator.remove();
+            }
+         } else if (epoch < minimum) {
+            minimum = epoch;
+         }
+      }
+      return minimum;
+   }
+
+   /**
+    * Epoch announced by a single reading thread. The fields around the epoch are padding to keep slots of different
+    * threads on different cache lines.
+    */
+   @SuppressWarnings("unused")
+   static final class ReaderSlot {
+      private static final AtomicLongFieldUpdater<ReaderSlot> EPOCH_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(ReaderSlot.class, "epoch");
+
+      long p0, p1, p2, p3, p4, p5, p6;
+      volatile long epoch = IDLE;
+      long q0, q1, q2, q3, q4, q5, q6;
+
+      final WeakReference<Thread> owner;
+
+      ReaderSlot(Thread owner) {
+         this.owner = new WeakReference<>(owner);
+      }
+   }
+}
@@ -0,0 +1,274 @@
+package org.infinispan.container.offheap;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import sun.misc.Unsafe;
+
+/**
+ * Pooled allocator whose memory is backed by a memory-mapped file instead of the native heap, so that the operating
+ * system can page entries out to disk when the data container holds more than the physical memory.
+ * <p>
+ * The file is mapped in regions of {@link #REGION_SIZE} bytes as they are needed, and slabs are carved out of the
+ * current region. Allocations larger than {@link #MAX_POOLED_SIZE}, such as the memory lookup table, are rounded up
+ * to a power of two and are also carved out of the file, then kept in a free list for their size once they are
+ * deallocated. Regions are only unmapped when the allocator is stopped, so optimistic reads never observe unmapped
+ * memory. A single mapping is limited to {@link Integer#MAX_VALUE} bytes, so the few allocations that are rounded up
+ * beyond {@link #MAX_MAPPED_SIZE}, such as the memory lookup table of a cache holding hundreds of millions of
+ * entries, cannot be carved out of the file and are allocated from the native heap instead.
+ * <p>
+ * The contents of the file are not preserved, so a restarted cache starts empty instead of reopening the previous
+ * mapping: entries and the memory lookup link to each other by absolute address, which are not valid once the file
+ * is mapped again at another address. The file is truncated when the first region is mapped and deleted when the
+ * allocator is stopped.
+ * @since 13.0
+ */
+@Scope(Scopes.NAMED_CACHE)
+public class MappedFileOffHeapMemoryAllocator extends PooledOffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(MappedFileOffHeapMemoryAllocator.class, Log.class);
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+   private static final long BUFFER_ADDRESS_OFFSET = bufferAddressOffset();
+
+   /**
+    * Size in bytes of each region of the file that is mapped at once
+    */
+   public static final long REGION_SIZE = 64L << 20;
+
+   /**
+    * Size in bytes of the largest allocation carved out of the file, the largest power of two that can be mapped at
+    * once
+    */
+   public static final long MAX_MAPPED_SIZE = 1L << 30;
+
+   private final Path path;
+   private final long maxMappedSize;
+   private final LongAdder largeAllocated = new LongAdder();
+
+   // All guarded by this
+   private FileChannel channel;
+   private final List<MappedByteBuffer> regions = new ArrayList<>();
+   private long fileLength;
+   private long regionPosition;
+   private long regionEnd;
+   private final long[] largeFreeLists = new long[Long.SIZE];
+   private long largeReserved;
+
+   public MappedFileOffHeapMemoryAllocator(Path path) {
+      this(path, MAX_MAPPED_SIZE);
+   }
+
+   // Package protected for tests only
+   MappedFileOffHeapMemoryAllocator(Path path, long maxMappedSize) {
+      this.path = path;
+      this.maxMappedSize = maxMappedSize;
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      if (memoryLength <= MAX_POOLED_SIZE) {
+         return super.allocate(memoryLength);
+      }
+      int power = largePower(memoryLength);
+      if (1L << power > maxMappedSize) {
+         long address = MEMORY.allocate(memoryLength);
+         largeAllocated.add(memoryLength);
+         if (log.isTraceEnabled()) {
+            log.tracef("Allocated native off-heap memory at 0x%016x with %d bytes", address, memoryLength);
+         }
+         return address;
+      }
+      long address;
+      synchronized (this) {
+         address = largeFreeLists[power];
+         if (address != 0) {
+            largeFreeLists[power] = UNSAFE.getLong(address);
+         } else {
+            address = reserve(1L << power);
+            largeReserved += 1L << power;
+         }
+      }
+      largeAllocated.add(1L << power);
+      MEMORY.trackBlock(address, 1L << power);
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated mapped off-heap memory at 0x%016x with %d bytes", address, 1L << power);
+      }
+      return address;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      if (size <= MAX_POOLED_SIZE) {
+         super.deallocate(memoryAddress, size);
+         return;
+      }
+      int power = largePower(size);
+      if (1L << power > maxMappedSize) {
+         largeAllocated.add(-size);
+         if (log.isTraceEnabled()) {
+            log.tracef("Returning native off-heap memory at 0x%016x with %d bytes", memoryAddress, size);
+         }
+         MEMORY.free(memoryAddress);
+         return;
+      }
+      largeAllocated.add(-(1L << power));
+      MEMORY.untrackBlock(memoryAddress);
+      if (log.isTraceEnabled()) {
+         log.tracef("Returning mapped off-heap memory at 0x%016x with %d bytes", memoryAddress, 1L << power);
+      }
+      synchronized (this) {
+         UNSAFE.putLong(memoryAddress, largeFreeLists[power]);
+         largeFreeLists[power] = memoryAddress;
+      }
+   }
+
+   @Override
+   public long getAllocatedAmount() {
+      return super.getAllocatedAmount() + largeAllocated.sum();
+   }
+
+   @Override
+   public long getReservedAmount() {
+      synchronized (this) {
+         return super.getReservedAmount() + largeReserved;
+      }
+   }
+
+   /**
+    * @return how many bytes of the file are currently mapped
+    */
+   public synchronized long getMappedAmount() {
+      return fileLength;
+   }
+
+   private static int largePower(long size) {
+      return 64 - Long.numberOfLeadingZeros(size - 1);
+   }
+
+   @Override
+   protected long reserveSlab(long bytes) {
+      synchronized (this) {
+         return reserve(bytes);
+      }
+   }
+
+   @Override
+   protected void releaseSlab(long slab, long bytes) {
+      // The whole file is unmapped at once when stopped
+   }
+
+   // Must hold the lock of this
+   private long reserve(long bytes) {
+      if (bytes > REGION_SIZE) {
+         // Too large to share a region, so it gets its own
+         return map(bytes);
+      }
+      if (regionEnd - regionPosition < bytes) {
+         // The rest of the current region is left unused
+         regionPosition = map(REGION_SIZE);
+         regionEnd = regionPosition + REGION_SIZE;
+      }
+      long address = regionPosition;
+      regionPosition += bytes;
+      return address;
+   }
+
+   // Must hold the lock of this
+   private long map(long bytes) {
+      try {
+         if (channel == null) {
+            Files.createDirectories(path.getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                  StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+         }
+         MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, fileLength, bytes);
+         regions.add(region);
+         fileLength += bytes;
+         long address = UNSAFE.getLong(region, BUFFER_ADDRESS_OFFSET);
+         if (log.isTraceEnabled()) {
+            log.tracef("Mapped %d bytes of %s at 0x%016x", bytes, path, address);
+         }
+         return address;
+      } catch (IOException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   /**
+    * Unmaps and deletes the file. Any address previously returned by this allocator is invalid afterwards, thus this
+    * must only be invoked after the data container has released all of its entries.
+    */
+   @Stop
+   @Override
+   public void stop() {
+      super.stop();
+      synchronized (this) {
+         for (MappedByteBuffer region : regions) {
+            unmap(region);
+         }
+         regions.clear();
+         fileLength = 0;
+         regionPosition = 0;
+         regionEnd = 0;
+         largeReserved = 0;
+         Arrays.fill(largeFreeLists, 0);
+         if (channel != null) {
+            try {
+               channel.close();
+               Files.deleteIfExists(path);
+            } catch (IOException e) {
+               log.debugf(e, "Unable to delete %s", path);
+            }
+            channel = null;
+         }
+      }
+   }
+
+   private static long bufferAddressOffset() {
+      try {
+         return UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+      } catch (NoSuchFieldException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   /**
+    * Releases the mapping right away instead of waiting for the buffer to be garbage collected, using
+    * {@code Unsafe.invokeCleaner} when running on Java 9 or later and the buffer cleaner otherwise.
+    */
+   private static void unmap(ByteBuffer buffer) {
+      try {
+         Method invokeCleaner = Unsafe.class.getMethod("invokeCleaner", ByteBuffer.class);
+         invokeCleaner.invoke(UNSAFE, buffer);
+      } catch (NoSuchMethodException e) {
+         try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            cleaner.getClass().getMethod("clean").invoke(cleaner);
+         } catch (ReflectiveOperationException | RuntimeException e2) {
+            log.debugf(e2, "Unable to unmap buffer, it will be released once garbage collected");
+         }
+      } catch (ReflectiveOperationException | RuntimeException e) {
+         log.debugf(e, "Unable to unmap buffer, it will be released once garbage collected");
+      }
+   }
+}
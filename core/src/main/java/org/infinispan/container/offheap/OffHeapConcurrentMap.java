@@ -18,7 +18,6 @@
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiFunction;
 import java.util.function.LongConsumer;
-import java.util.stream.LongStream;
 
 import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.commons.util.IntSet;
@@ -58,6 +57,14 @@
  * by increasing its internal memory lookup to have an array of buckets twice as big. Normal operations can still
  * proceed during this, allowing for minimal downtime during a resize.
  * <p>
+ * The entries are transferred to the new memory lookup incrementally, similar to {@link java.util.concurrent.ConcurrentHashMap}.
+ * A write operation first transfers the old bucket its key maps to, then a small stride of other buckets in the same
+ * lock region, and operations that add an entry also help transfer a stride of another pending lock region. A
+ * transferred bucket is replaced by a forwarding marker in the old memory lookup, which tells readers to look it up in
+ * the new memory lookup instead. This means no single operation has to transfer a whole lock region, or worse, the
+ * whole map. The map can also be created with an expected number of entries to size the memory lookup up front,
+ * avoiding resizes altogether while it is being populated.
+ * <p>
  * This map is created assuming some knowledge of expiration in the Infinispan system. Thus operations that do not
  * expose this information via its APIs are not supported. These methods are {@code keySet}, {@code containsKey} and
  * {@code containsValue}.
@@ -70,6 +77,14 @@
  * write lock for the lock region, are ({@code put}, {@code remove}, {@code replace}, {@code compute}. A clear
  * will acquire all write locks when invoked. This allows the clear to also resize the map down to the initial size.
  * <p>
+ * When constructed with optimistic reads enabled, {@code peek} and {@code get} (the latter only when there is no
+ * {@link EntryListener}, as it may need to update eviction order) first attempt to read without acquiring the read
+ * lock, by validating a {@link StampedLock#tryOptimisticRead()} stamp of the lock region after every pointer is read
+ * and before it is dereferenced. If the stamp is invalidated by a concurrent writer the read falls back to acquiring
+ * the read lock. As an optimistic reader may still be reading an entry or memory lookup that a writer just removed,
+ * memory released by the map is handed to an {@link EpochReclaimingAllocator} that only frees it once no optimistic
+ * reader can observe it anymore. This means allocated memory may be released slightly later than with locked reads.
+ * <p>
  * When this map is constructed it is also possible to provide an {@link EntryListener} that is invoked when various
  * operations are performed in the map. Note that the various modification callbacks <b>MUST</b> free the old address,
  * or else a memory leak will occur. Please see the various methods for clarification on these methods.
@@ -109,14 +124,23 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    private final static int LOCK_SHIFT = 31 - Integer.numberOfTrailingZeros(LOCK_COUNT);
    // The number of bits required to shift to the right to get the bucket size from a given pointer address
    private final static int LOCK_REGION_SHIFT = Integer.numberOfTrailingZeros(LOCK_COUNT);
+   // Placed in a bucket of the old memory lookup once it has been transferred - entry addresses are always aligned so
+   // this can never be a valid address
+   private final static long FORWARDED = 1;
+   // How many buckets of a lock region are transferred at once while helping a resize
+   private final static int TRANSFER_STRIDE = 32;
 
    private final AtomicLong size = new AtomicLong();
    private final StripedLock locks;
 
    private final OffHeapMemoryAllocator allocator;
    private final OffHeapEntryFactory offHeapEntryFactory;
+   // Non null when optimistic reads are enabled, in which case it is also the allocator above
+   private final EpochReclaimingAllocator reclaimingAllocator;
 
    private final EntryListener listener;
+   // Size of the memory lookup when created or cleared
+   private final int initialBucketCount;
 
    // Once this threshold size is met, the underlying buckets will be re-sized if possible
    // This variable can be read outside of locks - thus is volatile, however should only be modified while holding
@@ -125,9 +149,14 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    private volatile int sizeThreshold;
 
    // Non null during a resize operation - this will be initialized to contain all of the numbers equal to how many
-   // locks we have - This and oldMemoryLookup should always be either both null or not null at the same time.
+   // locks we have and a lock offset is removed once all of its buckets were transferred - This and oldMemoryLookup
+   // should always be either both null or not null at the same time.
    @GuardedBy("locks")
    private IntSet pendingBlocks;
+   // Non null during a resize operation - for each lock region how many of its buckets in the old memory lookup were
+   // visited by a transfer stride. Each element is guarded by the write lock of its lock region.
+   @GuardedBy("locks#writeLock")
+   private int[] transferCursors;
    // Always non null, unless map has been stopped
    @GuardedBy("locks")
    private MemoryAddressHash memoryLookup;
@@ -143,15 +172,44 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
 
    public OffHeapConcurrentMap(OffHeapMemoryAllocator allocator,
          OffHeapEntryFactory offHeapEntryFactory, EntryListener listener) {
-      this.allocator = Objects.requireNonNull(allocator);
+      this(allocator, offHeapEntryFactory, listener, false);
+   }
+
+   public OffHeapConcurrentMap(OffHeapMemoryAllocator allocator,
+         OffHeapEntryFactory offHeapEntryFactory, EntryListener listener, boolean optimisticReads) {
+      this(allocator, offHeapEntryFactory, listener, optimisticReads, -1);
+   }
+
+   /**
+    * Creates a new map
+    * @param allocator allocator used for the memory lookup and to free entries
+    * @param offHeapEntryFactory factory used to create and read entries
+    * @param listener listener notified of entry changes, may be null
+    * @param optimisticReads whether reads should first be attempted without acquiring the read lock
+    * @param expectedEntries how many entries the map is expected to hold, used to size the memory lookup so that it
+    *                        doesn't have to be resized until that many entries are inserted. A value less than or
+    *                        equal to 0 uses the default initial size.
+    */
+   public OffHeapConcurrentMap(OffHeapMemoryAllocator allocator,
+         OffHeapEntryFactory offHeapEntryFactory, EntryListener listener, boolean optimisticReads,
+         long expectedEntries) {
+      Objects.requireNonNull(allocator);
+      if (optimisticReads) {
+         this.reclaimingAllocator = new EpochReclaimingAllocator(allocator);
+         this.allocator = reclaimingAllocator;
+      } else {
+         this.reclaimingAllocator = null;
+         this.allocator = allocator;
+      }
       this.offHeapEntryFactory = Objects.requireNonNull(offHeapEntryFactory);
       this.listener = listener;
+      this.initialBucketCount = computeBucketCount(expectedEntries);
 
       locks = new StripedLock(LOCK_COUNT);
 
       locks.lockAll();
       try {
-         if (!sizeMemoryBuckets(INITIAL_SIZE)) {
+         if (!sizeInitialMemoryBuckets()) {
             throw new IllegalArgumentException("Unable to initialize off-heap addresses as memory eviction is too low!");
          }
       } finally {
@@ -171,13 +229,9 @@ public boolean touchKey(Object k, long currentTimeMillis) {
       long writeStamp = stampedLock.writeLock();
       try {
          checkDeallocation();
-         MemoryAddressHash memoryLookup;
-         if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
-            memoryLookup = this.oldMemoryLookup;
-         } else {
-            memoryLookup = this.memoryLookup;
-         }
-         return lockedTouch(memoryLookup, (WrappedBytes) k, hashCode, currentTimeMillis);
+         // The touch may replace the entry, which is only allowed in the current memory lookup
+         ensureTransferred(lockOffset, hashCode);
+         return lockedTouch((WrappedBytes) k, hashCode, currentTimeMillis);
       } finally {
          stampedLock.unlockWrite(writeStamp);
       }
@@ -195,8 +249,8 @@ public void touchAll(long currentTimeMillis) {
    }
 
    @GuardedBy("locks#writeLock")
-   private boolean lockedTouch(MemoryAddressHash memoryLookup, WrappedBytes k, int hashCode, long currentTimeMillis) {
-      int memoryOffset = getMemoryOffset(memoryLookup, hashCode);
+   private boolean lockedTouch(WrappedBytes k, int hashCode, long currentTimeMillis) {
+      int memoryOffset = getMemoryOffset(hashCode);
       long bucketAddress = memoryLookup.getMemoryAddressOffset(memoryOffset);
       if (bucketAddress == 0) {
          return false;
@@ -316,13 +370,21 @@ private int getOffset(int hashCode, int shift) {
    }
 
    /**
-    * Returns the bucket offset calculated from the provided hashCode for the provided memory lookup.
-    * @param hashCode hashCode of the key to find the bucket offset for
-    * @return offset to use in the memory lookup
+    * Returns the address of the first entry in the bucket the provided hashCode maps to. The old memory lookup is used
+    * instead of the current one if a resize is in progress and the bucket was not transferred yet.
+    * @param lockOffset the lock offset for the hashCode
+    * @param hashCode hashCode of the key to find the bucket for
+    * @return the address of the first entry in the bucket or 0 if it is empty
     */
    @GuardedBy("locks#readLock")
-   private int getMemoryOffset(MemoryAddressHash memoryLookup, int hashCode) {
-      return getOffset(hashCode, memoryLookup == this.memoryLookup ? memoryShift : oldMemoryShift);
+   private long readBucketHead(int lockOffset, int hashCode) {
+      if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
+         long address = oldMemoryLookup.getMemoryAddressOffset(getOffset(hashCode, oldMemoryShift));
+         if (address != FORWARDED) {
+            return address;
+         }
+      }
+      return memoryLookup.getMemoryAddressOffset(getMemoryOffset(hashCode));
    }
 
    StampedLock getStampedLock(int hashCode) {
@@ -350,14 +412,16 @@ private void checkDeallocation() {
    }
 
    /**
-    * Expands the memory buckets if possible, returning if it was successful.
+    * Installs the provided memory lookup as the current one if the listener allows it, returning if it was successful.
     * If it was unable to expand the bucket array, it will set the sizeThreshold to MAX_VALUE to prevent future
-    * attempts to resize the container
-    * @param bucketCount the expected new size
+    * attempts to resize the container. The caller is responsible for deallocating the memory lookup if this method
+    * returns false.
+    * @param newMemoryLookup the new memory lookup to use
     * @return true if the bucket was able to be resized
     */
    @GuardedBy("locks#lockAll")
-   private boolean sizeMemoryBuckets(int bucketCount) {
+   private boolean sizeMemoryBuckets(MemoryAddressHash newMemoryLookup) {
+      int bucketCount = newMemoryLookup.getPointerCount();
       if (listener != null) {
          if (!listener.resize(bucketCount)) {
             sizeThreshold = Integer.MAX_VALUE;
@@ -369,13 +433,36 @@ private boolean sizeMemoryBuckets(int bucketCount) {
 
       oldMemoryLookup = memoryLookup;
       oldMemoryShift = memoryShift;
-      memoryLookup = new MemoryAddressHash(bucketCount, allocator);
+      memoryLookup = newMemoryLookup;
       // Max capacity is 2^31 (thus find the bit position that would be like dividing evenly into that)
       memoryShift = 31 - Integer.numberOfTrailingZeros(bucketCount);
 
       return true;
    }
 
+   /**
+    * Creates the memory lookup with the initial bucket count. If the listener denies that size and it is larger than
+    * {@link #INITIAL_SIZE}, this falls back to {@link #INITIAL_SIZE} buckets.
+    * @return true if a memory lookup was created
+    */
+   @GuardedBy("locks#lockAll")
+   private boolean sizeInitialMemoryBuckets() {
+      MemoryAddressHash newMemoryLookup = new MemoryAddressHash(initialBucketCount, allocator);
+      if (sizeMemoryBuckets(newMemoryLookup)) {
+         return true;
+      }
+      newMemoryLookup.deallocate();
+      if (initialBucketCount == INITIAL_SIZE) {
+         return false;
+      }
+      newMemoryLookup = new MemoryAddressHash(INITIAL_SIZE, allocator);
+      if (sizeMemoryBuckets(newMemoryLookup)) {
+         return true;
+      }
+      newMemoryLookup.deallocate();
+      return false;
+   }
+
    /**
     * Computes the threshold for when a resize should occur. The returned value will be 75% of provided number, assuming
     * it is a power of two (provides a .75 load factor)
@@ -386,70 +473,171 @@ static int computeThreshold(int bucketCount) {
       return bucketCount - (bucketCount >> 2);
    }
 
+   /**
+    * Computes how many buckets are required to hold the expected number of entries without exceeding the load
+    * factor. The returned value is always a power of two that is at least {@link #INITIAL_SIZE}.
+    * @param expectedEntries how many entries are expected, a value less than or equal to 0 means unknown
+    * @return the bucket count to use
+    */
+   static int computeBucketCount(long expectedEntries) {
+      // A resize happens once the size reaches the threshold, so it must be larger than the expected entries
+      if (expectedEntries < computeThreshold(INITIAL_SIZE)) {
+         return INITIAL_SIZE;
+      }
+      // Inverse of the .75 load factor
+      long required = expectedEntries + expectedEntries / 3 + 1;
+      if (required >= MAX_ADDRESS_COUNT >>> 1) {
+         return MAX_ADDRESS_COUNT >>> 1;
+      }
+      return Util.findNextHighestPowerOfTwo((int) required);
+   }
+
    StripedLock getLocks() {
       return locks;
    }
 
    /**
-    * This method checks if the map must be resized and if so starts the operation. This caller <b>MUST NOT</b>
-    * hold any locks when invoked.
+    * @return how many buckets the current memory lookup has
+    */
+   int getBucketCount() {
+      StampedLock firstLock = locks.getLockWithOffset(0);
+      long readStamp = firstLock.readLock();
+      try {
+         checkDeallocation();
+         return memoryLookup.getPointerCount();
+      } finally {
+         firstLock.unlockRead(readStamp);
+      }
+   }
+
+   /**
+    * @return whether a resize was started and its buckets are not yet all transferred
+    */
+   boolean isTransferPending() {
+      StampedLock firstLock = locks.getLockWithOffset(0);
+      long readStamp = firstLock.readLock();
+      try {
+         return oldMemoryLookup != null;
+      } finally {
+         firstLock.unlockRead(readStamp);
+      }
+   }
+
+   /**
+    * This method checks if the map must be resized and if so starts the operation. If a resize is already in progress
+    * this will instead help transfer some of its buckets. This caller <b>MUST NOT</b> hold any locks when invoked.
     */
    private void checkResize() {
-      // We don't do a resize if we aren't to the boundary or if we are in a pending resize
-      if (size.get() < sizeThreshold || oldMemoryLookup != null) {
+      if (oldMemoryLookup != null) {
+         helpTransfer();
          return;
       }
-      boolean onlyHelp = false;
-      IntSet localPendingBlocks;
-      locks.lockAll();
+      // We don't do a resize if we aren't to the boundary
+      if (size.get() < sizeThreshold) {
+         return;
+      }
+      // Any lock guards the memory lookup reference, so just use the first one to read its size
+      int bucketCount;
+      StampedLock firstLock = locks.getLockWithOffset(0);
+      long readStamp = firstLock.readLock();
       try {
-         // Don't replace blocks if it was already done - means we had concurrent requests
-         if (oldMemoryLookup != null) {
-            onlyHelp = true;
-            localPendingBlocks = this.pendingBlocks;
-         } else {
-            int newBucketCount = memoryLookup.getPointerCount() << 1;
-            if (newBucketCount == MAX_ADDRESS_COUNT) {
-               sizeThreshold = Integer.MAX_VALUE;
-            }
+         if (memoryLookup == null || oldMemoryLookup != null) {
+            return;
+         }
+         bucketCount = memoryLookup.getPointerCount();
+      } finally {
+         firstLock.unlockRead(readStamp);
+      }
 
-            // We couldn't resize
-            if (!sizeMemoryBuckets(newBucketCount)) {
-               return;
-            }
-            localPendingBlocks = IntSets.concurrentSet(LOCK_COUNT);
-            for (int i = 0; i < LOCK_COUNT; ++i) {
-               localPendingBlocks.set(i);
+      int newBucketCount = bucketCount << 1;
+      if (newBucketCount == MAX_ADDRESS_COUNT) {
+         locks.lockAll();
+         try {
+            sizeThreshold = Integer.MAX_VALUE;
+         } finally {
+            locks.unlockAll();
+         }
+         return;
+      }
+
+      // Allocating and clearing the new lookup can take a while with a lot of buckets, so it is done before
+      // acquiring the locks, at the cost of possibly throwing it away if there were concurrent resizes
+      MemoryAddressHash newMemoryLookup = new MemoryAddressHash(newBucketCount, allocator);
+      boolean started = false;
+      locks.lockAll();
+      try {
+         // Don't replace the lookup if it was already done - means we had concurrent requests
+         if (memoryLookup != null && oldMemoryLookup == null && memoryLookup.getPointerCount() == bucketCount) {
+            started = sizeMemoryBuckets(newMemoryLookup);
+            if (started) {
+               IntSet localPendingBlocks = IntSets.concurrentSet(LOCK_COUNT);
+               for (int i = 0; i < LOCK_COUNT; ++i) {
+                  localPendingBlocks.set(i);
+               }
+               this.pendingBlocks = localPendingBlocks;
+               this.transferCursors = new int[LOCK_COUNT];
             }
-            this.pendingBlocks = localPendingBlocks;
          }
       } finally {
          locks.unlockAll();
       }
 
-      // Try to complete without waiting if possible for locks
-      helpCompleteTransfer(localPendingBlocks, true);
+      if (started) {
+         helpTransfer();
+      } else {
+         newMemoryLookup.deallocate();
+      }
+   }
 
-      if (!onlyHelp) {
-         if (!localPendingBlocks.isEmpty()) {
-            // We attempted to transfer without waiting on locks - but we didn't finish them all yet - so now we have
-            // to wait to ensure they are all transferred
-            helpCompleteTransfer(localPendingBlocks, false);
-            // Now everything should be empty for sure
-            assert localPendingBlocks.isEmpty();
+   /**
+    * Transfers a stride of buckets from a lock region that is pending transfer, skipping lock regions whose lock is
+    * currently held by someone else. If this transfers the last pending buckets, the old memory lookup is released.
+    * This <b>MUST NOT</b> be invoked while holding any lock.
+    */
+   private void helpTransfer() {
+      IntSet pendingBlocks = this.pendingBlocks;
+      if (pendingBlocks == null) {
+         return;
+      }
+      PrimitiveIterator.OfInt iterator = pendingBlocks.iterator();
+      while (iterator.hasNext()) {
+         int offset = iterator.nextInt();
+         StampedLock lock = locks.getLockWithOffset(offset);
+         // If we can't get it - just assume another person is working on it - so try next one
+         long stamp = lock.tryWriteLock();
+         if (stamp == 0) {
+            continue;
          }
-
-         // Now that all blocks have been transferred we can replace references
-         locks.lockAll();
          try {
-            // This means that someone else completed the transfer for us - only clear can do that currently
-            if (this.pendingBlocks == null) {
-               return;
+            // Only run it now that we have lock if someone else just didn't finish it
+            if (this.pendingBlocks == pendingBlocks && pendingBlocks.contains(offset)) {
+               transferStride(offset);
             }
-            transferComplete();
          } finally {
-            locks.unlockAll();
+            lock.unlockWrite(stamp);
+         }
+         break;
+      }
+      if (pendingBlocks.isEmpty()) {
+         completeTransfer(pendingBlocks);
+      }
+   }
+
+   /**
+    * Releases the old memory lookup if all lock regions have been transferred.
+    * This <b>MUST NOT</b> be invoked while holding any lock.
+    * @param pendingBlocks the pending blocks of the resize that was completed
+    */
+   private void completeTransfer(IntSet pendingBlocks) {
+      locks.lockAll();
+      try {
+         // This means that someone else completed the transfer for us, or a clear happened
+         if (this.pendingBlocks != pendingBlocks || !pendingBlocks.isEmpty()) {
+            return;
          }
+         transferComplete();
+      } finally {
+         locks.unlockAll();
       }
    }
 
@@ -460,6 +648,7 @@ private void checkResize() {
    private void transferComplete() {
       MemoryAddressHash oldMemoryLookup = this.oldMemoryLookup;
       this.pendingBlocks = null;
+      this.transferCursors = null;
       if (listener != null) {
          boolean resized = listener.resize(-oldMemoryLookup.getPointerCount());
          assert resized : "Resize of negative pointers should always work!";
@@ -470,77 +659,65 @@ private void transferComplete() {
    }
 
    /**
-    * This <b>MUST NOT</b>  be invoked while holding any lock
-    * @param tryLock whether the lock acquisition only does a try, returning earlier with some lock segments not transferred possibly
+    * Ensures that the bucket that maps to the given hash code is transferred and also helps transfer a stride of
+    * the given lock region. This method <b>MUST</b> be invoked by any write operation before doing anything. This
+    * ensures that the write operation only needs to modify the current memory lookup.
+    * @param lockOffset the lock offset for the hash code
+    * @param hashCode the hash code of the key that is being written
     */
-   private void helpCompleteTransfer(IntSet pendingBlocks, boolean tryLock) {
-      if (pendingBlocks != null) {
-         PrimitiveIterator.OfInt iterator = pendingBlocks.iterator();
-         while (iterator.hasNext()) {
-            int offset = iterator.nextInt();
-            StampedLock lock = locks.getLockWithOffset(offset);
-
-            long stamp;
-            if (tryLock) {
-               // If we can't get it - just assume another person is working on it - so try next one
-               if ((stamp = lock.tryWriteLock()) == 0) {
-                  continue;
-               }
-            } else {
-               stamp = lock.writeLock();
-            }
-            try {
-               // Only run it now that we have lock if someone else just didn't finish it
-               if (pendingBlocks.remove(offset)) {
-                  transfer(offset);
-               }
-            } finally {
-               lock.unlockWrite(stamp);
-            }
-         }
+   @GuardedBy("locks#writeLock")
+   private void ensureTransferred(int lockOffset, int hashCode) {
+      if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
+         transferBucket(getOffset(hashCode, oldMemoryShift));
+         transferStride(lockOffset);
       }
    }
 
    /**
-    * Ensures that the block that maps to the given lock offset is transferred. This method <b>MUST</b> be invoked by
-    * any write operation before doing anything. This ensures that the write operation only needs to modify the
-    * current memory lookup.
-    * @param lockOffset the lock offset to confirm has been transferred
+    * Transfers the next stride of buckets of the given lock region from the old lookup to the current one, marking
+    * the lock region as no longer pending if it was the last one.
+    * @param lockOffset the offset in the lock array - this is the same between all memory lookups
     */
    @GuardedBy("locks#writeLock")
-   private void ensureTransferred(int lockOffset) {
-      if (pendingBlocks != null) {
-         if (pendingBlocks.remove(lockOffset)) {
-            transfer(lockOffset);
-         }
+   private void transferStride(int lockOffset) {
+      int blockSize = getBucketRegionSize(oldMemoryLookup.getPointerCount());
+      int cursor = transferCursors[lockOffset];
+      int stop = Math.min(cursor + TRANSFER_STRIDE, blockSize);
+      int regionStart = lockOffset * blockSize;
+      while (cursor < stop) {
+         transferBucket(regionStart + cursor++);
+      }
+      transferCursors[lockOffset] = cursor;
+      if (cursor == blockSize) {
+         pendingBlocks.remove(lockOffset);
       }
    }
 
    /**
-    * Transfers all the entries that map to the given lock offset position from the old lookup to the current one.
-    * @param lockOffset the offset in the lock array - this is the same between all memory lookups
+    * Transfers all the entries in the given bucket of the old lookup to the current one, leaving a forwarding marker
+    * in its place. Does nothing if the bucket was already transferred.
+    * @param oldMemoryOffset the offset of the bucket in the old memory lookup
     */
    @GuardedBy("locks#writeLock")
-   private void transfer(int lockOffset) {
-      int pointerCount = oldMemoryLookup.getPointerCount();
-      int blockSize = getBucketRegionSize(pointerCount);
-
-      LongStream memoryLocations = oldMemoryLookup.removeAll(lockOffset * blockSize, blockSize);
-      memoryLocations.forEach(address -> {
-         while (address != 0) {
-            long nextAddress = offHeapEntryFactory.getNext(address);
-            offHeapEntryFactory.setNext(address, 0);
+   private void transferBucket(int oldMemoryOffset) {
+      long address = oldMemoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(oldMemoryOffset);
+      if (address == FORWARDED) {
+         return;
+      }
+      oldMemoryLookup.putMemoryAddressOffset(oldMemoryOffset, FORWARDED);
+      while (address != 0) {
+         long nextAddress = offHeapEntryFactory.getNext(address);
+         offHeapEntryFactory.setNext(address, 0);
 
-            int hashCode = offHeapEntryFactory.getHashCode(address);
-            int memoryOffset = getMemoryOffset(hashCode);
-            long newBucketAddress = memoryLookup.getMemoryAddressOffset(memoryOffset);
+         int hashCode = offHeapEntryFactory.getHashCode(address);
+         int memoryOffset = getMemoryOffset(hashCode);
+         long newBucketAddress = memoryLookup.getMemoryAddressOffset(memoryOffset);
 
-            // We should be only inserting a new value - thus we don't worry about key or return value
-            performPut(newBucketAddress, address, address, null, memoryOffset,false, true);
+         // We should be only inserting a new value - thus we don't worry about key or return value
+         performPut(newBucketAddress, address, address, null, memoryOffset,false, true);
 
-            address = nextAddress;
-         }
-      });
+         address = nextAddress;
+      }
    }
 
    @Override
@@ -553,6 +730,9 @@ public void close() {
       } finally {
          locks.unlockAll();
       }
+      if (reclaimingAllocator != null) {
+         reclaimingAllocator.reclaimAll();
+      }
    }
 
    @Override
@@ -577,7 +757,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(WrappedBytes key,
       try {
          checkDeallocation();
 
-         ensureTransferred(lockOffset);
+         ensureTransferred(lockOffset, hashCode);
 
          int memoryOffset = getMemoryOffset(hashCode);
          long bucketAddress = memoryLookup.getMemoryAddressOffset(memoryOffset);
@@ -622,25 +802,80 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       int hashCode = k.hashCode();
       int lockOffset = getLockOffset(hashCode);
       StampedLock stampedLock = locks.getLockWithOffset(lockOffset);
+      // A listener may update eviction order on retrieval which can only be done while holding the lock
+      if (reclaimingAllocator != null && (peek || listener == null)) {
+         EpochReclaimingAllocator.ReaderSlot slot = EpochReclaimingAllocator.enterRead();
+         try {
+            long stamp = stampedLock.tryOptimisticRead();
+            if (stamp != 0) {
+               InternalCacheEntry<WrappedBytes, WrappedBytes> ice = optimisticPeekOrGet(stampedLock, stamp,
+                     lockOffset, k, hashCode);
+               if (stampedLock.validate(stamp)) {
+                  return ice;
+               }
+            }
+         } finally {
+            EpochReclaimingAllocator.exitRead(slot);
+         }
+      }
       long readStamp = stampedLock.readLock();
       try {
          checkDeallocation();
-         MemoryAddressHash memoryLookup;
-         if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
-            memoryLookup = this.oldMemoryLookup;
-         } else {
-            memoryLookup = this.memoryLookup;
-         }
-         return lockedPeekOrGet(memoryLookup, k, hashCode, peek);
+         return lockedPeekOrGet(readBucketHead(lockOffset, hashCode), k, hashCode, peek);
       } finally {
          stampedLock.unlockRead(readStamp);
       }
    }
 
+   /**
+    * Attempts to find the entry without holding any lock. The returned value may only be used if the stamp is still
+    * valid after this method returns. Note that as no lock is held every field read has to be validated before the
+    * memory it points to can be dereferenced, as it may be a value that was never meant to be visible.
+    */
+   private InternalCacheEntry<WrappedBytes, WrappedBytes> optimisticPeekOrGet(StampedLock stampedLock, long stamp,
+         int lockOffset, WrappedBytes k, int hashCode) {
+      MemoryAddressHash memoryLookup = this.memoryLookup;
+      int memoryShift = this.memoryShift;
+      IntSet pendingBlocks = this.pendingBlocks;
+      MemoryAddressHash oldMemoryLookup = this.oldMemoryLookup;
+      int oldMemoryShift = this.oldMemoryShift;
+      // A null lookup means the map was closed, which the locked read will report
+      if (memoryLookup == null || !stampedLock.validate(stamp)) {
+         return null;
+      }
+      long address = FORWARDED;
+      if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
+         if (oldMemoryLookup == null) {
+            return null;
+         }
+         address = oldMemoryLookup.getMemoryAddressOffset(getOffset(hashCode, oldMemoryShift));
+      }
+      if (address == FORWARDED) {
+         address = memoryLookup.getMemoryAddressOffset(getOffset(hashCode, memoryShift));
+      }
+      while (address != 0) {
+         if (!stampedLock.validate(stamp)) {
+            return null;
+         }
+         if (offHeapEntryFactory.equalsKey(address, k, hashCode)) {
+            try {
+               return offHeapEntryFactory.fromMemory(address);
+            } catch (RuntimeException e) {
+               // The entry was modified in place while reading it, the locked read will retrieve it properly
+               if (!stampedLock.validate(stamp)) {
+                  return null;
+               }
+               throw e;
+            }
+         }
+         address = offHeapEntryFactory.getNext(address);
+      }
+      return null;
+   }
+
    @GuardedBy("locks#readLock")
-   private InternalCacheEntry<WrappedBytes, WrappedBytes> lockedPeekOrGet(MemoryAddressHash memoryLookup,
-         WrappedBytes k, int hashCode, boolean peek) {
-      long bucketAddress = memoryLookup.getMemoryAddressOffset(getMemoryOffset(memoryLookup, hashCode));
+   private InternalCacheEntry<WrappedBytes, WrappedBytes> lockedPeekOrGet(long bucketAddress, WrappedBytes k,
+         int hashCode, boolean peek) {
       if (bucketAddress == 0) {
          return null;
       }
@@ -702,7 +937,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> put(WrappedBytes key,
       long writeStamp = stampedLock.writeLock();
       try {
          checkDeallocation();
-         ensureTransferred(lockOffset);
+         ensureTransferred(lockOffset, hashCode);
 
          int memoryOffset = getMemoryOffset(hashCode);
          long address = memoryLookup.getMemoryAddressOffset(memoryOffset);
@@ -810,7 +1045,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> remove(Object key) {
       long writeStamp = stampedLock.writeLock();
       try {
          checkDeallocation();
-         ensureTransferred(lockOffset);
+         ensureTransferred(lockOffset, hashCode);
 
          int memoryOffset = getMemoryOffset(hashCode);
          long address = memoryLookup.getMemoryAddressOffset(memoryOffset);
@@ -834,7 +1069,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> remove(Object key) {
    @GuardedBy("locks#writeLock")
    void remove(WrappedBytes key, long address) {
       int hashCode = key.hashCode();
-      ensureTransferred(getLockOffset(hashCode));
+      ensureTransferred(getLockOffset(hashCode), hashCode);
 
       int memoryOffset = getMemoryOffset(hashCode);
       long bucketAddress = memoryLookup.getMemoryAddressOffset(memoryOffset);
@@ -907,6 +1142,10 @@ public void clear() {
       } finally {
          locks.unlockAll();
       }
+      if (reclaimingAllocator != null) {
+         // Most of the time no reader is in progress, allowing the cleared memory to be released immediately
+         reclaimingAllocator.reclaim();
+      }
    }
 
    @GuardedBy("locks#lockAll")
@@ -931,12 +1170,12 @@ private void actualClear() {
          assert resized : "Resize of negative pointers should always work!";
       }
       if (oldMemoryLookup != null) {
-         oldMemoryLookup.removeAll().forEach(removeEntries);
+         oldMemoryLookup.removeAll().filter(address -> address != FORWARDED).forEach(removeEntries);
          transferComplete();
       }
 
       // Initialize to beginning again
-      sizeMemoryBuckets(INITIAL_SIZE);
+      sizeInitialMemoryBuckets();
 
       size.set(0);
       if (log.isTraceEnabled()) {
@@ -970,7 +1209,7 @@ public boolean remove(Object key, Object value) {
       long writeStamp = stampedLock.writeLock();
       try {
          checkDeallocation();
-         ensureTransferred(lockOffset);
+         ensureTransferred(lockOffset, hashCode);
 
          int memoryOffset = getMemoryOffset(hashCode);
          long address = memoryLookup.getMemoryAddressOffset(memoryOffset);
@@ -989,7 +1228,7 @@ public boolean replace(WrappedBytes key, InternalCacheEntry<WrappedBytes, Wrappe
       long writeStamp = stampedLock.writeLock();
       try {
          checkDeallocation();
-         ensureTransferred(lockOffset);
+         ensureTransferred(lockOffset, hashCode);
 
          int memoryOffset = getMemoryOffset(hashCode);
          long address = memoryLookup.getMemoryAddressOffset(memoryOffset);
@@ -1008,7 +1247,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> replace(WrappedBytes key,
       long writeStamp = stampedLock.writeLock();
       try {
          checkDeallocation();
-         ensureTransferred(lockOffset);
+         ensureTransferred(lockOffset, hashCode);
 
          int memoryOffset = getMemoryOffset(hashCode);
          long address = memoryLookup.getMemoryAddressOffset(memoryOffset);
@@ -1166,13 +1405,7 @@ boolean readNextBucket() {
          long readStamp = stampedLock.readLock();
          try {
             checkDeallocation();
-            MemoryAddressHash memoryAddressHash;
-            if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
-               memoryAddressHash = oldMemoryLookup;
-            } else {
-               memoryAddressHash = memoryLookup;
-            }
-            int pointerCount = memoryAddressHash.getPointerCount();
+            int pointerCount = memoryLookup.getPointerCount();
             if (bucketCount == -1) {
                bucketCount = pointerCount;
                bucketLockStop = getBucketRegionSize(bucketCount);
@@ -1185,11 +1418,24 @@ boolean readNextBucket() {
             } else if (bucketCount < pointerCount) {
                resizeIteration(pointerCount);
             }
+            // Buckets in a pending lock region may still have to be read from the old memory lookup - positions are
+            // always relative to the current memory lookup though
+            boolean pending = pendingBlocks != null && pendingBlocks.contains(lockOffset);
+            int oldShift = pending ? oldMemoryShift - memoryShift : 0;
             boolean completedLockBucket;
             // Normal iteration just keep adding entries until either we complete the lock bucket region or
             // we read bytes over the read threshold
             while (!(completedLockBucket = bucketLockStop == bucketPosition)) {
-               long address = memoryAddressHash.getMemoryAddressOffsetNoTraceIfAbsent(bucketPosition++);
+               long address;
+               if (pending && (address = oldMemoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(
+                     bucketPosition >>> oldShift)) != FORWARDED) {
+                  // The old bucket wasn't transferred yet, thus it contains the entries of all the buckets it will be
+                  // split into. Transferring only marks buckets as forwarded, so we will never see these buckets
+                  // in the current memory lookup afterwards
+                  bucketPosition += 1 << oldShift;
+               } else {
+                  address = memoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(bucketPosition++);
+               }
                if (address != 0) {
                   long nextAddress;
                   do {
@@ -1224,8 +1470,8 @@ private void resizeIteration(int newBucketSize) {
 
          bucketPosition = bucketPosition << bucketIncreaseShift;
          bucketLockStop = bucketLockStop << bucketIncreaseShift;
-         bucketLockShift = Integer.numberOfTrailingZeros(bucketLockStop);
          bucketCount = newBucketSize;
+         bucketLockShift = Integer.numberOfTrailingZeros(getBucketRegionSize(bucketCount));
       }
 
       private int getLockOffset(int bucketPosition) {
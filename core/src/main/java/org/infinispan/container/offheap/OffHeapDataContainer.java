@@ -8,6 +8,7 @@
 import org.infinispan.commons.util.FilterIterator;
 import org.infinispan.commons.util.FilterSpliterator;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.MemoryConfiguration;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.AbstractInternalDataContainer;
 import org.infinispan.container.impl.PeekableTouchableMap;
@@ -27,7 +28,9 @@ public class OffHeapDataContainer extends AbstractInternalDataContainer<WrappedB
 
    @Start
    public void start() {
-      map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null);
+      MemoryConfiguration memoryConfiguration = configuration.memory();
+      map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null,
+            memoryConfiguration.allocator().isPooled(), memoryConfiguration.expectedEntries());
    }
 
    @Stop
@@ -107,6 +110,7 @@ public int sizeIncludingExpired() {
    @Override
    public void clear() {
       map.clear();
+      expirationManager.entriesClearedInMemory();
    }
 
    @Override
@@ -0,0 +1,55 @@
+package org.infinispan.container.offheap;
+
+/**
+ * Keeps track of the order in which the entries of a bounded off-heap container are evicted. Entries are linked
+ * together through the {@link OffHeapLruNode} pointers written at the start of every entry.
+ * <p>
+ * All methods must be invoked while holding the lock that protects the queue.
+ * @since 13.0
+ */
+interface OffHeapEvictionQueue {
+   /**
+    * Invoked when a new entry has been created.
+    * @param address the address of the new entry
+    */
+   void entryAdded(long address);
+
+   /**
+    * Invoked when an entry is about to be removed.
+    * @param address the address of the entry being removed
+    */
+   void entryRemoved(long address);
+
+   /**
+    * Invoked when an entry is being replaced by a new one for the same key.
+    * @param newAddress the address of the new entry
+    * @param oldAddress the address of the entry being replaced
+    */
+   void entryReplaced(long newAddress, long oldAddress);
+
+   /**
+    * Invoked when an entry has been read.
+    * @param address the address of the entry read
+    */
+   void entryAccessed(long address);
+
+   /**
+    * Returns the entry that should be evicted next. This may reorder the entries, but the entry is only removed
+    * from the queue once {@link #entryRemoved(long)} is invoked for it.
+    * @return the address of the entry to evict or 0 if there are no entries
+    */
+   long victim();
+
+   /**
+    * @return how many bytes of native memory are used by the queue itself
+    */
+   default long memoryUsed() {
+      return 0;
+   }
+
+   /**
+    * Releases any native memory held by the queue itself.
+    */
+   default void close() {
+   }
+}
@@ -0,0 +1,154 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.commons.util.Util;
+
+import sun.misc.Unsafe;
+
+/**
+ * Count-min sketch stored in native memory that estimates how often a key was accessed recently.
+ * <p>
+ * Every long of the table holds sixteen 4-bit counters. A key is mapped to four counters, each in a different long
+ * chosen by a different hash function and the estimate is the minimum of them. Once the number of increments reaches
+ * ten times the width of the table all counters are halved, so that keys that used to be popular are forgotten.
+ * <p>
+ * This class is not thread safe.
+ * @since 13.0
+ */
+class OffHeapFrequencySketch {
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+
+   private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+         0xcbf29ce484222325L };
+   private static final long RESET_MASK = 0x7777777777777777L;
+   private static final long ONE_MASK = 0x1111111111111111L;
+   private static final int MAXIMUM_COUNT = 15;
+
+   // Never allocate less than 16 KiB so that the table is always allocated natively and its overhead is estimated
+   // the same way as the memory lookup
+   static final int MINIMUM_LENGTH = 1 << 11;
+   static final int MAXIMUM_LENGTH = 1 << 24;
+
+   private final OffHeapMemoryAllocator allocator;
+
+   private long table;
+   private int length;
+   private int sampleSize;
+   private int size;
+
+   OffHeapFrequencySketch(OffHeapMemoryAllocator allocator) {
+      this.allocator = allocator;
+   }
+
+   /**
+    * Makes sure the table is wide enough to tell apart the given number of keys. Growing the table discards all
+    * the frequencies collected so far.
+    * @param expectedKeys how many keys are expected to be tracked
+    */
+   void ensureCapacity(long expectedKeys) {
+      int newLength = (int) Math.min(Math.max(expectedKeys, MINIMUM_LENGTH), MAXIMUM_LENGTH);
+      newLength = Util.findNextHighestPowerOfTwo(newLength);
+      if (newLength <= length) {
+         return;
+      }
+      deallocate();
+      long bytes = ((long) newLength) << 3;
+      table = allocator.allocate(bytes);
+      UNSAFE.setMemory(table, bytes, (byte) 0);
+      length = newLength;
+      sampleSize = 10 * newLength;
+      size = 0;
+   }
+
+   /**
+    * @return the estimated number of accesses of the key with the given hash code, between 0 and 15
+    */
+   int frequency(int hashCode) {
+      if (table == 0) {
+         return 0;
+      }
+      int hash = spread(hashCode);
+      int start = (hash & 3) << 2;
+      int frequency = MAXIMUM_COUNT;
+      for (int i = 0; i < 4; ++i) {
+         long value = MEMORY.getLong(table, offsetOf(hash, i));
+         int count = (int) ((value >>> ((start + i) << 2)) & 0xfL);
+         frequency = Math.min(frequency, count);
+      }
+      return frequency;
+   }
+
+   /**
+    * Records an access of the key with the given hash code.
+    */
+   void increment(int hashCode) {
+      if (table == 0) {
+         return;
+      }
+      int hash = spread(hashCode);
+      int start = (hash & 3) << 2;
+      boolean added = false;
+      for (int i = 0; i < 4; ++i) {
+         added |= incrementAt(offsetOf(hash, i), start + i);
+      }
+      if (added && ++size == sampleSize) {
+         reset();
+      }
+   }
+
+   private boolean incrementAt(long offset, int counter) {
+      int shift = counter << 2;
+      long mask = 0xfL << shift;
+      long value = MEMORY.getLong(table, offset);
+      if ((value & mask) != mask) {
+         MEMORY.putLong(table, offset, value + (1L << shift));
+         return true;
+      }
+      return false;
+   }
+
+   private void reset() {
+      int odd = 0;
+      for (long offset = 0; offset < ((long) length) << 3; offset += 8) {
+         long value = MEMORY.getLong(table, offset);
+         odd += Long.bitCount(value & ONE_MASK);
+         MEMORY.putLong(table, offset, (value >>> 1) & RESET_MASK);
+      }
+      // Halving truncates odd counters, so remove those from the sample as well
+      size = (size >>> 1) - (odd >>> 2);
+   }
+
+   private long offsetOf(int hash, int i) {
+      long value = (hash + SEEDS[i]) * SEEDS[i];
+      value += value >>> 32;
+      return ((long) (((int) value) & (length - 1))) << 3;
+   }
+
+   private static int spread(int hashCode) {
+      int x = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+      x = ((x >>> 16) ^ x) * 0x45d9f3b;
+      return (x >>> 16) ^ x;
+   }
+
+   /**
+    * @return how many bytes of native memory the table requires, including the allocation overhead
+    */
+   long memoryUsed() {
+      if (table == 0) {
+         return 0;
+      }
+      return UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(((long) length) << 3);
+   }
+
+   /**
+    * Releases the native memory of the table, after which no frequencies are recorded until
+    * {@link #ensureCapacity(long)} is invoked again.
+    */
+   void deallocate() {
+      if (table != 0) {
+         allocator.deallocate(table, ((long) length) << 3);
+         table = 0;
+         length = 0;
+      }
+   }
+}
@@ -168,4 +168,24 @@ void free(long address) {
       }
       UNSAFE.freeMemory(address);
    }
+
+   /**
+    * Registers a block that was carved out of a larger allocation, so that address checks done while tracing
+    * still pass. This is a no-op when trace is disabled.
+    */
+   void trackBlock(long address, long size) {
+      if (log.isTraceEnabled()) {
+         allocatedBlocks.put(address, size);
+      }
+   }
+
+   /**
+    * Unregisters a block previously registered via {@link #trackBlock(long, long)}. This is a no-op when trace is
+    * disabled.
+    */
+   void untrackBlock(long address) {
+      if (log.isTraceEnabled()) {
+         allocatedBlocks.remove(address);
+      }
+   }
 }
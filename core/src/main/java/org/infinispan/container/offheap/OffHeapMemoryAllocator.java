@@ -23,4 +23,14 @@ public interface OffHeapMemoryAllocator {
    void deallocate(long memoryAddress, long size);
 
    long getAllocatedAmount();
+
+   /**
+    * Returns how many bytes were reserved from the native allocator, which includes memory that was reserved by
+    * the allocator but is not currently handed out. Allocators that do not pool memory return the same value as
+    * {@link #getAllocatedAmount()}.
+    * @return the reserved amount of bytes
+    */
+   default long getReservedAmount() {
+      return getAllocatedAmount();
+   }
 }
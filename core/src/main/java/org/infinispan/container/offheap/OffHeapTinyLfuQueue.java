@@ -0,0 +1,231 @@
+package org.infinispan.container.offheap;
+
+import java.lang.invoke.MethodHandles;
+import java.util.function.LongUnaryOperator;
+
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Window TinyLFU eviction, as used by Caffeine for heap storage.
+ * <p>
+ * New entries are added to a small LRU window. Entries that overflow the window enter the main space, which is a
+ * segmented LRU made of a probation and a protected queue: entries are first placed in probation and are promoted to
+ * the protected queue when they are accessed again, while entries that overflow the protected queue are demoted back
+ * to probation. When the container is full the entry overflowing the window is only admitted into the main space if
+ * it was accessed more frequently than the head of the probation queue, according to an
+ * {@link OffHeapFrequencySketch}, otherwise the window entry itself is evicted. This prevents a scan of the cache from
+ * flushing frequently used entries. When the memory bound is too small for the smallest sketch, entries are always
+ * admitted and the main space is evicted in LRU order.
+ * <p>
+ * The queue an entry belongs to is stored in the lower bits of its previous pointer, which are always 0 as entries
+ * are at least 8 byte aligned.
+ * @since 13.0
+ */
+class OffHeapTinyLfuQueue implements OffHeapEvictionQueue {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+
+   private static final int WINDOW = 0;
+   private static final int PROBATION = 1;
+   private static final int PROTECTED = 2;
+   private static final long QUEUE_MASK = 3;
+
+   private final OffHeapEntryFactory offHeapEntryFactory;
+   private final LongUnaryOperator sizeCalculator;
+   private final OffHeapFrequencySketch sketch;
+   private final boolean countBounded;
+   private final long maximumSketchKeys;
+   // Whether the admission is decided by the frequency sketch
+   private final boolean admitByFrequency;
+
+   private final long windowMaximum;
+   private final long mainMaximum;
+   private final long protectedMaximum;
+
+   private final long[] heads = new long[3];
+   private final long[] tails = new long[3];
+   private final long[] weights = new long[3];
+   // Only tracked when the sketch has to grow with the entries
+   private long entryCount;
+
+   /**
+    * @param offHeapEntryFactory factory used to read the hash code of entries
+    * @param allocator allocator for the memory of the frequency sketch
+    * @param sizeCalculator returns the size of an entry, in the same unit as the maximum size
+    * @param maxSize the maximum size of all entries
+    * @param countBounded whether the maximum size is a number of entries, in which case the sketch is sized for it up
+    *                     front, instead of growing with the number of entries
+    */
+   OffHeapTinyLfuQueue(OffHeapEntryFactory offHeapEntryFactory, OffHeapMemoryAllocator allocator,
+         LongUnaryOperator sizeCalculator, long maxSize, boolean countBounded) {
+      this.offHeapEntryFactory = offHeapEntryFactory;
+      this.sizeCalculator = sizeCalculator;
+      this.sketch = new OffHeapFrequencySketch(allocator);
+      this.countBounded = countBounded;
+      // When bounded by memory the sketch is limited to 1/16th of it, using 8 bytes per key
+      this.maximumSketchKeys = countBounded ? maxSize : maxSize >> 7;
+      this.admitByFrequency = countBounded || maximumSketchKeys >= OffHeapFrequencySketch.MINIMUM_LENGTH;
+      // The window is 1% of the cache and the protected queue 80% of the main space, same as Caffeine's defaults
+      this.windowMaximum = Math.max(1, maxSize / 100);
+      this.mainMaximum = maxSize - windowMaximum;
+      this.protectedMaximum = mainMaximum - mainMaximum / 5;
+   }
+
+   @Override
+   public void entryAdded(long address) {
+      // The number of entries that fit in a memory bound depends on their size, so the sketch grows with the entries
+      long sketchKeys = countBounded ? maximumSketchKeys : Math.min(++entryCount, maximumSketchKeys);
+      if (admitByFrequency) {
+         sketch.ensureCapacity(sketchKeys);
+      }
+      sketch.increment(offHeapEntryFactory.getHashCode(address));
+      link(WINDOW, address);
+      drainWindow();
+   }
+
+   @Override
+   public void entryRemoved(long address) {
+      unlink(address);
+      if (!countBounded) {
+         entryCount--;
+      }
+   }
+
+   @Override
+   public void entryReplaced(long newAddress, long oldAddress) {
+      // A write counts as an access, so the new entry is promoted if the old one was in probation
+      int queue = unlink(oldAddress);
+      sketch.increment(offHeapEntryFactory.getHashCode(newAddress));
+      link(queue == PROBATION ? PROTECTED : queue, newAddress);
+      drainWindow();
+      drainProtected();
+   }
+
+   @Override
+   public void entryAccessed(long address) {
+      sketch.increment(offHeapEntryFactory.getHashCode(address));
+      int queue = queueOf(address);
+      if (address != tails[queue] || queue == PROBATION) {
+         unlink(address);
+         if (queue == PROBATION) {
+            link(PROTECTED, address);
+            drainProtected();
+         } else {
+            link(queue, address);
+         }
+      }
+   }
+
+   @Override
+   public long victim() {
+      while (weights[WINDOW] > windowMaximum) {
+         long candidate = heads[WINDOW];
+         if (heads[PROBATION] == 0) {
+            if (heads[PROTECTED] == 0) {
+               return candidate;
+            }
+            moveToTail(heads[PROTECTED], PROBATION);
+         }
+         long victim = heads[PROBATION];
+         if (!admit(candidate, victim)) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Rejected admission of entry 0x%016x in favor of entry 0x%016x", candidate, victim);
+            }
+            return candidate;
+         }
+         // The candidate becomes part of the main space and the victim stays at the head of probation
+         moveToTail(candidate, PROBATION);
+      }
+      if (heads[PROBATION] != 0) {
+         return heads[PROBATION];
+      }
+      if (heads[PROTECTED] != 0) {
+         return heads[PROTECTED];
+      }
+      return heads[WINDOW];
+   }
+
+   private boolean admit(long candidate, long victim) {
+      if (!admitByFrequency) {
+         // Without a sketch every entry would have the same frequency and none would ever be admitted
+         return true;
+      }
+      int candidateFrequency = sketch.frequency(offHeapEntryFactory.getHashCode(candidate));
+      int victimFrequency = sketch.frequency(offHeapEntryFactory.getHashCode(victim));
+      return candidateFrequency > victimFrequency;
+   }
+
+   /**
+    * Moves entries that overflow the window into probation as long as the main space has room for them. Once the
+    * main space is full, entries stay in the window until {@link #victim()} decides whether they are admitted.
+    */
+   private void drainWindow() {
+      while (weights[WINDOW] > windowMaximum) {
+         long head = heads[WINDOW];
+         if (weights[PROBATION] + weights[PROTECTED] + sizeCalculator.applyAsLong(head) > mainMaximum) {
+            return;
+         }
+         moveToTail(head, PROBATION);
+      }
+   }
+
+   private void drainProtected() {
+      while (weights[PROTECTED] > protectedMaximum) {
+         moveToTail(heads[PROTECTED], PROBATION);
+      }
+   }
+
+   private void moveToTail(long address, int queue) {
+      unlink(address);
+      link(queue, address);
+   }
+
+   private static int queueOf(long address) {
+      return (int) (OffHeapLruNode.getPrevious(address) & QUEUE_MASK);
+   }
+
+   private void link(int queue, long address) {
+      assert (address & QUEUE_MASK) == 0 : "Entry 0x" + Long.toHexString(address) + " is not aligned";
+      long tail = tails[queue];
+      OffHeapLruNode.setPrevious(address, tail | queue);
+      OffHeapLruNode.setNext(address, 0);
+      if (tail == 0) {
+         heads[queue] = address;
+      } else {
+         OffHeapLruNode.setNext(tail, address);
+      }
+      tails[queue] = address;
+      weights[queue] += sizeCalculator.applyAsLong(address);
+   }
+
+   private int unlink(long address) {
+      long previousWithQueue = OffHeapLruNode.getPrevious(address);
+      int queue = (int) (previousWithQueue & QUEUE_MASK);
+      long previous = previousWithQueue & ~QUEUE_MASK;
+      long next = OffHeapLruNode.getNext(address);
+      if (previous == 0) {
+         assert heads[queue] == address;
+         heads[queue] = next;
+      } else {
+         OffHeapLruNode.setNext(previous, next);
+      }
+      if (next == 0) {
+         assert tails[queue] == address;
+         tails[queue] = previous;
+      } else {
+         OffHeapLruNode.setPrevious(next, previous | queue);
+      }
+      weights[queue] -= sizeCalculator.applyAsLong(address);
+      return queue;
+   }
+
+   @Override
+   public long memoryUsed() {
+      return sketch.memoryUsed();
+   }
+
+   @Override
+   public void close() {
+      sketch.deallocate();
+   }
+}
@@ -0,0 +1,315 @@
+package org.infinispan.container.offheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import sun.misc.Unsafe;
+
+/**
+ * Memory allocator that carves allocations out of size-classed slabs instead of asking the native allocator for
+ * every entry.
+ * <p>
+ * Requests up to {@link #MAX_POOLED_SIZE} bytes are rounded up to a size class and served from a lock-free free list
+ * owned by one of several arenas, picked by the calling thread. Freed chunks are pushed back onto the free list of the
+ * arena of the thread freeing them, since any chunk of a given size class is interchangeable. Slabs are only
+ * returned to the operating system when the allocator is stopped, so a chunk never becomes unmapped while another
+ * thread may still be reading its free list link. Larger requests, such as the memory lookup table, are delegated
+ * straight to the native allocator.
+ * <p>
+ * The free lists use the upper 16 bits of the head pointer as a stamp to avoid the ABA problem, which relies on the
+ * platform only handing out user space addresses below 2<sup>48</sup>.
+ * @since 13.0
+ */
+@Scope(Scopes.NAMED_CACHE)
+public class PooledOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(PooledOffHeapMemoryAllocator.class, Log.class);
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+
+   /**
+    * Largest allocation, in bytes, that is served from a slab
+    */
+   public static final int MAX_POOLED_SIZE = 8192;
+   /**
+    * Target size of a single slab in bytes, a slab always holds at least {@link #MIN_CHUNKS_PER_SLAB} chunks
+    */
+   public static final int SLAB_SIZE = 64 * 1024;
+   private static final int MIN_CHUNKS_PER_SLAB = 8;
+   private static final int MAX_ARENAS = 64;
+
+   private static final long ADDRESS_MASK = (1L << 48) - 1;
+   private static final long STAMP_INCREMENT = 1L << 48;
+
+   private static final int[] CLASS_SIZES = createSizeClasses();
+
+   private final Arena[] arenas;
+   private final int arenaMask;
+   // Bytes handed out to callers, rounded up to the size class or estimated overhead for unpooled allocations
+   private final LongAdder amountAllocated = new LongAdder();
+   // Bytes reserved from the native allocator, which includes slabs and unpooled allocations
+   private final LongAdder amountReserved = new LongAdder();
+   private final LongAdder slabCount = new LongAdder();
+
+   public PooledOffHeapMemoryAllocator() {
+      this(ProcessorInfo.availableProcessors());
+   }
+
+   public PooledOffHeapMemoryAllocator(int arenaCount) {
+      int count = Util.findNextHighestPowerOfTwo(Math.min(Math.max(arenaCount, 1), MAX_ARENAS));
+      arenas = new Arena[count];
+      for (int i = 0; i < count; ++i) {
+         arenas[i] = new Arena();
+      }
+      arenaMask = count - 1;
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      int classIndex = classIndex(memoryLength);
+      if (classIndex < 0) {
+         long estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+         long memoryLocation = MEMORY.allocate(memoryLength);
+         amountAllocated.add(estimatedMemoryLength);
+         amountReserved.add(estimatedMemoryLength);
+         if (log.isTraceEnabled()) {
+            log.tracef("Allocated unpooled off-heap memory at 0x%016x with %d bytes. Total size: %d", memoryLocation,
+                  estimatedMemoryLength, amountAllocated.sum());
+         }
+         return memoryLocation;
+      }
+      SizeClass sizeClass = arena().sizeClasses[classIndex];
+      long memoryLocation = sizeClass.pop();
+      if (memoryLocation == 0) {
+         memoryLocation = sizeClass.refillAndPop();
+      }
+      amountAllocated.add(sizeClass.chunkSize);
+      MEMORY.trackBlock(memoryLocation, sizeClass.chunkSize);
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated pooled off-heap memory at 0x%016x with %d bytes. Total size: %d", memoryLocation,
+               sizeClass.chunkSize, amountAllocated.sum());
+      }
+      return memoryLocation;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      int classIndex = classIndex(size);
+      if (classIndex < 0) {
+         long estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size);
+         amountAllocated.add(-estimatedMemoryLength);
+         amountReserved.add(-estimatedMemoryLength);
+         if (log.isTraceEnabled()) {
+            log.tracef("Deallocating unpooled off-heap memory at 0x%016x with %d bytes. Total size: %d", memoryAddress,
+                  estimatedMemoryLength, amountAllocated.sum());
+         }
+         MEMORY.free(memoryAddress);
+         return;
+      }
+      SizeClass sizeClass = arena().sizeClasses[classIndex];
+      amountAllocated.add(-sizeClass.chunkSize);
+      if (log.isTraceEnabled()) {
+         log.tracef("Returning pooled off-heap memory at 0x%016x with %d bytes. Total size: %d", memoryAddress,
+               sizeClass.chunkSize, amountAllocated.sum());
+      }
+      MEMORY.untrackBlock(memoryAddress);
+      sizeClass.push(memoryAddress);
+   }
+
+   @Override
+   public long getAllocatedAmount() {
+      return amountAllocated.sum();
+   }
+
+   @Override
+   public long getReservedAmount() {
+      return amountReserved.sum();
+   }
+
+   /**
+    * @return how many slabs are currently reserved across all arenas and size classes
+    */
+   public long getSlabCount() {
+      return slabCount.sum();
+   }
+
+   /**
+    * Releases all slabs back to the operating system. Any address previously returned by this allocator is invalid
+    * afterwards, thus this must only be invoked after the data container has released all of its entries.
+    */
+   @Stop
+   public void stop() {
+      for (Arena arena : arenas) {
+         for (SizeClass sizeClass : arena.sizeClasses) {
+            sizeClass.release();
+         }
+      }
+   }
+
+   /**
+    * Reserves the memory of a new slab, which is only released by {@link #releaseSlab(long, long)} when the allocator
+    * is stopped. May be invoked concurrently for different size classes.
+    * @param bytes the size of the slab
+    * @return the address of the slab
+    */
+   protected long reserveSlab(long bytes) {
+      return UNSAFE.allocateMemory(bytes);
+   }
+
+   /**
+    * Releases the memory of a slab reserved by {@link #reserveSlab(long)}.
+    * @param slab the address of the slab
+    * @param bytes the size of the slab
+    */
+   protected void releaseSlab(long slab, long bytes) {
+      UNSAFE.freeMemory(slab);
+   }
+
+   private Arena arena() {
+      return arenas[(int) Thread.currentThread().getId() & arenaMask];
+   }
+
+   /**
+    * Returns the offset of the size class that can hold the given amount of bytes or -1 if the size is too large to
+    * be pooled.
+    */
+   static int classIndex(long size) {
+      if (size > MAX_POOLED_SIZE) {
+         return -1;
+      }
+      if (size <= 256) {
+         // 16 byte steps up to 256
+         return size <= 16 ? 0 : (int) ((size + 15) >>> 4) - 1;
+      }
+      // 4 steps per power of two above 256
+      int power = 63 - Long.numberOfLeadingZeros(size - 1);
+      long step = 1L << (power - 2);
+      int subClass = (int) ((size - (1L << power) + step - 1) / step);
+      return 16 + ((power - 8) << 2) + subClass - 1;
+   }
+
+   static int classSize(int classIndex) {
+      return CLASS_SIZES[classIndex];
+   }
+
+   private static int[] createSizeClasses() {
+      int count = classIndex(MAX_POOLED_SIZE) + 1;
+      int[] sizes = new int[count];
+      for (int i = 0; i < 16; ++i) {
+         sizes[i] = (i + 1) << 4;
+      }
+      for (int i = 16; i < count; ++i) {
+         int power = 8 + ((i - 16) >> 2);
+         int subClass = ((i - 16) & 3) + 1;
+         sizes[i] = (1 << power) + subClass * (1 << (power - 2));
+      }
+      return sizes;
+   }
+
+   private final class Arena {
+      private final SizeClass[] sizeClasses = new SizeClass[CLASS_SIZES.length];
+
+      Arena() {
+         for (int i = 0; i < sizeClasses.length; ++i) {
+            sizeClasses[i] = new SizeClass(CLASS_SIZES[i]);
+         }
+      }
+   }
+
+   private final class SizeClass {
+      private final int chunkSize;
+      private final int chunksPerSlab;
+      // Address of the first free chunk in the lower 48 bits and an ABA stamp in the upper 16 bits
+      private final AtomicLong head = new AtomicLong();
+      // Guarded by this
+      private final List<Long> slabs = new ArrayList<>();
+
+      SizeClass(int chunkSize) {
+         this.chunkSize = chunkSize;
+         this.chunksPerSlab = Math.max(MIN_CHUNKS_PER_SLAB, SLAB_SIZE / chunkSize);
+      }
+
+      long pop() {
+         while (true) {
+            long currentHead = head.get();
+            long address = currentHead & ADDRESS_MASK;
+            if (address == 0) {
+               return 0;
+            }
+            // The chunk may be concurrently popped and overwritten, but the slab is never unmapped while running,
+            // and the stamp makes the CAS fail in that case
+            long next = UNSAFE.getLong(address);
+            if (head.compareAndSet(currentHead, next | nextStamp(currentHead))) {
+               return address;
+            }
+         }
+      }
+
+      void push(long address) {
+         pushChain(address, address);
+      }
+
+      private void pushChain(long first, long last) {
+         while (true) {
+            long currentHead = head.get();
+            UNSAFE.putLong(last, currentHead & ADDRESS_MASK);
+            if (head.compareAndSet(currentHead, first | nextStamp(currentHead))) {
+               return;
+            }
+         }
+      }
+
+      synchronized long refillAndPop() {
+         // Another thread may have refilled or freed chunks while we were waiting
+         long address = pop();
+         if (address != 0) {
+            return address;
+         }
+         long slabBytes = (long) chunkSize * chunksPerSlab;
+         long slab = reserveSlab(slabBytes);
+         if (((slab + slabBytes) & ~ADDRESS_MASK) != 0) {
+            releaseSlab(slab, slabBytes);
+            throw new IllegalStateException(String.format(
+                  "Native memory address 0x%016x does not fit in 48 bits, pooled off-heap allocator cannot be used", slab));
+         }
+         slabs.add(slab);
+         slabCount.increment();
+         amountReserved.add(slabBytes);
+         if (log.isTraceEnabled()) {
+            log.tracef("Allocated slab at 0x%016x with %d chunks of %d bytes", slab, chunksPerSlab, chunkSize);
+         }
+         // Keep the first chunk for ourselves and link the rest together before publishing them
+         long first = slab + chunkSize;
+         long last = slab + (long) chunkSize * (chunksPerSlab - 1);
+         for (long chunk = first; chunk < last; chunk += chunkSize) {
+            UNSAFE.putLong(chunk, chunk + chunkSize);
+         }
+         pushChain(first, last);
+         return slab;
+      }
+
+      synchronized void release() {
+         head.set(0);
+         long slabBytes = (long) chunkSize * chunksPerSlab;
+         for (Long slab : slabs) {
+            releaseSlab(slab, slabBytes);
+            slabCount.decrement();
+            amountReserved.add(-slabBytes);
+         }
+         slabs.clear();
+      }
+
+      private long nextStamp(long currentHead) {
+         return (currentHead + STAMP_INCREMENT) & ~ADDRESS_MASK;
+      }
+   }
+}
@@ -1,12 +1,16 @@
 package org.infinispan.container.offheap;
 
 import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.Supplier;
 
 import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.AbstractDelegatingInternalDataContainer;
 import org.infinispan.container.impl.AbstractInternalDataContainer;
@@ -16,6 +20,7 @@
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.eviction.impl.PassivationManager;
+import org.infinispan.expiration.impl.InternalExpirationManager;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -40,6 +45,7 @@ public class SegmentedBoundedOffHeapDataContainer extends AbstractDelegatingInte
    private final OffHeapListener offHeapListener;
 
    @Inject ComponentRegistry componentRegistry;
+   @Inject Configuration configuration;
 
    @Inject protected OffHeapMemoryAllocator allocator;
    @Inject protected OffHeapEntryFactory offHeapEntryFactory;
@@ -47,16 +53,23 @@ public class SegmentedBoundedOffHeapDataContainer extends AbstractDelegatingInte
    @Inject protected EvictionManager evictionManager;
    @Inject protected ComponentRef<PassivationManager> passivator;
    @Inject protected DataOperationOrderer orderer;
+   @Inject protected InternalExpirationManager<WrappedBytes, WrappedBytes> expirationManager;
 
    protected final long maxSize;
    protected final Lock lruLock;
    protected final boolean useCount;
    protected final int numSegments;
 
-   // Must be updated inside lruLock#writeLock - but can be read outside of lock
-   protected volatile long currentSize;
-   protected long firstAddress;
-   protected long lastAddress;
+   // Entries are added to the size after they are added to the eviction queue, and removed from the size before they
+   // are removed from it, so that an eviction never finds the queue empty while the size is over the maximum
+   protected final StripedSizeCounter size;
+   // Must be accessed inside lruLock
+   protected OffHeapEvictionQueue evictionQueue;
+   private boolean tinyLfu;
+   private long evictionQueueMemory;
+
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
 
    protected DefaultSegmentedDataContainer dataContainer;
 
@@ -68,19 +81,32 @@ public SegmentedBoundedOffHeapDataContainer(int numSegments, long maxSize, Evict
       this.useCount = type == EvictionType.COUNT;
       OffHeapMapSupplier offHeapMapSupplier = new OffHeapMapSupplier();
       this.lruLock = new ReentrantLock();
-      firstAddress = 0;
+      this.size = new StripedSizeCounter(maxSize);
 
       dataContainer = new DefaultSegmentedDataContainer<>(offHeapMapSupplier, numSegments);
    }
 
    @Start
    public void start() {
+      tinyLfu = configuration.memory().evictionPolicy() == OffHeapEvictionPolicy.TINY_LFU;
+      if (tinyLfu) {
+         evictionQueue = new OffHeapTinyLfuQueue(offHeapEntryFactory, allocator, this::getSize, maxSize, useCount);
+      } else {
+         evictionQueue = new OffHeapLruQueue();
+      }
       dataContainer.start();
    }
 
    @Stop(priority = 999)
    public void stop() {
       dataContainer.stop();
+      lruLock.lock();
+      try {
+         evictionQueue.close();
+         updateEvictionQueueMemory();
+      } finally {
+         lruLock.unlock();
+      }
    }
 
    @Override
@@ -89,6 +115,27 @@ protected InternalDataContainer<WrappedBytes, WrappedBytes> delegate() {
    }
 
 
+   @Override
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> peekAndRecordAccess(int segment, Object k) {
+      OffHeapConcurrentMap map = (OffHeapConcurrentMap) dataContainer.getMapForSegment(segment);
+      InternalCacheEntry<WrappedBytes, WrappedBytes> ice;
+      if (map == null) {
+         ice = null;
+      } else if (tinyLfu) {
+         // Unlike peek, get notifies our listener so the eviction queue can record the access, without blocking
+         ice = map.get(k);
+      } else {
+         // Recording the access in the LRU queue requires the lruLock, which would serialize all the reads
+         ice = map.peek(k);
+      }
+      if (ice != null) {
+         hits.increment();
+      } else {
+         misses.increment();
+      }
+      return ice;
+   }
+
    @Override
    public void put(WrappedBytes key, WrappedBytes value, Metadata metadata) {
       super.put(key, value, metadata);
@@ -140,23 +187,24 @@ protected OffHeapConcurrentMap getMapThatContainsKey(byte[] key) {
    }
 
    /**
-    * This method repeatedly removes the head of the LRU list until there the current size is less than or equal to
-    * `maxSize`.
+    * This method repeatedly removes the victim chosen by the eviction queue until there the current size is less than
+    * or equal to `maxSize`.
     * <p>
-    * We need to hold the LRU lock in order to check the current size and to read the head entry,
-    * and then we need to hold the head entry's write lock in order to remove it.
+    * We need to hold the LRU lock in order to check the current size and to read the victim entry,
+    * and then we need to hold the victim entry's write lock in order to remove it.
     * The problem is that the correct acquisition order is entry write lock first, LRU lock second,
     * and we need to hold the LRU lock so that we know which entry write lock to acquire.
     * <p>
     * To work around it, we first try to acquire the entry write lock without blocking.
     * If that fails, we release the LRU lock and we acquire the locks in the correct order, hoping that
-    * the LRU head doesn't change while we wait. Because the entry write locks are striped, we actually
-    * tolerate a LRU head change as long as the new head entry is in the same lock stripe.
-    * If the LRU list head changes, we release both locks and try again.
+    * the victim doesn't change while we wait. Because the entry write locks are striped, we actually
+    * tolerate a victim change as long as the new victim entry is in the same lock stripe.
+    * If the victim changes, we release both locks and try again.
     */
    private void ensureSize() {
-      // Try reading outside of lock first to allow for less locking for insert that doesn't require eviction
-      if (currentSize <= maxSize) {
+      // Try reading outside of lock first to allow for less locking for insert that doesn't require eviction. The
+      // published size is enough until it gets close to the maximum, then every stripe has to be summed
+      if (size.approximate() + size.maximumError() <= maxSize || size.sum() <= maxSize) {
          return;
       }
 
@@ -167,22 +215,23 @@ private void ensureSize() {
          OffHeapConcurrentMap map;
          lruLock.lock();
          try {
-            if (currentSize <= maxSize) {
+            if (size.sum() <= maxSize) {
                break;
             }
+            long victimAddress = evictionQueue.victim();
             // We shouldn't be able to get into this state
-            assert firstAddress > 0;
+            assert victimAddress > 0;
             // We read the key before hashCode due to how off-heap bytes are written (key requires reading metadata
             // which comes before hashCode, which should keep hashCode bytes in memory register in most cases)
-            byte[] key = offHeapEntryFactory.getKey(firstAddress);
+            byte[] key = offHeapEntryFactory.getKey(victimAddress);
 
             map = getMapThatContainsKey(key);
             if (map != null) {
-               int hashCode = offHeapEntryFactory.getHashCode(firstAddress);
+               int hashCode = offHeapEntryFactory.getHashCode(victimAddress);
                // This is always non null
                stampedLock = map.getStampedLock(hashCode);
                if ((writeStamp = stampedLock.tryWriteLock()) != 0) {
-                  addressToRemove = firstAddress;
+                  addressToRemove = victimAddress;
                } else {
                   addressToRemove = 0;
                }
@@ -203,18 +252,19 @@ private void ensureSize() {
             try {
                lruLock.lock();
                try {
-                  if (currentSize <= maxSize) {
+                  if (size.sum() <= maxSize) {
                      break;
                   }
-                  // Now that we have locks we have to verify the first address is protected by the same lock still
-                  byte[] key = offHeapEntryFactory.getKey(firstAddress);
+                  // Now that we have locks we have to verify the victim is protected by the same lock still
+                  long victimAddress = evictionQueue.victim();
+                  byte[] key = offHeapEntryFactory.getKey(victimAddress);
 
                   OffHeapConcurrentMap protectedMap = getMapThatContainsKey(key);
                   if (protectedMap == map) {
-                     int hashCode = offHeapEntryFactory.getHashCode(firstAddress);
+                     int hashCode = offHeapEntryFactory.getHashCode(victimAddress);
                      StampedLock innerLock = map.getStampedLock(hashCode);
                      if (innerLock == stampedLock) {
-                        addressToRemove = firstAddress;
+                        addressToRemove = victimAddress;
                      }
                   }
                } finally {
@@ -230,11 +280,14 @@ private void ensureSize() {
          if (addressToRemove != 0) {
             if (log.isTraceEnabled()) {
                log.tracef("Removing entry: 0x%016x due to eviction due to size %d being larger than maximum of %d",
-                     addressToRemove, currentSize, maxSize);
+                     addressToRemove, size.sum(), maxSize);
             }
             try {
                InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(addressToRemove);
                map.remove(ice.getKey(), addressToRemove);
+               if (ice.canExpire()) {
+                  expirationManager.entryRemovedInMemory(dataContainer.getSegmentForKey(ice.getKey()), ice.getKey());
+               }
                // Note this is non blocking now - this MUST be invoked after removing the entry from the
                // underlying map
                AbstractInternalDataContainer.handleEviction(ice, orderer, passivator.running(), evictionManager, this, null);
@@ -249,7 +302,10 @@ private class OffHeapMapSupplier implements Supplier<PeekableTouchableMap<Wrappe
             WrappedBytes>> {
       @Override
       public PeekableTouchableMap<WrappedBytes, WrappedBytes> get() {
-         return new OffHeapConcurrentMap(allocator, offHeapEntryFactory, offHeapListener);
+         MemoryConfiguration memoryConfiguration = configuration.memory();
+         return new OffHeapConcurrentMap(allocator, offHeapEntryFactory, offHeapListener,
+               memoryConfiguration.allocator().isPooled(),
+               memoryConfiguration.expectedEntries() / numSegments);
       }
    }
 
@@ -260,28 +316,19 @@ public boolean resize(int pointerCount) {
          if (useCount) {
             return true;
          }
-         lruLock.lock();
-         try {
-            boolean isNegative = pointerCount < 0;
-            long memoryUsed = ((long) Math.abs(pointerCount)) << 3;
-            long change = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryUsed);
-
-            // We only attempt to deny resizes that are an increase in pointers
-            if (!isNegative) {
-               long changeSizeForAllSegments = change * numSegments;
-               // If the pointers for all segments alone would fill the entire memory cache region, don't let it resize
-               if (changeSizeForAllSegments < 0 || changeSizeForAllSegments >= maxSize) {
-                  return false;
-               }
-            }
-            if (isNegative) {
-               currentSize -= change;
-            } else {
-               currentSize += change;
+         boolean isNegative = pointerCount < 0;
+         long memoryUsed = ((long) Math.abs(pointerCount)) << 3;
+         long change = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryUsed);
+
+         // We only attempt to deny resizes that are an increase in pointers
+         if (!isNegative) {
+            long changeSizeForAllSegments = change * numSegments;
+            // If the pointers for all segments alone would fill the entire memory cache region, don't let it resize
+            if (changeSizeForAllSegments < 0 || changeSizeForAllSegments >= maxSize) {
+               return false;
             }
-         } finally {
-            lruLock.unlock();
          }
+         size.add(isNegative ? -change : change);
          return true;
       }
 
@@ -290,21 +337,20 @@ public void entryCreated(long newAddress) {
          long newSize = getSize(newAddress);
          lruLock.lock();
          try {
-            currentSize += newSize;
-            addEntryAddressToEnd(newAddress);
+            evictionQueue.entryAdded(newAddress);
+            updateEvictionQueueMemory();
          } finally {
             lruLock.unlock();
          }
+         size.add(newSize);
       }
 
       @Override
       public void entryRemoved(long removedAddress) {
-         long removedSize = getSize(removedAddress);
+         size.add(-getSize(removedAddress));
          lruLock.lock();
          try {
-            // Current size has to be updated in the lock
-            currentSize -=  removedSize;
-            removeNode(removedAddress);
+            evictionQueue.entryRemoved(removedAddress);
          } finally {
             lruLock.unlock();
          }
@@ -312,133 +358,63 @@ public void entryRemoved(long removedAddress) {
 
       @Override
       public void entryReplaced(long newAddress, long oldAddress) {
-         long oldSize = getSize(oldAddress);
-         long newSize = getSize(newAddress);
+         long change = getSize(newAddress) - getSize(oldAddress);
          lruLock.lock();
          try {
-            removeNode(oldAddress);
-            addEntryAddressToEnd(newAddress);
-
-            currentSize += newSize;
-            currentSize -= oldSize;
+            evictionQueue.entryReplaced(newAddress, oldAddress);
          } finally {
             lruLock.unlock();
          }
+         size.add(change);
       }
 
       @Override
       public void entryRetrieved(long entryAddress) {
+         if (tinyLfu) {
+            // The frequency sketch tolerates lost accesses, so reads are not recorded while the lruLock is busy
+            // instead of contending on it. This only makes the eviction order slightly less precise.
+            if (lruLock.tryLock()) {
+               try {
+                  evictionQueue.entryAccessed(entryAddress);
+               } finally {
+                  lruLock.unlock();
+               }
+            }
+            return;
+         }
          lruLock.lock();
          try {
-            if (log.isTraceEnabled()) {
-               log.tracef("Moving entry 0x%016x to the end of the LRU list", entryAddress);
-            }
-            moveToEnd(entryAddress);
+            evictionQueue.entryAccessed(entryAddress);
          } finally {
             lruLock.unlock();
          }
       }
+   }
 
-      /**
-       * Method to be invoked when adding a new entry address to the end of the lru nodes.  This occurs for newly created
-       * entries.
-       * This method should only be invoked after acquiring the lruLock
-       *
-       * @param entryAddress the new entry address pointer *NOT* the lru node
-       */
-      private void addEntryAddressToEnd(long entryAddress) {
-         if (log.isTraceEnabled()) {
-            log.tracef("Adding entry 0x%016x to the end of the LRU list", entryAddress);
-         }
-         // This means it is the first entry
-         if (lastAddress == 0) {
-            firstAddress = entryAddress;
-            lastAddress = entryAddress;
-            // Have to make sure the memory is cleared so we don't use unitialized values
-            OffHeapLruNode.setPrevious(entryAddress, 0);
-         } else {
-            // Writes back pointer to the old lastAddress
-            OffHeapLruNode.setPrevious(entryAddress, lastAddress);
-            // Write the forward pointer in old lastAddress to point to us
-            OffHeapLruNode.setNext(lastAddress, entryAddress);
-            // Finally make us the last address
-            lastAddress = entryAddress;
-         }
-         // Since we are last there is no pointer after us
-         OffHeapLruNode.setNext(entryAddress, 0);
+   /**
+    * Accounts for changes of the native memory used by the eviction queue itself when the container is bounded by
+    * memory. Must be invoked while holding the lruLock.
+    */
+   private void updateEvictionQueueMemory() {
+      if (!useCount) {
+         long memory = evictionQueue.memoryUsed();
+         size.add(memory - evictionQueueMemory);
+         evictionQueueMemory = memory;
       }
+   }
 
-      /**
-       * Removes the address node and updates previous and next lru node pointers properly
-       * The {@link BoundedOffHeapDataContainer#lruLock} <b>must</b> be held when invoking this
-       * @param address
-       */
-      private void removeNode(long address) {
-         boolean middleNode = true;
-         if (address == lastAddress) {
-            if (log.isTraceEnabled()) {
-               log.tracef("Removed entry 0x%016x from the end of the LRU list", address);
-            }
-            long previousLRUNode = OffHeapLruNode.getPrevious(address);
-            if (previousLRUNode != 0) {
-               OffHeapLruNode.setNext(previousLRUNode, 0);
-            }
-            lastAddress = previousLRUNode;
-            middleNode = false;
-         }
-         if (address == firstAddress) {
-            if (log.isTraceEnabled()) {
-               log.tracef("Removed entry 0x%016x from the beginning of the LRU list", address);
-            }
-            long nextLRUNode = OffHeapLruNode.getNext(address);
-            if (nextLRUNode != 0) {
-               OffHeapLruNode.setPrevious(nextLRUNode, 0);
-            }
-            firstAddress = nextLRUNode;
-            middleNode = false;
-         }
-         if (middleNode) {
-            if (log.isTraceEnabled()) {
-               log.tracef("Removed entry 0x%016x from the middle of the LRU list", address);
-            }
-            // We are a middle pointer so both of these have to be non zero
-            long previousLRUNode = OffHeapLruNode.getPrevious(address);
-            long nextLRUNode = OffHeapLruNode.getNext(address);
-            assert previousLRUNode != 0;
-            assert nextLRUNode != 0;
-            OffHeapLruNode.setNext(previousLRUNode, nextLRUNode);
-            OffHeapLruNode.setPrevious(nextLRUNode, previousLRUNode);
-         }
-      }
+   /**
+    * @return how many reads recorded as an access found the requested entry in this container
+    */
+   public long getHits() {
+      return hits.sum();
+   }
 
-      /**
-       * Method to be invoked when moving an existing lru node to the end.  This occurs when the entry is accessed for this
-       * node.
-       * This method should only be invoked after acquiring the lruLock.
-       *
-       * @param lruNode the node to move to the end
-       */
-      private void moveToEnd(long lruNode) {
-         if (lruNode != lastAddress) {
-            long nextLruNode = OffHeapLruNode.getNext(lruNode);
-            assert nextLruNode != 0;
-            if (lruNode == firstAddress) {
-               OffHeapLruNode.setPrevious(nextLruNode, 0);
-               firstAddress = nextLruNode;
-            } else {
-               long prevLruNode = OffHeapLruNode.getPrevious(lruNode);
-               assert prevLruNode != 0;
-               OffHeapLruNode.setNext(prevLruNode, nextLruNode);
-               OffHeapLruNode.setPrevious(nextLruNode, prevLruNode);
-            }
-            // Link the previous last node to our new last node
-            OffHeapLruNode.setNext(lastAddress, lruNode);
-            // Sets the previous node of our new tail node to the previous tail node
-            OffHeapLruNode.setPrevious(lruNode, lastAddress);
-            OffHeapLruNode.setNext(lruNode, 0);
-            lastAddress = lruNode;
-         }
-      }
+   /**
+    * @return how many reads recorded as an access did not find the requested entry in this container
+    */
+   public long getMisses() {
+      return misses.sum();
    }
 
    public long getSize(long address) {
@@ -457,6 +433,6 @@ public long capacity() {
 
    @Override
    public long evictionSize() {
-      return currentSize;
+      return size.sum();
    }
 }
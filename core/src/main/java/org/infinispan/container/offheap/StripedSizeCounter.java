@@ -0,0 +1,89 @@
+package org.infinispan.container.offheap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+
+/**
+ * Size counter of a bounded container that spreads its updates over a stripe per group of threads, so that writers
+ * don't all contend on the same cache line.
+ * <p>
+ * Each stripe keeps its exact size, and only publishes it into the shared {@link #approximate()} total once it
+ * drifted by more than the allowed slack since it was last published. The approximate total is therefore never off
+ * by more than {@link #maximumError()} after a writer returns, which lets readers skip summing the stripes as long
+ * as the approximate total is far enough from the limit they check. The slack is derived from the limit, so small
+ * containers publish every change and the approximate total is always exact for them.
+ *
+ * @since 13.0
+ */
+class StripedSizeCounter {
+   // Longs per stripe, so that each stripe has a 64 byte cache line to itself
+   private static final int STRIPE_SHIFT = 3;
+   private static final int PUBLISHED_OFFSET = 1;
+   // The total may drift by a 64th of the limit at most
+   private static final int ERROR_SHIFT = 6;
+
+   private final AtomicLongArray stripes;
+   private final int stripeMask;
+   private final long slack;
+   private final AtomicLong published = new AtomicLong();
+
+   StripedSizeCounter(long limit) {
+      this(ProcessorInfo.availableProcessors() << 1, limit);
+   }
+
+   StripedSizeCounter(int stripeCount, long limit) {
+      int count = Util.findNextHighestPowerOfTwo(Math.max(stripeCount, 1));
+      stripes = new AtomicLongArray(count << STRIPE_SHIFT);
+      stripeMask = count - 1;
+      slack = Math.max(0, (limit >> ERROR_SHIFT) / count);
+   }
+
+   /**
+    * Adds the given amount, which may be negative, to the size.
+    */
+   void add(long amount) {
+      if (amount == 0) {
+         return;
+      }
+      int offset = ((int) Thread.currentThread().getId() & stripeMask) << STRIPE_SHIFT;
+      long value = stripes.addAndGet(offset, amount);
+      long previous = stripes.get(offset + PUBLISHED_OFFSET);
+      while (Math.abs(value - previous) > slack) {
+         if (stripes.compareAndSet(offset + PUBLISHED_OFFSET, previous, value)) {
+            published.addAndGet(value - previous);
+            return;
+         }
+         // Another writer of the stripe published it concurrently, check whether what it published covers our change
+         value = stripes.get(offset);
+         previous = stripes.get(offset + PUBLISHED_OFFSET);
+      }
+   }
+
+   /**
+    * @return the size as last published by the stripes, which doesn't require reading every stripe
+    */
+   long approximate() {
+      return published.get();
+   }
+
+   /**
+    * @return by how much {@link #approximate()} may differ from {@link #sum()}, ignoring updates still in progress
+    */
+   long maximumError() {
+      return slack * (stripeMask + 1);
+   }
+
+   /**
+    * @return the exact size, summing every stripe; concurrent updates may or may not be included
+    */
+   long sum() {
+      long sum = 0;
+      for (int i = 0; i <= stripeMask; ++i) {
+         sum += stripes.get(i << STRIPE_SHIFT);
+      }
+      return sum;
+   }
+}
@@ -2,18 +2,23 @@
 
 import static org.infinispan.commons.util.Util.toStr;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import org.infinispan.AdvancedCache;
+import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
@@ -71,6 +76,8 @@
    private Address localAddress;
    private long timeout;
    private TouchMode touchMode;
+   // Removals started by the expiration index that haven't completed yet
+   private final AtomicInteger indexedExpirations = new AtomicInteger();
 
    @Override
    public void start() {
@@ -106,23 +113,23 @@ public void processExpiration() {
    }
 
    /**
-    * Purges in memory contents removing any expired entries.
+    * Purges in memory contents removing any expired entries. Each primary segment is purged on its own, up to the
+    * reaper parallelism at once, unless its watermark shows no entry can have expired yet.
     * @return true if there was a topology change
     */
    private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
-      long start = 0;
-      int removedEntries = 0;
+      long start = timeService.time();
+      AtomicInteger removedEntries = new AtomicInteger();
       AtomicInteger errors = new AtomicInteger();
+      // Set once a segment saw a topology change or could not wait for a prior removal, so the others stop too
+      AtomicReference<PurgeResult> stopped = new AtomicReference<>();
+      reaperLock.lock();
       try {
          if (log.isTraceEnabled()) {
             log.tracef("Purging data container on cache %s for topology %d", cacheName, topology.getTopologyId());
-            start = timeService.time();
          }
-         // We limit how many non blocking expiration removals performed concurrently
-         // The addition to the queue shouldn't ever block but rather pollForCompletion when we are waiting for
-         // prior tasks to complete
-         BlockingQueue<CompletableFuture<?>> expirationPermits = new ArrayBlockingQueue<>(MAX_CONCURRENT_EXPIRATIONS);
          long currentTimeMillis = timeService.wallClockTime();
+         removedEntries.addAndGet((int) expireIndexedEntries(currentTimeMillis));
 
          IntSet segments;
          if (topology.getReadConsistentHash().getMembers().contains(localAddress)) {
@@ -131,6 +138,56 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
             segments = IntSets.immutableEmptySet();
          }
 
+         List<IntSet> parts = new ArrayList<>();
+         if (segmented) {
+            claimWatermarks(segments, currentTimeMillis).forEach((int segment) -> parts.add(IntSets.immutableSet(segment)));
+         } else {
+            // The single watermark also covers the segments we don't own, so it can't be claimed here
+            parts.add(segments);
+         }
+         // The limit of concurrent removals is shared by all the segments processed at once
+         int maxConcurrentExpirations = Math.max(1, MAX_CONCURRENT_EXPIRATIONS / Math.min(reaperParallelism, Math.max(1, parts.size())));
+         runInParallel(parts, part -> purgeSegments(part, topology, start, currentTimeMillis, maxConcurrentExpirations,
+               removedEntries, errors, stopped));
+
+         PurgeResult result = stopped.get();
+         if (result == PurgeResult.TOPOLOGY_CHANGED) {
+            printResults("Purging data container on cache %s stopped due to topology change. Total time was: %s and removed %d entries with %d errors", start, removedEntries.get(), errors);
+            return true;
+         } else if (result == PurgeResult.INTERRUPTED) {
+            Thread.currentThread().interrupt();
+            printResults("Purging data container on cache %s was interrupted. Total time was: %s and removed %d entries with %d errors", start, removedEntries.get(), errors);
+         } else if (result == null) {
+            reaperPassCompleted(start, removedEntries.get());
+            printResults("Purging data container on cache %s completed in %s and removed %d entries with %d errors", start, removedEntries.get(), errors);
+         }
+      } catch (Throwable t) {
+         log.exceptionPurgingDataContainer(t);
+      } finally {
+         reaperLock.unlock();
+      }
+      return false;
+   }
+
+   /**
+    * Purges the expired entries of the given segments, allowing at most the given number of removals to be in
+    * progress at once. When the container is segmented, the watermarks of the segments must have been claimed. Every
+    * entry that can expire is added to the expiration index when enabled, including the ones being removed in case
+    * the removal doesn't happen. Without the index, the watermarks are lowered afterwards to the earliest expiration
+    * of these entries.
+    * @return how many entries were expired
+    */
+   private long purgeSegments(IntSet segments, LocalizedCacheTopology topology, long start, long currentTimeMillis,
+         int maxConcurrentExpirations, AtomicInteger removedEntries, AtomicInteger errors,
+         AtomicReference<PurgeResult> stopped) {
+      // The addition to the queue shouldn't ever block but rather pollForCompletion when we are waiting for
+      // prior tasks to complete
+      BlockingQueue<CompletableFuture<?>> expirationPermits = new ArrayBlockingQueue<>(maxConcurrentExpirations);
+      int expirations = 0;
+      boolean indexed = isIndexed();
+      long nextExpiry = Long.MAX_VALUE;
+      boolean completed = false;
+      try {
          for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired(segments);
               purgeCandidates.hasNext();) {
             InternalCacheEntry<K, V> ice = purgeCandidates.next();
@@ -148,11 +205,21 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
                   expiredMortal = ExpiryHelper.isExpiredMortal(lifespan, ice.getCreated(), currentTimeMillis);
                   expiredTransient = ExpiryHelper.isExpiredTransient(maxIdle, ice.getLastUsed(), currentTimeMillis);
                }
+               // A removal may fail or a max idle entry may have been touched on another node instead, so the
+               // entry is checked again either way
+               if (indexed) {
+                  K key = ice.getKey();
+                  index(indexSlot(keyPartitioner.getSegment(key), key), ice);
+               } else {
+                  nextExpiry = Math.min(nextExpiry, ice.getExpiryTime());
+               }
                if (expiredMortal || expiredTransient) {
                   // Any expirations over the max must check for another to finish before it can proceed
-                  if (++removedEntries > MAX_CONCURRENT_EXPIRATIONS && !pollForCompletion(expirationPermits, start, removedEntries, errors)) {
-                     return false;
+                  if (++expirations > maxConcurrentExpirations && !pollForCompletion(expirationPermits, start, removedEntries.get(), errors)) {
+                     stopped.compareAndSet(null, PurgeResult.GAVE_UP);
+                     return expirations;
                   }
+                  removedEntries.incrementAndGet();
                   CompletableFuture<?> stage;
                   // If the entry is expired both wrt lifespan and wrt maxIdle, we perform lifespan expiration as it is cheaper
                   if (expiredMortal) {
@@ -163,27 +230,73 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
                   stage.whenComplete((obj, t) -> addStageToPermits(expirationPermits, stage));
                }
             }
-            // Short circuit if topology has changed
+            // Short circuit if topology has changed or another segment had to stop
             if (distributionManager.getCacheTopology() != topology) {
-               printResults("Purging data container on cache %s stopped due to topology change. Total time was: %s and removed %d entries with %d errors", start, removedEntries, errors);
-               return true;
+               stopped.compareAndSet(null, PurgeResult.TOPOLOGY_CHANGED);
+            }
+            if (stopped.get() != null) {
+               return expirations;
             }
          }
          // We wait for any pending expiration to complete before returning
-         int expirationsLeft = Math.min(removedEntries, MAX_CONCURRENT_EXPIRATIONS);
+         int expirationsLeft = Math.min(expirations, maxConcurrentExpirations);
          for (int i = 0; i < expirationsLeft; ++i) {
-            if (!pollForCompletion(expirationPermits, start, removedEntries, errors)) {
-               return false;
+            if (!pollForCompletion(expirationPermits, start, removedEntries.get(), errors)) {
+               stopped.compareAndSet(null, PurgeResult.GAVE_UP);
+               return expirations;
             }
          }
-         printResults("Purging data container on cache %s completed in %s and removed %d entries with %d errors", start, removedEntries, errors);
+         completed = true;
       } catch (InterruptedException e) {
-         Thread.currentThread().interrupt();
-         printResults("Purging data container on cache %s was interrupted. Total time was: %s and removed %d entries with %d errors", start, removedEntries, errors);
-      } catch (Throwable t) {
-         log.exceptionPurgingDataContainer(t);
+         stopped.compareAndSet(null, PurgeResult.INTERRUPTED);
+      } catch (TimeoutException e) {
+         throw new CacheException(e);
+      } finally {
+         if (segmented && (!completed || !indexed)) {
+            // Anything not processed has to be looked at again by the next pass
+            long watermark = completed ? nextExpiry : 0;
+            segments.forEach((int segment) -> lowerWatermark(segment, watermark));
+         }
       }
-      return false;
+      return expirations;
+   }
+
+   /**
+    * Only the primary owner removes the entries the expiration index found to have expired, and only up to the same
+    * number of concurrent removals as a reaper pass. Entries it doesn't remove are handed back to the reaper, which
+    * waits for removals to complete and processes the segment once this node becomes its primary owner.
+    */
+   @Override
+   protected CompletableFuture<Boolean> expireIndexedEntry(int segment, K key, long currentTimeMillis) {
+      if (!distributionManager.getCacheTopology().getSegmentDistribution(segment).isPrimary() ||
+            indexedExpirations.get() >= MAX_CONCURRENT_EXPIRATIONS) {
+         InternalCacheEntry<K, V> entry = dataContainer.running().peek(segment, key);
+         if (entry != null && entry.canExpire()) {
+            lowerWatermark(segment, entry.getExpiryTime());
+         }
+         return null;
+      }
+      CompletableFuture<Boolean> stage = super.expireIndexedEntry(segment, key, currentTimeMillis);
+      if (stage != null && !stage.isDone()) {
+         indexedExpirations.incrementAndGet();
+         stage.whenComplete((expired, t) -> indexedExpirations.decrementAndGet());
+      }
+      return stage;
+   }
+
+   private enum PurgeResult {
+      TOPOLOGY_CHANGED,
+      GAVE_UP,
+      INTERRUPTED
+   }
+
+   /**
+    * Segments wait for the removals of their expired entries to complete, so they are always processed on the
+    * blocking executor.
+    */
+   @Override
+   protected Executor reaperExecutor() {
+      return blockingManager.asExecutor("expiration-" + cacheName);
    }
 
    /**
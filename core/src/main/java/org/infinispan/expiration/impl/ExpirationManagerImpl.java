@@ -2,20 +2,31 @@
 
 import static org.infinispan.util.logging.Log.CONTAINER;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -29,20 +40,29 @@
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryExpired;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.util.concurrent.BlockingManager;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import net.jcip.annotations.ThreadSafe;
 
 @ThreadSafe
 @Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "ExpirationManager", description = "Component that removes expired entries from memory and from the cache stores")
 public class ExpirationManagerImpl<K, V> implements InternalExpirationManager<K, V> {
    private static final Log log = LogFactory.getLog(ExpirationManagerImpl.class);
 
@@ -55,6 +75,9 @@
    @Inject protected TimeService timeService;
    @Inject protected KeyPartitioner keyPartitioner;
    @Inject protected ComponentRef<AdvancedCache<K, V>> cacheRef;
+   @Inject @ComponentName(KnownComponentNames.NON_BLOCKING_EXECUTOR)
+   protected Executor nonBlockingExecutor;
+   @Inject protected BlockingManager blockingManager;
 
    protected boolean enabled;
    protected String cacheName;
@@ -71,9 +94,46 @@
 
    private final List<ExpirationConsumer<K, V>> listeners = new CopyOnWriteArrayList<>();
 
+   /**
+    * Index of the entries that can expire by the time they expire at, with a wheel per segment, or per stripe of keys
+    * when the data container is not segmented. A wheel is created once an entry of its segment is written. Null
+    * unless {@link org.infinispan.configuration.cache.ExpirationConfiguration#indexed()} is enabled.
+    */
+   private volatile AtomicReferenceArray<TimerWheel<K>> expirationIndex;
+   private int indexStripeMask;
+
+   /**
+    * Lower bound of the expiration time of the entries in each segment, or of the whole data container when it is not
+    * segmented, that are not in the expiration index. Without the index, writes lower it, while a reaper pass claims
+    * it before processing the segment and then lowers it to the earliest expiration of the entries it kept. With the
+    * index, entries are handed back when the index can't expire them yet, every entry written before the index was
+    * started is covered by the initial watermark, and a reaper pass adds the entries it keeps to the index. Segments
+    * whose watermark is still in the future are skipped.
+    */
+   protected volatile AtomicLongArray minExpiryWatermarks;
+   protected boolean segmented;
+   protected int reaperParallelism;
+   // Only one reaper pass may claim the watermarks at a time
+   protected final Lock reaperLock = new ReentrantLock();
+
+   private final LongAdder reaperPasses = new LongAdder();
+   private final LongAdder reclaimedEntries = new LongAdder();
+   private volatile long lastReaperPassDuration = -1;
+
    @Start(priority = 55)
    // make sure this starts after the PersistenceManager
    public void start() {
+      segmented = configuration.clustering().cacheMode().needsStateTransfer();
+      minExpiryWatermarks = new AtomicLongArray(segmented ? configuration.clustering().hash().numSegments() : 1);
+      if (configuration.expiration().indexed()) {
+         int indexStripes = Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors() << 1);
+         indexStripeMask = indexStripes - 1;
+         expirationIndex = new AtomicReferenceArray<>(segmented ? minExpiryWatermarks.length() : indexStripes);
+      }
+      reaperParallelism = configuration.expiration().reaperParallelism();
+      if (reaperParallelism == 0) {
+         reaperParallelism = Math.max(1, ProcessorInfo.availableProcessors() / 4);
+      }
       // first check if eviction is enabled!
       enabled = configuration.expiration().reaperEnabled();
       if (enabled) {
@@ -83,8 +143,10 @@ public void start() {
             CONTAINER.notStartingEvictionThread();
             enabled = false;
          } else {
-            expirationTask = executor.scheduleWithFixedDelay(new ScheduledTask(),
-                  expWakeUpInt, expWakeUpInt, TimeUnit.MILLISECONDS);
+            // The index is advanced more often than the reaper runs, so that entries expire close to their time
+            long period = isIndexed() ? Math.min(expWakeUpInt, TimerWheel.TICK_MILLIS) : expWakeUpInt;
+            expirationTask = executor.scheduleWithFixedDelay(new ScheduledTask((expWakeUpInt + period - 1) / period),
+                  period, period, TimeUnit.MILLISECONDS);
          }
       }
       // Data container entries are retrieved directly, so we don't need to worry about an encodings
@@ -94,27 +156,35 @@ public void start() {
 
    @Override
    public void processExpiration() {
-      long start = 0;
       if (!Thread.currentThread().isInterrupted()) {
+         reaperLock.lock();
          try {
+            long start = timeService.time();
             if (log.isTraceEnabled()) {
                log.trace("Purging data container of expired entries");
-               start = timeService.time();
             }
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.isExpired(currentTimeMillis)) {
-                  entryExpiredInMemory(e, currentTimeMillis, false);
-               }
+            long removedEntries = expireIndexedEntries(currentTimeMillis);
+            if (segmented) {
+               IntSet segments = claimWatermarks(IntSets.immutableRangeSet(minExpiryWatermarks.length()),
+                     currentTimeMillis);
+               removedEntries += runInParallel(segments, segment -> purgeEntries(
+                     dataContainer.running().spliteratorIncludingExpired(IntSets.immutableSet(segment)), segment,
+                     currentTimeMillis));
+            } else if (claimWatermark(0, currentTimeMillis)) {
+               // Not segmented, so the container is split into as many parts as segments we can process at once
+               removedEntries += runInParallel(split(dataContainer.running().spliteratorIncludingExpired()),
+                     part -> purgeEntries(part, 0, currentTimeMillis));
             }
+            reaperPassCompleted(start, removedEntries);
             if (log.isTraceEnabled()) {
-               log.tracef("Purging data container completed in %s",
-                          Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
+               log.tracef("Purging data container completed in %s and removed %d entries",
+                          Util.prettyPrintTime(lastReaperPassDuration), removedEntries);
             }
          } catch (Exception e) {
             CONTAINER.exceptionPurgingDataContainer(e);
+         } finally {
+            reaperLock.unlock();
          }
       }
 
@@ -123,6 +193,340 @@ public void processExpiration() {
       }
    }
 
+   /**
+    * Removes the expired entries of the given spliterator. The entries that remain are added to the expiration index,
+    * or without the index the watermark is lowered to the earliest expiration of them. The watermark must have been
+    * claimed.
+    * @return how many entries were removed
+    */
+   private long purgeEntries(Spliterator<InternalCacheEntry<K, V>> entries, int watermark, long currentTimeMillis) {
+      boolean indexed = isIndexed();
+      long[] nextExpiry = {Long.MAX_VALUE};
+      long[] removedEntries = {0};
+      boolean completed = false;
+      try {
+         entries.forEachRemaining(e -> {
+            if (e.canExpire()) {
+               if (e.isExpired(currentTimeMillis)) {
+                  entryExpiredInMemory(e, currentTimeMillis, false);
+                  removedEntries[0]++;
+               } else if (indexed) {
+                  index(indexSlot(watermark, e.getKey()), e);
+               } else {
+                  nextExpiry[0] = Math.min(nextExpiry[0], e.getExpiryTime());
+               }
+            }
+         });
+         completed = true;
+      } finally {
+         if (!completed) {
+            // Anything not processed has to be looked at again by the next pass
+            lowerWatermark(watermark, 0);
+         } else if (!indexed) {
+            lowerWatermark(watermark, nextExpiry[0]);
+         }
+      }
+      return removedEntries[0];
+   }
+
+   /**
+    * @return whether the entries that can expire are tracked by the expiration index
+    */
+   protected boolean isIndexed() {
+      return expirationIndex != null;
+   }
+
+   @Override
+   public void entryWrittenInMemory(int segment, InternalCacheEntry<K, V> entry) {
+      if (expirationIndex != null) {
+         index(indexSlot(segment, entry.getKey()), entry);
+      } else if (minExpiryWatermarks != null) {
+         lowerWatermark(segmented ? segment : 0, entry.getExpiryTime());
+      }
+   }
+
+   @Override
+   public void entryRemovedInMemory(int segment, Object key) {
+      AtomicReferenceArray<TimerWheel<K>> index = expirationIndex;
+      if (index != null) {
+         TimerWheel<K> wheel = index.get(indexSlot(segment, key));
+         if (wheel != null) {
+            wheel.unschedule(key);
+         }
+      }
+   }
+
+   @Override
+   public void entriesClearedInMemory(IntSet segments) {
+      AtomicReferenceArray<TimerWheel<K>> index = expirationIndex;
+      if (index == null) {
+         return;
+      }
+      if (segmented) {
+         segments.forEach((int segment) -> {
+            index.set(segment, null);
+            // An entry written while the wheel was dropped is no longer indexed, so the next pass looks at the segment
+            lowerWatermark(segment, 0);
+         });
+      } else {
+         for (int slot = 0; slot < index.length(); ++slot) {
+            TimerWheel<K> wheel = index.get(slot);
+            if (wheel != null) {
+               wheel.unscheduleIf(key -> segments.contains(keyPartitioner.getSegment(key)));
+            }
+         }
+      }
+   }
+
+   @Override
+   public void entriesClearedInMemory() {
+      AtomicReferenceArray<TimerWheel<K>> index = expirationIndex;
+      if (index == null) {
+         return;
+      }
+      for (int slot = 0; slot < index.length(); ++slot) {
+         index.set(slot, null);
+      }
+      // An entry written while the wheels were dropped is no longer indexed, so the next pass looks at every segment
+      for (int watermark = 0; watermark < minExpiryWatermarks.length(); ++watermark) {
+         lowerWatermark(watermark, 0);
+      }
+   }
+
+   /**
+    * @return the wheel of the expiration index holding the key, which is the segment of the key when segmented
+    */
+   protected int indexSlot(int segment, Object key) {
+      if (segmented) {
+         return segment;
+      }
+      int h = key.hashCode();
+      return (h ^ (h >>> 16)) & indexStripeMask;
+   }
+
+   /**
+    * Adds the entry to the expiration index, or moves it to its current expiration time if it is already indexed.
+    */
+   protected void index(int slot, InternalCacheEntry<K, V> entry) {
+      AtomicReferenceArray<TimerWheel<K>> index = expirationIndex;
+      TimerWheel<K> wheel = index.get(slot);
+      if (wheel == null) {
+         wheel = new TimerWheel<>(timeService.wallClockTime());
+         if (!index.compareAndSet(slot, null, wheel)) {
+            wheel = index.get(slot);
+         }
+      }
+      wheel.schedule(entry.getKey(), entry.getExpiryTime());
+   }
+
+   private InternalCacheEntry<K, V> peekIndexed(int slot, K key) {
+      return segmented ? dataContainer.running().peek(slot, key) : dataContainer.running().peek(key);
+   }
+
+   /**
+    * Expires the entries the expiration index found to have expired by the given time, without looking at the others.
+    * @return how many entries were expired
+    */
+   protected long expireIndexedEntries(long currentTimeMillis) {
+      AtomicReferenceArray<TimerWheel<K>> index = expirationIndex;
+      long expired = 0;
+      for (int slot = 0; index != null && slot < index.length(); ++slot) {
+         TimerWheel<K> wheel = index.get(slot);
+         if (wheel != null) {
+            for (K key : wheel.advance(currentTimeMillis)) {
+               if (expireIndexedEntry(slot, key, currentTimeMillis) != null) {
+                  expired++;
+               }
+            }
+         }
+      }
+      return expired;
+   }
+
+   /**
+    * Expires the entry of a key that the expiration index found to have expired. Max idle is not tracked by the index
+    * when entries are touched, so an entry that was touched since it was indexed is indexed again with its current
+    * expiration time instead, as is an entry that could not be removed.
+    * @return the stage of the expiration, or null if the entry didn't expire
+    */
+   protected CompletableFuture<Boolean> expireIndexedEntry(int slot, K key, long currentTimeMillis) {
+      InternalCacheEntry<K, V> entry = peekIndexed(slot, key);
+      if (entry == null || !entry.canExpire()) {
+         // Removed or replaced by an entry that doesn't expire since it was indexed
+         return null;
+      }
+      if (!entry.isExpired(currentTimeMillis)) {
+         index(slot, entry);
+         return null;
+      }
+      CompletableFuture<Boolean> stage = entryExpiredInMemory(entry, currentTimeMillis, false);
+      stage.whenComplete((expired, t) -> {
+         if (expired != Boolean.TRUE) {
+            InternalCacheEntry<K, V> current = peekIndexed(slot, key);
+            if (current != null && current.canExpire()) {
+               index(slot, current);
+            }
+         }
+      });
+      return stage;
+   }
+
+   private void processIndexedExpiration() {
+      try {
+         reclaimedEntries.add(expireIndexedEntries(timeService.wallClockTime()));
+      } catch (Exception e) {
+         CONTAINER.exceptionPurgingDataContainer(e);
+      }
+   }
+
+   /**
+    * Lowers the watermark to the given expiration time, if it is earlier than the current one.
+    */
+   protected void lowerWatermark(int watermark, long expiryTime) {
+      AtomicLongArray watermarks = minExpiryWatermarks;
+      long current;
+      while (expiryTime < (current = watermarks.get(watermark))) {
+         if (watermarks.compareAndSet(watermark, current, expiryTime)) {
+            return;
+         }
+      }
+   }
+
+   /**
+    * Claims the watermark if it shows that an entry may have expired by now. Once claimed, the caller must lower the
+    * watermark to the earliest expiration of the entries it did not remove, even if it fails.
+    * @return whether the watermark was claimed
+    */
+   protected boolean claimWatermark(int watermark, long currentTimeMillis) {
+      AtomicLongArray watermarks = minExpiryWatermarks;
+      long current;
+      do {
+         current = watermarks.get(watermark);
+         if (current > currentTimeMillis) {
+            return false;
+         }
+      } while (!watermarks.compareAndSet(watermark, current, Long.MAX_VALUE));
+      return true;
+   }
+
+   /**
+    * Claims the watermark of every given segment that may have expired entries by now.
+    * @return the segments whose watermark was claimed
+    */
+   protected IntSet claimWatermarks(IntSet segments, long currentTimeMillis) {
+      IntSet claimed = IntSets.mutableEmptySet(minExpiryWatermarks.length());
+      segments.forEach((int segment) -> {
+         if (claimWatermark(segment, currentTimeMillis)) {
+            claimed.set(segment);
+         }
+      });
+      return claimed;
+   }
+
+   private List<Spliterator<InternalCacheEntry<K, V>>> split(Spliterator<InternalCacheEntry<K, V>> spliterator) {
+      List<Spliterator<InternalCacheEntry<K, V>>> parts = new ArrayList<>(reaperParallelism);
+      parts.add(spliterator);
+      boolean split = true;
+      while (split && parts.size() < reaperParallelism) {
+         split = false;
+         for (int i = parts.size() - 1; i >= 0 && parts.size() < reaperParallelism; --i) {
+            Spliterator<InternalCacheEntry<K, V>> prefix = parts.get(i).trySplit();
+            if (prefix != null) {
+               parts.add(prefix);
+               split = true;
+            }
+         }
+      }
+      return parts;
+   }
+
+   private long runInParallel(IntSet segments, ToLongFunction<Integer> task) {
+      return runInParallel(new ArrayList<>(segments), task);
+   }
+
+   /**
+    * Applies the task to every given part, running up to {@link #reaperParallelism} of them at once, and waits for
+    * all of them to complete.
+    * @return the sum of the values returned by the task
+    */
+   protected <T> long runInParallel(List<T> parts, ToLongFunction<T> task) {
+      if (reaperParallelism == 1 || parts.size() <= 1) {
+         long sum = 0;
+         for (T part : parts) {
+            sum += task.applyAsLong(part);
+         }
+         return sum;
+      }
+      return Flowable.fromIterable(parts)
+            .parallel(reaperParallelism)
+            .runOn(Schedulers.from(reaperExecutor()))
+            .map(task::applyAsLong)
+            .sequential()
+            .reduce(0L, Long::sum)
+            .blockingGet();
+   }
+
+   /**
+    * Expired entries are removed from the stores and listeners are notified of them while holding the lock of the
+    * entry, both of which may block, so the reaper only runs on the non blocking executor when neither is present.
+    */
+   protected Executor reaperExecutor() {
+      if (persistenceManager.isEnabled() || cacheNotifier.hasListener(CacheEntryExpired.class)) {
+         return blockingManager.asExecutor("expiration-" + cacheName);
+      }
+      return nonBlockingExecutor;
+   }
+
+   protected void reaperPassCompleted(long start, long removedEntries) {
+      lastReaperPassDuration = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+      reaperPasses.increment();
+      reclaimedEntries.add(removedEntries);
+   }
+
+   @ManagedAttribute(
+         description = "Number of passes of the expiration reaper over the data container",
+         displayName = "Number of reaper passes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReaperPasses() {
+      return reaperPasses.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of expired entries removed from the data container by the expiration reaper",
+         displayName = "Number of entries reclaimed by the reaper",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReclaimedEntries() {
+      return reclaimedEntries.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of entries that can expire held by the expiration index",
+         displayName = "Number of indexed entries",
+         measurementType = MeasurementType.DYNAMIC
+   )
+   public long getIndexedEntries() {
+      AtomicReferenceArray<TimerWheel<K>> index = expirationIndex;
+      long size = 0;
+      for (int slot = 0; index != null && slot < index.length(); ++slot) {
+         TimerWheel<K> wheel = index.get(slot);
+         if (wheel != null) {
+            size += wheel.size();
+         }
+      }
+      return size;
+   }
+
+   @ManagedAttribute(
+         description = "Duration of the last pass of the expiration reaper over the data container, or -1 if none completed",
+         displayName = "Last reaper pass duration",
+         units = Units.MILLISECONDS
+   )
+   public long getLastReaperPassDuration() {
+      return lastReaperPassDuration;
+   }
+
    @Override
    public boolean isEnabled() {
       return enabled;
@@ -289,11 +693,23 @@ public void removeInternalListener(Object listener) {
    }
 
    class ScheduledTask implements Runnable {
+      private final long ticksPerPass;
+      private long ticks;
+
+      ScheduledTask(long ticksPerPass) {
+         this.ticksPerPass = ticksPerPass;
+      }
+
       @Override
       public void run() {
          LogFactory.pushNDC(cacheName, log.isTraceEnabled());
          try {
-            processExpiration();
+            // Only every few ticks is a full reaper pass
+            if (++ticks % ticksPerPass == 0) {
+               processExpiration();
+            } else {
+               processIndexedExpiration();
+            }
          } finally {
             LogFactory.popNDC(log.isTraceEnabled());
          }
@@ -3,6 +3,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.expiration.ExpirationManager;
 import org.infinispan.factories.scopes.Scope;
@@ -47,6 +48,36 @@
     */
    boolean entryExpiredInMemoryFromIteration(InternalCacheEntry<K, V> entry, long currentTime);
 
+   /**
+    * This should be invoked by the data container every time an entry that can expire is written in memory, so that
+    * the reaper can find the entry once it expires without looking at the other entries.
+    * @param segment the segment of the entry
+    * @param entry the entry that was written, which can expire
+    */
+   void entryWrittenInMemory(int segment, InternalCacheEntry<K, V> entry);
+
+   /**
+    * This should be invoked by the data container every time an entry that can expire is removed from memory, so that
+    * the reaper no longer tracks its key.
+    * @param segment the segment of the entry
+    * @param key the key of the entry that was removed
+    */
+   void entryRemovedInMemory(int segment, Object key);
+
+   /**
+    * This should be invoked by the data container every time the entries of some segments are removed from memory at
+    * once, without {@link #entryRemovedInMemory(int, Object)} being invoked for each of them, such as when the
+    * segments are cleared or removed.
+    * @param segments the segments whose entries were removed
+    */
+   void entriesClearedInMemory(IntSet segments);
+
+   /**
+    * This should be invoked by the data container every time all of its entries are removed from memory at once,
+    * without {@link #entryRemovedInMemory(int, Object)} being invoked for each of them.
+    */
+   void entriesClearedInMemory();
+
    /**
     * This is to be invoked when a store entry expires.  This method may attempt to lock this key to preserve atomicity.
     * <p>
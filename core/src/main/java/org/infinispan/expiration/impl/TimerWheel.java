@@ -0,0 +1,168 @@
+package org.infinispan.expiration.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical timing wheel indexing keys by the time they expire at, so that the expired keys can be found without
+ * looking at the others.
+ * <p>
+ * Each level has {@link #BUCKETS} buckets, and a bucket spans as much time as all the buckets of the level below it:
+ * about a second for the first level, then about a minute, an hour and three days. A key is added to the lowest level
+ * that can hold its expiration time without wrapping around, and moves down once the bucket it is in is reached. Keys
+ * expiring later than the last level can hold are kept in its furthest bucket, and moved again once it is reached.
+ * <p>
+ * A key is only held once, in the bucket of the expiration time it was last scheduled with. All methods synchronize
+ * on the wheel.
+ * @since 13.0
+ */
+final class TimerWheel<K> {
+   static final int BUCKETS = 64;
+   private static final int BUCKET_MASK = BUCKETS - 1;
+   // The buckets of each level span 2^SHIFTS[level] milliseconds
+   private static final int[] SHIFTS = {10, 16, 22, 28};
+
+   /**
+    * Time spanned by a bucket of the first level, thus how late an expired key may be found when the wheel is advanced
+    * at this interval
+    */
+   static final long TICK_MILLIS = 1L << SHIFTS[0];
+
+   private final Node<K>[][] wheel;
+   private final Map<Object, Node<K>> nodes = new HashMap<>();
+   private long time;
+
+   @SuppressWarnings("unchecked")
+   TimerWheel(long currentTimeMillis) {
+      wheel = new Node[SHIFTS.length][BUCKETS];
+      for (Node<K>[] level : wheel) {
+         for (int i = 0; i < BUCKETS; ++i) {
+            level[i] = new Node<>(null, 0);
+         }
+      }
+      time = currentTimeMillis;
+   }
+
+   /**
+    * Schedules the key to expire at the given time, replacing the time it was previously scheduled with if any.
+    */
+   synchronized void schedule(K key, long expiryTime) {
+      Node<K> node = nodes.get(key);
+      if (node == null) {
+         node = new Node<>(key, expiryTime);
+         nodes.put(key, node);
+      } else if (node.expiryTime == expiryTime) {
+         return;
+      } else {
+         node.unlink();
+         node.expiryTime = expiryTime;
+      }
+      link(node);
+   }
+
+   /**
+    * Removes the key from the wheel, if it is present.
+    */
+   synchronized void unschedule(Object key) {
+      Node<K> node = nodes.remove(key);
+      if (node != null) {
+         node.unlink();
+      }
+   }
+
+   /**
+    * Removes every key matching the predicate from the wheel.
+    */
+   synchronized void unscheduleIf(Predicate<? super K> predicate) {
+      for (Iterator<Node<K>> iterator = nodes.values().iterator(); iterator.hasNext(); ) {
+         Node<K> node = iterator.next();
+         if (predicate.test(node.key)) {
+            iterator.remove();
+            node.unlink();
+         }
+      }
+   }
+
+   /**
+    * Advances the wheel to the given time, moving down the keys of every bucket reached since it was last advanced.
+    * @return the keys scheduled to expire at or before the given time, which are removed from the wheel
+    */
+   synchronized List<K> advance(long currentTimeMillis) {
+      if (currentTimeMillis < time) {
+         return Collections.emptyList();
+      }
+      long previousTime = time;
+      time = currentTimeMillis;
+      List<K> expired = new ArrayList<>();
+      for (int level = 0; level < SHIFTS.length; ++level) {
+         long previousTicks = previousTime >>> SHIFTS[level];
+         // The bucket of the previous time is reached again, as it may hold keys expiring after the previous time
+         long buckets = Math.min((currentTimeMillis >>> SHIFTS[level]) - previousTicks + 1, BUCKETS);
+         for (long i = 0; i < buckets; ++i) {
+            Node<K> sentinel = wheel[level][(int) ((previousTicks + i) & BUCKET_MASK)];
+            Node<K> node = sentinel.next;
+            sentinel.next = sentinel;
+            sentinel.prev = sentinel;
+            while (node != sentinel) {
+               Node<K> next = node.next;
+               if (node.expiryTime <= currentTimeMillis) {
+                  nodes.remove(node.key);
+                  node.next = null;
+                  node.prev = null;
+                  expired.add(node.key);
+               } else {
+                  link(node);
+               }
+               node = next;
+            }
+         }
+      }
+      return expired;
+   }
+
+   /**
+    * @return how many keys are scheduled
+    */
+   synchronized int size() {
+      return nodes.size();
+   }
+
+   private void link(Node<K> node) {
+      // Keys that already expired go in the current bucket, which is reached again by the next advance
+      long expiryTime = Math.max(node.expiryTime, time);
+      int level = 0;
+      while (level < SHIFTS.length - 1 && (expiryTime >>> SHIFTS[level]) - (time >>> SHIFTS[level]) > BUCKET_MASK) {
+         level++;
+      }
+      long ticks = Math.min(expiryTime >>> SHIFTS[level], (time >>> SHIFTS[level]) + BUCKET_MASK);
+      Node<K> sentinel = wheel[level][(int) (ticks & BUCKET_MASK)];
+      node.next = sentinel;
+      node.prev = sentinel.prev;
+      sentinel.prev.next = node;
+      sentinel.prev = node;
+   }
+
+   private static final class Node<K> {
+      final K key;
+      long expiryTime;
+      Node<K> prev = this;
+      Node<K> next = this;
+
+      Node(K key, long expiryTime) {
+         this.key = key;
+         this.expiryTime = expiryTime;
+      }
+
+      void unlink() {
+         prev.next = next;
+         next.prev = prev;
+         prev = null;
+         next = null;
+      }
+   }
+}
@@ -2,11 +2,13 @@
 
 import java.util.function.Supplier;
 
+import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.configuration.cache.ClusteringConfiguration;
 import org.infinispan.configuration.cache.MemoryConfiguration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.impl.BoundedSegmentedDataContainer;
+import org.infinispan.container.impl.CompactConcurrentMap;
 import org.infinispan.container.impl.DefaultDataContainer;
 import org.infinispan.container.impl.DefaultSegmentedDataContainer;
 import org.infinispan.container.impl.InternalDataContainer;
@@ -19,6 +21,7 @@
 import org.infinispan.container.offheap.OffHeapEntryFactory;
 import org.infinispan.container.offheap.OffHeapMemoryAllocator;
 import org.infinispan.container.offheap.SegmentedBoundedOffHeapDataContainer;
+import org.infinispan.encoding.impl.StorageConfigurationManager;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.factories.annotations.DefaultFactoryFor;
 
@@ -59,13 +62,15 @@ public Object construct(String componentName) {
                return new OffHeapDataContainer();
             }
          } else if (shouldSegment) {
-            Supplier<PeekableTouchableMap<Object, Object>> mapSupplier =
-                  PeekableTouchableContainerMap::new;
+            Supplier<PeekableTouchableMap<Object, Object>> mapSupplier = isCompact(memoryConfiguration) ?
+                  CompactConcurrentMap::new : PeekableTouchableContainerMap::new;
             int segments = clusteringConfiguration.hash().numSegments();
             if (clusteringConfiguration.l1().enabled()) {
                return new L1SegmentedDataContainer<>(mapSupplier, segments);
             }
             return new DefaultSegmentedDataContainer<>(mapSupplier, segments);
+         } else if (isCompact(memoryConfiguration)) {
+            return DefaultDataContainer.compactDataContainer(level);
          } else {
             return DefaultDataContainer.unBoundedDataContainer(level);
          }
@@ -101,10 +106,32 @@ public Object construct(String componentName) {
       return dataContainer;
    }
 
+   /**
+    * Entries are only packed into byte arrays when both keys and values are stored as bytes, otherwise every entry
+    * would end up in the fallback map of {@link CompactConcurrentMap}.
+    */
+   private boolean isCompact(MemoryConfiguration memoryConfiguration) {
+      if (!memoryConfiguration.compact()) {
+         return false;
+      }
+      StorageConfigurationManager storageConfigurationManager =
+            componentRegistry.getOrCreateComponent(StorageConfigurationManager.class);
+      return isBinary(storageConfigurationManager.getKeyStorageMediaType()) &&
+            isBinary(storageConfigurationManager.getValueStorageMediaType());
+   }
+
+   private static boolean isBinary(MediaType mediaType) {
+      return mediaType.match(MediaType.APPLICATION_PROTOSTREAM) || mediaType.match(MediaType.APPLICATION_OCTET_STREAM);
+   }
+
    /* visible for testing */
    OffHeapConcurrentMap createAndStartOffHeapConcurrentMap() {
       OffHeapEntryFactory entryFactory = componentRegistry.getOrCreateComponent(OffHeapEntryFactory.class);
       OffHeapMemoryAllocator memoryAllocator = componentRegistry.getOrCreateComponent(OffHeapMemoryAllocator.class);
-      return new OffHeapConcurrentMap(memoryAllocator, entryFactory, null);
+      MemoryConfiguration memoryConfiguration = configuration.memory();
+      // Only segmented containers use this, so each map holds its share of the expected entries
+      long expectedEntries = memoryConfiguration.expectedEntries() / configuration.clustering().hash().numSegments();
+      return new OffHeapConcurrentMap(memoryAllocator, entryFactory, null,
+            memoryConfiguration.allocator().isPooled(), expectedEntries);
    }
 }
@@ -12,9 +12,12 @@
 import org.infinispan.commons.io.ByteBufferFactoryImpl;
 import org.infinispan.configuration.cache.BiasAcquisition;
 import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.container.offheap.MappedFileOffHeapMemoryAllocator;
 import org.infinispan.container.offheap.OffHeapEntryFactory;
 import org.infinispan.container.offheap.OffHeapEntryFactoryImpl;
 import org.infinispan.container.offheap.OffHeapMemoryAllocator;
+import org.infinispan.container.offheap.PooledOffHeapMemoryAllocator;
 import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
 import org.infinispan.container.versioning.irac.DefaultIracVersionGenerator;
 import org.infinispan.container.versioning.irac.IracVersionGenerator;
@@ -41,6 +44,7 @@
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.CacheNotifierImpl;
 import org.infinispan.notifications.cachelistener.cluster.ClusterCacheNotifier;
+import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.manager.OrderedUpdatesManager;
 import org.infinispan.persistence.manager.OrderedUpdatesManagerImpl;
 import org.infinispan.persistence.manager.PassivationPersistenceManager;
@@ -57,6 +61,9 @@
 import org.infinispan.statetransfer.CommitManager;
 import org.infinispan.statetransfer.StateTransferLock;
 import org.infinispan.statetransfer.StateTransferLockImpl;
+import org.infinispan.stats.impl.DefaultHotKeyTracker;
+import org.infinispan.stats.impl.HotKeyTracker;
+import org.infinispan.stats.impl.NoOpHotKeyTracker;
 import org.infinispan.transaction.impl.ClusteredTransactionOriginatorChecker;
 import org.infinispan.transaction.impl.TransactionCoordinator;
 import org.infinispan.transaction.impl.TransactionOriginatorChecker;
@@ -105,7 +112,8 @@
                               OrderedUpdatesManager.class, ScatteredVersionManager.class, TransactionOriginatorChecker.class,
                               BiasManager.class, OffHeapEntryFactory.class, OffHeapMemoryAllocator.class, PublisherHandler.class,
                               InvocationHelper.class, TakeOfflineManager.class, IracManager.class, IracVersionGenerator.class,
-                              BackupReceiver.class, StorageConfigurationManager.class, XSiteMetricsCollector.class
+                              BackupReceiver.class, StorageConfigurationManager.class, XSiteMetricsCollector.class,
+                              HotKeyTracker.class
 })
 public class EmptyConstructorNamedCacheFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
 
@@ -208,6 +216,16 @@ public Object construct(String componentName) {
       } else if (componentName.equals(OffHeapEntryFactory.class.getName())) {
          return new OffHeapEntryFactoryImpl();
       } else if (componentName.equals(OffHeapMemoryAllocator.class.getName())) {
+         MemoryConfiguration memory = configuration.memory();
+         if (memory.isOffHeap()) {
+            switch (memory.allocator()) {
+               case POOLED:
+                  return new PooledOffHeapMemoryAllocator();
+               case MAPPED_FILE:
+                  return new MappedFileOffHeapMemoryAllocator(PersistenceUtil.getQualifiedLocation(globalConfiguration,
+                        null, componentRegistry.getCacheName(), "memory.mapped"));
+            }
+         }
          return new UnpooledOffHeapMemoryAllocator();
       } else if (componentName.equals(ClusterCacheNotifier.class.getName())) {
          return ComponentAlias.of(CacheNotifier.class);
@@ -240,6 +258,9 @@ public Object construct(String componentName) {
          return configuration.sites().hasEnabledBackups() ?
                 new DefaultXSiteMetricsCollector(configuration) :
                 NoOpXSiteMetricsCollector.getInstance();
+      } else if (componentName.equals(HotKeyTracker.class.getName())) {
+         int hotKeys = configuration.statistics().hotKeys();
+         return hotKeys > 0 ? new DefaultHotKeyTracker(hotKeys) : NoOpHotKeyTracker.getInstance();
       }
 
       throw CONTAINER.factoryCannotConstructComponent(componentName);
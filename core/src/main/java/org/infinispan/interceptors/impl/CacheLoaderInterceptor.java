@@ -7,6 +7,7 @@
 import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -68,6 +69,7 @@
 import org.infinispan.container.impl.InternalEntryFactory;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.FlagBitSets;
+import org.infinispan.context.impl.ImmutableContext;
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.distribution.group.impl.GroupFilter;
 import org.infinispan.distribution.group.impl.GroupManager;
@@ -187,8 +189,19 @@ public Object visitComputeIfAbsentCommand(InvocationContext ctx, ComputeIfAbsent
 
    private Object visitManyDataCommand(InvocationContext ctx, FlagAffectedCommand command, Collection<?> keys) {
       AggregateCompletionStage<Void> stage = null;
+      Set<Object> bulkKeys = null;
       for (Object key : keys) {
-         CompletionStage<Void> innerStage = loadIfNeeded(ctx, key, command);
+         if (skipLoad(command, key, ctx)) {
+            continue;
+         }
+         if (canLoadInBulk(key, command)) {
+            if (bulkKeys == null) {
+               bulkKeys = new HashSet<>();
+            }
+            bulkKeys.add(key);
+            continue;
+         }
+         CompletionStage<Void> innerStage = loadInContext(ctx, key, command);
          if (innerStage != null && !CompletionStages.isCompletedSuccessfully(innerStage)) {
             if (stage == null) {
                stage = CompletionStages.aggregateCompletionStage();
@@ -196,12 +209,35 @@ private Object visitManyDataCommand(InvocationContext ctx, FlagAffectedCommand c
             stage.dependsOn(innerStage);
          }
       }
+      if (bulkKeys != null) {
+         if (stage == null) {
+            stage = CompletionStages.aggregateCompletionStage();
+         }
+         if (bulkKeys.size() == 1) {
+            stage.dependsOn(loadInContext(ctx, bulkKeys.iterator().next(), command));
+         } else {
+            stage.dependsOn(loadAllInContext(ctx, bulkKeys, command));
+         }
+      }
       if (stage != null) {
          return asyncInvokeNext(ctx, command, stage.freeze());
       }
       return invokeNext(ctx, command);
    }
 
+   /**
+    * Whether the key can be loaded together with other keys of the same command, with a single request to each store.
+    * The keys that are not in the data container at all can, unless passivation is enabled, as the activation of each
+    * loaded key must be ordered with the other operations on the same key.
+    */
+   private boolean canLoadInBulk(Object key, FlagAffectedCommand cmd) {
+      if (activation || pendingLoads.containsKey(key)) {
+         return false;
+      }
+      int segment = SegmentSpecificCommand.extractSegment(cmd, key, partitioner);
+      return dataContainer.peek(segment, key) == null;
+   }
+
    private Object visitDataCommand(InvocationContext ctx, AbstractDataCommand command) {
       Object key;
       CompletionStage<Void> stage = null;
@@ -358,15 +394,7 @@ protected CompletionStage<Void> loadInContext(InvocationContext ctx, Object key,
 
       CompletionStage<InternalCacheEntry<K, V>> otherCF = pendingLoads.putIfAbsent(key, cf);
 
-      Consumer<? super InternalCacheEntry<K, V>> action = entry -> {
-         if (entry != null) {
-            entryFactory.wrapExternalEntry(ctx, key, entry, true, cmd instanceof WriteCommand);
-         }
-         CacheEntry contextEntry = ctx.lookupEntry(key);
-         if (contextEntry instanceof MVCCEntry) {
-            ((MVCCEntry) contextEntry).setLoaded(true);
-         }
-      };
+      Consumer<? super InternalCacheEntry<K, V>> action = entry -> wrapLoadedEntry(ctx, key, entry, cmd);
 
       // If another thread is completing the request, then resume on a different CPU thread so we don't have to
       // wait until the other command completes
@@ -391,6 +419,70 @@ protected CompletionStage<Void> loadInContext(InvocationContext ctx, Object key,
       return cf.thenAccept(action);
    }
 
+   /**
+    * Loads the entries of many keys with a single request to each store, see {@link
+    * PersistenceManager#loadAllFromAllStores(Set, boolean, boolean)}. Like {@link #loadInContext(InvocationContext,
+    * Object, FlagAffectedCommand)}, the loads of keys already being loaded wait for the load in progress.
+    * @param ctx context for this invocation
+    * @param keys keys that are not in the data container
+    * @param cmd the command that initiated this load
+    * @return a stage that when complete will have the entries loaded into the provided context
+    */
+   protected CompletionStage<Void> loadAllInContext(InvocationContext ctx, Set<Object> keys, FlagAffectedCommand cmd) {
+      AggregateCompletionStage<Void> stage = CompletionStages.aggregateCompletionStage();
+      Map<Object, CompletableFuture<InternalCacheEntry<K, V>>> loads = new HashMap<>(keys.size());
+      for (Object key : keys) {
+         CompletableFuture<InternalCacheEntry<K, V>> cf = new CompletableFuture<>();
+         CompletionStage<InternalCacheEntry<K, V>> otherCF = pendingLoads.putIfAbsent(key, cf);
+         if (otherCF != null) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Piggybacking on concurrent cache loader for key %s", key);
+            }
+            stage.dependsOn(otherCF.thenAcceptAsync(entry -> wrapLoadedEntry(ctx, key, entry, cmd), nonBlockingExecutor));
+         } else {
+            loads.put(key, cf);
+         }
+      }
+      if (loads.isEmpty()) {
+         return stage.freeze();
+      }
+
+      if (log.isTraceEnabled()) {
+         log.tracef("Loading entries for keys %s", loads.keySet());
+      }
+      CompletionStage<Map<Object, MarshallableEntry<K, V>>> entriesStage =
+            persistenceManager.loadAllFromAllStores(loads.keySet(), ctx.isOriginLocal(), true);
+      for (Map.Entry<Object, CompletableFuture<InternalCacheEntry<K, V>>> load : loads.entrySet()) {
+         Object key = load.getKey();
+         CompletableFuture<InternalCacheEntry<K, V>> cf = load.getValue();
+         int segment = SegmentSpecificCommand.extractSegment(cmd, key, partitioner);
+         CompletionStage<InternalCacheEntry<K, V>> result = notifyLoadedEntry(ctx, key,
+               entriesStage.thenApply(entries -> storeLoadedEntry(key, segment, entries.get(key))), cmd);
+         result.whenComplete((value, throwable) -> {
+            // Make sure we clean up our pendingLoads properly and before completing any responses
+            pendingLoads.remove(key);
+            if (throwable != null) {
+               cf.completeExceptionally(throwable);
+            } else {
+               cf.complete(value);
+            }
+         });
+         stage.dependsOn(cf.thenAccept(entry -> wrapLoadedEntry(ctx, key, entry, cmd)));
+      }
+      return stage.freeze();
+   }
+
+   private void wrapLoadedEntry(InvocationContext ctx, Object key, InternalCacheEntry<K, V> entry,
+                                FlagAffectedCommand cmd) {
+      if (entry != null) {
+         entryFactory.wrapExternalEntry(ctx, key, entry, true, cmd instanceof WriteCommand);
+      }
+      CacheEntry contextEntry = ctx.lookupEntry(key);
+      if (contextEntry instanceof MVCCEntry) {
+         ((MVCCEntry) contextEntry).setLoaded(true);
+      }
+   }
+
    public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(InvocationContext ctx, Object key,
                                                                                 int segment, FlagAffectedCommand cmd) {
       InternalCacheEntry<K, V> entry = dataContainer.peek(segment, key);
@@ -406,38 +498,62 @@ public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(Inv
          log.tracef("Loading entry for key %s", key);
       }
       CompletionStage<InternalCacheEntry<K, V>> resultStage = persistenceManager.<K, V>loadFromAllStores(key, segment,
-            ctx.isOriginLocal(), includeStores).thenApply(me -> {
-         if (me != null) {
-            InternalCacheEntry<K, V> ice = PersistenceUtil.convert(me, iceFactory);
-            if (getStatisticsEnabled()) {
-               cacheLoads.incrementAndGet();
-            }
-            if (log.isTraceEnabled()) {
-               log.tracef("Loaded entry: %s for key %s from store and attempting to insert into data container",
-                     ice, key);
-            }
+            ctx.isOriginLocal(), includeStores).thenApply(me -> storeLoadedEntry(key, segment, me));
+      return notifyLoadedEntry(ctx, key, resultStage, cmd);
+   }
 
-            DataContainer.ComputeAction<K, V> putIfAbsentOrExpired = (k, oldEntry, factory) -> {
-               if (oldEntry != null &&
-                     (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
-                  return oldEntry;
-               }
-               return ice;
-            };
+   /**
+    * Inserts an entry published by the stores into the data container the same way a read would load it, so it never
+    * replaces a non expired entry that is already in memory
+    * @param me the entry read from the stores
+    * @param segment the segment of the entry
+    * @return the entry read from the stores
+    */
+   public CompletionStage<InternalCacheEntry<K, V>> storeInDataContainer(MarshallableEntry<K, V> me, int segment) {
+      Object key = me.getKey();
+      CompletionStage<InternalCacheEntry<K, V>> resultStage = CompletableFuture.completedFuture(
+            storeLoadedEntry(key, segment, me));
+      return notifyLoadedEntry(ImmutableContext.INSTANCE, key, resultStage, null);
+   }
 
-            dataContainer.compute(segment, (K) key, putIfAbsentOrExpired);
-            return ice;
-         } else {
-            if (log.isTraceEnabled()) {
-               log.tracef("Missed entry load for key %s from store", key);
-            }
-            if (getStatisticsEnabled()) {
-               cacheMisses.incrementAndGet();
+   /**
+    * Inserts the entry loaded from the stores into the data container, unless it contains a non expired entry already
+    * @return the loaded entry or {@code null} if the stores did not contain the key
+    */
+   private InternalCacheEntry<K, V> storeLoadedEntry(Object key, int segment, MarshallableEntry<K, V> me) {
+      if (me != null) {
+         InternalCacheEntry<K, V> ice = PersistenceUtil.convert(me, iceFactory);
+         if (getStatisticsEnabled()) {
+            cacheLoads.incrementAndGet();
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Loaded entry: %s for key %s from store and attempting to insert into data container",
+                  ice, key);
+         }
+
+         DataContainer.ComputeAction<K, V> putIfAbsentOrExpired = (k, oldEntry, factory) -> {
+            if (oldEntry != null &&
+                  (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
+               return oldEntry;
             }
-            return null;
+            return ice;
+         };
+
+         dataContainer.compute(segment, (K) key, putIfAbsentOrExpired);
+         return ice;
+      } else {
+         if (log.isTraceEnabled()) {
+            log.tracef("Missed entry load for key %s from store", key);
          }
-      });
+         if (getStatisticsEnabled()) {
+            cacheMisses.incrementAndGet();
+         }
+         return null;
+      }
+   }
 
+   private CompletionStage<InternalCacheEntry<K, V>> notifyLoadedEntry(InvocationContext ctx, Object key,
+         CompletionStage<InternalCacheEntry<K, V>> resultStage, FlagAffectedCommand cmd) {
       if (notifier.hasListener(CacheEntryLoaded.class) || notifier.hasListener(CacheEntryActivated.class)) {
          return resultStage.thenCompose(ice -> {
             if (ice != null) {
@@ -541,6 +657,24 @@ public long getCacheLoaderMisses() {
       return cacheMisses.get();
    }
 
+   @ManagedAttribute(
+         description = "Number of loads that did not read the cache store because the bloom filters reported the key as absent",
+         displayName = "Number of cache store loads skipped by bloom filters",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBloomFilterSkippedLoads() {
+      return persistenceManager.getBloomFilterSkippedLoads();
+   }
+
+   @ManagedAttribute(
+         description = "Number of cache store load misses for keys that the bloom filters reported as possibly present",
+         displayName = "Number of bloom filter false positives",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBloomFilterFalsePositives() {
+      return persistenceManager.getBloomFilterFalsePositives();
+   }
+
    @Override
    public void resetStatistics() {
       cacheLoads.set(0);
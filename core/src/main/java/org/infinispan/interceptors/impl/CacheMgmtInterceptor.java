@@ -45,6 +45,7 @@
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.offheap.OffHeapMemoryAllocator;
+import org.infinispan.container.offheap.SegmentedBoundedOffHeapDataContainer;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.FlagBitSets;
@@ -707,6 +708,62 @@ public long getOffHeapMemoryUsed() {
       return allocator.getAllocatedAmount();
    }
 
+   @ManagedAttribute(
+         description = "Amount of off-heap memory reserved by this cache, including pooled memory that is not in use (bytes)",
+         displayName = "Off-Heap memory reserved"
+   )
+   public long getOffHeapMemoryReserved() {
+      return allocator.getReservedAmount();
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of the reserved off-heap memory that is not used by entries",
+         displayName = "Off-Heap memory fragmentation",
+         units = Units.PERCENTAGE
+   )
+   public double getOffHeapMemoryFragmentation() {
+      long reserved = allocator.getReservedAmount();
+      if (reserved <= 0) {
+         return 0;
+      }
+      return (double) (reserved - allocator.getAllocatedAmount()) / reserved;
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads that found the entry in the bounded off-heap data container",
+         displayName = "Off-Heap hits"
+   )
+   public long getOffHeapHits() {
+      if (dataContainer instanceof SegmentedBoundedOffHeapDataContainer) {
+         return ((SegmentedBoundedOffHeapDataContainer) dataContainer).getHits();
+      }
+      return 0;
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads that did not find the entry in the bounded off-heap data container",
+         displayName = "Off-Heap misses"
+   )
+   public long getOffHeapMisses() {
+      if (dataContainer instanceof SegmentedBoundedOffHeapDataContainer) {
+         return ((SegmentedBoundedOffHeapDataContainer) dataContainer).getMisses();
+      }
+      return 0;
+   }
+
+   @ManagedAttribute(
+         description = "Percentage hit/(hit+miss) ratio of the bounded off-heap data container, which depends on the eviction policy",
+         displayName = "Off-Heap hit ratio",
+         units = Units.PERCENTAGE
+   )
+   public double getOffHeapHitRatio() {
+      long hitsL = getOffHeapHits();
+      double total = hitsL + getOffHeapMisses();
+      if (total <= 0)
+         return 0;
+      return (hitsL / total);
+   }
+
    @ManagedAttribute(
          description = "Amount of nodes required to guarantee data consistency",
          displayName = "Required Minimum Nodes"
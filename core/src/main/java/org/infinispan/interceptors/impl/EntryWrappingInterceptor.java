@@ -80,6 +80,7 @@
 import org.infinispan.statetransfer.OutdatedTopologyException;
 import org.infinispan.statetransfer.StateConsumer;
 import org.infinispan.statetransfer.StateTransferLock;
+import org.infinispan.stats.impl.HotKeyTracker;
 import org.infinispan.transaction.LockingMode;
 import org.infinispan.util.concurrent.AggregateCompletionStage;
 import org.infinispan.util.concurrent.CompletableFutures;
@@ -110,6 +111,7 @@ public class EntryWrappingInterceptor extends DDAsyncInterceptor {
    @Inject GroupManager groupManager;
    @Inject CacheNotifier<Object, Object> notifier;
    @Inject KeyPartitioner keyPartitioner;
+   @Inject HotKeyTracker hotKeyTracker;
 
    private final EntryWrappingVisitor entryWrappingVisitor = new EntryWrappingVisitor();
    private boolean isInvalidation;
@@ -221,8 +223,12 @@ public final Object visitGetCacheEntryCommand(InvocationContext ctx, GetCacheEnt
 
    private Object visitDataReadCommand(InvocationContext ctx, AbstractDataCommand command) {
       final Object key = command.getKey();
+      boolean isOwner = ignoreOwnership(command) || canRead(command);
+      if (isOwner) {
+         hotKeyTracker.recordRead(key);
+      }
       CompletionStage<Void> stage = entryFactory.wrapEntryForReading(ctx, key, command.getSegment(),
-            ignoreOwnership(command) || canRead(command), command.hasAnyFlag(FlagBitSets.ALREADY_HAS_LOCK)
+            isOwner, command.hasAnyFlag(FlagBitSets.ALREADY_HAS_LOCK)
                   || (isPessimistic && command.hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK)));
       return makeStage(asyncInvokeNext(ctx, command, stage)).thenApply(ctx, command, dataReadReturnHandler);
    }
@@ -232,8 +238,12 @@ public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) t
       boolean ignoreOwnership = ignoreOwnership(command);
       AggregateCompletionStage<Void> aggregateCompletionStage = null;
       for (Object key : command.getKeys()) {
+         boolean isOwner = ignoreOwnership || canReadKey(key);
+         if (isOwner) {
+            hotKeyTracker.recordRead(key);
+         }
          CompletionStage<Void> stage = entryFactory.wrapEntryForReading(ctx, key, keyPartitioner.getSegment(key),
-               ignoreOwnership || canReadKey(key), false);
+               isOwner, false);
          aggregateCompletionStage = accumulateStage(stage, aggregateCompletionStage);
       }
 
@@ -371,6 +381,9 @@ protected CompletionStage<Void> wrapEntryIfNeeded(InvocationContext ctx, Abstrac
          entryFactory.wrapEntryForWritingSkipExpiration(ctx, command.getKey(), command.getSegment(), isOwner);
          return CompletableFutures.completedNull();
       }
+      if (isOwner) {
+         hotKeyTracker.recordWrite(command.getKey());
+      }
       return entryFactory.wrapEntryForWriting(ctx, command.getKey(), command.getSegment(), isOwner,
                                               command.loadType() != VisitableCommand.LoadType.DONT_LOAD);
    }
@@ -510,7 +523,11 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
          // TxReadOnlyKeyCommand may apply some mutations on the entry in context so we need to always wrap it
          stage = entryFactory.wrapEntryForWriting(ctx, command.getKey(), command.getSegment(), ignoreOwnership(command) || canRead(command), true);
       } else {
-         stage = entryFactory.wrapEntryForReading(ctx, command.getKey(), command.getSegment(), ignoreOwnership(command) || canRead(command), false);
+         boolean isOwner = ignoreOwnership(command) || canRead(command);
+         if (isOwner) {
+            hotKeyTracker.recordRead(command.getKey());
+         }
+         stage = entryFactory.wrapEntryForReading(ctx, command.getKey(), command.getSegment(), isOwner, false);
       }
 
       // Repeatable reads are not achievable with functional commands, as we don't store the value locally
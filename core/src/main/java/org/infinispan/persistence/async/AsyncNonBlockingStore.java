@@ -1,10 +1,18 @@
 package org.infinispan.persistence.async;
 
+import static org.infinispan.util.logging.Log.CONFIG;
+
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
@@ -13,17 +21,20 @@
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.IllegalLifecycleStateException;
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.reactive.RxJavaInterop;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.configuration.cache.AsyncStoreConfiguration;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.StoreConfiguration;
 import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.NonBlockingStore;
@@ -37,6 +48,7 @@
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.flowables.ConnectableFlowable;
 import io.reactivex.rxjava3.functions.Function;
 import net.jcip.annotations.GuardedBy;
@@ -56,6 +68,12 @@
  * Read operations may be resolved by this store immediately if the given key is still being updated in the
  * delegate store or if it is enqueued for the next batch. If the key is in neither it will query the underlying store
  * to acquire it.
+ * <p>
+ * A batch contains at most a number of modifications that is adapted to the latency of the delegate store: it shrinks
+ * while the batches take longer than {@link #TARGET_BATCH_MILLIS} and grows back up to the modification queue size
+ * while they are fast. If the journal is enabled, the modifications are only acknowledged once they were appended to a
+ * {@link ModificationJournal}, which is replayed when the store is started again. The modifications of a batch that
+ * could not be written to the delegate store stay in the journal until they are superseded.
  * @author wburns
  * @since 11.0
  * @param <K> key type for the store
@@ -63,6 +81,8 @@
  */
 public class AsyncNonBlockingStore<K, V> extends DelegatingNonBlockingStore<K, V> {
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+   private static final int MIN_BATCH_SIZE = 16;
+   private static final long TARGET_BATCH_MILLIS = 100;
    private final NonBlockingStore<K, V> actual;
 
    private Executor nonBlockingExecutor;
@@ -70,6 +90,9 @@
    private int modificationQueueSize;
    private PersistenceConfiguration persistenceConfiguration;
    private AsyncStoreConfiguration asyncConfiguration;
+   private TimeService timeService;
+   // Non null if the modifications are journaled
+   private ModificationJournal journal;
 
    // "Non blocking" scheduler used for the purpose of delaying retry batch operations on failures
    private ScheduledExecutorService scheduler;
@@ -101,6 +124,20 @@
    // True if there is an outstanding clear that is being ran on the delegating store
    @GuardedBy("this")
    private boolean isReplicatingClear;
+   // The maximum number of modifications sent to the delegate store in a batch, see adaptBatchSize
+   @GuardedBy("this")
+   private int batchSize;
+   // How many records were appended to the journal since it was last rewritten
+   @GuardedBy("this")
+   private int journaledSinceRewrite;
+   // The modifications of the batches that could not be written to the delegate store, only tracked if the
+   // modifications are journaled. They are kept in the rewritten journal until they are superseded, so that they are
+   // replayed on restart
+   @GuardedBy("this")
+   private final Map<Object, Modification> failedModifications = new HashMap<>();
+   // True if a clear could not be written to the delegate store, only tracked if the modifications are journaled
+   @GuardedBy("this")
+   private boolean hasFailedClear;
    private volatile boolean stopped = true;
 
    public AsyncNonBlockingStore(NonBlockingStore<K, V> actual) {
@@ -119,8 +156,50 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       asyncConfiguration = storeConfiguration.async();
       modificationQueueSize = asyncConfiguration.modificationQueueSize();
       nonBlockingExecutor = ctx.getNonBlockingExecutor();
+      timeService = ctx.getTimeService();
+      synchronized (this) {
+         batchSize = Math.max(MIN_BATCH_SIZE, modificationQueueSize);
+      }
       stopped = false;
-      return actual.start(ctx);
+      if (!asyncConfiguration.journal()) {
+         return actual.start(ctx);
+      }
+      if (!ctx.getGlobalConfiguration().globalState().enabled()) {
+         throw CONFIG.writeBehindJournalRequiresGlobalState();
+      }
+      // The position of the store tells apart the journals of the stores of the cache
+      int storeIndex = persistenceConfiguration.stores().indexOf(storeConfiguration);
+      Path path = PersistenceUtil.getQualifiedLocation(ctx.getGlobalConfiguration(), null, ctx.getCache().getName(),
+            "write-behind-" + storeIndex + ".journal");
+      journal = new ModificationJournal(path, ctx.getBlockingManager(), ctx.getPersistenceMarshaller(),
+            ctx.getMarshallableEntryFactory());
+      return actual.start(ctx)
+            .thenCompose(ignore -> ctx.getBlockingManager().supplyBlocking(journal::open, "journal-open"))
+            .thenAccept(this::replayJournal);
+   }
+
+   /**
+    * Enqueues the modifications found in the journal, which were not written to the delegate store before the store
+    * was stopped
+    */
+   private void replayJournal(List<Modification> modifications) {
+      if (modifications.isEmpty()) {
+         return;
+      }
+      log.debugf("Replaying %d modifications from the journal of %s", modifications.size(), actual);
+      boolean startNewBatch;
+      synchronized (this) {
+         for (Modification modification : modifications) {
+            modification.apply(this);
+         }
+         journaledSinceRewrite = modifications.size();
+         if (startNewBatch = batchFuture == null) {
+            batchFuture = new CompletableFuture<>();
+         }
+      }
+      if (startNewBatch) {
+         submitTask();
+      }
    }
 
    @Override
@@ -135,7 +214,10 @@ public CompletionStage<Void> stop() {
             log.tracef("Stopping store %s from async store", actual);
          }
          stopped = true;
-         return actual.stop();
+         if (journal == null) {
+            return actual.stop();
+         }
+         return journal.close().thenCompose(ignore2 -> actual.stop());
       });
    }
 
@@ -182,23 +264,33 @@ void putClearModification() {
     * to ensure that only one batch is being processed at any time.
     */
    private void submitTask() {
-      Map<Object, Modification> newMap = new HashMap<>();
-      if (log.isTraceEnabled()) {
-         log.tracef("Starting new batch with id %s", System.identityHashCode(newMap));
-      }
       boolean ourClearToReplicate;
       Map<Object, Modification> ourModificationsToReplicate;
       synchronized (this) {
          // The isReplicatingClear would be true or replicatingModifications non empty if an update was currently pending
          // But we should only allow one at a time
          assert replicatingModifications.isEmpty() && !isReplicatingClear;
-         replicatingModifications = pendingModifications;
-         ourModificationsToReplicate = pendingModifications;
-         pendingModifications = newMap;
+         if (pendingModifications.size() > batchSize) {
+            // Only send the modifications the delegate store can write timely, the others stay pending
+            ourModificationsToReplicate = new HashMap<>();
+            Iterator<Map.Entry<Object, Modification>> iterator = pendingModifications.entrySet().iterator();
+            while (ourModificationsToReplicate.size() < batchSize) {
+               Map.Entry<Object, Modification> entry = iterator.next();
+               ourModificationsToReplicate.put(entry.getKey(), entry.getValue());
+               iterator.remove();
+            }
+         } else {
+            ourModificationsToReplicate = pendingModifications;
+            pendingModifications = new HashMap<>();
+         }
+         replicatingModifications = ourModificationsToReplicate;
          isReplicatingClear = hasPendingClear;
          ourClearToReplicate = hasPendingClear;
          hasPendingClear = false;
       }
+      if (log.isTraceEnabled()) {
+         log.tracef("Starting new batch with id %s", System.identityHashCode(ourModificationsToReplicate));
+      }
 
       CompletionStage<Void> asyncBatchStage;
       if (ourClearToReplicate) {
@@ -208,6 +300,11 @@ private void submitTask() {
          asyncBatchStage = retry(actual::clear, persistenceConfiguration.connectionAttempts()).whenComplete((ignore, t) -> {
             synchronized (this) {
                isReplicatingClear = false;
+               if (journal != null) {
+                  // The failed modifications before the clear are superseded by it, whether it was written or not
+                  failedModifications.clear();
+                  hasFailedClear = t != null;
+               }
             }
          });
       } else {
@@ -220,9 +317,13 @@ private void submitTask() {
                log.tracef("Sending batch write/remove operations %s to underlying store with id %s", ourModificationsToReplicate.size(),
                      System.identityHashCode(ourModificationsToReplicate));
             }
+            long start = timeService.time();
             return retry(() -> replicateModifications(ourModificationsToReplicate), persistenceConfiguration.connectionAttempts()).whenComplete((ignore2, t) -> {
                synchronized (this) {
                   replicatingModifications = Collections.emptyMap();
+                  if (t == null) {
+                     adaptBatchSize(ourModificationsToReplicate.size(), timeService.timeDuration(start, TimeUnit.MILLISECONDS));
+                  }
                }
             });
          });
@@ -238,6 +339,17 @@ private void submitTask() {
             submitNewBatch = !pendingModifications.isEmpty() || hasPendingClear;
             future = batchFuture;
             batchFuture = submitNewBatch ? new CompletableFuture<>() : null;
+            if (journal != null) {
+               if (t == null) {
+                  failedModifications.keySet().removeAll(ourModificationsToReplicate.keySet());
+               } else {
+                  // Even if the clear failed, as the modifications of the batch were not written either
+                  failedModifications.putAll(ourModificationsToReplicate);
+               }
+               if (!submitNewBatch || journaledSinceRewrite > 2 * modificationQueueSize) {
+                  rewriteJournal();
+               }
+            }
          }
          if (t != null) {
             future.completeExceptionally(t);
@@ -253,6 +365,42 @@ private void submitTask() {
       });
    }
 
+   /**
+    * Replaces the journal with the pending modifications and the failed modifications they do not supersede, so that
+    * a failed batch is still replayed on restart.
+    */
+   @GuardedBy("this")
+   private void rewriteJournal() {
+      List<Modification> modifications;
+      if (hasPendingClear || failedModifications.isEmpty()) {
+         // A pending clear supersedes all the failed modifications
+         modifications = new ArrayList<>(pendingModifications.values());
+      } else {
+         Map<Object, Modification> merged = new HashMap<>(failedModifications);
+         merged.putAll(pendingModifications);
+         modifications = new ArrayList<>(merged.values());
+      }
+      journal.rewrite(hasPendingClear || hasFailedClear, modifications);
+      journaledSinceRewrite = modifications.size();
+   }
+
+   /**
+    * Halves the batch size when a full batch took longer than {@link #TARGET_BATCH_MILLIS} to be written to the
+    * delegate store and doubles it, up to the modification queue size, when it took less than half of that.
+    */
+   @GuardedBy("this")
+   private void adaptBatchSize(int size, long millis) {
+      int previous = batchSize;
+      if (millis > TARGET_BATCH_MILLIS) {
+         batchSize = Math.max(MIN_BATCH_SIZE, Math.min(batchSize, size) / 2);
+      } else if (size >= batchSize && millis < TARGET_BATCH_MILLIS / 2) {
+         batchSize = Math.min(Math.max(MIN_BATCH_SIZE, modificationQueueSize), batchSize * 2);
+      }
+      if (previous != batchSize && log.isTraceEnabled()) {
+         log.tracef("Batch of %d modifications took %d ms, batch size is now %d", size, millis, batchSize);
+      }
+   }
+
    /**
     * Attempts to run the given supplier, checking the stage if it contains an error. It will rerun the Supplier
     * until a supplied stage doesn't contain an exception or it has encountered retries amount of exceptions. In the
@@ -416,6 +564,29 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return actual.load(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+      return Flowable.defer(() -> {
+         assertNotStopped();
+         Set<Object> actualKeys = new HashSet<>(keys.size());
+         List<CompletionStage<MarshallableEntry<K, V>>> pendingStages = new ArrayList<>();
+         for (Object key : keys) {
+            CompletionStage<MarshallableEntry<K, V>> pendingStage = getStageFromPending(key);
+            if (pendingStage != null) {
+               pendingStages.add(pendingStage);
+            } else {
+               actualKeys.add(key);
+            }
+         }
+         Flowable<MarshallableEntry<K, V>> pendingFlowable = Flowable.fromIterable(pendingStages)
+               .flatMapMaybe(Maybe::fromCompletionStage);
+         if (actualKeys.isEmpty()) {
+            return pendingFlowable;
+         }
+         return pendingFlowable.mergeWith(actual.loadAll(actualKeys, segmentMapper));
+      });
+   }
+
    private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(Object key) {
       Object wrappedKey = wrapKeyIfNeeded(key);
       Map<Object, Modification> modificationsToReplicate;
@@ -471,8 +642,14 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
    CompletionStage<Void> submitModification(Modification modification) {
       boolean startNewBatch;
       CompletionStage<Void> submitStage;
+      byte[] record = journal != null ? journal.encode(modification) : null;
+      CompletionStage<Void> journalStage = null;
       synchronized (this) {
          modification.apply(this);
+         if (record != null) {
+            journalStage = journal.append(record);
+            journaledSinceRewrite++;
+         }
 
          if (startNewBatch = batchFuture == null) {
             batchFuture = new CompletableFuture<>();
@@ -497,8 +674,10 @@ CompletionStage<Void> submitModification(Modification modification) {
       if (submitStage != null && isTraceEnabled) {
          log.tracef("Operation will not return immediately, must wait until current batch completes");
       }
-      return submitStage == null ? CompletableFutures.completedNull() :
+      CompletionStage<Void> stage = submitStage == null ? CompletableFutures.completedNull() :
             submitStage.thenApplyAsync(CompletableFutures.toNullFunction(), nonBlockingExecutor);
+      // The modification is only acknowledged once it is durable
+      return journalStage == null ? stage : CompletionStages.allOf(journalStage, stage);
    }
 
    @Override
@@ -518,8 +697,8 @@ public CompletionStage<Boolean> delete(int segment, Object key) {
    @Override
    public CompletionStage<Void> clear() {
       assertNotStopped();
-      submitModification(ClearModification.INSTANCE);
-      return CompletableFutures.completedNull();
+      CompletionStage<Void> stage = submitModification(ClearModification.INSTANCE);
+      return journal == null ? CompletableFutures.completedNull() : stage;
    }
 
    @Override
@@ -542,6 +721,7 @@ public CompletionStage<Void> removeSegments(IntSet segments) {
       assertNotStopped();
       synchronized (this) {
          pendingModifications.values().removeIf(modification -> segments.contains(modification.getSegment()));
+         failedModifications.values().removeIf(modification -> segments.contains(modification.getSegment()));
       }
       return actual.removeSegments(segments);
    }
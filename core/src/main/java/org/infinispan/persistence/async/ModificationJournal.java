@@ -0,0 +1,366 @@
+package org.infinispan.persistence.async;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import org.infinispan.commons.io.ByteBufferImpl;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.util.concurrent.BlockingManager;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * An append only file of the modifications submitted to the {@link AsyncNonBlockingStore}, which are acknowledged
+ * only once they were forced to disk, so that the modifications not yet written to the delegate store survive a crash.
+ * <p>
+ * The records of concurrent modifications are written and forced together by a single blocking task. Whenever a batch
+ * completes the store may rewrite the journal with only the modifications that are still pending or that failed to be
+ * written, which coalesces the updates of a key into a single record and empties the journal once the store is idle
+ * and no write failed. Every record is checksummed
+ * and a record torn by a crash ends the replay.
+ *
+ * @since 13.0
+ */
+class ModificationJournal {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+   private static final byte PUT = 0;
+   private static final byte REMOVE = 1;
+   private static final byte CLEAR = 2;
+   // The length and the checksum of the record
+   private static final int HEADER_SIZE = 8;
+
+   private final Path path;
+   private final BlockingManager blockingManager;
+   private final Marshaller marshaller;
+   private final MarshallableEntryFactory<?, ?> entryFactory;
+   private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+   private final AtomicBoolean flushing = new AtomicBoolean();
+   // Only accessed by the blocking task that has the flushing flag
+   private FileChannel channel;
+
+   ModificationJournal(Path path, BlockingManager blockingManager, Marshaller marshaller,
+         MarshallableEntryFactory<?, ?> entryFactory) {
+      this.path = path;
+      this.blockingManager = blockingManager;
+      this.marshaller = marshaller;
+      this.entryFactory = entryFactory;
+   }
+
+   /**
+    * Opens the journal for appending, must be invoked from a blocking thread.
+    *
+    * @return the modifications found in the journal, in the order they were appended
+    */
+   List<Modification> open() {
+      try {
+         Files.createDirectories(path.getParent());
+         List<Modification> modifications = new ArrayList<>();
+         long validLength = 0;
+         if (Files.exists(path)) {
+            long size = Files.size(path);
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+               byte[] record;
+               while ((record = readRecord(input, size - validLength)) != null) {
+                  modifications.add(decode(record));
+                  validLength += HEADER_SIZE + record.length;
+               }
+            }
+            if (validLength < size) {
+               log.debugf("Discarding %d bytes torn from the end of the journal %s", size - validLength, path);
+            }
+         }
+         channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+         // Any torn record is overwritten by the next append
+         channel.truncate(validLength);
+         channel.position(validLength);
+         return modifications;
+      } catch (IOException | ClassNotFoundException e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   private static byte[] readRecord(DataInputStream input, long remaining) throws IOException {
+      if (remaining < HEADER_SIZE) {
+         return null;
+      }
+      int length = input.readInt();
+      int checksum = input.readInt();
+      if (length < 0 || length > remaining - HEADER_SIZE) {
+         return null;
+      }
+      byte[] record = new byte[length];
+      try {
+         input.readFully(record);
+      } catch (EOFException e) {
+         return null;
+      }
+      return checksum(record) == checksum ? record : null;
+   }
+
+   private static int checksum(byte[] record) {
+      CRC32 crc = new CRC32();
+      crc.update(record, 0, record.length);
+      return (int) crc.getValue();
+   }
+
+   /**
+    * Encodes the record of the modification, this is done outside of the lock of the store as it may require
+    * marshalling the key or the value.
+    */
+   byte[] encode(Modification modification) {
+      if (modification instanceof PutModification) {
+         MarshallableEntry<?, ?> entry = ((PutModification) modification).getEntry();
+         byte[] key = toBytes(entry.getKeyBytes());
+         byte[] value = toBytes(entry.getValueBytes());
+         byte[] metadata = toBytes(entry.getMetadataBytes());
+         byte[] internalMetadata = toBytes(entry.getInternalMetadataBytes());
+         ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 * 4 + 8 + 8 + length(key) + length(value) + length(metadata) +
+               length(internalMetadata));
+         buffer.put(PUT).putInt(modification.getSegment());
+         putBytes(buffer, key);
+         putBytes(buffer, value);
+         putBytes(buffer, metadata);
+         putBytes(buffer, internalMetadata);
+         buffer.putLong(entry.created()).putLong(entry.lastUsed());
+         return buffer.array();
+      } else if (modification instanceof RemoveModification) {
+         byte[] key;
+         try {
+            key = marshaller.objectToByteBuffer(((RemoveModification) modification).getKey());
+         } catch (IOException e) {
+            throw new PersistenceException(e);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException(e);
+         }
+         ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 + key.length);
+         buffer.put(REMOVE).putInt(modification.getSegment());
+         putBytes(buffer, key);
+         return buffer.array();
+      } else {
+         return new byte[]{CLEAR};
+      }
+   }
+
+   private Modification decode(byte[] record) throws IOException, ClassNotFoundException {
+      ByteBuffer buffer = ByteBuffer.wrap(record);
+      byte type = buffer.get();
+      if (type == CLEAR) {
+         return ClearModification.INSTANCE;
+      }
+      int segment = buffer.getInt();
+      byte[] key = getBytes(buffer);
+      if (type == REMOVE) {
+         return new RemoveModification(segment, marshaller.objectFromByteBuffer(key));
+      }
+      byte[] value = getBytes(buffer);
+      byte[] metadata = getBytes(buffer);
+      byte[] internalMetadata = getBytes(buffer);
+      MarshallableEntry<?, ?> entry = entryFactory.create(toBuffer(key), toBuffer(value), toBuffer(metadata),
+            toBuffer(internalMetadata), buffer.getLong(), buffer.getLong());
+      return new PutModification(segment, entry);
+   }
+
+   private static byte[] toBytes(org.infinispan.commons.io.ByteBuffer buffer) {
+      if (buffer == null) {
+         return null;
+      }
+      byte[] bytes = new byte[buffer.getLength()];
+      System.arraycopy(buffer.getBuf(), buffer.getOffset(), bytes, 0, bytes.length);
+      return bytes;
+   }
+
+   private static org.infinispan.commons.io.ByteBuffer toBuffer(byte[] bytes) {
+      return bytes == null ? null : ByteBufferImpl.create(bytes);
+   }
+
+   private static int length(byte[] bytes) {
+      return bytes == null ? 0 : bytes.length;
+   }
+
+   private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+      if (bytes == null) {
+         buffer.putInt(-1);
+      } else {
+         buffer.putInt(bytes.length).put(bytes);
+      }
+   }
+
+   private static byte[] getBytes(ByteBuffer buffer) {
+      int length = buffer.getInt();
+      if (length < 0) {
+         return null;
+      }
+      byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      return bytes;
+   }
+
+   /**
+    * Appends the record of a modification. Must be invoked while holding the lock of the store, so that the records
+    * are appended in the same order as the modifications are applied.
+    *
+    * @return a stage completed once the record was forced to disk
+    */
+   CompletionStage<Void> append(byte[] record) {
+      Request request = new Request(record, null, false, false);
+      requests.add(request);
+      scheduleFlush();
+      return request.future;
+   }
+
+   /**
+    * Replaces the content of the journal with the given modifications, as all the modifications appended before were
+    * written to the delegate store, are superseded by them or are among them. Must be invoked while holding the lock of the store.
+    */
+   void rewrite(boolean clear, Collection<Modification> modifications) {
+      requests.add(new Request(null, modifications, clear, false));
+      scheduleFlush();
+   }
+
+   /**
+    * Closes the journal once the requests before were processed
+    */
+   CompletionStage<Void> close() {
+      Request request = new Request(null, null, false, true);
+      requests.add(request);
+      scheduleFlush();
+      return request.future;
+   }
+
+   private void scheduleFlush() {
+      if (!requests.isEmpty() && flushing.compareAndSet(false, true)) {
+         blockingManager.runBlocking(this::flush, "journal-flush").whenComplete((ignore, t) -> {
+            flushing.set(false);
+            if (t != null) {
+               // The task was rejected, no request can be processed
+               Request request;
+               while ((request = requests.poll()) != null) {
+                  request.future.completeExceptionally(t);
+               }
+            }
+            scheduleFlush();
+         });
+      }
+   }
+
+   private void flush() {
+      List<Request> processed = new ArrayList<>();
+      List<ByteBuffer> buffers = new ArrayList<>();
+      boolean close = false;
+      try {
+         Request request;
+         while (!close && (request = requests.poll()) != null) {
+            processed.add(request);
+            if (request.record != null) {
+               buffers.add(frame(request.record));
+            } else if (request.close) {
+               close = true;
+            } else {
+               // The records appended before are superseded by the rewritten journal
+               buffers.clear();
+               rewriteFile(request.clear, request.modifications);
+            }
+         }
+         if (channel == null) {
+            throw new PersistenceException("The journal " + path + " is closed");
+         }
+         if (!buffers.isEmpty()) {
+            writeFully(channel, buffers.toArray(new ByteBuffer[0]));
+            channel.force(false);
+         }
+         if (close) {
+            channel.close();
+            channel = null;
+         }
+      } catch (Throwable t) {
+         log.debugf(t, "Failed to write the journal %s", path);
+         for (Request request : processed) {
+            request.future.completeExceptionally(t);
+         }
+         return;
+      }
+      for (Request request : processed) {
+         request.future.complete(null);
+      }
+   }
+
+   private void rewriteFile(boolean clear, Collection<Modification> modifications) throws IOException {
+      if (channel == null) {
+         throw new PersistenceException("The journal " + path + " is closed");
+      }
+      if (!clear && modifications.isEmpty()) {
+         channel.truncate(0);
+         channel.force(false);
+         return;
+      }
+      List<ByteBuffer> buffers = new ArrayList<>(modifications.size() + 1);
+      if (clear) {
+         buffers.add(frame(encode(ClearModification.INSTANCE)));
+      }
+      for (Modification modification : modifications) {
+         buffers.add(frame(encode(modification)));
+      }
+      Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+      try (FileChannel tmpChannel = FileChannel.open(tmpPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+         writeFully(tmpChannel, buffers.toArray(new ByteBuffer[0]));
+         tmpChannel.force(false);
+      }
+      channel.close();
+      channel = null;
+      Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      channel = FileChannel.open(path, StandardOpenOption.WRITE);
+      channel.position(channel.size());
+   }
+
+   private static ByteBuffer frame(byte[] record) {
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + record.length);
+      buffer.putInt(record.length).putInt(checksum(record)).put(record);
+      buffer.flip();
+      return buffer;
+   }
+
+   private static void writeFully(FileChannel channel, ByteBuffer[] buffers) throws IOException {
+      ByteBuffer last = buffers[buffers.length - 1];
+      while (last.hasRemaining()) {
+         channel.write(buffers);
+      }
+   }
+
+   private static class Request {
+      private final byte[] record;
+      private final Collection<Modification> modifications;
+      private final boolean clear;
+      private final boolean close;
+      private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+      private Request(byte[] record, Collection<Modification> modifications, boolean clear, boolean close) {
+         this.record = record;
+         this.modifications = modifications;
+         this.clear = clear;
+         this.close = close;
+      }
+   }
+}
@@ -0,0 +1,139 @@
+package org.infinispan.persistence.manager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.util.BloomFilter;
+import org.infinispan.commons.util.IntSet;
+
+/**
+ * Bloom filters of the keys in the stores, one per segment, that allow the {@link PersistenceManagerImpl} to answer
+ * that a key is absent without reading the stores.
+ * <p>
+ * A filter never misses a key of the stores: every key written to the stores is added to the filter of its segment
+ * before it is written, and the removed keys stay in the filter. The filter of a segment is only used once it was
+ * built from the keys in the stores, until then the loads of its keys always read the stores. The filter of a segment
+ * that is not owned any more is replaced with an empty one, which is built again if the segment is added back.
+ *
+ * @since 13.0
+ */
+class KeyBloomFilters {
+   private static final int HASH_FUNCTIONS = 3;
+   private static final MurmurHash3 MURMUR = MurmurHash3.getInstance();
+   private static final List<ToIntFunction<? super Object>> FUNCTIONS = functions();
+
+   private final int bitsPerSegment;
+   private final AtomicReferenceArray<SegmentFilter> filters;
+   private final LongAdder skippedLoads = new LongAdder();
+   private final LongAdder falsePositives = new LongAdder();
+
+   KeyBloomFilters(int segments, int bitsPerSegment) {
+      this.bitsPerSegment = bitsPerSegment;
+      this.filters = new AtomicReferenceArray<>(segments);
+      for (int i = 0; i < segments; ++i) {
+         filters.set(i, newFilter());
+      }
+   }
+
+   private SegmentFilter newFilter() {
+      return new SegmentFilter(BloomFilter.createConcurrentFilter(bitsPerSegment, FUNCTIONS));
+   }
+
+   private static List<ToIntFunction<? super Object>> functions() {
+      List<ToIntFunction<? super Object>> functions = new ArrayList<>(HASH_FUNCTIONS);
+      for (int i = 0; i < HASH_FUNCTIONS; ++i) {
+         // The keys are only compared in this JVM, so their hash code is enough
+         int seed = 0x9E3779B9 * (i + 1);
+         functions.add(key -> MURMUR.hash(key.hashCode() ^ seed));
+      }
+      return functions;
+   }
+
+   /**
+    * Must be invoked before the keys of the stores are added to the filters of the given segments with {@link
+    * #keyWritten(int, Object)}.
+    *
+    * @return the filters to pass to {@link #built(List)} once all the keys of the stores were added
+    */
+   List<SegmentFilter> startBuilding(IntSet segments) {
+      List<SegmentFilter> started = new ArrayList<>(segments.size());
+      for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
+         started.add(filters.get(iter.nextInt()));
+      }
+      return started;
+   }
+
+   /**
+    * Allows the given filters to answer that keys are absent, once all the keys of the stores were added to them
+    */
+   void built(List<SegmentFilter> started) {
+      for (SegmentFilter filter : started) {
+         filter.built = true;
+      }
+   }
+
+   /**
+    * Empties the filters of segments that are not owned any more
+    */
+   void remove(IntSet segments) {
+      for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
+         filters.set(iter.nextInt(), newFilter());
+      }
+   }
+
+   /**
+    * Must be invoked before the key is written to the stores
+    */
+   void keyWritten(int segment, Object key) {
+      filters.get(segment).filter.addToFilter(key);
+   }
+
+   /**
+    * @return whether the filter of the segment is built, and so the result of {@link #isAbsent(int, Object)} is
+    * meaningful
+    */
+   boolean isBuilt(int segment) {
+      return filters.get(segment).built;
+   }
+
+   /**
+    * @return {@code true} if the key is definitely not in the stores
+    */
+   boolean isAbsent(int segment, Object key) {
+      SegmentFilter filter = filters.get(segment);
+      if (!filter.built || filter.filter.possiblyPresent(key)) {
+         return false;
+      }
+      skippedLoads.increment();
+      return true;
+   }
+
+   /**
+    * Invoked when the stores did not contain a key that the filter of its segment reported as possibly present
+    */
+   void falsePositive() {
+      falsePositives.increment();
+   }
+
+   long getSkippedLoads() {
+      return skippedLoads.sum();
+   }
+
+   long getFalsePositives() {
+      return falsePositives.sum();
+   }
+
+   static class SegmentFilter {
+      private final BloomFilter<Object> filter;
+      private volatile boolean built;
+
+      private SegmentFilter(BloomFilter<Object> filter) {
+         this.filter = filter;
+      }
+   }
+}
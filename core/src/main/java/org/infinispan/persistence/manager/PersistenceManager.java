@@ -1,8 +1,10 @@
 package org.infinispan.persistence.manager;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -17,7 +19,9 @@
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.transaction.impl.AbstractCacheTransaction;
+import org.infinispan.util.concurrent.AggregateCompletionStage;
 import org.infinispan.util.concurrent.CompletableFutures;
+import org.infinispan.util.concurrent.CompletionStages;
 import org.reactivestreams.Publisher;
 
 /**
@@ -165,6 +169,31 @@ default <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return loadFromAllStores(key, localInvocation, includeStores);
    }
 
+   /**
+    * Same as {@link #loadFromAllStores(Object, int, boolean, boolean)} for many keys at once. Each store is asked for
+    * the keys that were not found in the previous stores with {@link
+    * org.infinispan.persistence.spi.NonBlockingStore#loadAll(Set, java.util.function.ToIntFunction)}, so that it can
+    * look up all of them with a single request.
+    * @param keys keys to load
+    * @param localInvocation whether this invocation is a local invocation. Some loaders may be ignored if it is not local
+    * @param includeStores if a loader that is also a store can be loaded from
+    * @return a stage that, when complete, contains the entries of the keys found in the stores
+    * @implSpec default implementation invokes {@link #loadFromAllStores(Object, boolean, boolean)} for every key
+    */
+   default <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromAllStores(Set<?> keys,
+         boolean localInvocation, boolean includeStores) {
+      Map<Object, MarshallableEntry<K, V>> entries = new ConcurrentHashMap<>();
+      AggregateCompletionStage<Map<Object, MarshallableEntry<K, V>>> stage = CompletionStages.aggregateCompletionStage(entries);
+      for (Object key : keys) {
+         stage.dependsOn(this.<K, V>loadFromAllStores(key, localInvocation, includeStores).thenAccept(entry -> {
+            if (entry != null) {
+               entries.put(key, entry);
+            }
+         }));
+      }
+      return stage.freeze();
+   }
+
    default CompletionStage<Long> size() {
        return size(AccessMode.BOTH);
    }
@@ -363,4 +392,22 @@ default CompletionStage<Boolean> removeSegments(IntSet segments) {
     * @return true if no {@link org.infinispan.persistence.spi.CacheWriter} instances have been configured.
     */
    boolean isReadOnly();
+
+   /**
+    * @return the number of loads that did not read the stores, because the bloom filter of the segment of the key
+    * reported that the key is absent
+    * @see org.infinispan.configuration.cache.PersistenceConfiguration#bloomFilterBits()
+    */
+   default long getBloomFilterSkippedLoads() {
+      return 0;
+   }
+
+   /**
+    * @return the number of loads of keys absent from the stores that the bloom filter of their segment reported as
+    * possibly present
+    * @see org.infinispan.configuration.cache.PersistenceConfiguration#bloomFilterBits()
+    */
+   default long getBloomFilterFalsePositives() {
+      return 0;
+   }
 }
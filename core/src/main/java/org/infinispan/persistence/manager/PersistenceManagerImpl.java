@@ -6,16 +6,20 @@
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import javax.transaction.InvalidTransactionException;
@@ -38,6 +42,7 @@
 import org.infinispan.commons.util.EnumUtil;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.StoreConfiguration;
@@ -103,6 +108,8 @@
 public class PersistenceManagerImpl implements PersistenceManager {
 
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+   // Segment groups per parallel subscription of the preload, so that groups with fewer entries even out
+   private static final int PRELOAD_GROUPS_PER_SUBSCRIPTION = 4;
 
    @Inject Configuration configuration;
    @Inject GlobalConfiguration globalConfiguration;
@@ -124,6 +131,7 @@ public class PersistenceManagerImpl implements PersistenceManager {
    @Inject ComponentRef<InvocationHelper> invocationHelper;
    @Inject ComponentRef<InternalExpirationManager<Object, Object>> expirationManager;
    @Inject DistributionManager distributionManager;
+   @Inject ComponentRef<PreloadManager> preloadManager;
 
    // We use stamped lock since we require releasing locks in threads that may be the same that acquired it
    private final StampedLock lock = new StampedLock();
@@ -133,6 +141,10 @@ public class PersistenceManagerImpl implements PersistenceManager {
    private volatile boolean clearOnStop;
    private volatile AutoCloseable availabilityTask;
    private volatile String unavailableExceptionMessage;
+   // Completed to stop the preload in progress, if any
+   private volatile CompletableFuture<Boolean> preloadCancellation;
+   // This variable is null unless the bloom filters are enabled and usable with the configured stores
+   private volatile KeyBloomFilters keyFilters;
 
    // Writes to an invalidation cache skip the shared check
    private boolean isInvalidationCache;
@@ -161,9 +173,15 @@ private <K, V> NonBlockingStore<K, V> getStore(Predicate<StoreStatus> predicate)
 
    @GuardedBy("lock#readLock")
    private <K, V> NonBlockingStore<K, V> getStoreLocked(Predicate<StoreStatus> predicate) {
+      StoreStatus storeStatus = getStoreStatusLocked(predicate);
+      return storeStatus == null ? null : storeStatus.store();
+   }
+
+   @GuardedBy("lock#readLock")
+   private StoreStatus getStoreStatusLocked(Predicate<StoreStatus> predicate) {
       for (StoreStatus storeStatus : stores) {
          if (predicate.test(storeStatus)) {
-            return storeStatus.store();
+            return storeStatus;
          }
       }
       return null;
@@ -226,12 +244,55 @@ public void start() {
          // Blocks here waiting for stores and availability task to start if needed
          storeStartup.blockingAwait();
          allSegmentedOrShared = allStoresSegmentedOrShared();
+         keyFilters = createKeyFilters();
       } catch (Throwable t) {
          log.debug("PersistenceManagerImpl encountered an exception during startup of stores", t);
          throw t;
       } finally {
          lock.unlockWrite(stamp);
       }
+      KeyBloomFilters filters = keyFilters;
+      if (filters != null) {
+         buildKeyFilters(filters, IntSets.immutableRangeSet(segmentCount));
+      }
+   }
+
+   @GuardedBy("lock")
+   private KeyBloomFilters createKeyFilters() {
+      int bits = configuration.persistence().bloomFilterBits();
+      if (bits == 0) {
+         return null;
+      }
+      // The keys written to a shared store by other nodes, or that cannot be iterated, would be missing from the filters
+      if (getStoreStatusLocked(storeStatus -> !storeStatus.characteristics.contains(Characteristic.WRITE_ONLY) &&
+            (storeStatus.config.shared() || !storeStatus.characteristics.contains(Characteristic.BULK_READ))) != null) {
+         PERSISTENCE.bloomFiltersDisabled(cache.wired().getName());
+         return null;
+      }
+      return new KeyBloomFilters(segmentCount, bits);
+   }
+
+   /**
+    * Adds the keys of the stores in the given segments to their bloom filters in the background. The filters are used
+    * once all the keys are added.
+    */
+   private void buildKeyFilters(KeyBloomFilters filters, IntSet segments) {
+      List<KeyBloomFilters.SegmentFilter> started = filters.startBuilding(segments);
+      Flowable.using(this::acquireReadLock,
+            ignore -> {
+               checkStoreAvailability();
+               return Flowable.fromIterable(stores)
+                     .filter(storeStatus -> !storeStatus.characteristics.contains(Characteristic.WRITE_ONLY))
+                     .concatMap(storeStatus -> {
+                        Predicate<Object> filter = storeStatus.characteristics.contains(Characteristic.SEGMENTABLE) ?
+                              null : k -> segments.contains(keyPartitioner.getSegment(k));
+                        return storeStatus.<Object, Object>store().publishKeys(segments, filter);
+                     });
+            },
+            this::releaseReadLock)
+            .subscribe(key -> filters.keyWritten(keyPartitioner.getSegment(key), key),
+                  t -> log.debugf(t, "Could not build the bloom filters of segments %s", segments),
+                  () -> filters.built(started));
    }
 
    @GuardedBy("lock")
@@ -330,6 +391,11 @@ protected CompletionStage<Void> pollStoreAvailability() {
    @Override
    @Stop
    public void stop() {
+      CompletableFuture<Boolean> cancellation = preloadCancellation;
+      if (cancellation != null) {
+         // Stops the preload from starting new groups of segments, each of which holds the read lock
+         cancellation.complete(Boolean.TRUE);
+      }
       long stamp = lock.writeLock();
       try {
          stopAvailabilityTask();
@@ -346,6 +412,7 @@ public void stop() {
          blockingSubscribe(flowable);
          stores.clear();
          preloaded = false;
+         keyFilters = null;
       } finally {
          lock.unlockWrite(stamp);
       }
@@ -393,34 +460,97 @@ public boolean isPreloaded() {
    @Override
    public CompletionStage<Void> preload() {
       long stamp = acquireReadLock();
-      NonBlockingStore<Object, Object> nonBlockingStore = getStoreLocked(status -> status.config.preload());
-      if (nonBlockingStore == null) {
+      StoreStatus storeStatus;
+      long flags;
+      try {
+         storeStatus = getStoreStatusLocked(status -> status.config.preload());
+         flags = getFlagsForStateInsertion();
+      } finally {
          releaseReadLock(stamp);
+      }
+      if (storeStatus == null) {
          return CompletableFutures.completedNull();
       }
-      Publisher<MarshallableEntry<Object, Object>> publisher = nonBlockingStore.publishEntries(
-            IntSets.immutableRangeSet(segmentCount), null, true);
+      NonBlockingStore<Object, Object> nonBlockingStore = storeStatus.store();
+      int parallelism = configuration.persistence().preloadParallelism();
+      if (parallelism == 0) {
+         parallelism = ProcessorInfo.availableProcessors();
+      }
+      // Stores that are not segmented would read all of their entries for each group
+      List<IntSet> segmentGroups = storeStatus.characteristics.contains(Characteristic.SEGMENTABLE) ?
+            preloadSegmentGroups(parallelism * PRELOAD_GROUPS_PER_SUBSCRIPTION) :
+            Collections.singletonList(IntSets.immutableRangeSet(segmentCount));
 
       long start = timeService.time();
 
       final long maxEntries = getMaxEntries();
-      final long flags = getFlagsForStateInsertion();
       AdvancedCache<?,?> tmpCache = this.cache.wired().withStorageMediaType();
       DataConversion keyDataConversion = tmpCache.getKeyDataConversion();
       DataConversion valueDataConversion = tmpCache.getValueDataConversion();
-
-      return Flowable.fromPublisher(publisher)
-            .doFinally(() -> releaseReadLock(stamp))
+      // The cache is already serving requests when preloading asynchronously, so entries are inserted the way reads
+      // load them, which never replaces an entry already in memory
+      CacheLoaderInterceptor<Object, Object> entryLoader = configuration.persistence().preloadAsync() ?
+            cache.wired().getAsyncInterceptorChain().findInterceptorExtending(CacheLoaderInterceptor.class) :
+            null;
+      PreloadManager progress = preloadManager.wired();
+      progress.preloadStarted(segmentCount);
+      CompletableFuture<Boolean> cancellation = new CompletableFuture<>();
+      preloadCancellation = cancellation;
+
+      // The read lock is only held while a group is preloaded, so that a store can be added or removed and the cache
+      // can be stopped in between groups. Once the store is removed, the remaining groups are not preloaded.
+      return Flowable.fromIterable(segmentGroups)
+            .flatMap(segments -> Flowable.using(this::acquireReadLock, groupStamp -> {
+               if (!stores.contains(storeStatus)) {
+                  cancellation.complete(Boolean.FALSE);
+                  return Flowable.empty();
+               }
+               Flowable<MarshallableEntry<Object, Object>> entries =
+                     Flowable.fromPublisher(nonBlockingStore.publishEntries(segments, null, true));
+               Flowable<Object> inserted = entryLoader != null ?
+                     entries.concatMapSingle(me -> storeEntry(entryLoader, me)) :
+                     entries.concatMapSingle(me -> preloadEntry(flags, me, keyDataConversion, valueDataConversion));
+               return inserted
+                     .doOnNext(ignore -> progress.entryPreloaded())
+                     .doOnComplete(() -> progress.segmentsPreloaded(segments.size()));
+            }, this::releaseReadLock), parallelism)
             .take(maxEntries)
-            .concatMapSingle(me -> preloadEntry(flags, me, keyDataConversion, valueDataConversion))
+            .takeUntil(Flowable.fromCompletionStage(cancellation))
             .count()
             .toCompletionStage()
+            .whenComplete((insertAmount, t) -> progress.preloadCompleted())
             .thenAccept(insertAmount -> {
-               this.preloaded = insertAmount < maxEntries;
+               this.preloaded = insertAmount < maxEntries && !cancellation.isDone();
                log.debugf("Preloaded %d keys in %s", insertAmount, Util.prettyPrintTime(timeService.timeDuration(start, MILLISECONDS)));
             });
    }
 
+   /**
+    * Splits the segments in up to the given number of groups of consecutive segments, preloaded by a subscription each
+    */
+   private List<IntSet> preloadSegmentGroups(int maxGroups) {
+      int groupCount = Math.min(maxGroups, segmentCount);
+      List<IntSet> groups = new ArrayList<>(groupCount);
+      int segment = 0;
+      for (int i = 0; i < groupCount; ++i) {
+         int end = (int) ((long) segmentCount * (i + 1) / groupCount);
+         IntSet group = IntSets.mutableEmptySet(segmentCount);
+         for (; segment < end; ++segment) {
+            group.set(segment);
+         }
+         groups.add(group);
+      }
+      return groups;
+   }
+
+   private Single<Object> storeEntry(CacheLoaderInterceptor<Object, Object> entryLoader, MarshallableEntry<Object, Object> me) {
+      // The stores publish entries in the storage format already
+      Object key = me.getKey();
+      return Maybe.fromCompletionStage(entryLoader.storeInDataContainer(me, keyPartitioner.getSegment(key)))
+            .cast(Object.class)
+            .defaultIfEmpty(key);
+   }
+
    private Single<Object> preloadEntry(long flags, MarshallableEntry<Object, Object> me, DataConversion keyDataConversion, DataConversion valueDataConversion) {
       // CallInterceptor will preserve the timestamps if the metadata is an InternalMetadataImpl instance
       InternalMetadataImpl metadata = new InternalMetadataImpl(me.getMetadata(), me.created(), me.lastUsed());
@@ -631,6 +761,18 @@ public <T> Set<T> getStores(Class<T> storeClass) {
       }
    }
 
+   @Override
+   public long getBloomFilterSkippedLoads() {
+      KeyBloomFilters filters = keyFilters;
+      return filters == null ? 0 : filters.getSkippedLoads();
+   }
+
+   @Override
+   public long getBloomFilterFalsePositives() {
+      KeyBloomFilters filters = keyFilters;
+      return filters == null ? 0 : filters.getFalsePositives();
+   }
+
    @Override
    public Collection<String> getStoresAsString() {
       long stamp = acquireReadLock();
@@ -788,6 +930,27 @@ public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
    @Override
    public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object key, int segment,
          boolean localInvocation, boolean includeStores) {
+      KeyBloomFilters filters = keyFilters;
+      if (filters != null && filters.isBuilt(segment)) {
+         if (filters.isAbsent(segment, key)) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Key %s is not in the bloom filter of segment %d, skipping the stores", key, segment);
+            }
+            return CompletableFutures.completedNull();
+         }
+         return this.<K, V>loadFromAllStoresLocked(key, segment, localInvocation, includeStores)
+               .thenApply(entry -> {
+                  if (entry == null) {
+                     filters.falsePositive();
+                  }
+                  return entry;
+               });
+      }
+      return loadFromAllStoresLocked(key, segment, localInvocation, includeStores);
+   }
+
+   private <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStoresLocked(Object key, int segment,
+         boolean localInvocation, boolean includeStores) {
       return Maybe.using(
             this::acquireReadLock,
             ignore -> {
@@ -806,6 +969,68 @@ public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       ).toCompletionStage(null);
    }
 
+   @Override
+   public <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromAllStores(Set<?> keys,
+         boolean localInvocation, boolean includeStores) {
+      KeyBloomFilters filters = keyFilters;
+      Set<Object> keysToLoad = new HashSet<>(keys);
+      // Keys reported as possibly present by a built filter, to count the false positives
+      Set<Object> filteredKeys;
+      if (filters != null) {
+         filteredKeys = new HashSet<>();
+         for (Iterator<Object> iterator = keysToLoad.iterator(); iterator.hasNext(); ) {
+            Object key = iterator.next();
+            int segment = keyPartitioner.getSegment(key);
+            if (filters.isBuilt(segment)) {
+               if (filters.isAbsent(segment, key)) {
+                  iterator.remove();
+               } else {
+                  filteredKeys.add(key);
+               }
+            }
+         }
+      } else {
+         filteredKeys = Collections.emptySet();
+      }
+      if (keysToLoad.isEmpty()) {
+         return CompletableFuture.completedFuture(Collections.emptyMap());
+      }
+      Map<Object, MarshallableEntry<K, V>> entries = new ConcurrentHashMap<>();
+      return Single.using(
+            this::acquireReadLock,
+            ignore -> {
+               checkStoreAvailability();
+               if (log.isTraceEnabled()) {
+                  log.tracef("Loading entries for keys %s", keysToLoad);
+               }
+               return Flowable.fromIterable(stores)
+                     .filter(storeStatus -> allowLoad(storeStatus, localInvocation, includeStores))
+                     // Only ask a store for the keys the previous stores did not have
+                     .concatMapCompletable(storeStatus -> {
+                        Set<Object> remainingKeys = new HashSet<>(keysToLoad);
+                        remainingKeys.removeAll(entries.keySet());
+                        if (remainingKeys.isEmpty()) {
+                           return Completable.complete();
+                        }
+                        ToIntFunction<Object> segmentMapper = storeStatus.characteristics.contains(Characteristic.SEGMENTABLE) ?
+                              keyPartitioner : k -> 0;
+                        return Flowable.fromPublisher(storeStatus.<K, V>store().loadAll(remainingKeys, segmentMapper))
+                              .doOnNext(entry -> entries.putIfAbsent(entry.getKey(), entry))
+                              .ignoreElements();
+                     })
+                     .toSingle(() -> {
+                        for (Object key : filteredKeys) {
+                           if (!entries.containsKey(key)) {
+                              filters.falsePositive();
+                           }
+                        }
+                        return entries;
+                     });
+            },
+            this::releaseReadLock
+      ).toCompletionStage();
+   }
+
    private boolean allowLoad(StoreStatus storeStatus, boolean localInvocation, boolean includeStores) {
       return !storeStatus.characteristics.contains(Characteristic.WRITE_ONLY) && (localInvocation || !isLocalOnlyLoader(storeStatus.store)) &&
             (includeStores || storeStatus.characteristics.contains(Characteristic.READ_ONLY) || storeStatus.config.ignoreModifications());
@@ -880,6 +1105,10 @@ public void setClearOnStop(boolean clearOnStop) {
    @Override
    public CompletionStage<Void> writeToAllNonTxStores(MarshallableEntry marshalledEntry, int segment,
          Predicate<? super StoreConfiguration> predicate, long flags) {
+      KeyBloomFilters filters = keyFilters;
+      if (filters != null) {
+         filters.keyWritten(segment, marshalledEntry.getKey());
+      }
       return Completable.using(
             this::acquireReadLock,
             ignore -> {
@@ -966,6 +1195,12 @@ private boolean shouldPerformTransactionOperation(StoreStatus storeStatus, Predi
    @Override
    public <K, V> CompletionStage<Void> writeEntries(Iterable<MarshallableEntry<K, V>> iterable,
          Predicate<? super StoreConfiguration> predicate) {
+      KeyBloomFilters filters = keyFilters;
+      if (filters != null) {
+         for (MarshallableEntry<K, V> entry : iterable) {
+            filters.keyWritten(keyPartitioner.getSegment(entry.getKey()), entry.getKey());
+         }
+      }
       return Completable.using(
             this::acquireReadLock,
             ignore -> {
@@ -1023,6 +1258,10 @@ public CompletionStage<Long> performBatch(TxInvocationContext<AbstractCacheTrans
     */
    private <K, V> CompletionStage<Long> batchOperation(Flowable<MVCCEntry<K, V>> mvccEntryFlowable, InvocationContext ctx,
          HandleFlowables<K, V> flowableHandler) {
+      KeyBloomFilters filters = keyFilters;
+      // Removed keys are added as well, as the filters can only contain more keys than the stores
+      Flowable<MVCCEntry<K, V>> entryFlowable = filters == null ? mvccEntryFlowable :
+            mvccEntryFlowable.doOnNext(entry -> filters.keyWritten(keyPartitioner.getSegment(entry.getKey()), entry.getKey()));
       return Single.using(
             this::acquireReadLock,
             ignore -> {
@@ -1041,9 +1280,9 @@ private <K, V> CompletionStage<Long> batchOperation(Flowable<MVCCEntry<K, V>> mv
                               log.tracef("Store %s is shared, checking skip shared stores and ignoring entries not" +
                                     " primarily owned by this node", storeStatus.store);
                            }
-                           flowableToUse = mvccEntryFlowable.filter(mvccEntry -> !mvccEntry.isSkipSharedStore());
+                           flowableToUse = entryFlowable.filter(mvccEntry -> !mvccEntry.isSkipSharedStore());
                         } else {
-                           flowableToUse = mvccEntryFlowable;
+                           flowableToUse = entryFlowable;
                         }
 
                         boolean segmented = storeStatus.config.segmented();
@@ -1267,7 +1506,12 @@ public CompletionStage<Boolean> addSegments(IntSet segments) {
                      .flatMapCompletable(storeStatus -> Completable.fromCompletionStage(storeStatus.store.addSegments(segments)));
             },
             this::releaseReadLock
-      ).toCompletionStage(allSegmentedOrShared);
+      ).doOnComplete(() -> {
+         KeyBloomFilters filters = keyFilters;
+         if (filters != null) {
+            buildKeyFilters(filters, segments);
+         }
+      }).toCompletionStage(allSegmentedOrShared);
    }
 
    @Override
@@ -1279,6 +1523,10 @@ public CompletionStage<Boolean> removeSegments(IntSet segments) {
                if (log.isTraceEnabled()) {
                   log.tracef("Removing segments %s from stores", segments);
                }
+               KeyBloomFilters filters = keyFilters;
+               if (filters != null) {
+                  filters.remove(segments);
+               }
                return Flowable.fromIterable(stores)
                      .filter(PersistenceManagerImpl::shouldInvokeSegmentMethods)
                      .flatMapCompletable(storeStatus -> Completable.fromCompletionStage(storeStatus.store.removeSegments(segments)));
@@ -1,20 +1,150 @@
 package org.infinispan.persistence.manager;
 
+import static org.infinispan.util.logging.Log.PERSISTENCE;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.util.concurrent.CompletionStages;
 
 /**
  * Separate the preload into its own component
+ * <p>
+ * The cache start waits for the preload to complete, unless {@link
+ * org.infinispan.configuration.cache.PersistenceConfiguration#preloadAsync()} is enabled. The progress of the preload
+ * is reported by the {@link PersistenceManager} as the segments of the store are loaded.
  */
+@MBean(objectName = "Preload", description = "Component that loads the entries of a store into memory when the cache starts")
 @Scope(Scopes.NAMED_CACHE)
 public class PreloadManager {
+   @ComponentName(KnownComponentNames.CACHE_NAME)
+   @Inject String cacheName;
    @Inject PersistenceManager persistenceManager;
+   @Inject Configuration configuration;
+   @Inject TimeService timeService;
+
+   private final LongAdder preloadedEntries = new LongAdder();
+   private final AtomicInteger preloadedSegments = new AtomicInteger();
+   private volatile int totalSegments;
+   private volatile boolean started;
+   private volatile boolean preloading;
+   private volatile long startNanos;
+   private volatile long endNanos;
+   private volatile CompletionStage<Void> preloadStage;
 
    @Start
    public void start() {
-      CompletionStages.join(persistenceManager.preload());
+      CompletionStage<Void> stage = persistenceManager.preload();
+      if (configuration.persistence().preloadAsync()) {
+         preloadStage = stage.exceptionally(t -> {
+            PERSISTENCE.asyncPreloadFailed(cacheName, t);
+            return null;
+         });
+      } else {
+         CompletionStages.join(stage);
+         preloadStage = stage;
+      }
+   }
+
+   void preloadStarted(int segments) {
+      preloadedEntries.reset();
+      preloadedSegments.set(0);
+      totalSegments = segments;
+      startNanos = timeService.time();
+      started = true;
+      preloading = true;
+   }
+
+   void entryPreloaded() {
+      preloadedEntries.increment();
+   }
+
+   void segmentsPreloaded(int segments) {
+      preloadedSegments.addAndGet(segments);
+   }
+
+   void preloadCompleted() {
+      endNanos = timeService.time();
+      preloading = false;
+   }
+
+   /**
+    * @return stage that completes once the preload started by the cache completes, successfully or not
+    */
+   public CompletionStage<Void> preloadStage() {
+      return preloadStage;
+   }
+
+   @ManagedAttribute(
+         description = "Whether the preload is still loading entries into memory",
+         displayName = "Preload in progress"
+   )
+   public boolean isPreloading() {
+      return preloading;
+   }
+
+   @ManagedAttribute(
+         description = "Number of entries loaded into memory by the preload",
+         displayName = "Number of preloaded entries",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getPreloadedEntries() {
+      return preloadedEntries.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of segments whose entries were all loaded into memory by the preload",
+         displayName = "Number of preloaded segments",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public int getPreloadedSegments() {
+      return preloadedSegments.get();
+   }
+
+   @ManagedAttribute(
+         description = "Percentage of the segments whose entries were all loaded into memory by the preload",
+         displayName = "Preload progress",
+         units = Units.PERCENTAGE
+   )
+   public double getPreloadProgress() {
+      int total = totalSegments;
+      return total == 0 ? 0 : 100d * preloadedSegments.get() / total;
+   }
+
+   @ManagedAttribute(
+         description = "Average number of entries loaded into memory per second by the preload",
+         displayName = "Preload throughput",
+         units = Units.PER_SECOND
+   )
+   public double getPreloadThroughput() {
+      long elapsedMillis = getPreloadElapsedTime();
+      return elapsedMillis == 0 ? 0 : preloadedEntries.sum() * 1000d / elapsedMillis;
+   }
+
+   @ManagedAttribute(
+         description = "Time the preload took, or has been running for if it is still in progress",
+         displayName = "Preload time",
+         units = Units.MILLISECONDS
+   )
+   public long getPreloadElapsedTime() {
+      if (!started) {
+         return 0;
+      }
+      long end = preloading ? timeService.time() : endNanos;
+      return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
    }
 }
@@ -0,0 +1,212 @@
+package org.infinispan.persistence.sifs;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Periodically persists the index, so that after a crash the store loads the last checkpoint and only replays the
+ * data files written since, instead of rebuilding the index from all the data files.
+ * <p>
+ * A checkpoint first collects the data files whose entries are all in the index: the files that are not written any
+ * more and whose writes were all submitted to the index. Then every index segment persists its root, see {@link
+ * Index#checkpoint()}, and finally the list of these files is written to the checkpoint file.
+ * <p>
+ * The last checkpoint must stay usable until the next one is complete. For this reason the data files compacted in
+ * the meantime are only deleted once the next checkpoint is complete, and the index segments only reuse the space of
+ * the nodes they freed once they are checkpointed again.
+ *
+ * @since 13.0
+ */
+class Checkpointer {
+   private static final Log log = LogFactory.getLog(Checkpointer.class, Log.class);
+   private static final String CHECKPOINT_FILE = "checkpoint";
+   private static final int MAGIC = 0xC4EC9017;
+
+   private final FileProvider fileProvider;
+   private final Path checkpointFile;
+   // Number of writes appended to each data file that were not submitted to the index yet
+   private final ConcurrentMap<Integer, AtomicInteger> unindexedWrites = new ConcurrentHashMap<>();
+   // Compacted data files, deleted once the next checkpoint is complete
+   private final Set<Integer> obsoleteFiles = ConcurrentHashMap.newKeySet();
+   // Only written by the log appender thread
+   private volatile long maxSeqId;
+   private boolean stopped;
+
+   Checkpointer(FileProvider fileProvider, Path indexDir) {
+      this.fileProvider = fileProvider;
+      this.checkpointFile = indexDir.resolve(CHECKPOINT_FILE);
+   }
+
+   /**
+    * Invoked by the log appender before it appends an entry to the file
+    */
+   void writeAppended(int file, long seqId) {
+      unindexedWrites.computeIfAbsent(file, k -> new AtomicInteger()).incrementAndGet();
+      if (seqId > maxSeqId) {
+         maxSeqId = seqId;
+      }
+   }
+
+   /**
+    * Invoked once the index request for an entry appended to the file was submitted
+    */
+   void writeIndexed(int file) {
+      AtomicInteger count = unindexedWrites.get(file);
+      // The counts are dropped when the store is cleared
+      if (count != null) {
+         count.decrementAndGet();
+      }
+   }
+
+   /**
+    * Invoked instead of deleting a data file once the compactor moved all its entries
+    */
+   void fileObsolete(int file) {
+      obsoleteFiles.add(file);
+   }
+
+   /**
+    * Checkpoints the index. Must be invoked from a blocking thread.
+    */
+   synchronized void checkpoint(Index index) throws IOException {
+      if (stopped) {
+         return;
+      }
+      Set<Integer> obsolete = new HashSet<>(obsoleteFiles);
+      long seqId = maxSeqId;
+      Set<Integer> indexedFiles = new HashSet<>();
+      try (CloseableIterator<Integer> iterator = fileProvider.getFileIterator()) {
+         while (iterator.hasNext()) {
+            int file = iterator.next();
+            // A file that is not written any more has all its writes counted already
+            if (obsolete.contains(file) || fileProvider.isLogFile(file)) {
+               continue;
+            }
+            AtomicInteger count = unindexedWrites.get(file);
+            if (count == null || count.get() == 0) {
+               indexedFiles.add(file);
+            }
+         }
+      }
+      // The index requests submitted so far are applied before the segments are checkpointed
+      CompletionStages.join(index.checkpoint());
+      write(seqId, indexedFiles, obsolete);
+      log.debugf("Checkpointed the index with %d data files, deleting %d compacted data files", indexedFiles.size(),
+            obsolete.size());
+      deleteFiles(obsolete);
+   }
+
+   /**
+    * Stops checkpointing, waiting for a checkpoint in progress. Must be invoked before the index is stopped.
+    */
+   synchronized void stop() {
+      stopped = true;
+   }
+
+   /**
+    * Deletes the compacted files once the index was persisted on shutdown, as it does not reference them
+    */
+   void stopped() {
+      deleteFiles(new HashSet<>(obsoleteFiles));
+   }
+
+   /**
+    * Invalidates the last checkpoint before the data files and the index are cleared
+    */
+   void clear() throws IOException {
+      Files.deleteIfExists(checkpointFile);
+      unindexedWrites.clear();
+      obsoleteFiles.clear();
+   }
+
+   private void deleteFiles(Set<Integer> files) {
+      for (Integer file : files) {
+         fileProvider.deleteFile(file);
+         unindexedWrites.remove(file);
+         obsoleteFiles.remove(file);
+      }
+   }
+
+   private void write(long seqId, Set<Integer> indexedFiles, Set<Integer> obsolete) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(20 + 4 * (indexedFiles.size() + obsolete.size()));
+      buffer.putInt(MAGIC);
+      buffer.putLong(seqId);
+      buffer.putInt(indexedFiles.size());
+      for (int file : indexedFiles) {
+         buffer.putInt(file);
+      }
+      buffer.putInt(obsolete.size());
+      for (int file : obsolete) {
+         buffer.putInt(file);
+      }
+      buffer.flip();
+      Path tmpFile = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+      try (FileChannel channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+         while (buffer.hasRemaining()) {
+            channel.write(buffer);
+         }
+         channel.force(false);
+      }
+      Files.move(tmpFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+   }
+
+   /**
+    * @return the last complete checkpoint of the index in the given directory, or {@code null} if there is none
+    */
+   static Checkpoint read(Path indexDir) {
+      Path checkpointFile = indexDir.resolve(CHECKPOINT_FILE);
+      if (!Files.exists(checkpointFile)) {
+         return null;
+      }
+      try {
+         ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpointFile));
+         if (buffer.getInt() != MAGIC) {
+            return null;
+         }
+         long maxSeqId = buffer.getLong();
+         Set<Integer> indexedFiles = new HashSet<>();
+         for (int i = buffer.getInt(); i > 0; --i) {
+            indexedFiles.add(buffer.getInt());
+         }
+         Set<Integer> obsoleteFiles = new HashSet<>();
+         for (int i = buffer.getInt(); i > 0; --i) {
+            obsoleteFiles.add(buffer.getInt());
+         }
+         return new Checkpoint(maxSeqId, indexedFiles, obsoleteFiles);
+      } catch (IOException | BufferUnderflowException e) {
+         log.debug("Cannot read the index checkpoint", e);
+         return null;
+      }
+   }
+
+   static class Checkpoint {
+      // Highest sequence id of the entries in the indexed files
+      final long maxSeqId;
+      // Data files whose entries are all in the checkpointed index
+      final Set<Integer> indexedFiles;
+      // Compacted data files that may not have been deleted yet
+      final Set<Integer> obsoleteFiles;
+
+      private Checkpoint(long maxSeqId, Set<Integer> indexedFiles, Set<Integer> obsoleteFiles) {
+         this.maxSeqId = maxSeqId;
+         this.indexedFiles = indexedFiles;
+         this.obsoleteFiles = obsoleteFiles;
+      }
+   }
+}
@@ -1,11 +1,15 @@
 package org.infinispan.persistence.sifs;
 
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.time.TimeService;
@@ -27,6 +31,10 @@
  * Component keeping the data about log file usage - as soon as entries from some file are overwritten so that the file
  * becomes cluttered with old records, the valid records are moved to another file and the old ones are dropped.
  * Expired records are moved as tombstones without values (records of entry removal).
+ * <p>
+ * When several files are waiting for compaction, the file that releases the most space for the amount of data read
+ * and copied is compacted first. The bytes read and written by the compaction can be limited per second, so that it
+ * does not starve the reads and writes of the store.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
@@ -41,7 +49,11 @@ class Compactor implements Consumer<Object> {
    private final KeyPartitioner keyPartitioner;
    private final int maxFileSize;
    private final double compactionThreshold;
+   private final long maxCompactionRate;
    private final FlowableProcessor<Object> processor;
+   // Files scheduled for compaction, each of them has a signal in the processor
+   private final Set<Integer> scheduledFiles = ConcurrentHashMap.newKeySet();
+   private final LongAdder compactedBytes = new LongAdder();
 
    private Index index;
    // as processing single scheduled compaction takes a lot of time, we don't use the queue to signalize
@@ -58,10 +70,13 @@ class Compactor implements Consumer<Object> {
 
    FileProvider.Log logFile = null;
    int currentOffset = 0;
+   // These variables are only accessed by the compactor thread
+   private long throttleStart;
+   private long throttledBytes;
 
    public Compactor(FileProvider fileProvider, TemporaryTable temporaryTable, Marshaller marshaller,
                     TimeService timeService, KeyPartitioner keyPartitioner, int maxFileSize,
-                    double compactionThreshold, Executor blockingExecutor) {
+                    double compactionThreshold, long maxCompactionRate, Executor blockingExecutor) {
       this.fileProvider = fileProvider;
       this.temporaryTable = temporaryTable;
       this.marshaller = marshaller;
@@ -69,6 +84,7 @@ public Compactor(FileProvider fileProvider, TemporaryTable temporaryTable, Marsh
       this.keyPartitioner = keyPartitioner;
       this.maxFileSize = maxFileSize;
       this.compactionThreshold = compactionThreshold;
+      this.maxCompactionRate = maxCompactionRate;
 
       processor = UnicastProcessor.create();
       Scheduler scheduler = Schedulers.from(blockingExecutor);
@@ -91,6 +107,29 @@ public void releaseStats(int file) {
       fileStats.remove(file);
    }
 
+   /**
+    * @return number of bytes written by the compaction to the data files
+    */
+   public long getCompactedBytes() {
+      return compactedBytes.sum();
+   }
+
+   /**
+    * @return ratio of the size of the completed data files to the size of the live entries they contain
+    */
+   public double getSpaceAmplification() {
+      long total = 0;
+      long free = 0;
+      for (Stats stats : fileStats.values()) {
+         int fileTotal = stats.getTotal();
+         if (fileTotal > 0) {
+            total += fileTotal;
+            free += Math.min(stats.getFree(), fileTotal);
+         }
+      }
+      return total == free ? 1 : (double) total / (total - free);
+   }
+
    public void free(int file, int size) {
       // entries expired from compacted file are reported with file = -1
       if (file < 0) return;
@@ -143,10 +182,62 @@ private void schedule(int file, Stats stats) {
          }
       }
       if (shouldSchedule) {
+         scheduledFiles.add(file);
          processor.onNext(file);
       }
    }
 
+   /**
+    * Picks the scheduled file that releases the most space per byte read and copied by its compaction. The signal
+    * sent for that file is then consumed by another file, so every scheduled file is still compacted once.
+    */
+   // Package protected for tests only
+   int nextScheduledFile() {
+      int bestFile = -1;
+      double bestRatio = -1;
+      for (Integer file : scheduledFiles) {
+         Stats stats = fileStats.get(file);
+         double ratio = 0;
+         if (stats != null) {
+            int total = stats.getTotal();
+            int free = Math.min(stats.getFree(), total);
+            // The whole file is read and the live entries are written
+            ratio = total <= 0 ? 0 : (double) free / (2L * total - free);
+         }
+         if (ratio > bestRatio) {
+            bestRatio = ratio;
+            bestFile = file;
+         }
+      }
+      if (bestFile >= 0) {
+         scheduledFiles.remove(bestFile);
+      }
+      return bestFile;
+   }
+
+   // Package protected for tests only
+   void startThrottle() {
+      throttleStart = timeService.time();
+      throttledBytes = 0;
+   }
+
+   /**
+    * Parks the compactor thread as long as the bytes read and written since the compaction of the file started exceed
+    * the maximum compaction rate.
+    */
+   // Package protected for tests only
+   void throttle(int bytes) {
+      if (maxCompactionRate <= 0) {
+         return;
+      }
+      throttledBytes += bytes;
+      long expectedNanos = throttledBytes * TimeUnit.SECONDS.toNanos(1) / maxCompactionRate;
+      long elapsedNanos = timeService.timeDuration(throttleStart, TimeUnit.NANOSECONDS);
+      if (expectedNanos > elapsedNanos) {
+         LockSupport.parkNanos(expectedNanos - elapsedNanos);
+      }
+   }
+
    /**
     * Immediately sends a request to pause the compactor. The returned stage will complete when the
     * compactor is actually paused. To resume the compactor the {@link #resumeAfterPause()} method
@@ -157,7 +248,10 @@ public CompletionStage<Void> clearAndPause() {
       clearSignal.incrementAndGet();
       CompletableFuture<Void> clearFuture = new CompletableFuture<>();
       // Make sure to do this before submitting to processor this is done in the blocking thread
-      clearFuture.whenComplete((ignore, t) -> fileStats.clear());
+      clearFuture.whenComplete((ignore, t) -> {
+         fileStats.clear();
+         scheduledFiles.clear();
+      });
       processor.onNext(clearFuture);
       return clearFuture;
    }
@@ -202,10 +296,15 @@ public void accept(Object o) throws Throwable {
       }
 
       // Any other type submitted has to be a positive integer
-      int scheduledFile = (int) o;
-      assert scheduledFile >= 0;
+      assert (int) o >= 0;
+      int scheduledFile = nextScheduledFile();
+      if (scheduledFile < 0) {
+         // The scheduled files were dropped by a clear
+         return;
+      }
       log.debugf("Compacting file %d", scheduledFile);
       int scheduledOffset = 0;
+      startThrottle();
       FileProvider.Handle handle = fileProvider.getFile(scheduledFile);
       if (handle == null) {
          throw new IllegalStateException("Compactor should not get deleted file for compaction!");
@@ -308,7 +407,8 @@ public void accept(Object o) throws Throwable {
                   entryOffset = ~currentOffset;
                   writtenLength = header.getHeaderLength() + header.keyLength();
                }
-               EntryRecord.writeEntry(logFile.fileChannel, REUSED_BUFFER, serializedKey, metadata, serializedValue, serializedInternalMetadata, header.seqId(), header.expiryTime());
+               EntryRecord.writeEntry(logFile.fileChannel, REUSED_BUFFER, serializedKey, metadata, serializedValue, serializedInternalMetadata, header.seqId(), header.expiryTime(),
+                     serializedValue != null && header.isCompressed());
                TemporaryTable.LockedEntry lockedEntry = temporaryTable.replaceOrLock(segment, key, logFile.fileId, entryOffset, scheduledFile, indexedOffset);
                if (lockedEntry == null) {
                   if (log.isTraceEnabled()) {
@@ -346,8 +446,11 @@ public void accept(Object o) throws Throwable {
                aggregateCompletionStage.dependsOn(moveRequest);
 
                currentOffset += writtenLength;
+               compactedBytes.add(writtenLength);
+               throttle(writtenLength);
             }
             scheduledOffset += header.totalLength();
+            throttle(header.totalLength());
          }
          // We delay the next operation until all prior moves are done. By moving it can trigger another
          // compaction before the index has been fully updated. Thus we block any other compaction events
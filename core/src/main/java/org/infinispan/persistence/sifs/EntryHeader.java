@@ -7,6 +7,8 @@
  */
 public class EntryHeader {
    private static final byte MAGIC = 0x01;
+   // Same layout, but the value is compressed, see EntryRecord#compress
+   private static final byte MAGIC_COMPRESSED = 0x02;
    /* 1 byte  - magic key
     * 2 bytes - key length
     * 2 bytes - metadata length
@@ -32,14 +34,21 @@ public class EntryHeader {
    private final long expiration;
    private final int internalMetadataLength;
    private final int headerLength;
+   private final boolean compressed;
 
    public EntryHeader(ByteBuffer buffer) {
       this(buffer, false);
    }
 
    public EntryHeader(ByteBuffer buffer, boolean oldFormat) {
-      if (!oldFormat && buffer.get() != MAGIC) {
+      if (oldFormat) {
+         this.compressed = false;
+      } else {
+         byte magic = buffer.get();
+         if (magic != MAGIC && magic != MAGIC_COMPRESSED) {
             throw new IllegalStateException();
+         }
+         this.compressed = magic == MAGIC_COMPRESSED;
       }
       this.keyLength = buffer.getShort();
       this.metadataLength = buffer.getShort();
@@ -78,17 +87,24 @@ public int getHeaderLength() {
       return headerLength;
    }
 
+   /**
+    * @return whether the value of the entry is stored compressed
+    */
+   public boolean isCompressed() {
+      return compressed;
+   }
+
    @Override
    public String toString() {
-      return String.format("[keyLength=%d, valueLength=%d, metadataLength=%d, internalMetadataLength=%d,seqId=%d, expiration=%d]", keyLength, valueLength, metadataLength, internalMetadataLength, seqId, expiration);
+      return String.format("[keyLength=%d, valueLength=%d, metadataLength=%d, internalMetadataLength=%d,seqId=%d, expiration=%d, compressed=%b]", keyLength, valueLength, metadataLength, internalMetadataLength, seqId, expiration, compressed);
    }
 
    public int totalLength() {
       return keyLength + metadataLength + internalMetadataLength + valueLength + headerLength;
    }
 
-   public static void writeHeader(ByteBuffer buf, short keyLength, short metadataLength, int valueLength, short internalMetadataLength, long seqId, long expiration) {
-      buf.put(EntryHeader.MAGIC);
+   public static void writeHeader(ByteBuffer buf, short keyLength, short metadataLength, int valueLength, short internalMetadataLength, long seqId, long expiration, boolean compressed) {
+      buf.put(compressed ? EntryHeader.MAGIC_COMPRESSED : EntryHeader.MAGIC);
       buf.putShort(keyLength);
       buf.putShort(metadataLength);
       buf.putInt(valueLength);
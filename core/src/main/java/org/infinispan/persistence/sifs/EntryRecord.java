@@ -3,13 +3,37 @@
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
 
 /**
  * Helper for reading/writing entries into file.
+ * <p>
+ * The value of an entry may be stored compressed with Deflate, which is recorded in its {@link EntryHeader}. Such a
+ * value starts with its uncompressed length on 4 bytes. The compressed value is read and copied as is by {@link
+ * #readValue(FileProvider.Handle, EntryHeader, long)}, the value returned to the store is decompressed by {@link
+ * #decompress(EntryHeader, byte[])}.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
 public class EntryRecord {
+   // Values are compressed by the threads writing to the store and decompressed by the threads reading from it. The
+   // compressors and decompressors hold native memory until they are ended, so only a bounded number of them is kept
+   // for reuse and the others are ended once used
+   static final int CODEC_POOL_SIZE = ProcessorInfo.availableProcessors() * 2;
+   private static final BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(CODEC_POOL_SIZE);
+   private static final BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(CODEC_POOL_SIZE);
+   // Each thread reuses its own compression buffer
+   private static final ThreadLocal<byte[]> COMPRESSION_BUFFER = ThreadLocal.withInitial(() -> Util.EMPTY_BYTE_ARRAY);
+   // Larger buffers are not kept by the threads
+   private static final int MAX_COMPRESSION_BUFFER_LENGTH = 64 * 1024;
 
    private final EntryHeader header;
    private final byte[] key;
@@ -54,7 +78,7 @@ public EntryRecord loadMetadataAndValue(FileProvider.Handle handle, int offset,
       loadMetadata(handle, offset);
       byte[] readValue = null;
       if (value == null) {
-         readValue = readValue(handle, header, offset);
+         readValue = decompress(header, readValue(handle, header, offset));
          if (saveValue) {
             value = readValue;
          }
@@ -158,6 +182,87 @@ public static byte[] readValue(FileProvider.Handle handle, EntryHeader header, l
       return value;
    }
 
+   /**
+    * Compresses the value with Deflate, prefixed by its length.
+    *
+    * @return the compressed value, or {@code null} if it is not smaller than the original one
+    */
+   static byte[] compress(byte[] buf, int offset, int length) {
+      if (length <= 4) {
+         return null;
+      }
+      Deflater deflater = DEFLATERS.poll();
+      if (deflater == null) {
+         deflater = new Deflater(Deflater.BEST_SPEED);
+      }
+      try {
+         deflater.setInput(buf, offset, length);
+         deflater.finish();
+         byte[] compressed = compressionBuffer(length);
+         ByteBuffer.wrap(compressed).putInt(length);
+         int compressedLength = 4;
+         while (!deflater.finished() && compressedLength < length) {
+            compressedLength += deflater.deflate(compressed, compressedLength, length - compressedLength);
+         }
+         if (!deflater.finished()) {
+            return null;
+         }
+         return Arrays.copyOf(compressed, compressedLength);
+      } finally {
+         deflater.reset();
+         if (!DEFLATERS.offer(deflater)) {
+            deflater.end();
+         }
+      }
+   }
+
+   private static byte[] compressionBuffer(int length) {
+      byte[] buffer = COMPRESSION_BUFFER.get();
+      if (buffer.length < length) {
+         buffer = new byte[length];
+         if (length <= MAX_COMPRESSION_BUFFER_LENGTH) {
+            COMPRESSION_BUFFER.set(buffer);
+         }
+      }
+      return buffer;
+   }
+
+   /**
+    * @return the value as written by the store, which is the given value unless the header marks it as compressed
+    */
+   public static byte[] decompress(EntryHeader header, byte[] value) {
+      if (!header.isCompressed() || value == null) {
+         return value;
+      }
+      Inflater inflater = INFLATERS.poll();
+      if (inflater == null) {
+         inflater = new Inflater();
+      }
+      try {
+         byte[] decompressed = new byte[ByteBuffer.wrap(value).getInt()];
+         inflater.setInput(value, 4, value.length - 4);
+         int decompressedLength = 0;
+         while (!inflater.finished() && decompressedLength < decompressed.length) {
+            int inflated = inflater.inflate(decompressed, decompressedLength, decompressed.length - decompressedLength);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+               break;
+            }
+            decompressedLength += inflated;
+         }
+         if (decompressedLength != decompressed.length) {
+            throw new IllegalStateException("Compressed value is truncated: " + header);
+         }
+         return decompressed;
+      } catch (DataFormatException e) {
+         throw new IllegalStateException("Cannot decompress value: " + header, e);
+      } finally {
+         inflater.reset();
+         if (!INFLATERS.offer(inflater)) {
+            inflater.end();
+         }
+      }
+   }
+
    private static int read(FileProvider.Handle handle, ByteBuffer buffer, long position, int length) throws IOException {
       int read = 0;
       do {
@@ -171,13 +276,13 @@ private static int read(FileProvider.Handle handle, ByteBuffer buffer, long posi
    }
 
    public static void writeEntry(FileChannel fileChannel, ByteBuffer reusedBuffer, byte[] serializedKey, EntryMetadata metadata, byte[] serializedValue,
-                                 byte[] serializedInternalMetadata, long seqId, long expiration) throws IOException {
+                                 byte[] serializedInternalMetadata, long seqId, long expiration, boolean compressed) throws IOException {
       assert reusedBuffer.limit() == EntryHeader.HEADER_SIZE_11_0;
       assert reusedBuffer.position() == 0;
       EntryHeader.writeHeader(reusedBuffer, (short) serializedKey.length, metadata == null ? 0 : (short) metadata.length(),
             serializedValue == null ? 0 : serializedValue.length,
             serializedInternalMetadata == null ? 0 : (short) serializedInternalMetadata.length,
-            seqId, expiration);
+            seqId, expiration, compressed);
       reusedBuffer.flip();
       write(fileChannel, reusedBuffer);
       reusedBuffer.position(0);
@@ -198,13 +303,13 @@ static void writeEntry(FileChannel fileChannel, ByteBuffer reusedBuffer, ByteBuf
                                  ByteBuffer serializedMetadata,
                                  ByteBuffer serializedInternalMetadata,
                                  ByteBuffer serializedValue,
-                                 long seqId, long expiration, long created, long lastUsed) throws IOException {
+                                 long seqId, long expiration, long created, long lastUsed, boolean compressed) throws IOException {
       assert reusedBuffer.limit() == EntryHeader.HEADER_SIZE_11_0;
       assert reusedBuffer.position() == 0;
       EntryHeader.writeHeader(reusedBuffer, (short) serializedKey.remaining(), EntryMetadata.size(serializedMetadata),
             serializedValue == null ? 0 : serializedValue.remaining(),
             serializedInternalMetadata == null ? 0 : (short) serializedInternalMetadata.remaining(),
-            seqId, expiration);
+            seqId, expiration, compressed);
       reusedBuffer.flip();
       write(fileChannel, reusedBuffer);
       reusedBuffer.position(0);
@@ -221,6 +326,33 @@ static void writeEntry(FileChannel fileChannel, ByteBuffer reusedBuffer, ByteBuf
       }
    }
 
+   /**
+    * Same as {@link #writeEntry(FileChannel, ByteBuffer, ByteBuffer, ByteBuffer, ByteBuffer, ByteBuffer, long, long, long, long, boolean)}
+    * but appends the entry to the given buffer, which must have enough space remaining for it
+    */
+   static void writeEntry(ByteBuffer buffer, ByteBuffer serializedKey,
+                          ByteBuffer serializedMetadata,
+                          ByteBuffer serializedInternalMetadata,
+                          ByteBuffer serializedValue,
+                          long seqId, long expiration, long created, long lastUsed, boolean compressed) {
+      EntryHeader.writeHeader(buffer, (short) serializedKey.remaining(), EntryMetadata.size(serializedMetadata),
+            serializedValue == null ? 0 : serializedValue.remaining(),
+            serializedInternalMetadata == null ? 0 : (short) serializedInternalMetadata.remaining(),
+            seqId, expiration, compressed);
+      buffer.put(serializedKey);
+      if (serializedMetadata != null) {
+         buffer.put(serializedMetadata);
+         buffer.putLong(created);
+         buffer.putLong(lastUsed);
+      }
+      if (serializedValue != null) {
+         buffer.put(serializedValue);
+      }
+      if (serializedInternalMetadata != null) {
+         buffer.put(serializedInternalMetadata);
+      }
+   }
+
    private static void writeTimestamps(FileChannel fileChannel, ByteBuffer reusedBuffer, long created, long lastUsed) throws IOException {
       assert reusedBuffer.position() == 0;
       int previousLimit = reusedBuffer.limit();
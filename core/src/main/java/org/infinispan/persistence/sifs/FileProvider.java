@@ -154,6 +154,18 @@ public long getFileSize(int file) {
       }
    }
 
+   /**
+    * @return whether the file is still being written, by the log appender or by the compactor
+    */
+   public boolean isLogFile(int fileId) {
+      lock.readLock().lock();
+      try {
+         return logFiles.contains(fileId);
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
    private String fileIdToString(int fileId) {
       return prefix + fileId;
    }
@@ -45,6 +45,7 @@ class Index {
    // PRE ISPN 13 GRACEFULLY VALUE = 0x512ACEF0;
    private static final int GRACEFULLY = 0x512ACEF1;
    private static final int DIRTY = 0xD112770C;
+   private static final int CHECKPOINTED = 0xC4EC9017;
    // 4 bytes for graceful shutdown
    // 4 bytes for segment max (this way the index can be regenerated if number of segments change
    // 8 bytes root offset
@@ -62,13 +63,16 @@ class Index {
    private final ReadWriteLock lock = new ReentrantReadWriteLock();
    private final Segment[] segments;
    private final TimeService timeService;
+   // This variable is null unless the index is checkpointed
+   private final Checkpointer checkpointer;
 
    private final FlowableProcessor<IndexRequest>[] flowableProcessors;
 
    public Index(NonBlockingManager nonBlockingManager, FileProvider fileProvider, Path indexDir, int segments,
                 int minNodeSize, int maxNodeSize, TemporaryTable temporaryTable, Compactor compactor,
-                TimeService timeService) throws IOException {
+                TimeService timeService, Checkpointer checkpointer) throws IOException {
       this.nonBlockingManager = nonBlockingManager;
+      this.checkpointer = checkpointer;
       this.fileProvider = fileProvider;
       this.compactor = compactor;
       this.timeService = timeService;
@@ -99,6 +103,17 @@ public boolean isLoaded() {
       return true;
    }
 
+   /**
+    * @return True if every segment was loaded either from well persisted state or from a checkpoint, in which case
+    * the index may miss the entries written after the checkpoint
+    */
+   public boolean isCheckpointed() {
+      for (Segment segment : segments) {
+         if (!segment.loaded && !segment.checkpointed) return false;
+      }
+      return true;
+   }
+
    /**
     * Get record or null if expired
     */
@@ -166,7 +181,12 @@ public void deleteFileAsync(int fileId) {
             // After all indexes have ensured they have processed all requests - the last one will delete the file
             // This guarantees that the index can't see an outdated value
             if (count.decrementAndGet() == 0) {
-               fileProvider.deleteFile(fileId);
+               if (checkpointer != null) {
+                  // The last checkpoint may still reference the entries of the file
+                  checkpointer.fileObsolete(fileId);
+               } else {
+                  fileProvider.deleteFile(fileId);
+               }
                log.tracef("Deleted file %s", fileId);
                compactor.releaseStats(fileId);
             }
@@ -175,6 +195,20 @@ public void deleteFileAsync(int fileId) {
       }
    }
 
+   /**
+    * Persists the current root of every segment, once the requests submitted before are applied. A segment that was
+    * checkpointed is loaded from its last checkpoint after a crash.
+    */
+   public CompletionStage<Void> checkpoint() {
+      AggregateCompletionStage<Void> stage = CompletionStages.aggregateCompletionStage();
+      for (FlowableProcessor<IndexRequest> processor : flowableProcessors) {
+         IndexRequest checkpointRequest = IndexRequest.checkpointRequest();
+         processor.onNext(checkpointRequest);
+         stage.dependsOn(checkpointRequest);
+      }
+      return stage.freeze();
+   }
+
    public CompletionStage<Void> stop() throws InterruptedException {
       for (FlowableProcessor<IndexRequest> flowableProcessor : flowableProcessors) {
          flowableProcessor.onComplete();
@@ -236,9 +270,14 @@ class Segment extends CompletableFuture<Void> implements Consumer<IndexRequest>,
       private final TreeMap<Short, List<IndexSpace>> freeBlocks = new TreeMap<>();
       private final ReadWriteLock rootLock = new ReentrantReadWriteLock();
       private final boolean loaded;
+      private final boolean checkpointed;
       private final FileChannel indexFile;
       private long indexFileSize;
       private final AtomicLong size = new AtomicLong();
+      // This variable is null unless the index is checkpointed. Holds the index space freed since the last checkpoint,
+      // which may still reference it
+      private List<IndexSpace> pendingFreeBlocks;
+      private IndexSpace checkpointRootSpace;
 
       private volatile IndexNode root;
 
@@ -253,22 +292,40 @@ private Segment(int id, TemporaryTable temporaryTable) throws IOException {
          ByteBuffer buffer = ByteBuffer.allocate(INDEX_FILE_HEADER_SIZE);
          int gracefulValue, segmentValue;
          if (indexFile.size() >= INDEX_FILE_HEADER_SIZE && read(indexFile, buffer)
-               && (gracefulValue = buffer.getInt(0)) == GRACEFULLY && (segmentValue = buffer.getInt(4)) == segmentMax) {
+               && ((gracefulValue = buffer.getInt(0)) == GRACEFULLY || gracefulValue == CHECKPOINTED)
+               && (segmentValue = buffer.getInt(4)) == segmentMax) {
             long rootOffset = buffer.getLong(8);
             short rootOccupied = buffer.getShort(16);
             long freeBlocksOffset = buffer.getLong(18);
             size.set(buffer.getLong(26));
-            root = new IndexNode(this, rootOffset, rootOccupied);
-            loadFreeBlocks(freeBlocksOffset);
-            indexFileSize = freeBlocksOffset;
-            loaded = true;
+            if (gracefulValue == GRACEFULLY) {
+               root = new IndexNode(this, rootOffset, rootOccupied);
+               loadFreeBlocks(freeBlocksOffset);
+               indexFileSize = freeBlocksOffset;
+               loaded = true;
+               checkpointed = false;
+            } else {
+               root = loadCheckpointedRoot(id, rootOffset, rootOccupied);
+               // The nodes written after the checkpoint may be anywhere in the file, including the space that was
+               // free when it was taken, so none of the space in the file is reused
+               indexFileSize = indexFile.size();
+               loaded = false;
+               checkpointed = root != null;
+            }
          } else {
+            loaded = false;
+            checkpointed = false;
+         }
+         if (root == null) {
             this.indexFile.truncate(0);
             root = IndexNode.emptyWithLeaves(this);
-            loaded = false;
+            size.set(0);
             // reserve space for shutdown
             indexFileSize = INDEX_FILE_HEADER_SIZE;
          }
+         if (checkpointer != null) {
+            pendingFreeBlocks = new ArrayList<>();
+         }
          buffer.putInt(0, DIRTY);
          buffer.position(0);
          buffer.limit(4);
@@ -306,9 +363,21 @@ public void accept(IndexRequest request) throws Throwable {
                indexFile.truncate(0);
                indexFileSize = INDEX_FILE_HEADER_SIZE;
                freeBlocks.clear();
+               if (pendingFreeBlocks != null) {
+                  pendingFreeBlocks.clear();
+                  checkpointRootSpace = null;
+               }
                size.set(0);
                nonBlockingManager.complete(request,null);
                return;
+            case CHECKPOINT:
+               try {
+                  checkpoint();
+                  nonBlockingManager.complete(request, null);
+               } catch (IOException e) {
+                  request.completeExceptionally(e);
+               }
+               return;
             case SYNC_REQUEST:
                Runnable runnable = (Runnable) request.getKey();
                runnable.run();
@@ -372,9 +441,62 @@ public void setOverwritten(boolean overwritten, int prevFile, int prevOffset) {
          }
       }
 
+      /**
+       * @return the root referenced by the checkpoint header, or {@code null} if it cannot be read, in which case the
+       *         segment is rebuilt from the data files
+       */
+      private IndexNode loadCheckpointedRoot(int id, long rootOffset, short rootOccupied) {
+         try {
+            return new IndexNode(this, rootOffset, rootOccupied);
+         } catch (IOException | RuntimeException e) {
+            log.debugf(e, "Cannot load the checkpoint of index segment %d", id);
+            return null;
+         }
+      }
+
+      /**
+       * Writes a copy of the root and a header referencing it, after making sure the nodes it references are on disk.
+       * The space freed since the previous checkpoint can be reused afterwards.
+       */
+      private void checkpoint() throws IOException {
+         IndexSpace rootSpace = allocateIndexSpace(root.length());
+         root.storeCopy(rootSpace);
+         indexFile.force(false);
+         ByteBuffer buffer = ByteBuffer.allocate(INDEX_FILE_HEADER_SIZE);
+         buffer.putInt(0, CHECKPOINTED);
+         buffer.putInt(4, temporaryTable.getSegmentMax());
+         buffer.putLong(8, rootSpace.offset);
+         buffer.putShort(16, rootSpace.length);
+         // The free blocks are not persisted, as they may be reused after the checkpoint
+         buffer.putLong(18, -1);
+         buffer.putLong(26, size.get());
+         indexFile.position(0);
+         write(indexFile, buffer);
+         indexFile.force(false);
+
+         releasePendingFreeBlocks();
+         checkpointRootSpace = rootSpace;
+      }
+
+      private void releasePendingFreeBlocks() {
+         List<IndexSpace> released = pendingFreeBlocks;
+         pendingFreeBlocks = new ArrayList<>();
+         if (checkpointRootSpace != null) {
+            released.add(checkpointRootSpace);
+            checkpointRootSpace = null;
+         }
+         for (IndexSpace space : released) {
+            releaseIndexSpace(space.offset, space.length);
+         }
+      }
+
       // This is ran when the flowable ends either via normal termination or error
       @Override
       public void run() throws IOException {
+         if (pendingFreeBlocks != null) {
+            // The whole index is persisted, so no previous checkpoint is needed any more
+            releasePendingFreeBlocks();
+         }
          IndexSpace rootSpace = allocateIndexSpace(root.length());
          root.store(rootSpace);
          indexFile.position(indexFileSize);
@@ -495,9 +617,27 @@ IndexSpace allocateIndexSpace(short length) {
          }
       }
 
+      /**
+       * @return whether the nodes must be written to new space instead of being overwritten, as the last checkpoint
+       *         may reference them
+       */
+      boolean isCopyOnWrite() {
+         return pendingFreeBlocks != null;
+      }
+
       // this should be accessed only from the updater thread
       void freeIndexSpace(long offset, short length) {
          if (length <= 0) throw new IllegalArgumentException("Offset=" + offset + ", length=" + length);
+         if (pendingFreeBlocks != null) {
+            // The last checkpoint may still reference this space
+            pendingFreeBlocks.add(new IndexSpace(offset, length));
+            return;
+         }
+         releaseIndexSpace(offset, length);
+      }
+
+      // this should be accessed only from the updater thread
+      private void releaseIndexSpace(long offset, short length) {
          // TODO: fragmentation!
          // TODO: memory bounds!
          if (offset + length < indexFileSize) {
@@ -168,6 +168,18 @@ private void replaceContent(IndexNode other) throws IOException {
    void store(Index.IndexSpace indexSpace) throws IOException {
       this.offset = indexSpace.offset;
       this.occupiedSpace = indexSpace.length;
+      write(indexSpace);
+   }
+
+   /**
+    * Writes the content of this node to the given space, without moving the node there. Used to checkpoint the root,
+    * which keeps being modified in memory afterwards.
+    */
+   void storeCopy(Index.IndexSpace indexSpace) throws IOException {
+      write(indexSpace);
+   }
+
+   private void write(Index.IndexSpace indexSpace) throws IOException {
       ByteBuffer buffer = ByteBuffer.allocate(length());
       buffer.putShort((short) prefix.length);
       buffer.put(prefix);
@@ -198,12 +210,12 @@ void store(Index.IndexSpace indexSpace) throws IOException {
       }
       assert buffer.position() == buffer.limit() : "Buffer position: " + buffer.position() + " limit: " + buffer.limit();
       buffer.flip();
-      segment.getIndexFile().write(buffer, offset);
+      segment.getIndexFile().write(buffer, indexSpace.offset);
 
       if (log.isTraceEnabled()) {
          log.tracef("Persisted %08x (length %d, %d %s) to %d:%d", System.identityHashCode(this), length(),
             innerNodes != null ? innerNodes.length : leafNodes.length,
-            innerNodes != null ? "children" : "leaves", offset, occupiedSpace);
+            innerNodes != null ? "children" : "leaves", indexSpace.offset, indexSpace.length);
       }
    }
 
@@ -463,7 +475,7 @@ private static JoinSplitResult manageLength(Index.Segment segment, Deque<Path> s
          Path parent = stack.peek();
          if (parent.node.innerNodes.length == 1) {
             // we have no siblings - we can't merge with them even when we're really short
-            if (copy.length() <= node.occupiedSpace) {
+            if (copy.length() <= node.occupiedSpace && !segment.isCopyOnWrite()) {
                node.replaceContent(copy);
                return null;
             } else {
@@ -506,15 +518,14 @@ private static JoinSplitResult manageLength(Index.Segment segment, Deque<Path> s
             to = joinWith;
          }
          garbage.push(joiner);
-      } else if (copy.length() <= node.occupiedSpace) {
-         if (copy.innerNodes != null && copy.innerNodes.length == 1 && stack.isEmpty()) {
-            IndexNode child = copy.innerNodes[0].getIndexNode(copy.segment);
-            return new JoinSplitResult(0, 0, Collections.singletonList(child));
-         } else {
-            // special case where we only overwrite the key
-            node.replaceContent(copy);
-            return null;
-         }
+      } else if (copy.length() <= node.occupiedSpace && copy.innerNodes != null && copy.innerNodes.length == 1
+            && stack.isEmpty()) {
+         IndexNode child = copy.innerNodes[0].getIndexNode(copy.segment);
+         return new JoinSplitResult(0, 0, Collections.singletonList(child));
+      } else if (copy.length() <= node.occupiedSpace && !segment.isCopyOnWrite()) {
+         // special case where we only overwrite the key
+         node.replaceContent(copy);
+         return null;
       } else if (stack.isEmpty()) {
          from = to = 0;
       } else {
@@ -673,6 +684,14 @@ private IndexNode copyWith(int cacheSegment, byte[] key, int file, int offset, i
                            oldLeafNode.file, oldLeafNode.offset, file, offset, numRecords));
                   }
 
+                  if (segment.isCopyOnWrite()) {
+                     // The last checkpoint may reference this node, so the new position goes to a copy of it
+                     segment.getCompactor().free(oldLeafNode.file, hak.getHeader().totalLength());
+                     LeafNode[] newLeafNodes = leafNodes.clone();
+                     newLeafNodes[insertPart] = new LeafNode(file, offset, numRecords, cacheSegment);
+                     overwriteHook.setOverwritten(true, oldLeafNode.file, oldLeafNode.offset);
+                     return new IndexNode(segment, prefix, keyParts, newLeafNodes);
+                  }
                   updateFileOffsetInFile(insertPart, file, offset);
 
                   segment.getCompactor().free(oldLeafNode.file, hak.getHeader().totalLength());
@@ -18,7 +18,8 @@ public enum Type {
       FOUND_OLD,
       CLEAR,
       SYNC_REQUEST,
-      SIZE
+      SIZE,
+      CHECKPOINT
    }
 
    private final Type type;
@@ -74,6 +75,10 @@ public static IndexRequest syncRequest(Runnable runnable) {
       return new IndexRequest(Type.SYNC_REQUEST, -1, runnable, null, -1, -1, -1, -1, -1);
    }
 
+   public static IndexRequest checkpointRequest() {
+      return new IndexRequest(Type.CHECKPOINT, -1, null, null, -1, -1, -1, -1, -1);
+   }
+
    public static IndexRequest sizeRequest() {
       return new IndexRequest(Type.SIZE, -1,null, null, -1, -1, -1, -1, -1);
    }
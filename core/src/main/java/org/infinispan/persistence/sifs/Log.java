@@ -84,4 +84,20 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Index looks corrupt.", id = 29020)
    PersistenceException indexLooksCorrupt(@Cause Exception e);
+
+   @Message(value = "Sync window (%d ms) must not be negative and sync batch size (%d bytes) must be positive.", id = 29021)
+   CacheConfigurationException invalidSyncWindow(long syncWindow, int syncBatchSize);
+
+   @Message(value = "Index checkpoint interval (%d ms) must not be negative.", id = 29022)
+   CacheConfigurationException invalidCheckpointInterval(long checkpointInterval);
+
+   @LogMessage(level = Logger.Level.WARN)
+   @Message(value = "Cannot checkpoint the index.", id = 29023)
+   void cannotCheckpointIndex(@Cause Throwable t);
+
+   @Message(value = "Maximum compaction rate (%d bytes per second) must not be negative.", id = 29024)
+   CacheConfigurationException invalidMaxCompactionRate(long maxCompactionRate);
+
+   @Message(value = "Compression threshold (%d bytes) must not be negative.", id = 29025)
+   CacheConfigurationException invalidCompressionThreshold(int compressionThreshold);
 }
@@ -1,5 +1,6 @@
 package org.infinispan.persistence.sifs;
 
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -7,7 +8,10 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.persistence.spi.MarshallableEntry;
@@ -21,17 +25,25 @@
 
 public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass(), Log.class);
+   // Maximum number of bytes of synced writes that are appended to the file with a single write
+   private static final int MAX_APPEND_BUFFER_SIZE = 1024 * 1024;
 
    private final NonBlockingManager nonBlockingManager;
    private final Index index;
    private final TemporaryTable temporaryTable;
    private final Compactor compactor;
    private final FileProvider fileProvider;
+   // This variable is null unless the index is checkpointed
+   private final Checkpointer checkpointer;
    private final boolean syncWrites;
+   private final long syncWindowNanos;
+   private final int syncBatchSize;
    private final int maxFileSize;
+   private final int compressionThreshold;
    // Used to keep track of how many log requests have been submitted. This way if the blocking thread has consumed
    // the same number of log requests it can immediately flush.
    private final AtomicInteger submittedCount = new AtomicInteger();
+   private final LongAdder appendedBytes = new LongAdder();
    // This variable is null unless sync writes are enabled. When sync writes are enabled this list holds
    // all the log requests that should be completed when the disk is ensured to be flushed
    private final List<LogRequest> toSyncLogRequests;
@@ -39,6 +51,9 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    // This buffer is used by the log appender thread to avoid allocating buffers per entry written that are smaller
    // than the header size
    private final java.nio.ByteBuffer REUSED_BUFFER = java.nio.ByteBuffer.allocate(EntryHeader.HEADER_SIZE_11_0);
+   // This variable is null unless sync writes are enabled. The entries waiting for the sync are accumulated in this
+   // buffer by the log appender thread, so that they are written to the file at once before the sync
+   private final java.nio.ByteBuffer appendBuffer;
 
    // These variables are only ever read from the provided executor and rxjava guarantees visibility
    // to it so they don't need to be volatile or synchronized
@@ -46,6 +61,8 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
    private long seqId = 0;
    private int receivedCount = 0;
    private List<LogRequest> delayedLogRequests;
+   private int toSyncBytes;
+   private long toSyncSinceNanos;
    private FileProvider.Log logFile;
 
    // This is volatile as it can be read from different threads when submitting
@@ -55,16 +72,24 @@ public class LogAppender implements Consumer<LogAppender.WriteOperation> {
 
    public LogAppender(NonBlockingManager nonBlockingManager, Index index,
                       TemporaryTable temporaryTable, Compactor compactor,
-                      FileProvider fileProvider, boolean syncWrites, int maxFileSize) {
+                      FileProvider fileProvider, Checkpointer checkpointer, boolean syncWrites, long syncWindow,
+                      int syncBatchSize, int maxFileSize, int compressionThreshold) {
       this.nonBlockingManager = nonBlockingManager;
       this.index = index;
       this.temporaryTable = temporaryTable;
       this.compactor = compactor;
       this.fileProvider = fileProvider;
+      this.checkpointer = checkpointer;
       this.syncWrites = syncWrites;
+      this.syncWindowNanos = TimeUnit.MILLISECONDS.toNanos(syncWindow);
+      this.syncBatchSize = syncBatchSize;
       this.maxFileSize = maxFileSize;
+      this.compressionThreshold = compressionThreshold;
 
       this.toSyncLogRequests = syncWrites ? new ArrayList<>() : null;
+      this.appendBuffer = syncWrites ?
+            java.nio.ByteBuffer.allocateDirect(Math.min(Math.min(syncBatchSize, maxFileSize), MAX_APPEND_BUFFER_SIZE)) :
+            null;
    }
 
    public synchronized void start(Executor executor) {
@@ -146,7 +171,7 @@ public CompletionStage<Void> resume() {
    }
 
    public <K, V> CompletionStage<Void> storeRequest(int segment, MarshallableEntry<K, V> entry) {
-      LogRequest storeRequest = LogRequest.storeRequest(segment, entry);
+      LogRequest storeRequest = LogRequest.storeRequest(segment, entry, compressionThreshold);
       requestProcessor.onNext(storeRequest);
       return storeRequest.thenRun(() -> handleRequestCompletion(storeRequest));
    }
@@ -158,6 +183,9 @@ private void handleRequestCompletion(LogRequest request) {
             request.getFile(), offset, request.length());
       request.setIndexRequest(indexRequest);
       index.handleRequest(indexRequest);
+      if (checkpointer != null) {
+         checkpointer.writeIndexed(request.getFile());
+      }
    }
 
    public CompletionStage<Boolean> deleteRequest(int segment, Object key, ByteBuffer serializedKey) {
@@ -215,6 +243,10 @@ private void sendToWriteProcessor(LogRequest request) {
    @Override
    public void accept(WriteOperation writeOperation) {
       LogRequest actualRequest = writeOperation.logRequest;
+      if (syncWrites && actualRequest.getKey() != null) {
+         // Counted before anything can fail, to stay in line with the submitted count
+         ++receivedCount;
+      }
       try {
          if (logFile == null) {
             logFile = fileProvider.getFileForLog();
@@ -222,8 +254,8 @@ public void accept(WriteOperation writeOperation) {
          }
 
          if (actualRequest.isClear()) {
+            syncPendingLogRequests();
             logFile.close();
-            completePendingLogRequests();
             currentOffset = 0;
             logFile = null;
             completeRequest(actualRequest);
@@ -232,37 +264,155 @@ public void accept(WriteOperation writeOperation) {
          int actualLength = actualRequest.length();
          if (currentOffset != 0 && currentOffset + actualLength > maxFileSize) {
             // switch to next file
+            syncPendingLogRequests();
             logFile.close();
             compactor.completeFile(logFile.fileId, currentOffset);
-            completePendingLogRequests();
-            logFile = fileProvider.getFileForLog();
+            logFile = null;
             currentOffset = 0;
+            logFile = fileProvider.getFileForLog();
             log.tracef("Appending records to %s", logFile.fileId);
          }
          long seqId = nextSeqId();
          log.tracef("Apppending record to %s:%s", logFile.fileId, currentOffset);
-         EntryRecord.writeEntry(logFile.fileChannel, REUSED_BUFFER, writeOperation.serializedKey,
-               writeOperation.serializedMetadata, writeOperation.serializedInternalMetadata,
-               writeOperation.serializedValue, seqId, actualRequest.getExpiration(), actualRequest.getCreated(),
-               actualRequest.getLastUsed());
          actualRequest.setFile(logFile.fileId);
          actualRequest.setFileOffset(currentOffset);
+         if (checkpointer != null) {
+            checkpointer.writeAppended(logFile.fileId, seqId);
+         }
+         appendedBytes.add(actualLength);
 
          if (!syncWrites) {
+            EntryRecord.writeEntry(logFile.fileChannel, REUSED_BUFFER, writeOperation.serializedKey,
+                  writeOperation.serializedMetadata, writeOperation.serializedInternalMetadata,
+                  writeOperation.serializedValue, seqId, actualRequest.getExpiration(), actualRequest.getCreated(),
+                  actualRequest.getLastUsed(), actualRequest.isCompressed());
+            currentOffset += actualLength;
             completeRequest(actualRequest);
          } else {
+            append(writeOperation, seqId, actualLength);
+            currentOffset += actualLength;
             // This cannot be null when sync writes is true
             toSyncLogRequests.add(actualRequest);
-            if (submittedCount.get() == ++receivedCount || toSyncLogRequests.size() == 1000) {
-               logFile.fileChannel.force(false);
-               completePendingLogRequests();
+            if (toSyncLogRequests.size() == 1) {
+               toSyncSinceNanos = System.nanoTime();
+            }
+            toSyncBytes += actualLength;
+            if (shouldSync()) {
+               syncPendingLogRequests();
             }
          }
-         currentOffset += actualLength;
       } catch (Exception e) {
          log.debugf("Exception encountered while processing log request %s", actualRequest);
+         // The file is only valid up to the first record that failed, which is the current offset unless records
+         // appended before were waiting for the sync
+         int validOffset = currentOffset;
          actualRequest.completeExceptionally(e);
+         if (toSyncLogRequests != null) {
+            if (!toSyncLogRequests.isEmpty()) {
+               validOffset = toSyncLogRequests.get(0).getFileOffset();
+            }
+            // The requests appended before this one may have not been written to the file
+            appendBuffer.clear();
+            toSyncBytes = 0;
+            for (Iterator<LogRequest> iter = toSyncLogRequests.iterator(); iter.hasNext(); ) {
+               LogRequest logRequest = iter.next();
+               iter.remove();
+               logRequest.completeExceptionally(e);
+            }
+         }
+         discardFailedRecords(validOffset);
+      }
+   }
+
+   /**
+    * Removes the records that failed to be written from the end of the log file, so that the next record is appended
+    * right after the last one that was written. If the file cannot be truncated, it is completed at that offset and the
+    * next record is appended to a new file.
+    */
+   private void discardFailedRecords(int validOffset) {
+      if (logFile == null) {
+         return;
+      }
+      try {
+         logFile.fileChannel.truncate(validOffset);
+         logFile.fileChannel.position(validOffset);
+         currentOffset = validOffset;
+      } catch (IOException e) {
+         log.debugf(e, "Unable to truncate log file %d to %d, appending to a new file", logFile.fileId, validOffset);
+         compactor.completeFile(logFile.fileId, validOffset);
+         try {
+            logFile.close();
+         } catch (IOException closeException) {
+            log.debugf(closeException, "Unable to close log file %d", logFile.fileId);
+         }
+         logFile = null;
+         currentOffset = 0;
+      }
+   }
+
+   /**
+    * Appends the entry to the buffer of entries waiting for the sync, writing the buffer to the file first if the entry
+    * does not fit. Entries larger than the buffer are written to the file directly.
+    */
+   private void append(WriteOperation writeOperation, long seqId, int length) throws IOException {
+      LogRequest request = writeOperation.logRequest;
+      if (appendBuffer.remaining() < length) {
+         flushAppendBuffer();
+         if (appendBuffer.capacity() < length) {
+            EntryRecord.writeEntry(logFile.fileChannel, REUSED_BUFFER, writeOperation.serializedKey,
+                  writeOperation.serializedMetadata, writeOperation.serializedInternalMetadata,
+                  writeOperation.serializedValue, seqId, request.getExpiration(), request.getCreated(),
+                  request.getLastUsed(), request.isCompressed());
+            return;
+         }
+      }
+      EntryRecord.writeEntry(appendBuffer, writeOperation.serializedKey, writeOperation.serializedMetadata,
+            writeOperation.serializedInternalMetadata, writeOperation.serializedValue, seqId, request.getExpiration(),
+            request.getCreated(), request.getLastUsed(), request.isCompressed());
+   }
+
+   private void flushAppendBuffer() throws IOException {
+      appendBuffer.flip();
+      while (appendBuffer.hasRemaining()) {
+         logFile.fileChannel.write(appendBuffer);
+      }
+      appendBuffer.clear();
+   }
+
+   /**
+    * Decides whether the writes waiting for the sync should be synced now, or whether they can share the sync with
+    * writes that are already queued or that are submitted within the sync window.
+    */
+   private boolean shouldSync() {
+      if (toSyncBytes >= syncBatchSize || toSyncLogRequests.size() == 1000) {
+         return true;
+      }
+      if (submittedCount.get() != receivedCount) {
+         // The writes that are already queued will share the sync
+         return false;
       }
+      long remainingNanos = syncWindowNanos - (System.nanoTime() - toSyncSinceNanos);
+      if (remainingNanos > 0) {
+         // This thread only appends to the log, so it can wait for concurrent writes
+         LockSupport.parkNanos(remainingNanos);
+         // Writes submitted in the meantime are appended first, and the last of them performs the sync
+         return submittedCount.get() == receivedCount;
+      }
+      return true;
+   }
+
+   /**
+    * Writes the entries waiting for the sync to the file, fsyncs it and completes their requests.
+    * Must only be invoked by {@link #accept(WriteOperation)} method.
+    */
+   private void syncPendingLogRequests() throws IOException {
+      if (toSyncLogRequests == null || toSyncLogRequests.isEmpty()) {
+         return;
+      }
+      flushAppendBuffer();
+      logFile.fileChannel.force(false);
+      toSyncBytes = 0;
+      completePendingLogRequests();
    }
 
    /**
@@ -292,6 +442,13 @@ public void setSeqId(long seqId) {
       this.seqId = seqId;
    }
 
+   /**
+    * @return number of bytes of the entries written to the data files by the cache
+    */
+   public long getAppendedBytes() {
+      return appendedBytes.sum();
+   }
+
    private long nextSeqId() {
       return seqId++;
    }
@@ -3,6 +3,7 @@
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.persistence.spi.MarshallableEntry;
 
 /**
@@ -31,12 +32,14 @@ enum Type {
    private final ByteBuffer serializedInternalMetadata;
    private final long created;
    private final long lastUsed;
+   private final boolean compressed;
    private volatile int file;
    private volatile int fileOffset;
    private volatile IndexRequest indexRequest;
 
    private LogRequest(Type type, int segment, Object key, long expirationTime, ByteBuffer serializedKey, ByteBuffer serializedMetadata,
-                      ByteBuffer serializedInternalMetadata, ByteBuffer serializedValue, long created, long lastUsed) {
+                      ByteBuffer serializedInternalMetadata, ByteBuffer serializedValue, long created, long lastUsed,
+                      boolean compressed) {
       this.segment = segment;
       this.key = key;
       this.expirationTime = expirationTime;
@@ -46,20 +49,34 @@ private LogRequest(Type type, int segment, Object key, long expirationTime, Byte
       this.serializedValue = serializedValue;
       this.created = created;
       this.lastUsed = lastUsed;
+      this.compressed = compressed;
       this.type = type;
    }
 
    private LogRequest(Type type) {
-      this(type, -1, null, 0, null, null, null, null, -1, -1);
-   }
-
-   public static LogRequest storeRequest(int segment, MarshallableEntry entry) {
+      this(type, -1, null, 0, null, null, null, null, -1, -1, false);
+   }
+
+   /**
+    * @param compressionThreshold values of at least this many bytes are compressed, unless it is 0
+    */
+   public static LogRequest storeRequest(int segment, MarshallableEntry entry, int compressionThreshold) {
+      ByteBuffer serializedValue = entry.getValueBytes();
+      boolean compressed = false;
+      if (compressionThreshold > 0 && serializedValue != null && serializedValue.getLength() >= compressionThreshold) {
+         byte[] compressedValue = EntryRecord.compress(serializedValue.getBuf(), serializedValue.getOffset(),
+               serializedValue.getLength());
+         if (compressedValue != null) {
+            serializedValue = ByteBufferImpl.create(compressedValue);
+            compressed = true;
+         }
+      }
       return new LogRequest(Type.STORE, segment, entry.getKey(), entry.expiryTime(), entry.getKeyBytes(), entry.getMetadataBytes(),
-            entry.getInternalMetadataBytes(), entry.getValueBytes(), entry.created(), entry.lastUsed());
+            entry.getInternalMetadataBytes(), serializedValue, entry.created(), entry.lastUsed(), compressed);
    }
 
    public static LogRequest deleteRequest(int segment, Object key, ByteBuffer serializedKey) {
-      return new LogRequest(Type.DELETE, segment, key, -1, serializedKey, null, null, null, -1, -1);
+      return new LogRequest(Type.DELETE, segment, key, -1, serializedKey, null, null, null, -1, -1, false);
    }
 
    public static LogRequest clearRequest() {
@@ -105,6 +122,10 @@ public ByteBuffer getSerializedValue() {
       return serializedValue;
    }
 
+   public boolean isCompressed() {
+      return compressed;
+   }
+
    public long getCreated() {
       return created;
    }
@@ -6,17 +6,22 @@
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.configuration.ConfiguredBy;
@@ -32,8 +37,13 @@
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.jmx.CacheJmxRegistration;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.metrics.impl.CacheMetricsRegistration;
 import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration;
 import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
 import org.infinispan.persistence.spi.InitializationContext;
@@ -125,6 +135,7 @@
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
+@MBean(objectName = "SoftIndexFileStore", description = "Amplification of the writes and of the space of the soft index file store")
 @ConfiguredBy(SoftIndexFileStoreConfigurationBuilder.class)
 public class NonBlockingSoftIndexFileStore<K, V> implements NonBlockingStore<K, V> {
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass(), Log.class);
@@ -140,6 +151,8 @@
    private LogAppender logAppender;
    private Index index;
    private Compactor compactor;
+   private Checkpointer checkpointer;
+   private AutoCloseable checkpointTask;
    private Marshaller marshaller;
    private ByteBufferFactory byteBufferFactory;
    private MarshallableEntryFactory<K, V> marshallableEntryFactory;
@@ -193,19 +206,22 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       fileProvider = new FileProvider(getDataLocation(), configuration.openFilesLimit(), PREFIX_LATEST,
             configuration.maxFileSize());
       compactor = new Compactor(fileProvider, temporaryTable, marshaller, timeService, keyPartitioner, configuration.maxFileSize(), configuration.compactionThreshold(),
-            blockingManager.asExecutor("sifs-compactor"));
+            configuration.maxCompactionRate(), blockingManager.asExecutor("sifs-compactor"));
+      checkpointer = configuration.checkpointInterval() > 0 ? new Checkpointer(fileProvider, getIndexLocation()) : null;
       try {
          index = new Index(ctx.getNonBlockingManager(), fileProvider, getIndexLocation(), configuration.indexSegments(),
                configuration.minNodeSize(), configuration.maxNodeSize(),
-               temporaryTable, compactor, timeService);
+               temporaryTable, compactor, timeService, checkpointer);
       } catch (IOException e) {
          throw log.cannotOpenIndex(configuration.indexLocation(), e);
       }
       compactor.setIndex(index);
       logAppender = new LogAppender(ctx.getNonBlockingManager(), index, temporaryTable, compactor, fileProvider,
-            configuration.syncWrites(), configuration.maxFileSize());
+            checkpointer, configuration.syncWrites(), configuration.syncWindow(), configuration.syncBatchSize(), configuration.maxFileSize(),
+            configuration.compressionThreshold());
       logAppender.start(blockingManager.asExecutor("sifs-log-processor"));
       startIndex();
+      registerStatistics();
       final AtomicLong maxSeqId = new AtomicLong(0);
 
       if (!configuration.purgeOnStartup()) {
@@ -232,20 +248,46 @@ public CompletionStage<Void> start(InitializationContext ctx) {
                   buildIndex(maxSeqId);
                }
             } else {
-               log.debug("Building the index");
-               buildIndex(maxSeqId);
+               Checkpointer.Checkpoint checkpoint = index.isCheckpointed() ? Checkpointer.read(getIndexLocation()) : null;
+               if (checkpoint != null) {
+                  log.debug("Recovering the index from its last checkpoint");
+                  try {
+                     recoverIndex(checkpoint, maxSeqId);
+                  } catch (Throwable t) {
+                     log.debug("Failed to recover the index from its last checkpoint. Rebuilding it.", t);
+                     rebuildIndex(maxSeqId);
+                  }
+               } else {
+                  log.debug("Building the index");
+                  buildIndex(maxSeqId);
+               }
             }
             if (!migrateData) {
                logAppender.setSeqId(maxSeqId.get() + 1);
             }
-
+            startCheckpoints();
          }, "soft-index-start");
 
       }
       log.debug("Not building the index - purge will be executed");
+      startCheckpoints();
       return CompletableFutures.completedNull();
    }
 
+   private void startCheckpoints() {
+      if (checkpointer == null) {
+         return;
+      }
+      long interval = configuration.checkpointInterval();
+      checkpointTask = ctx.getNonBlockingManager().scheduleWithFixedDelay(() -> blockingManager.runBlocking(() -> {
+         try {
+            checkpointer.checkpoint(index);
+         } catch (IOException e) {
+            log.cannotCheckpointIndex(e);
+         }
+      }, "soft-index-checkpoint"), interval, interval, TimeUnit.MILLISECONDS);
+   }
+
    private void migrateFromOldFormat(FileProvider oldFileProvider) {
       String cacheName = ctx.getCache().getName();
       PERSISTENCE.startMigratingPersistenceData(cacheName);
@@ -320,8 +362,40 @@ private <T> T unmarshallLegacy(ByteBuffer buf, boolean allowInternal) throws Cla
       }
    }
 
+   private void recoverIndex(Checkpointer.Checkpoint checkpoint, AtomicLong maxSeqId) {
+      for (int file : checkpoint.obsoleteFiles) {
+         fileProvider.deleteFile(file);
+      }
+      for (int file : checkpoint.indexedFiles) {
+         compactor.completeFile(file, -1);
+      }
+      maxSeqId.set(checkpoint.maxSeqId);
+      // The entries of the other files may be missing from the checkpoint or be newer than the ones it references,
+      // replaying them is safe as older entries are recognized by their sequence id
+      buildIndex(filePublisher().filter(file -> !checkpoint.indexedFiles.contains(file)
+            && !checkpoint.obsoleteFiles.contains(file)), maxSeqId);
+   }
+
+   /**
+    * Discards the content of the index, including the entries that were already replayed into it, and builds it again
+    * from all the data files.
+    */
+   private void rebuildIndex(AtomicLong maxSeqId) {
+      try {
+         CompletionStages.join(index.clear());
+      } catch (IOException e) {
+         throw new PersistenceException(e);
+      }
+      temporaryTable.clear();
+      maxSeqId.set(0);
+      buildIndex(maxSeqId);
+   }
+
    private void buildIndex(final AtomicLong maxSeqId) {
-      Flowable<Integer> filePublisher = filePublisher();
+      buildIndex(filePublisher(), maxSeqId);
+   }
+
+   private void buildIndex(Flowable<Integer> filePublisher, final AtomicLong maxSeqId) {
       CompletionStage<Void> stage = handleFilePublisher(filePublisher.doAfterNext(file -> compactor.completeFile(file, -1)), false, false,
             (file, offset, size, serializedKey, entryMetadata, serializedValue, serializedInternalMetadata, seqId, expiration) -> {
                long prevSeqId;
@@ -346,11 +420,64 @@ private void buildIndex(final AtomicLong maxSeqId) {
       CompletionStages.join(stage);
    }
 
+   /**
+    * @return ratio of the bytes written to the data files, by the cache and the compaction, to the bytes written by
+    * the cache since the store started
+    */
+   @ManagedAttribute(
+         description = "Ratio of the bytes written to the data files, by the cache and the compaction, to the bytes written by the cache",
+         displayName = "Write amplification"
+   )
+   public double getWriteAmplification() {
+      Compactor compactor = this.compactor;
+      if (compactor == null) {
+         return 0;
+      }
+      long appendedBytes = logAppender.getAppendedBytes();
+      return appendedBytes == 0 ? 1 : (double) (appendedBytes + compactor.getCompactedBytes()) / appendedBytes;
+   }
+
+   /**
+    * @return ratio of the size of the data files to the size of the live entries they contain
+    */
+   @ManagedAttribute(
+         description = "Ratio of the size of the data files to the size of the live entries they contain",
+         displayName = "Space amplification"
+   )
+   public double getSpaceAmplification() {
+      Compactor compactor = this.compactor;
+      return compactor == null ? 0 : compactor.getSpaceAmplification();
+   }
+
+   /**
+    * Exposes the amplification of the store over JMX and as metrics, the registrations are removed when the cache
+    * stops
+    */
+   private void registerStatistics() {
+      ComponentRegistry componentRegistry = ctx.getCache().getAdvancedCache().getComponentRegistry();
+      if (ctx.getGlobalConfiguration().jmx().enabled()) {
+         try {
+            componentRegistry.getComponent(CacheJmxRegistration.class).registerMBean(this);
+         } catch (Exception e) {
+            throw new CacheException("Unable to register the soft index file store MBean", e);
+         }
+      }
+      CacheMetricsRegistration metricsRegistration = componentRegistry.getComponent(CacheMetricsRegistration.class);
+      if (metricsRegistration != null && metricsRegistration.metricsEnabled()) {
+         metricsRegistration.registerMetrics(this, "persistence", "sifs");
+      }
+   }
+
    // Package protected for tests only
    FileProvider getFileProvider() {
       return fileProvider;
    }
 
+   // Package protected for tests only
+   void checkpoint() throws IOException {
+      checkpointer.checkpoint(index);
+   }
+
    private Path getDataLocation() {
       return getQualifiedLocation(ctx.getGlobalConfiguration(), configuration.dataLocation(), ctx.getCache().getName(), "data");
    }
@@ -406,11 +533,19 @@ protected boolean isIndexLoaded() {
    public CompletionStage<Void> stop() {
       return blockingManager.runBlocking(() -> {
          try {
+            if (checkpointer != null) {
+               Util.close(checkpointTask);
+               checkpointer.stop();
+            }
             logAppender.stop();
             compactor.stopOperations();
             compactor = null;
             CompletionStages.join(index.stop());
             index = null;
+            if (checkpointer != null) {
+               checkpointer.stopped();
+               checkpointer = null;
+            }
             fileProvider.stop();
             fileProvider = null;
             temporaryTable = null;
@@ -435,6 +570,9 @@ public CompletionStage<Void> clear() {
                      ignore -> compactor.clearAndPause(), "soft-index-clear-compactor");
                return blockingManager.thenRunBlocking(compactorSubStage.thenCompose(Function.identity()), () -> {
                   try {
+                     if (checkpointer != null) {
+                        checkpointer.clear();
+                     }
                      index.clear();
                   } catch (IOException e) {
                      throw log.cannotClearIndex(e);
@@ -531,30 +669,91 @@ public CompletionStage<Boolean> containsKey(int segment, Object key) {
    public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return blockingManager.supplyBlocking(() -> {
          try {
-            for (;;) {
-               EntryPosition entry = temporaryTable.get(segment, key);
-               if (entry != null) {
-                  if (entry.offset < 0) {
-                     log.tracef("Entry for key=%s found in temporary table on %d:%d but it is a tombstone", key, entry.file, entry.offset);
-                     return null;
-                  }
-                  MarshallableEntry<K, V> marshallableEntry = readValueFromFileOffset(key, entry);
-                  if (marshallableEntry != null) {
-                     return marshallableEntry;
-                  }
-               } else {
-                  EntryRecord record = index.getRecord(key, marshaller.objectToByteBuffer(key));
-                  if (record == null) return null;
-                  return marshallableEntryFactory.create(toBuffer(record.getKey()), toBuffer(record.getValue()),
-                        toBuffer(record.getMetadata()), toBuffer(record.getInternalMetadata()), record.getCreated(), record.getLastUsed());
-               }
-            }
+            return loadEntry(segment, key);
          } catch (Exception e) {
             throw log.cannotLoadKeyFromIndex(key, e);
          }
       }, "soft-index-load");
    }
 
+   private MarshallableEntry<K, V> loadEntry(int segment, Object key) throws Exception {
+      for (;;) {
+         EntryPosition entry = temporaryTable.get(segment, key);
+         if (entry != null) {
+            if (entry.offset < 0) {
+               log.tracef("Entry for key=%s found in temporary table on %d:%d but it is a tombstone", key, entry.file, entry.offset);
+               return null;
+            }
+            MarshallableEntry<K, V> marshallableEntry = readValueFromFileOffset(key, entry);
+            if (marshallableEntry != null) {
+               return marshallableEntry;
+            }
+         } else {
+            EntryRecord record = index.getRecord(key, marshaller.objectToByteBuffer(key));
+            if (record == null) return null;
+            return marshallableEntryFactory.create(toBuffer(record.getKey()), toBuffer(record.getValue()),
+                  toBuffer(record.getMetadata()), toBuffer(record.getInternalMetadata()), record.getCreated(), record.getLastUsed());
+         }
+      }
+   }
+
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+      return blockingManager.blockingPublisher(Flowable.defer(() -> {
+         List<KeyPosition> positions = new ArrayList<>(keys.size());
+         for (Object key : keys) {
+            int segment = segmentMapper.applyAsInt(key);
+            try {
+               EntryPosition position = temporaryTable.get(segment, key);
+               if (position == null) {
+                  position = index.getPosition(key, marshaller.objectToByteBuffer(key));
+               } else if (position.offset < 0) {
+                  // Tombstone
+                  continue;
+               }
+               if (position != null) {
+                  positions.add(new KeyPosition(key, segment, position));
+               }
+            } catch (Exception e) {
+               throw log.cannotLoadKeyFromIndex(key, e);
+            }
+         }
+         // Reading the entries in the order of their files and offsets makes the reads mostly sequential
+         positions.sort(KeyPosition.ORDER);
+         List<MarshallableEntry<K, V>> entries = new ArrayList<>(positions.size());
+         for (KeyPosition keyPosition : positions) {
+            try {
+               MarshallableEntry<K, V> entry = readValueFromFileOffset(keyPosition.key, keyPosition.position);
+               if (entry == null) {
+                  // Either the entry expired or its file was compacted in the meantime
+                  entry = loadEntry(keyPosition.segment, keyPosition.key);
+               }
+               if (entry != null) {
+                  entries.add(entry);
+               }
+            } catch (Exception e) {
+               throw log.cannotLoadKeyFromIndex(keyPosition.key, e);
+            }
+         }
+         return Flowable.fromIterable(entries);
+      }));
+   }
+
+   private static class KeyPosition {
+      static final Comparator<KeyPosition> ORDER = Comparator.<KeyPosition>comparingInt(kp -> kp.position.file)
+            .thenComparingInt(kp -> kp.position.offset);
+
+      final Object key;
+      final int segment;
+      final EntryPosition position;
+
+      KeyPosition(Object key, int segment, EntryPosition position) {
+         this.key = key;
+         this.segment = segment;
+         this.position = position;
+      }
+   }
+
    private MarshallableEntry<K, V> readValueFromFileOffset(Object key, EntryPosition entry) throws IOException {
       FileProvider.Handle handle = fileProvider.getFile(entry.file);
       if (handle != null) {
@@ -596,7 +795,7 @@ private MarshallableEntry<K, V> readEntry(FileProvider.Handle handle, EntryHeade
          log.tracef("Entry for key=%s found in temporary table on %d:%d and loaded", key, handle.getFileId(), offset);
       }
 
-      ByteBuffer value = toBuffer(EntryRecord.readValue(handle, header, offset));
+      ByteBuffer value = toBuffer(EntryRecord.decompress(header, EntryRecord.readValue(handle, header, offset)));
       ByteBuffer serializedMetadata;
       long created;
       long lastUsed;
@@ -767,7 +966,7 @@ protected R getNext() {
                      if (header.expiryTime() >= 0 && header.expiryTime() <= timeService.wallClockTime()) {
                         offsetOrNegation = ~innerOffset;
                      } else if (fetchValue) {
-                        serializedValue = EntryRecord.readValue(handle, header, innerOffset);
+                        serializedValue = EntryRecord.decompress(header, EntryRecord.readValue(handle, header, innerOffset));
                      } else {
                         serializedValue = Util.EMPTY_BYTE_ARRAY;
                      }
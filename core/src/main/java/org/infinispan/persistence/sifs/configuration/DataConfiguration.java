@@ -12,10 +12,13 @@ public class DataConfiguration implements ConfigurationInfo {
    public static final AttributeDefinition<String> DATA_LOCATION = AttributeDefinition.builder("dataLocation", null, String.class).immutable().autoPersist(false).xmlName("path").build();
    public static final AttributeDefinition<Integer> MAX_FILE_SIZE = AttributeDefinition.builder("maxFileSize", 16 * 1024 * 1024).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Boolean> SYNC_WRITES = AttributeDefinition.builder("syncWrites", false).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Long> SYNC_WINDOW = AttributeDefinition.builder("syncWindow", 0L).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Integer> SYNC_BATCH_SIZE = AttributeDefinition.builder("syncBatchSize", 1024 * 1024).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Integer> COMPRESSION_THRESHOLD = AttributeDefinition.builder("compressionThreshold", 0).immutable().autoPersist(false).build();
    private final AttributeSet attributes;
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(DataConfiguration.class, DATA_LOCATION, MAX_FILE_SIZE, SYNC_WRITES);
+      return new AttributeSet(DataConfiguration.class, DATA_LOCATION, MAX_FILE_SIZE, SYNC_WRITES, SYNC_WINDOW, SYNC_BATCH_SIZE, COMPRESSION_THRESHOLD);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(DATA.getLocalName());
@@ -42,6 +45,27 @@ public boolean syncWrites() {
       return attributes.attribute(SYNC_WRITES).get();
    }
 
+   /**
+    * @return how long in milliseconds writes wait for concurrent writes to share their fsync, when writes are synced
+    */
+   public long syncWindow() {
+      return attributes.attribute(SYNC_WINDOW).get();
+   }
+
+   /**
+    * @return how many bytes of writes waiting to be fsynced cause the fsync before the sync window elapses
+    */
+   public int syncBatchSize() {
+      return attributes.attribute(SYNC_BATCH_SIZE).get();
+   }
+
+   /**
+    * @return the size in bytes from which values are stored compressed, or 0 if values are never compressed
+    */
+   public int compressionThreshold() {
+      return attributes.attribute(COMPRESSION_THRESHOLD).get();
+   }
+
    public String dataLocation() {
       return attributes.attribute(DATA_LOCATION).get();
    }
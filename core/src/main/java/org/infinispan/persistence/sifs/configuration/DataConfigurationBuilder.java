@@ -2,14 +2,20 @@
 
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.DATA_LOCATION;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.MAX_FILE_SIZE;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.COMPRESSION_THRESHOLD;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_BATCH_SIZE;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_WINDOW;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_WRITES;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
+import org.infinispan.persistence.sifs.Log;
+import org.infinispan.util.logging.LogFactory;
 
 public class DataConfigurationBuilder implements ConfigurationBuilderInfo, Builder<DataConfiguration> {
+   private static final Log log = LogFactory.getLog(DataConfigurationBuilder.class, Log.class);
 
    private final AttributeSet attributes;
 
@@ -42,8 +48,32 @@ public DataConfigurationBuilder syncWrites(boolean syncWrites) {
       return this;
    }
 
+   public DataConfigurationBuilder syncWindow(long syncWindow) {
+      attributes.attribute(SYNC_WINDOW).set(syncWindow);
+      return this;
+   }
+
+   public DataConfigurationBuilder syncBatchSize(int syncBatchSize) {
+      attributes.attribute(SYNC_BATCH_SIZE).set(syncBatchSize);
+      return this;
+   }
+
+   public DataConfigurationBuilder compressionThreshold(int compressionThreshold) {
+      attributes.attribute(COMPRESSION_THRESHOLD).set(compressionThreshold);
+      return this;
+   }
+
    @Override
    public void validate() {
+      long syncWindow = attributes.attribute(SYNC_WINDOW).get();
+      int syncBatchSize = attributes.attribute(SYNC_BATCH_SIZE).get();
+      if (syncWindow < 0 || syncBatchSize <= 0) {
+         throw log.invalidSyncWindow(syncWindow, syncBatchSize);
+      }
+      int compressionThreshold = attributes.attribute(COMPRESSION_THRESHOLD).get();
+      if (compressionThreshold < 0) {
+         throw log.invalidCompressionThreshold(compressionThreshold);
+      }
    }
 
    @Override
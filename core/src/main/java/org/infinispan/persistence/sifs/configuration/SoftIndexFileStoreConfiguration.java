@@ -24,11 +24,12 @@ public class SoftIndexFileStoreConfiguration extends AbstractStoreConfiguration
 
    public static final AttributeDefinition<Integer> OPEN_FILES_LIMIT = AttributeDefinition.builder("openFilesLimit", 1000).immutable().build();
    public static final AttributeDefinition<Double> COMPACTION_THRESHOLD = AttributeDefinition.builder("compactionThreshold", 0.5d).immutable().build();
+   public static final AttributeDefinition<Long> MAX_COMPACTION_RATE = AttributeDefinition.builder("maxCompactionRate", 0L).immutable().build();
    private final IndexConfiguration index;
    private final DataConfiguration data;
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD);
+      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD, MAX_COMPACTION_RATE);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(FILE_STORE.getLocalName(), true, false);
@@ -76,10 +77,26 @@ public int indexQueueLength() {
       return index.indexQueueLength();
    }
 
+   public long checkpointInterval() {
+      return index.checkpointInterval();
+   }
+
    public boolean syncWrites() {
       return data.syncWrites();
    }
 
+   public long syncWindow() {
+      return data.syncWindow();
+   }
+
+   public int syncBatchSize() {
+      return data.syncBatchSize();
+   }
+
+   public int compressionThreshold() {
+      return data.compressionThreshold();
+   }
+
    public int openFilesLimit() {
       return attributes.attribute(OPEN_FILES_LIMIT).get();
    }
@@ -88,6 +105,10 @@ public double compactionThreshold() {
       return attributes.attribute(COMPACTION_THRESHOLD).get();
    }
 
+   public long maxCompactionRate() {
+      return attributes.attribute(MAX_COMPACTION_RATE).get();
+   }
+
    public IndexConfiguration index() {
       return index;
    }
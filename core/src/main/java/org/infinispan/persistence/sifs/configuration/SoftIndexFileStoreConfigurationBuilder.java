@@ -2,6 +2,7 @@
 
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.SEGMENTED;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_THRESHOLD;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.MAX_COMPACTION_RATE;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.OPEN_FILES_LIMIT;
 
 import java.util.Arrays;
@@ -124,6 +125,17 @@ public SoftIndexFileStoreConfigurationBuilder indexQueueLength(int indexQueueLen
       return this;
    }
 
+   /**
+    * Sets how often in milliseconds the index is checkpointed to disk. After a crash the store then loads the last
+    * checkpoint and only reads the data files written since, instead of rebuilding the index from all of them.
+    *
+    * Defaults to <code>0</code>, which only persists the index when the store is stopped.
+    */
+   public SoftIndexFileStoreConfigurationBuilder checkpointInterval(long checkpointInterval) {
+      index.checkpointInterval(checkpointInterval);
+      return this;
+   }
+
    /**
     * Sets whether writes shoud wait to be fsynced to disk.
     *
@@ -134,6 +146,40 @@ public SoftIndexFileStoreConfigurationBuilder syncWrites(boolean syncWrites) {
       return this;
    }
 
+   /**
+    * Sets how long in milliseconds a synced write waits for concurrent writes, so that they are all appended and
+    * fsynced together. Every write still completes only after its fsync. Only applies when {@link #syncWrites(boolean)}
+    * is enabled.
+    *
+    * Defaults to <code>0</code>, which fsyncs as soon as there are no more writes queued.
+    */
+   public SoftIndexFileStoreConfigurationBuilder syncWindow(long syncWindow) {
+      data.syncWindow(syncWindow);
+      return this;
+   }
+
+   /**
+    * Sets how many bytes of writes waiting for the sync window are fsynced without waiting for the window to elapse.
+    *
+    * Defaults to <code>1048576</code>.
+    */
+   public SoftIndexFileStoreConfigurationBuilder syncBatchSize(int syncBatchSize) {
+      data.syncBatchSize(syncBatchSize);
+      return this;
+   }
+
+   /**
+    * Sets the size in bytes from which values are compressed with Deflate before they are written to the data files.
+    * A value is stored uncompressed if compressing it does not make it smaller. The data files written without
+    * compression remain readable.
+    *
+    * Defaults to <code>0</code>, which never compresses values.
+    */
+   public SoftIndexFileStoreConfigurationBuilder compressionThreshold(int compressionThreshold) {
+      data.compressionThreshold(compressionThreshold);
+      return this;
+   }
+
    /**
     * Sets the maximum number of open files.
     *
@@ -154,6 +200,18 @@ public SoftIndexFileStoreConfigurationBuilder compactionThreshold(double compact
       return this;
    }
 
+   /**
+    * Limits the number of bytes per second that the compaction reads from and writes to the data files, so that it
+    * does not starve the reads and writes of the cache. Among the files eligible for compaction, the ones that release
+    * the most space for the amount of data they copy are compacted first.
+    *
+    * Defaults to <code>0</code>, which does not limit the compaction.
+    */
+   public SoftIndexFileStoreConfigurationBuilder maxCompactionRate(long maxCompactionRate) {
+      attributes.attribute(MAX_COMPACTION_RATE).set(maxCompactionRate);
+      return this;
+   }
+
    @Override
    public SoftIndexFileStoreConfiguration create() {
       return new SoftIndexFileStoreConfiguration(attributes.protect(), async.create(), index.create(), data.create());
@@ -180,10 +238,15 @@ protected void validate(boolean skipClassChecks) {
       }
       super.validate(skipClassChecks);
       index.validate();
+      data.validate();
       double compactionThreshold = attributes.attribute(COMPACTION_THRESHOLD).get();
       if (compactionThreshold <= 0 || compactionThreshold > 1) {
          throw log.invalidCompactionThreshold(compactionThreshold);
       }
+      long maxCompactionRate = attributes.attribute(MAX_COMPACTION_RATE).get();
+      if (maxCompactionRate < 0) {
+         throw log.invalidMaxCompactionRate(maxCompactionRate);
+      }
    }
 
    @Override
@@ -1,5 +1,10 @@
 package org.infinispan.persistence.spi;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 import org.infinispan.commons.api.Lifecycle;
 
 import net.jcip.annotations.ThreadSafe;
@@ -34,6 +39,26 @@
     */
    MarshallableEntry<K, V> loadEntry(Object key);
 
+   /**
+    * Fetches the entries of the given keys from the storage. Implementations that can fetch many keys with a single
+    * request should override this method.
+    *
+    * @implSpec The default implementation invokes {@link #loadEntry(Object)} for every key.
+    * @return the entries of the keys that exist
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    * @since 13.0
+    */
+   default Collection<MarshallableEntry<K, V>> loadEntries(Set<Object> keys) {
+      List<MarshallableEntry<K, V>> entries = new ArrayList<>(keys.size());
+      for (Object key : keys) {
+         MarshallableEntry<K, V> entry = loadEntry(key);
+         if (entry != null) {
+            entries.add(entry);
+         }
+      }
+      return entries;
+   }
+
    /**
     * Returns true if the storage contains an entry associated with the given key.
     *
@@ -7,6 +7,7 @@
 import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import javax.transaction.Transaction;
 
@@ -21,6 +22,7 @@
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 
 /**
  * The contract for defining how caches interface with external sources of data, such as databases or filesystems.
@@ -272,6 +274,56 @@ default CompletionStage<Boolean> isAvailable() {
     */
    CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key);
 
+   /**
+    * Returns a publisher of the entries of the given keys that are in the store. Stores that can retrieve many keys
+    * with a single request, or more efficiently than one key at a time, should implement this method, as it is invoked
+    * when many keys are loaded at once, e.g. by {@link org.infinispan.AdvancedCache#getAll(Set)}. If a
+    * {@link MarshallableEntry} needs to be created here, {@link InitializationContext#getMarshallableEntryFactory()}
+    * and {@link InitializationContext#getByteBufferFactory()} should be used.
+    * <p>
+    * The returned publisher publishes each entry at most once, in any order, and does not publish anything for the keys
+    * that are not in the store. Keys should not be retrieved until the publisher is subscribed to.
+    * <p>
+    * Subscribing to the returned {@link Publisher} should not block the invoking thread. It is the responsibility of
+    * the store implementation to ensure this occurs. If however the store must block to perform an operation it
+    * is recommended to wrap your Publisher before returning with the
+    * {@link org.infinispan.util.concurrent.BlockingManager#blockingPublisher(Publisher)} method and it will handle
+    * subscription and observation on the blocking and non-blocking executors respectively.
+    * <p>
+    * <h4>Summary of Characteristics Effects</h4>
+    * <table border="1" cellpadding="1" cellspacing="1" summary="Summary of Characteristics Effects">
+    *    <tr>
+    *       <th bgcolor="#CCCCFF" align="left">Characteristic</th>
+    *       <th bgcolor="#CCCCFF" align="left">Effect</th>
+    *    </tr>
+    *    <tr>
+    *       <td valign="top">{@link Characteristic#WRITE_ONLY}</td>
+    *       <td valign="top">This method will never be invoked.</td>
+    *    </tr>
+    *    <tr>
+    *       <td valign="top">{@link Characteristic#EXPIRATION}</td>
+    *       <td valign="top">When set the returned publisher must not return expired entries.</td>
+    *    </tr>
+    *    <tr>
+    *       <td valign="top">{@link Characteristic#SEGMENTABLE}</td>
+    *       <td valign="top">When this is not set the segments returned by {@code segmentMapper} may be ignored.</td>
+    *    </tr>
+    * </table>
+    * <p>
+    * If a problem is encountered, it is recommended to wrap any created/caught Throwable in a
+    * {@link PersistenceException} and the publisher be completed exceptionally.
+    * <p>
+    * @implSpec
+    * A default implementation is provided that invokes {@link #load(int, Object)} for every key concurrently.
+    * @param keys keys of the entries to load.
+    * @param segmentMapper function returning the segment of a key if segmentation is enabled, otherwise 0.
+    * @return a publisher that provides the entries of the given keys that are in the store.
+    */
+   default Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+      return Flowable.fromIterable(keys)
+            .flatMapMaybe(key -> Maybe.fromCompletionStage(load(segmentMapper.applyAsInt(key), key)));
+   }
+
    /**
     * Returns a stage that will contain whether the value can be found in the store.
     * <p>
@@ -3,6 +3,7 @@
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import javax.transaction.Transaction;
 
@@ -40,6 +41,11 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return delegate().load(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+      return delegate().loadAll(keys, segmentMapper);
+   }
+
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
       return delegate().containsKey(segment, key);
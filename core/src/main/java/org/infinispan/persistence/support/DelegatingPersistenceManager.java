@@ -1,6 +1,7 @@
 package org.infinispan.persistence.support;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiPredicate;
@@ -213,6 +214,13 @@ public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return persistenceManager.loadFromAllStores(key, segment, localInvocation, includeStores);
    }
 
+   @Override
+   public <K, V> CompletionStage<Map<Object, MarshallableEntry<K, V>>> loadAllFromAllStores(Set<?> keys,
+                                                                                          boolean localInvocation,
+                                                                                          boolean includeStores) {
+      return persistenceManager.loadAllFromAllStores(keys, localInvocation, includeStores);
+   }
+
    @Override
    public CompletionStage<Long> size() {
       return persistenceManager.size();
@@ -233,4 +241,14 @@ public CompletionStage<Boolean> addSegments(IntSet segments) {
    public CompletionStage<Boolean> removeSegments(IntSet segments) {
       return persistenceManager.removeSegments(segments);
    }
+
+   @Override
+   public long getBloomFilterSkippedLoads() {
+      return persistenceManager.getBloomFilterSkippedLoads();
+   }
+
+   @Override
+   public long getBloomFilterFalsePositives() {
+      return persistenceManager.getBloomFilterFalsePositives();
+   }
 }
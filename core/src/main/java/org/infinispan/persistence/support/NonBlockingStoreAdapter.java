@@ -8,6 +8,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transaction;
@@ -216,6 +217,11 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
             isSegmented() ? segmentedStore().get(segment, key) : loader().loadEntry(key), nextTraceId("load"));
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+      return blockingManager.blockingPublisher(Flowable.defer(() -> Flowable.fromIterable(loader().loadEntries(keys))));
+   }
+
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
       return blockingManager.supplyBlocking(() ->
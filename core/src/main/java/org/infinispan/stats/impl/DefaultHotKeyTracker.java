@@ -0,0 +1,238 @@
+package org.infinispan.stats.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.infinispan.commons.dataconversion.internal.Json;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.JmxStatisticsExposer;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+
+/**
+ * {@link HotKeyTracker} counting the keys in a {@link SpaceSavingSketch} per kind of operation.
+ * <p>
+ * Reads and writes are sampled, only one in {@link #SAMPLE_RATE} is counted with a weight of {@link #SAMPLE_RATE},
+ * so that the hot path is mostly a random number check. Lock waits are rare enough to all be counted. A sample is
+ * dropped instead of waiting when another thread is updating the same sketch. Each sketch keeps four times as many
+ * keys as are reported, which keeps the error of the reported counts low.
+ * <p>
+ * The keys are held until they are evicted from the sketch or the statistics are reset.
+ *
+ * @since 13.0
+ */
+@MBean(objectName = "HotKeys", description = "Keys that are read, written and waited on for their lock the most")
+@Scope(Scopes.NAMED_CACHE)
+public class DefaultHotKeyTracker implements HotKeyTracker, JmxStatisticsExposer {
+   static final int SAMPLE_RATE = 16;
+   private static final int SAMPLE_MASK = SAMPLE_RATE - 1;
+   private static final int CAPACITY_FACTOR = 4;
+
+   private final int topKeys;
+   private final Sketch reads;
+   private final Sketch writes;
+   private final Sketch lockWaits;
+
+   @Inject Configuration configuration;
+
+   // probably it's not *that* important to have perfect stats to make this variable volatile
+   private boolean statisticsEnabled = false;
+
+   public DefaultHotKeyTracker(int topKeys) {
+      this.topKeys = topKeys;
+      this.reads = new Sketch(topKeys * CAPACITY_FACTOR);
+      this.writes = new Sketch(topKeys * CAPACITY_FACTOR);
+      this.lockWaits = new Sketch(topKeys * CAPACITY_FACTOR);
+   }
+
+   @Start
+   public void start() {
+      statisticsEnabled = configuration.statistics().enabled();
+   }
+
+   @Override
+   public void recordRead(Object key) {
+      if (statisticsEnabled && sampled()) {
+         reads.offer(key, SAMPLE_RATE);
+      }
+   }
+
+   @Override
+   public void recordWrite(Object key) {
+      if (statisticsEnabled && sampled()) {
+         writes.offer(key, SAMPLE_RATE);
+      }
+   }
+
+   @Override
+   public void recordLockWait(Object key) {
+      if (statisticsEnabled) {
+         lockWaits.offer(key, 1);
+      }
+   }
+
+   private static boolean sampled() {
+      return (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0;
+   }
+
+   @Override
+   public List<HotKey> getHotReadKeys() {
+      return reads.top(topKeys);
+   }
+
+   @Override
+   public List<HotKey> getHotWriteKeys() {
+      return writes.top(topKeys);
+   }
+
+   @Override
+   public List<HotKey> getHotLockWaitKeys() {
+      return lockWaits.top(topKeys);
+   }
+
+   @ManagedAttribute(
+         description = "Keys read the most with their estimated number of reads, hottest first",
+         displayName = "Hot read keys"
+   )
+   public String[] getHotReads() {
+      return toStrings(getHotReadKeys());
+   }
+
+   @ManagedAttribute(
+         description = "Keys written the most with their estimated number of writes, hottest first",
+         displayName = "Hot write keys"
+   )
+   public String[] getHotWrites() {
+      return toStrings(getHotWriteKeys());
+   }
+
+   @ManagedAttribute(
+         description = "Keys whose lock was waited on the most with their estimated number of waits, hottest first",
+         displayName = "Hot lock wait keys"
+   )
+   public String[] getHotLockWaits() {
+      return toStrings(getHotLockWaitKeys());
+   }
+
+   @ManagedAttribute(
+         description = "Estimated number of reads of the key read the most",
+         displayName = "Reads of the hottest read key",
+         measurementType = MeasurementType.DYNAMIC
+   )
+   public long getHottestReadCount() {
+      return hottestCount(getHotReadKeys());
+   }
+
+   @ManagedAttribute(
+         description = "Estimated number of writes of the key written the most",
+         displayName = "Writes of the hottest write key",
+         measurementType = MeasurementType.DYNAMIC
+   )
+   public long getHottestWriteCount() {
+      return hottestCount(getHotWriteKeys());
+   }
+
+   @ManagedAttribute(
+         description = "Estimated number of lock waits of the key whose lock was waited on the most",
+         displayName = "Lock waits of the hottest lock wait key",
+         measurementType = MeasurementType.DYNAMIC
+   )
+   public long getHottestLockWaitCount() {
+      return hottestCount(getHotLockWaitKeys());
+   }
+
+   @Override
+   public boolean getStatisticsEnabled() {
+      return statisticsEnabled;
+   }
+
+   @ManagedAttribute(description = "Enables or disables the gathering of statistics by this component", writable = true)
+   @Override
+   public void setStatisticsEnabled(boolean enabled) {
+      statisticsEnabled = enabled;
+   }
+
+   @ManagedOperation(
+         description = "Resets statistics gathered by this component",
+         displayName = "Reset Statistics (HotKeys)"
+   )
+   @Override
+   public void resetStatistics() {
+      reads.reset();
+      writes.reset();
+      lockWaits.reset();
+   }
+
+   @Override
+   public Json toJson() {
+      return Json.object()
+            .set("reads", Json.make(getHotReadKeys()))
+            .set("writes", Json.make(getHotWriteKeys()))
+            .set("lock_waits", Json.make(getHotLockWaitKeys()));
+   }
+
+   private static String[] toStrings(List<HotKey> hotKeys) {
+      String[] strings = new String[hotKeys.size()];
+      for (int i = 0; i < strings.length; ++i) {
+         strings[i] = hotKeys.get(i).toString();
+      }
+      return strings;
+   }
+
+   private static long hottestCount(List<HotKey> hotKeys) {
+      return hotKeys.isEmpty() ? 0 : hotKeys.get(0).count();
+   }
+
+   private static final class Sketch {
+      private final Lock lock = new ReentrantLock();
+      private final SpaceSavingSketch sketch;
+
+      Sketch(int capacity) {
+         sketch = new SpaceSavingSketch(capacity);
+      }
+
+      void offer(Object key, long weight) {
+         if (lock.tryLock()) {
+            try {
+               sketch.offer(key, weight);
+            } finally {
+               lock.unlock();
+            }
+         }
+      }
+
+      List<HotKey> top(int limit) {
+         List<SpaceSavingSketch.Counter> counters;
+         lock.lock();
+         try {
+            counters = sketch.top(limit);
+         } finally {
+            lock.unlock();
+         }
+         List<HotKey> hotKeys = new ArrayList<>(counters.size());
+         for (SpaceSavingSketch.Counter counter : counters) {
+            hotKeys.add(new HotKey(Util.toStr(counter.key), counter.count, counter.error));
+         }
+         return hotKeys;
+      }
+
+      void reset() {
+         lock.lock();
+         try {
+            sketch.reset();
+         } finally {
+            lock.unlock();
+         }
+      }
+   }
+}
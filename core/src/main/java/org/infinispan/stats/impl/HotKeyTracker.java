@@ -0,0 +1,94 @@
+package org.infinispan.stats.impl;
+
+import java.util.List;
+
+import org.infinispan.commons.dataconversion.internal.Json;
+import org.infinispan.commons.dataconversion.internal.JsonSerialization;
+
+/**
+ * Tracks the keys of a cache that are read, written and waited on for their lock the most.
+ * <p>
+ * Only a sample of the operations is counted, and only the keys that are counted the most are kept, thus each count
+ * is an estimate: it may exceed what was counted for the key by up to its {@link HotKey#error()}, on top of the
+ * sampling error.
+ *
+ * @since 13.0
+ */
+public interface HotKeyTracker extends JsonSerialization {
+
+   /**
+    * Records a read of the key that was served by this node.
+    */
+   void recordRead(Object key);
+
+   /**
+    * Records a write of the key that was applied by this node.
+    */
+   void recordWrite(Object key);
+
+   /**
+    * Records that a lock of the key could not be acquired right away.
+    */
+   void recordLockWait(Object key);
+
+   /**
+    * @return the keys read the most, hottest first
+    */
+   List<HotKey> getHotReadKeys();
+
+   /**
+    * @return the keys written the most, hottest first
+    */
+   List<HotKey> getHotWriteKeys();
+
+   /**
+    * @return the keys whose lock was waited on the most, hottest first
+    */
+   List<HotKey> getHotLockWaitKeys();
+
+   /**
+    * A key and how many times it was estimated to be accessed.
+    */
+   final class HotKey implements JsonSerialization {
+      private final String key;
+      private final long count;
+      private final long error;
+
+      public HotKey(String key, long count, long error) {
+         this.key = key;
+         this.count = count;
+         this.error = error;
+      }
+
+      public String key() {
+         return key;
+      }
+
+      /**
+       * @return the estimated count
+       */
+      public long count() {
+         return count;
+      }
+
+      /**
+       * @return by how much the estimated count may exceed the sampled count
+       */
+      public long error() {
+         return error;
+      }
+
+      @Override
+      public Json toJson() {
+         return Json.object()
+               .set("key", key)
+               .set("count", count)
+               .set("error", error);
+      }
+
+      @Override
+      public String toString() {
+         return key + "=" + count;
+      }
+   }
+}
@@ -0,0 +1,66 @@
+package org.infinispan.stats.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.commons.dataconversion.internal.Json;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+
+/**
+ * An no-op implementation for {@link HotKeyTracker}.
+ * <p>
+ * Used when a cache is not configured to track any hot keys.
+ *
+ * @since 13.0
+ */
+@Scope(Scopes.NAMED_CACHE)
+public class NoOpHotKeyTracker implements HotKeyTracker {
+
+   private static final NoOpHotKeyTracker INSTANCE = new NoOpHotKeyTracker();
+
+   private NoOpHotKeyTracker() {
+   }
+
+   public static NoOpHotKeyTracker getInstance() {
+      return INSTANCE;
+   }
+
+   @Override
+   public void recordRead(Object key) {
+      //no-op
+   }
+
+   @Override
+   public void recordWrite(Object key) {
+      //no-op
+   }
+
+   @Override
+   public void recordLockWait(Object key) {
+      //no-op
+   }
+
+   @Override
+   public List<HotKey> getHotReadKeys() {
+      return Collections.emptyList();
+   }
+
+   @Override
+   public List<HotKey> getHotWriteKeys() {
+      return Collections.emptyList();
+   }
+
+   @Override
+   public List<HotKey> getHotLockWaitKeys() {
+      return Collections.emptyList();
+   }
+
+   @Override
+   public Json toJson() {
+      return Json.object()
+            .set("reads", Json.array())
+            .set("writes", Json.array())
+            .set("lock_waits", Json.array());
+   }
+}
@@ -0,0 +1,135 @@
+package org.infinispan.stats.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-saving sketch keeping the approximate counts of the most frequent keys in a fixed amount of memory.
+ * <p>
+ * Up to {@code capacity} keys are counted. Once full, a key that is not counted yet replaces the key with the lowest
+ * count, and inherits that count as its error, so that a count is never lower than the weight offered for its key
+ * and never higher by more than its error. Any key offered more than {@code total / capacity} times is guaranteed to
+ * be counted.
+ * <p>
+ * The counters are also kept in a binary min-heap ordered by count, so offering a key costs {@code O(log capacity)}
+ * even when the key with the lowest count must be replaced.
+ * <p>
+ * Not thread safe.
+ *
+ * @since 13.0
+ */
+final class SpaceSavingSketch {
+   private static final Comparator<Counter> HOTTEST_FIRST = (c1, c2) -> Long.compare(c2.count, c1.count);
+
+   private final int capacity;
+   private final Map<Object, Counter> counters;
+   private final Counter[] heap;
+
+   SpaceSavingSketch(int capacity) {
+      this.capacity = capacity;
+      this.counters = new HashMap<>(capacity * 4 / 3 + 1);
+      this.heap = new Counter[capacity];
+   }
+
+   /**
+    * Adds the weight to the count of the key.
+    */
+   void offer(Object key, long weight) {
+      Counter counter = counters.get(key);
+      if (counter != null) {
+         counter.count += weight;
+         siftDown(counter.index);
+         return;
+      }
+      int size = counters.size();
+      if (size < capacity) {
+         counter = new Counter(key, weight, 0);
+         counter.index = size;
+         heap[size] = counter;
+         counters.put(key, counter);
+         siftUp(size);
+         return;
+      }
+      // The root of the heap has the lowest count, the new key takes its place
+      Counter min = heap[0];
+      counters.remove(min.key);
+      counter = new Counter(key, min.count + weight, min.count);
+      counter.index = 0;
+      heap[0] = counter;
+      counters.put(key, counter);
+      siftDown(0);
+   }
+
+   private void siftUp(int index) {
+      Counter counter = heap[index];
+      while (index > 0) {
+         int parent = (index - 1) >>> 1;
+         Counter p = heap[parent];
+         if (p.count <= counter.count) {
+            break;
+         }
+         place(p, index);
+         index = parent;
+      }
+      place(counter, index);
+   }
+
+   private void siftDown(int index) {
+      Counter counter = heap[index];
+      int size = counters.size();
+      int half = size >>> 1;
+      while (index < half) {
+         int child = 2 * index + 1;
+         int right = child + 1;
+         if (right < size && heap[right].count < heap[child].count) {
+            child = right;
+         }
+         if (counter.count <= heap[child].count) {
+            break;
+         }
+         place(heap[child], index);
+         index = child;
+      }
+      place(counter, index);
+   }
+
+   private void place(Counter counter, int index) {
+      heap[index] = counter;
+      counter.index = index;
+   }
+
+   /**
+    * @return up to {@code limit} of the keys with the highest counts, hottest first
+    */
+   List<Counter> top(int limit) {
+      List<Counter> top = new ArrayList<>(counters.size());
+      for (Counter c : counters.values()) {
+         top.add(new Counter(c.key, c.count, c.error));
+      }
+      top.sort(HOTTEST_FIRST);
+      return top.size() > limit ? top.subList(0, limit) : top;
+   }
+
+   void reset() {
+      counters.clear();
+      Arrays.fill(heap, null);
+   }
+
+   static final class Counter {
+      final Object key;
+      long count;
+      final long error;
+      // Position in the heap
+      int index;
+
+      Counter(Object key, long count, long error) {
+         this.key = key;
+         this.count = count;
+         this.error = error;
+      }
+   }
+}
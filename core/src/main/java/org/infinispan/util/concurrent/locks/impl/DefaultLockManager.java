@@ -35,6 +35,7 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.stats.impl.HotKeyTracker;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.concurrent.locks.DeadlockDetectedException;
 import org.infinispan.util.concurrent.locks.ExtendedLockPromise;
@@ -67,6 +68,7 @@ public class DefaultLockManager implements LockManager {
    ScheduledExecutorService scheduler;
    @Inject @ComponentName(KnownComponentNames.NON_BLOCKING_EXECUTOR)
    Executor nonBlockingExecutor;
+   @Inject HotKeyTracker hotKeyTracker;
 
    @Override
    public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUnit unit) {
@@ -89,6 +91,9 @@ public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUni
       }
 
       ExtendedLockPromise promise = lockContainer.acquire(key, lockOwner, time, unit);
+      if (!promise.isAvailable()) {
+         hotKeyTracker.recordLockWait(key);
+      }
       return new KeyAwareExtendedLockPromise(promise, key, unit.toMillis(time)).scheduleLockTimeoutTask(scheduler);
    }
 
@@ -125,7 +130,11 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
       //ordering will not solve the problem since acquire() is non-blocking and each lock owner can iterate faster/slower than the other.
       synchronized (this) {
          for (Object key : uniqueKeys) {
-            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(lockContainer.acquire(key, lockOwner, time, unit), key, unit.toMillis(time)));
+            ExtendedLockPromise promise = lockContainer.acquire(key, lockOwner, time, unit);
+            if (!promise.isAvailable()) {
+               hotKeyTracker.recordLockWait(key);
+            }
+            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(promise, key, unit.toMillis(time)));
          }
       }
       compositeLockPromise.scheduleLockTimeoutTask(scheduler, time, unit);
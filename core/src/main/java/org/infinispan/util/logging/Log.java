@@ -2197,4 +2197,33 @@ CacheConfigurationException storeConfiguredHasBothReadAndWriteOnly(String storeC
 
    @Message(value = "Async cache modes like %s do not allow expiration with SYNC touch mode", id = 645)
    CacheConfigurationException invalidTouchMode(CacheMode cacheMode);
+
+   @Message(value = "The MAPPED_FILE off-heap allocator requires global state to be enabled", id = 646)
+   CacheConfigurationException mappedFileAllocatorRequiresGlobalState();
+
+   @Message(value = "The expiration reaper parallelism must be 0 or greater, but was %d", id = 647)
+   CacheConfigurationException invalidReaperParallelism(int parallelism);
+
+   @Message(value = "The number of hot keys must be 0 or greater, but was %d", id = 648)
+   CacheConfigurationException invalidHotKeys(int hotKeys);
+
+   @Message(value = "The preload parallelism must be 0 or greater, but was %d", id = 649)
+   CacheConfigurationException invalidPreloadParallelism(int parallelism);
+
+   @Message(value = "Asynchronous preload cannot be used with a volatile index, as the preloaded entries would not be indexed", id = 650)
+   CacheConfigurationException preloadAsyncWithVolatileIndex();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Asynchronous preload of cache '%s' failed, the entries not preloaded are loaded when read", id = 651)
+   void asyncPreloadFailed(String cacheName, @Cause Throwable cause);
+
+   @Message(value = "The bloom filter bits must be 0 or greater, but was %d", id = 652)
+   CacheConfigurationException invalidBloomFilterBits(int bits);
+
+   @LogMessage(level = WARN)
+   @Message(value = "The bloom filters of cache '%s' are disabled, as its stores are shared or cannot iterate their keys", id = 653)
+   void bloomFiltersDisabled(String cacheName);
+
+   @Message(value = "The journal of a write-behind store requires global state to be enabled", id = 654)
+   CacheConfigurationException writeBehindJournalRequiresGlobalState();
 }
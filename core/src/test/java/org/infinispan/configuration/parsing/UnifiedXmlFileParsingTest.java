@@ -37,6 +37,8 @@
 import org.infinispan.configuration.cache.IndexingConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
@@ -116,6 +118,36 @@ public void testParseAndConstructUnifiedXmlFile(Path config) throws IOException
    }
 
    public enum ParserVersionCheck {
+      INFINISPAN_130(13, 0) {
+         @Override
+         public void check(ConfigurationBuilderHolder holder, int schemaMajor, int schemaMinor) {
+            MemoryConfiguration mc = getConfiguration(holder, "off_heap_eviction").memory();
+            assertEquals(OffHeapAllocatorType.POOLED, mc.allocator());
+            assertEquals(1000, mc.expectedEntries());
+            assertEquals(OffHeapEvictionPolicy.TINY_LFU, mc.evictionPolicy());
+            mc = getConfiguration(holder, "off_heap_no_eviction").memory();
+            assertEquals(OffHeapAllocatorType.UNPOOLED, mc.allocator());
+            assertEquals(-1, mc.expectedEntries());
+            assertEquals(OffHeapEvictionPolicy.LRU, mc.evictionPolicy());
+            assertFalse(mc.compact());
+            assertTrue(getConfiguration(holder, "heap_compact").memory().compact());
+            assertEquals(4, getConfiguration(holder, "dist").expiration().reaperParallelism());
+            assertTrue(getConfiguration(holder, "dist").expiration().indexed());
+            assertEquals(10, getConfiguration(holder, "dist").statistics().hotKeys());
+            PersistenceConfiguration pc = getConfiguration(holder, "local").persistence();
+            assertEquals(4, pc.preloadParallelism());
+            assertEquals(4096, pc.bloomFilterBits());
+            assertFalse(pc.preloadAsync());
+            SoftIndexFileStoreConfiguration sifs = getStoreConfiguration(getConfiguration(holder, "local"), SoftIndexFileStoreConfiguration.class);
+            assertTrue(sifs.syncWrites());
+            assertEquals(2, sifs.syncWindow());
+            assertEquals(65536, sifs.syncBatchSize());
+            assertEquals(512, sifs.compressionThreshold());
+            assertEquals(10000, sifs.checkpointInterval());
+            assertEquals(8388608, sifs.maxCompactionRate());
+            assertTrue(sifs.async().journal());
+         }
+      },
       INFINISPAN_120(12, 0) {
          @Override
          public void check(ConfigurationBuilderHolder holder, int schemaMajor, int schemaMinor) {
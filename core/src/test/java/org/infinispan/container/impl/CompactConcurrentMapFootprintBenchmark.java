@@ -0,0 +1,130 @@
+package org.infinispan.container.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Compares the heap taken by each entry of a {@link CompactConcurrentMap} with the map used by unbounded heap
+ * containers, measured with JOL, followed by the throughput of reading and writing entries, measured with JMH.
+ *
+ * @since 13.0
+ */
+public class CompactConcurrentMapFootprintBenchmark {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+   private static final int FOOTPRINT_ENTRIES = 100_000;
+
+   public static void main(String[] args) throws Exception {
+      int[][] sizes = {{16, 64}, {32, 256}, {64, 1024}};
+      for (int[] size : sizes) {
+         long heap = bytesPerEntry(new PeekableTouchableContainerMap<>(), size[0], size[1]);
+         long compact = bytesPerEntry(new CompactConcurrentMap(), size[0], size[1]);
+         log.infof("key=%d value=%d: heap=%d bytes/entry, compact=%d bytes/entry (%d%% less)", size[0], size[1], heap,
+               compact, 100 - compact * 100 / heap);
+      }
+
+      Options opt = new OptionsBuilder()
+            .include(CompactConcurrentMapFootprintBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(ProcessorInfo.availableProcessors())
+            .forks(2)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   private static long bytesPerEntry(PeekableTouchableMap<Object, Object> map, int keySize, int valueSize) {
+      populate(map, FOOTPRINT_ENTRIES, keySize, valueSize);
+      return GraphLayout.parseInstance(map).totalSize() / FOOTPRINT_ENTRIES;
+   }
+
+   private static WrappedByteArray[] populate(PeekableTouchableMap<Object, Object> map, int entries, int keySize,
+         int valueSize) {
+      Random random = new Random(entries);
+      WrappedByteArray[] keys = new WrappedByteArray[entries];
+      for (int i = 0; i < entries; ++i) {
+         byte[] keyBytes = new byte[keySize];
+         random.nextBytes(keyBytes);
+         byte[] valueBytes = new byte[valueSize];
+         random.nextBytes(valueBytes);
+         keys[i] = new WrappedByteArray(keyBytes);
+         map.put(keys[i], new ImmortalCacheEntry(keys[i], new WrappedByteArray(valueBytes)));
+      }
+      return keys;
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"heap", "compact", "striped"})
+      String mapType;
+
+      @Param({"100000"})
+      int entries;
+
+      @Param({"16"})
+      int keySize;
+
+      @Param({"64"})
+      int valueSize;
+
+      PeekableTouchableMap<Object, Object> map;
+      WrappedByteArray[] keys;
+      WrappedByteArray value;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         switch (mapType) {
+            case "compact":
+               map = new CompactConcurrentMap();
+               break;
+            case "striped":
+               map = new StripedCompactConcurrentMap(ProcessorInfo.availableProcessors());
+               break;
+            default:
+               map = new PeekableTouchableContainerMap<>();
+         }
+         keys = populate(map, entries, keySize, valueSize);
+         value = new WrappedByteArray(new byte[valueSize]);
+      }
+
+      WrappedByteArray randomKey() {
+         return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+      }
+   }
+
+   @Benchmark
+   public InternalCacheEntry<Object, Object> peek(State state) {
+      return state.map.peek(state.randomKey());
+   }
+
+   @Benchmark
+   public InternalCacheEntry<Object, Object> put(State state) {
+      WrappedByteArray key = state.randomKey();
+      return state.map.put(key, new ImmortalCacheEntry(key, state.value));
+   }
+}
@@ -0,0 +1,163 @@
+package org.infinispan.container.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.impl.CompactDataContainerTest")
+public class CompactDataContainerTest extends SingleCacheManagerTest {
+   private static final String OBJECT_CACHE = "object";
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.encoding().mediaType(MediaType.APPLICATION_PROTOSTREAM_TYPE);
+      builder.memory().compact(true);
+      EmbeddedCacheManager cacheManager = TestCacheManagerFactory.createCacheManager(builder);
+
+      ConfigurationBuilder objectBuilder = new ConfigurationBuilder();
+      objectBuilder.memory().compact(true);
+      cacheManager.defineConfiguration(OBJECT_CACHE, objectBuilder.build());
+      return cacheManager;
+   }
+
+   private static PeekableTouchableMap<?, ?> map(Cache<?, ?> cache) {
+      DefaultDataContainer<?, ?> container =
+            (DefaultDataContainer<?, ?>) TestingUtil.extractComponent(cache, InternalDataContainer.class);
+      return container.getMapForSegment(0);
+   }
+
+   private StripedCompactConcurrentMap compactMap() {
+      PeekableTouchableMap<?, ?> map = map(cache);
+      assertTrue(map instanceof StripedCompactConcurrentMap);
+      return (StripedCompactConcurrentMap) map;
+   }
+
+   public void testEntriesArePacked() {
+      for (int i = 0; i < 100; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      for (int i = 0; i < 100; ++i) {
+         assertEquals("value" + i, cache.get("key" + i));
+      }
+      assertEquals(100, cache.size());
+      assertEquals(0, compactMap().objectEntryCount());
+      assertTrue(compactMap().dataLength() > 0);
+
+      cache.remove("key0");
+      assertNull(cache.get("key0"));
+      assertEquals(99, cache.size());
+   }
+
+   public void testMortalEntriesArePacked() {
+      cache.put("mortal", "value", 1, TimeUnit.HOURS);
+      assertEquals(0, compactMap().objectEntryCount());
+      assertEquals(TimeUnit.HOURS.toMillis(1), cache.getAdvancedCache().getCacheEntry("mortal").getLifespan());
+   }
+
+   public void testMaxIdleEntriesAreKeptAsObjects() {
+      cache.put("transient", "value", -1, TimeUnit.MILLISECONDS, 1, TimeUnit.HOURS);
+      assertEquals(1, compactMap().objectEntryCount());
+      assertEquals("value", cache.get("transient"));
+
+      // Replacing it with an immortal entry packs it again
+      cache.put("transient", "other");
+      assertEquals(0, compactMap().objectEntryCount());
+      assertEquals("other", cache.get("transient"));
+      assertEquals(1, cache.size());
+   }
+
+   public void testObjectStorageIsNotCompact() {
+      Cache<Object, Object> objectCache = cacheManager.getCache(OBJECT_CACHE);
+      objectCache.put("key", "value");
+      assertFalse(map(objectCache) instanceof StripedCompactConcurrentMap);
+   }
+
+   public void testLocalContainerIsStriped() {
+      assertEquals(Util.findNextHighestPowerOfTwo(cache.getCacheConfiguration().locking().concurrencyLevel()),
+            compactMap().stripeCount());
+   }
+
+   public void testStripedIteration() {
+      StripedCompactConcurrentMap map = new StripedCompactConcurrentMap(8);
+      for (byte i = 0; i < 100; ++i) {
+         WrappedByteArray key = new WrappedByteArray(new byte[]{i});
+         map.put(key, new ImmortalCacheEntry(key, key));
+      }
+      assertEquals(100, map.size());
+      Set<Object> keys = new HashSet<>();
+      Iterator<InternalCacheEntry<Object, Object>> iterator = map.values().iterator();
+      while (iterator.hasNext()) {
+         InternalCacheEntry<Object, Object> entry = iterator.next();
+         assertEquals(entry.getKey(), entry.getValue());
+         assertTrue(keys.add(entry.getKey()));
+         iterator.remove();
+      }
+      assertFalse(iterator.hasNext());
+      assertEquals(100, keys.size());
+      assertTrue(map.isEmpty());
+   }
+
+   public void testStaleRecordsAreReclaimed() {
+      CompactConcurrentMap map = new CompactConcurrentMap();
+      WrappedByteArray key = new WrappedByteArray(new byte[]{1});
+      for (int i = 0; i < 10_000; ++i) {
+         map.put(key, new ImmortalCacheEntry(key, new WrappedByteArray(new byte[i % 100])));
+      }
+      assertEquals(1, map.size());
+      assertEquals(99, ((WrappedByteArray) map.get(key).getValue()).getLength());
+      // Each record is at most 109 bytes, so the data array never has to hold more than a few of them
+      assertTrue(map.dataLength() < 10_000);
+   }
+
+   public void testLargeValuesAreKeptAsObjects() {
+      CompactConcurrentMap map = new CompactConcurrentMap();
+      WrappedByteArray key = new WrappedByteArray(new byte[]{1});
+      map.put(key, new ImmortalCacheEntry(key, new WrappedByteArray(new byte[CompactConcurrentMap.MAXIMUM_RECORD_LENGTH])));
+      assertEquals(1, map.objectEntryCount());
+      assertEquals(0, map.dataLength());
+   }
+
+   public void testIteratorIsNotAffectedByWrites() {
+      CompactConcurrentMap map = new CompactConcurrentMap();
+      for (byte i = 0; i < 100; ++i) {
+         WrappedByteArray key = new WrappedByteArray(new byte[]{i});
+         map.put(key, new ImmortalCacheEntry(key, key));
+      }
+      int count = 0;
+      Iterator<InternalCacheEntry<Object, Object>> iterator = map.values().iterator();
+      while (iterator.hasNext()) {
+         InternalCacheEntry<Object, Object> entry = iterator.next();
+         assertEquals(entry.getKey(), entry.getValue());
+         iterator.remove();
+         // Forces the live records to be copied to a new array
+         map.put(entry.getKey(), new ImmortalCacheEntry(entry.getKey(), new WrappedByteArray(new byte[1000])));
+         map.remove(entry.getKey());
+         count++;
+      }
+      assertEquals(100, count);
+      assertTrue(map.isEmpty());
+   }
+}
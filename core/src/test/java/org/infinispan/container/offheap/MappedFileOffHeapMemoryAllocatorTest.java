@@ -0,0 +1,127 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.MappedFileOffHeapMemoryAllocatorTest")
+public class MappedFileOffHeapMemoryAllocatorTest extends SingleCacheManagerTest {
+   private String location;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      location = CommonsTestingUtil.tmpDirectory(MappedFileOffHeapMemoryAllocatorTest.class);
+      GlobalConfigurationBuilder globalBuilder = new GlobalConfigurationBuilder().nonClusteredDefault();
+      globalBuilder.globalState().enable().persistentLocation(location);
+
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().storage(StorageType.OFF_HEAP).allocator(OffHeapAllocatorType.MAPPED_FILE);
+      return TestCacheManagerFactory.createCacheManager(globalBuilder, builder);
+   }
+
+   @Override
+   protected void teardown() {
+      super.teardown();
+      Util.recursiveFileRemove(location);
+   }
+
+   public void testEntriesAreStoredInMappedFile() {
+      for (int i = 0; i < 1000; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      // Larger than a size class, so it is carved out of the file as well
+      String largeValue = new String(new char[PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE * 2]);
+      cache.put("large", largeValue);
+      for (int i = 0; i < 1000; ++i) {
+         assertEquals("value" + i, cache.get("key" + i));
+      }
+      assertEquals(largeValue, cache.get("large"));
+
+      MappedFileOffHeapMemoryAllocator allocator = allocator(cache);
+      assertTrue(Files.exists(Paths.get(location, cache.getName(), "memory.mapped")));
+      assertEquals(MappedFileOffHeapMemoryAllocator.REGION_SIZE, allocator.getMappedAmount());
+      assertTrue(allocator.getAllocatedAmount() > 0);
+   }
+
+   public void testFileDeletedOnStop() {
+      cacheManager.defineConfiguration("stopped", cache.getCacheConfiguration());
+      Cache<Object, Object> stoppedCache = cacheManager.getCache("stopped");
+      stoppedCache.put("key", "value");
+      Path path = Paths.get(location, stoppedCache.getName(), "memory.mapped");
+      assertTrue(Files.exists(path));
+
+      MappedFileOffHeapMemoryAllocator allocator = allocator(stoppedCache);
+      stoppedCache.stop();
+      assertFalse(Files.exists(path));
+      assertEquals(0, allocator.getMappedAmount());
+   }
+
+   public void testLargeAllocationsAreReused() {
+      MappedFileOffHeapMemoryAllocator allocator = new MappedFileOffHeapMemoryAllocator(
+            Paths.get(location, "allocator", "memory.mapped"));
+      try {
+         long size = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1;
+         long address = allocator.allocate(size);
+         // Rounded up to the next power of two
+         assertEquals(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE * 2, allocator.getAllocatedAmount());
+         allocator.deallocate(address, size);
+         assertEquals(0, allocator.getAllocatedAmount());
+         assertEquals(address, allocator.allocate(size + 1));
+
+         long slabChunk = allocator.allocate(100);
+         assertTrue(slabChunk != 0);
+         assertEquals(MappedFileOffHeapMemoryAllocator.REGION_SIZE, allocator.getMappedAmount());
+      } finally {
+         allocator.stop();
+      }
+      assertEquals(0, allocator.getReservedAmount());
+      assertEquals(0, allocator.getSlabCount());
+   }
+
+   public void testAllocationsLargerThanAMappingAreNative() {
+      MappedFileOffHeapMemoryAllocator allocator = new MappedFileOffHeapMemoryAllocator(
+            Paths.get(location, "native", "memory.mapped"), MappedFileOffHeapMemoryAllocator.REGION_SIZE);
+      try {
+         // Rounded up beyond the largest mapping
+         long size = MappedFileOffHeapMemoryAllocator.REGION_SIZE + 1;
+         long address = allocator.allocate(size);
+         assertEquals(0, allocator.getMappedAmount());
+         assertEquals(size, allocator.getAllocatedAmount());
+         UnsafeHolder.UNSAFE.putLong(address + size - Long.BYTES, 42);
+         assertEquals(42, UnsafeHolder.UNSAFE.getLong(address + size - Long.BYTES));
+         allocator.deallocate(address, size);
+         assertEquals(0, allocator.getAllocatedAmount());
+
+         // The largest mapping is still carved out of the file
+         address = allocator.allocate(MappedFileOffHeapMemoryAllocator.REGION_SIZE);
+         assertEquals(MappedFileOffHeapMemoryAllocator.REGION_SIZE, allocator.getMappedAmount());
+         allocator.deallocate(address, MappedFileOffHeapMemoryAllocator.REGION_SIZE);
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   private static MappedFileOffHeapMemoryAllocator allocator(Cache<?, ?> cache) {
+      return (MappedFileOffHeapMemoryAllocator) TestingUtil.extractComponent(cache, OffHeapMemoryAllocator.class);
+   }
+}
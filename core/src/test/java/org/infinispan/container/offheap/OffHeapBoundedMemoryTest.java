@@ -59,15 +59,15 @@ public void testAllocatedAmountEqual() {
       OffHeapMemoryAllocator allocator = cache.getComponentRegistry().getComponent(
             OffHeapMemoryAllocator.class);
       BoundedOffHeapDataContainer container = (BoundedOffHeapDataContainer) getContainer(cache);
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
 
       cache.put(1, 2);
 
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
 
       cache.clear();
 
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
    }
 
    public void testAllocatedAmountEqualWithVersion() {
@@ -84,11 +84,11 @@ public void testAllocatedAmountEqualWithVersion() {
       OffHeapMemoryAllocator allocator = cache.getComponentRegistry().getComponent(
             OffHeapMemoryAllocator.class);
       BoundedOffHeapDataContainer container = (BoundedOffHeapDataContainer) getContainer(cache);
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
 
       cache.clear();
 
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
    }
 
    public void testAllocatedAmountEqualWithExpiration() {
@@ -107,11 +107,11 @@ public void testAllocatedAmountEqualWithExpiration() {
       OffHeapMemoryAllocator allocator = cache.getComponentRegistry().getComponent(
             OffHeapMemoryAllocator.class);
       BoundedOffHeapDataContainer container = (BoundedOffHeapDataContainer) getContainer(cache);
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
 
       cache.clear();
 
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
    }
 
    public void testAllocatedAmountEqualWithVersionAndExpiration() {
@@ -137,10 +137,10 @@ public void testAllocatedAmountEqualWithVersionAndExpiration() {
       OffHeapMemoryAllocator allocator = cache.getComponentRegistry().getComponent(
             OffHeapMemoryAllocator.class);
       BoundedOffHeapDataContainer container = (BoundedOffHeapDataContainer) getContainer(cache);
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
 
       cache.clear();
 
-      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(allocator.getAllocatedAmount(), container.evictionSize());
    }
 }
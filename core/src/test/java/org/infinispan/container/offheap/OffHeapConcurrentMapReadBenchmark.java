@@ -0,0 +1,119 @@
+package org.infinispan.container.offheap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalEntryFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares reads on an {@link OffHeapConcurrentMap} that acquire the striped read lock with reads that validate an
+ * optimistic stamp instead.
+ *
+ * @since 13.0
+ */
+public class OffHeapConcurrentMapReadBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(OffHeapConcurrentMapReadBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(ProcessorInfo.availableProcessors())
+            .forks(2)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"false", "true"})
+      boolean optimisticReads;
+
+      @Param({"100000"})
+      int entries;
+
+      OffHeapConcurrentMap map;
+      WrappedBytes[] keys;
+      private OffHeapMemoryAllocator allocator;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         allocator = new PooledOffHeapMemoryAllocator();
+         OffHeapEntryFactoryImpl offHeapEntryFactory = new OffHeapEntryFactoryImpl();
+         offHeapEntryFactory.allocator = allocator;
+         offHeapEntryFactory.internalEntryFactory = new InternalEntryFactoryImpl();
+         offHeapEntryFactory.configuration = new ConfigurationBuilder().build();
+         offHeapEntryFactory.start();
+
+         map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null, optimisticReads);
+         keys = new WrappedBytes[entries];
+         WrappedBytes value = new WrappedByteArray(new byte[64]);
+         for (int i = 0; i < entries; ++i) {
+            byte[] keyBytes = new byte[16];
+            ThreadLocalRandom.current().nextBytes(keyBytes);
+            keys[i] = new WrappedByteArray(keyBytes);
+            map.put(keys[i], new ImmortalCacheEntry(keys[i], value));
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         map.close();
+         ((PooledOffHeapMemoryAllocator) allocator).stop();
+      }
+
+      WrappedBytes randomKey() {
+         return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+      }
+   }
+
+   @Benchmark
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> get(State state) {
+      return state.map.get(state.randomKey());
+   }
+
+   @Benchmark
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> peek(State state) {
+      return state.map.peek(state.randomKey());
+   }
+
+   @Benchmark
+   @Group("readWrite")
+   @GroupThreads(7)
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> readWhileWriting(State state) {
+      return state.map.get(state.randomKey());
+   }
+
+   @Benchmark
+   @Group("readWrite")
+   @GroupThreads(1)
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> writeWhileReading(State state) {
+      WrappedBytes key = state.randomKey();
+      return state.map.put(key, new ImmortalCacheEntry(key, key));
+   }
+}
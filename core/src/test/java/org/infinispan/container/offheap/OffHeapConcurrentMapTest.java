@@ -1,6 +1,7 @@
 package org.infinispan.container.offheap;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -28,6 +29,10 @@ public class OffHeapConcurrentMapTest {
 
    @BeforeMethod
    void initializeMap() {
+      map = createMap(-1);
+   }
+
+   private OffHeapConcurrentMap createMap(long expectedEntries) {
       OffHeapMemoryAllocator allocator = new UnpooledOffHeapMemoryAllocator();
       OffHeapEntryFactoryImpl offHeapEntryFactory = new OffHeapEntryFactoryImpl();
       offHeapEntryFactory.allocator = allocator;
@@ -35,7 +40,7 @@ void initializeMap() {
       offHeapEntryFactory.configuration = new ConfigurationBuilder().build();
       offHeapEntryFactory.start();
 
-      map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null);
+      return new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null, false, expectedEntries);
    }
 
    @AfterMethod
@@ -132,6 +137,58 @@ public void testIterationCreatedButNotUsedUntilAfterAResize() {
       assertEquals(RESIZE_LIMITATION, entriesFound);
    }
 
+   public void testResizeTransfersIncrementally() {
+      Set<WrappedBytes> keys = insertUpToResizeLimitation();
+      // Starts the resize, but only transfers some buckets
+      keys.add(putInMap(map, valueByteArray));
+      assertTrue(map.isTransferPending());
+      assertEquals(OffHeapConcurrentMap.INITIAL_SIZE << 1, map.getBucketCount());
+
+      for (WrappedBytes key : keys) {
+         assertNotNull(map.get(key));
+      }
+      int entriesFound = 0;
+      for (InternalCacheEntry<WrappedBytes, WrappedBytes> ice : map.values()) {
+         assertTrue(keys.contains(ice.getKey()));
+         entriesFound++;
+      }
+      assertEquals(keys.size(), entriesFound);
+
+      // Each new entry helps transferring, so this eventually completes without another resize
+      while (map.isTransferPending()) {
+         keys.add(putInMap(map, valueByteArray));
+      }
+      assertEquals(OffHeapConcurrentMap.INITIAL_SIZE << 1, map.getBucketCount());
+      for (WrappedBytes key : keys) {
+         assertNotNull(map.get(key));
+      }
+   }
+
+   public void testExpectedEntriesPreventsResize() {
+      map.close();
+      int expectedEntries = RESIZE_LIMITATION * 8;
+      map = createMap(expectedEntries);
+      int bucketCount = map.getBucketCount();
+      assertEquals(OffHeapConcurrentMap.computeBucketCount(expectedEntries), bucketCount);
+
+      for (int i = 0; i < expectedEntries; ++i) {
+         putInMap(map, valueByteArray);
+      }
+      assertEquals(bucketCount, map.getBucketCount());
+      assertFalse(map.isTransferPending());
+
+      // Clear goes back to the expected size and not the default initial size
+      map.clear();
+      assertEquals(bucketCount, map.getBucketCount());
+   }
+
+   public void testComputeBucketCount() {
+      assertEquals(OffHeapConcurrentMap.INITIAL_SIZE, OffHeapConcurrentMap.computeBucketCount(-1));
+      assertEquals(OffHeapConcurrentMap.INITIAL_SIZE, OffHeapConcurrentMap.computeBucketCount(RESIZE_LIMITATION - 1));
+      assertEquals(OffHeapConcurrentMap.INITIAL_SIZE << 1, OffHeapConcurrentMap.computeBucketCount(RESIZE_LIMITATION));
+      assertEquals(1 << 30, OffHeapConcurrentMap.computeBucketCount(Long.MAX_VALUE));
+   }
+
    WrappedBytes putInMap(OffHeapConcurrentMap map, WrappedBytes value) {
       InternalCacheEntry<WrappedBytes, WrappedBytes> ice;
       WrappedBytes key;
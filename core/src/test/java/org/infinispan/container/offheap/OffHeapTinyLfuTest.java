@@ -0,0 +1,146 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapTinyLfuTest")
+public class OffHeapTinyLfuTest extends SingleCacheManagerTest {
+   private static final int MAX_COUNT = 100;
+   private static final int HOT_KEYS = MAX_COUNT / 2;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cacheManager = TestCacheManagerFactory.createCacheManager(configuration(
+            OffHeapEvictionPolicy.TINY_LFU));
+      cacheManager.defineConfiguration("lru", configuration(OffHeapEvictionPolicy.LRU).build());
+      ConfigurationBuilder smallMemory = new ConfigurationBuilder();
+      // Too small for the frequency sketch, 128KB including the memory lookup of each segment
+      smallMemory.clustering().hash().numSegments(4);
+      smallMemory.memory()
+            .storage(StorageType.OFF_HEAP)
+            .maxSize("128KB")
+            .whenFull(EvictionStrategy.REMOVE)
+            .evictionPolicy(OffHeapEvictionPolicy.TINY_LFU);
+      cacheManager.defineConfiguration("small-memory", smallMemory.build());
+      return cacheManager;
+   }
+
+   private static ConfigurationBuilder configuration(OffHeapEvictionPolicy evictionPolicy) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory()
+            .storage(StorageType.OFF_HEAP)
+            .maxCount(MAX_COUNT)
+            .whenFull(EvictionStrategy.REMOVE)
+            .evictionPolicy(evictionPolicy);
+      return builder;
+   }
+
+   public void testScanRetainsFrequentlyReadEntries() {
+      assertEquals(HOT_KEYS, hotKeysRetainedAfterScan(cache));
+   }
+
+   public void testScanFlushesRecentlyReadEntriesWithLru() {
+      assertEquals(0, hotKeysRetainedAfterScan(cacheManager.getCache("lru")));
+   }
+
+   private static int hotKeysRetainedAfterScan(Cache<Object, Object> cache) {
+      for (int i = 0; i < HOT_KEYS; ++i) {
+         cache.put("hot" + i, "value" + i);
+      }
+      for (int j = 0; j < 5; ++j) {
+         for (int i = 0; i < HOT_KEYS; ++i) {
+            assertEquals("value" + i, cache.get("hot" + i));
+         }
+      }
+      for (int i = 0; i < MAX_COUNT * 10; ++i) {
+         cache.put("scan" + i, "value" + i);
+      }
+      assertEquals(MAX_COUNT, cache.size());
+
+      int retained = 0;
+      for (int i = 0; i < HOT_KEYS; ++i) {
+         if (cache.get("hot" + i) != null) {
+            retained++;
+         }
+      }
+      return retained;
+   }
+
+   public void testReadsNotRecordedWithLru() {
+      Cache<Object, Object> lruCache = cacheManager.getCache("lru");
+      lruCache.clear();
+      for (int i = 0; i < MAX_COUNT; ++i) {
+         lruCache.put("key" + i, "value" + i);
+      }
+      // Recording the read would need the lruLock, so the entry stays the least recently used
+      assertEquals("value0", lruCache.get("key0"));
+      lruCache.put("new", "value");
+      assertNull(lruCache.get("key0"));
+      assertEquals("value1", lruCache.get("key1"));
+   }
+
+   public void testSmallMemoryBoundAdmitsNewEntries() {
+      Cache<Object, Object> smallCache = cacheManager.getCache("small-memory");
+      int numEntries = 10_000;
+      for (int i = 0; i < numEntries; ++i) {
+         smallCache.put("key" + i, "value" + i);
+      }
+      int size = smallCache.size();
+      assertTrue("Cache not evicted: " + size, size < numEntries);
+      // The oldest entries are evicted in LRU order, instead of rejecting every new entry
+      assertNull(smallCache.get("key0"));
+      for (int i = numEntries - size / 2; i < numEntries; ++i) {
+         assertEquals("value" + i, smallCache.get("key" + i));
+      }
+   }
+
+   public void testHitsAndMisses() {
+      Cache<Object, Object> lruCache = cacheManager.getCache("lru");
+      lruCache.put("key", "value");
+      lruCache.get("key");
+      lruCache.get("key");
+      lruCache.get("missing");
+
+      SegmentedBoundedOffHeapDataContainer container =
+            (SegmentedBoundedOffHeapDataContainer) lruCache.getAdvancedCache().getDataContainer();
+      assertEquals(2, container.getHits());
+      assertEquals(1, container.getMisses());
+   }
+
+   public void testSketchSaturates() {
+      UnpooledOffHeapMemoryAllocator allocator = new UnpooledOffHeapMemoryAllocator();
+      OffHeapFrequencySketch sketch = new OffHeapFrequencySketch(allocator);
+      // Nothing is recorded before the table is allocated
+      sketch.increment(1);
+      assertEquals(0, sketch.frequency(1));
+
+      sketch.ensureCapacity(MAX_COUNT);
+      long bytes = OffHeapFrequencySketch.MINIMUM_LENGTH << 3;
+      assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(bytes), sketch.memoryUsed());
+      for (int i = 0; i < 20; ++i) {
+         sketch.increment(1);
+      }
+      sketch.increment(2);
+      assertEquals(15, sketch.frequency(1));
+      assertEquals(1, sketch.frequency(2));
+      assertEquals(0, sketch.frequency(3));
+
+      sketch.deallocate();
+      assertEquals(0, sketch.memoryUsed());
+      assertEquals(0, allocator.getAllocatedAmount());
+   }
+}
@@ -0,0 +1,113 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalEntryFactoryImpl;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests reads on an {@link OffHeapConcurrentMap} that don't acquire the read lock.
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.OptimisticReadOffHeapConcurrentMapTest")
+public class OptimisticReadOffHeapConcurrentMapTest extends AbstractInfinispanTest {
+   private PooledOffHeapMemoryAllocator allocator;
+   private OffHeapConcurrentMap map;
+
+   @BeforeMethod
+   void initializeMap() {
+      allocator = new PooledOffHeapMemoryAllocator();
+      OffHeapEntryFactoryImpl offHeapEntryFactory = new OffHeapEntryFactoryImpl();
+      offHeapEntryFactory.allocator = allocator;
+      offHeapEntryFactory.internalEntryFactory = new InternalEntryFactoryImpl();
+      offHeapEntryFactory.configuration = new ConfigurationBuilder().build();
+      offHeapEntryFactory.start();
+
+      map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null, true);
+   }
+
+   @AfterMethod
+   void afterMethod() {
+      if (map != null) {
+         map.close();
+         // All deferred deallocations must have been released by close
+         assertEquals(0, allocator.getAllocatedAmount());
+         allocator.stop();
+      }
+   }
+
+   public void testReadAfterWrite() {
+      WrappedBytes key = bytes(1);
+      assertNull(map.peek(key));
+      map.put(key, new ImmortalCacheEntry(key, bytes(2)));
+      assertEquals(bytes(2), map.peek(key).getValue());
+      assertEquals(bytes(2), map.get(key).getValue());
+
+      map.put(key, new ImmortalCacheEntry(key, bytes(3)));
+      assertEquals(bytes(3), map.get(key).getValue());
+
+      map.remove(key);
+      assertNull(map.peek(key));
+      assertNull(map.get(key));
+   }
+
+   public void testReadsDuringConcurrentWritesAndResize() throws Exception {
+      int keyCount = OffHeapConcurrentMap.computeThreshold(OffHeapConcurrentMap.INITIAL_SIZE) * 4;
+      WrappedBytes[] keys = new WrappedBytes[keyCount];
+      for (int i = 0; i < keyCount; ++i) {
+         keys[i] = bytes(i);
+      }
+      AtomicBoolean stop = new AtomicBoolean();
+      List<Future<?>> futures = new ArrayList<>();
+      futures.add(fork(() -> {
+         while (!stop.get()) {
+            for (WrappedBytes key : keys) {
+               // Value always equals the key, so readers can check they never see a mismatched entry
+               map.put(key, new ImmortalCacheEntry(key, key));
+            }
+            for (int i = 0; i < keys.length; i += 2) {
+               map.remove(keys[i]);
+            }
+         }
+      }));
+      for (int i = 0; i < 4; ++i) {
+         futures.add(fork(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (!stop.get()) {
+               WrappedBytes key = keys[random.nextInt(keys.length)];
+               InternalCacheEntry<WrappedBytes, WrappedBytes> ice = random.nextBoolean() ? map.get(key) : map.peek(key);
+               if (ice != null) {
+                  assertEquals(key, ice.getKey());
+                  assertEquals(key, ice.getValue());
+               }
+            }
+         }));
+      }
+      Thread.sleep(TimeUnit.SECONDS.toMillis(2));
+      stop.set(true);
+      for (Future<?> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+   }
+
+   private static WrappedBytes bytes(int value) {
+      return new WrappedByteArray(new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8),
+            (byte) value });
+   }
+}
@@ -0,0 +1,99 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.PooledOffHeapMemoryAllocatorTest")
+public class PooledOffHeapMemoryAllocatorTest {
+
+   @DataProvider(name = "sizeClasses")
+   Object[][] sizeClasses() {
+      return new Object[][] {
+            { 1, 16 },
+            { 16, 16 },
+            { 17, 32 },
+            { 256, 256 },
+            { 257, 320 },
+            { 512, 512 },
+            { 513, 640 },
+            { 5000, 5120 },
+            { 8192, 8192 },
+      };
+   }
+
+   @Test(dataProvider = "sizeClasses")
+   public void testSizeClasses(long original, int expected) {
+      int classIndex = PooledOffHeapMemoryAllocator.classIndex(original);
+      assertEquals(expected, PooledOffHeapMemoryAllocator.classSize(classIndex));
+   }
+
+   public void testLargeAllocationNotPooled() {
+      assertEquals(-1, PooledOffHeapMemoryAllocator.classIndex(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1));
+   }
+
+   public void testFreedChunksAreReused() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      try {
+         long address = allocator.allocate(100);
+         assertEquals(112, allocator.getAllocatedAmount());
+         assertEquals(112L * (PooledOffHeapMemoryAllocator.SLAB_SIZE / 112), allocator.getReservedAmount());
+
+         allocator.deallocate(address, 100);
+         assertEquals(0, allocator.getAllocatedAmount());
+
+         // Same size class should hand back the chunk we just freed
+         assertEquals(address, allocator.allocate(97));
+         assertEquals(1, allocator.getSlabCount());
+      } finally {
+         allocator.stop();
+      }
+      assertEquals(0, allocator.getSlabCount());
+      assertEquals(0, allocator.getReservedAmount());
+   }
+
+   public void testSlabsGrowWhenExhausted() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      try {
+         int chunks = PooledOffHeapMemoryAllocator.SLAB_SIZE / 64;
+         Set<Long> addresses = new HashSet<>();
+         for (int i = 0; i < chunks + 1; ++i) {
+            assertTrue(addresses.add(allocator.allocate(64)));
+         }
+         assertEquals(2, allocator.getSlabCount());
+         assertEquals((long) (chunks + 1) * 64, allocator.getAllocatedAmount());
+         for (long address : addresses) {
+            allocator.deallocate(address, 64);
+         }
+         assertEquals(0, allocator.getAllocatedAmount());
+         assertFalse(allocator.getReservedAmount() == 0);
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testUnpooledAllocation() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      try {
+         long size = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE * 2;
+         long address = allocator.allocate(size);
+         long expected = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size);
+         assertEquals(expected, allocator.getAllocatedAmount());
+         assertEquals(expected, allocator.getReservedAmount());
+         allocator.deallocate(address, size);
+         assertEquals(0, allocator.getAllocatedAmount());
+         assertEquals(0, allocator.getSlabCount());
+      } finally {
+         allocator.stop();
+      }
+   }
+}
@@ -0,0 +1,77 @@
+package org.infinispan.container.offheap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the size accounting of a bounded off-heap container done through a single shared counter with the one
+ * done through a {@link StripedSizeCounter}, with every thread adding and removing entries and checking whether the
+ * container has to evict, as the container does on each write.
+ *
+ * @since 13.0
+ */
+public class StripedSizeCounterBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(StripedSizeCounterBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(ProcessorInfo.availableProcessors())
+            .forks(2)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"false", "true"})
+      boolean striped;
+
+      @Param({"1073741824"})
+      long maxSize;
+
+      AtomicLong shared;
+      StripedSizeCounter counter;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         shared = new AtomicLong();
+         counter = new StripedSizeCounter(maxSize);
+      }
+
+      boolean addAndCheck(long amount) {
+         if (striped) {
+            counter.add(amount);
+            return counter.approximate() + counter.maximumError() <= maxSize || counter.sum() <= maxSize;
+         }
+         return shared.addAndGet(amount) <= maxSize;
+      }
+   }
+
+   @Benchmark
+   public boolean write(State state) {
+      // Entries of a few hundred bytes, added and removed as often so the total stays stable
+      long amount = 64 + ThreadLocalRandom.current().nextInt(256);
+      return state.addAndCheck(amount) & state.addAndCheck(-amount);
+   }
+}
@@ -0,0 +1,61 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "container.offheap.StripedSizeCounterTest")
+public class StripedSizeCounterTest extends AbstractInfinispanTest {
+
+   public void testSmallLimitIsExact() {
+      StripedSizeCounter counter = new StripedSizeCounter(16, 100);
+      assertEquals(0, counter.maximumError());
+      counter.add(1);
+      assertEquals(1, counter.approximate());
+      counter.add(-1);
+      assertEquals(0, counter.approximate());
+   }
+
+   public void testApproximateWithinError() {
+      StripedSizeCounter counter = new StripedSizeCounter(4, 1 << 20);
+      // A 64th of the limit spread over 4 stripes
+      assertEquals(4096 * 4, counter.maximumError());
+      counter.add(4096);
+      assertEquals(0, counter.approximate());
+      assertEquals(4096, counter.sum());
+      counter.add(1);
+      assertEquals(4097, counter.approximate());
+      counter.add(-4096);
+      assertEquals(4097, counter.approximate());
+      assertEquals(1, counter.sum());
+      counter.add(-1);
+      assertEquals(0, counter.approximate());
+   }
+
+   public void testConcurrentUpdates() throws Exception {
+      StripedSizeCounter counter = new StripedSizeCounter(4, 1 << 20);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; ++i) {
+         futures.add(fork(() -> {
+            for (int j = 0; j < 100_000; ++j) {
+               counter.add(3);
+               counter.add(-1);
+            }
+         }));
+      }
+      for (Future<?> future : futures) {
+         future.get();
+      }
+      assertEquals(8 * 200_000, counter.sum());
+      assertTrue(Math.abs(counter.sum() - counter.approximate()) <= counter.maximumError());
+   }
+}
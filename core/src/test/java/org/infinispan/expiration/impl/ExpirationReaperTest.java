@@ -0,0 +1,166 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TransportFlags;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "expiration.impl.ExpirationReaperTest")
+public class ExpirationReaperTest extends SingleCacheManagerTest {
+   private static final int SIZE = 100;
+   private static final String BOUNDED_CACHE = "bounded";
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+   private CacheMode cacheMode;
+   private ExpirationManagerImpl<Object, Object> expirationManager;
+
+   @Factory
+   public Object[] factory() {
+      return new Object[]{
+            new ExpirationReaperTest().cacheMode(CacheMode.LOCAL),
+            new ExpirationReaperTest().cacheMode(CacheMode.DIST_SYNC),
+      };
+   }
+
+   private ExpirationReaperTest cacheMode(CacheMode cacheMode) {
+      this.cacheMode = cacheMode;
+      return this;
+   }
+
+   @Override
+   protected String parameters() {
+      return "[" + cacheMode + "]";
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.clustering().cacheMode(cacheMode)
+            .expiration().disableReaper().reaperParallelism(4).indexed(true);
+      EmbeddedCacheManager cm;
+      if (cacheMode.isClustered()) {
+         cm = TestCacheManagerFactory.createClusteredCacheManager(false,
+               GlobalConfigurationBuilder.defaultClusteredBuilder(), builder, new TransportFlags());
+      } else {
+         cm = TestCacheManagerFactory.createCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault(),
+               builder, false);
+      }
+      builder.memory().maxCount(SIZE);
+      cm.defineConfiguration(BOUNDED_CACHE, builder.build());
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      expirationManager = (ExpirationManagerImpl<Object, Object>) TestingUtil.extractComponent(cache,
+            InternalExpirationManager.class);
+      return cm;
+   }
+
+   public void testExpiredEntriesAreReclaimed() {
+      for (int i = 0; i < SIZE; i++) {
+         cache.put("mortal-" + i, "value", 10, TimeUnit.SECONDS);
+         cache.put("immortal-" + i, "value");
+      }
+      long reclaimed = expirationManager.getReclaimedEntries();
+      long passes = expirationManager.getReaperPasses();
+
+      expirationManager.processExpiration();
+      assertEquals(reclaimed, expirationManager.getReclaimedEntries());
+      assertEquals(2 * SIZE, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(11));
+      expirationManager.processExpiration();
+      assertEquals(reclaimed + SIZE, expirationManager.getReclaimedEntries());
+      assertEquals(passes + 2, expirationManager.getReaperPasses());
+      assertEquals(SIZE, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+   }
+
+   public void testIndexFollowsWrites() {
+      expirationManager.processExpiration();
+      long reclaimed = expirationManager.getReclaimedEntries();
+
+      cache.put("key", "value", 1, TimeUnit.HOURS);
+      assertEquals(1, expirationManager.getIndexedEntries());
+      // Rewriting the entry moves it in the index
+      cache.put("key", "value", 1, TimeUnit.MINUTES);
+      assertEquals(1, expirationManager.getIndexedEntries());
+      cache.put("removed", "value", 1, TimeUnit.MINUTES);
+      cache.remove("removed");
+      assertEquals(1, expirationManager.getIndexedEntries());
+
+      timeService.advance(TimeUnit.MINUTES.toMillis(2));
+      expirationManager.processExpiration();
+      assertEquals(reclaimed + 1, expirationManager.getReclaimedEntries());
+      assertEquals(0, expirationManager.getIndexedEntries());
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+   }
+
+   public void testTouchedEntryIsIndexedAgain() {
+      cache.put("key", "value", -1, TimeUnit.MILLISECONDS, 1, TimeUnit.MINUTES);
+      timeService.advance(TimeUnit.SECONDS.toMillis(50));
+      assertEquals("value", cache.get("key"));
+
+      // Expired with the time it was indexed at, but not since it was touched
+      timeService.advance(TimeUnit.SECONDS.toMillis(20));
+      expirationManager.processExpiration();
+      assertEquals(1, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+      assertEquals(1, expirationManager.getIndexedEntries());
+
+      timeService.advance(TimeUnit.SECONDS.toMillis(50));
+      expirationManager.processExpiration();
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+      assertEquals(0, expirationManager.getIndexedEntries());
+   }
+
+   public void testClearEmptiesIndex() {
+      for (int i = 0; i < SIZE; i++) {
+         cache.put("mortal-" + i, "value", 10, TimeUnit.SECONDS);
+      }
+      assertEquals(SIZE, expirationManager.getIndexedEntries());
+
+      cache.clear();
+      assertEquals(0, expirationManager.getIndexedEntries());
+
+      // Entries written after the clear are indexed and expired again
+      cache.put("key", "value", 10, TimeUnit.SECONDS);
+      assertEquals(1, expirationManager.getIndexedEntries());
+      timeService.advance(TimeUnit.SECONDS.toMillis(11));
+      expirationManager.processExpiration();
+      assertEquals(0, expirationManager.getIndexedEntries());
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+   }
+
+   public void testEvictionEmptiesIndex() {
+      Cache<Object, Object> bounded = cacheManager.getCache(BOUNDED_CACHE);
+      ExpirationManagerImpl<Object, Object> boundedExpirationManager =
+            (ExpirationManagerImpl<Object, Object>) TestingUtil.extractComponent(bounded,
+                  InternalExpirationManager.class);
+      InternalDataContainer<Object, Object> dataContainer = TestingUtil.extractComponent(bounded,
+            InternalDataContainer.class);
+      for (int i = 0; i < 3 * SIZE; i++) {
+         bounded.put("mortal-" + i, "value", 10, TimeUnit.SECONDS);
+      }
+      dataContainer.cleanUp();
+
+      // Only the entries that were not evicted are left in the index
+      assertEquals(SIZE, dataContainer.sizeIncludingExpired());
+      assertEquals(SIZE, boundedExpirationManager.getIndexedEntries());
+      bounded.clear();
+      assertEquals(0, boundedExpirationManager.getIndexedEntries());
+   }
+}
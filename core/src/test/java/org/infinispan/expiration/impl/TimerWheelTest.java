@@ -0,0 +1,76 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "expiration.impl.TimerWheelTest")
+public class TimerWheelTest extends AbstractInfinispanTest {
+
+   public void testKeysExpireInOrder() {
+      TimerWheel<Integer> wheel = new TimerWheel<>(0);
+      long[] expiryTimes = {500, 1500, TimeUnit.MINUTES.toMillis(3), TimeUnit.HOURS.toMillis(5),
+            TimeUnit.DAYS.toMillis(10), TimeUnit.DAYS.toMillis(400)};
+      for (int i = 0; i < expiryTimes.length; ++i) {
+         wheel.schedule(i, expiryTimes[i]);
+      }
+      for (int i = 0; i < expiryTimes.length; ++i) {
+         assertEquals(Collections.emptyList(), wheel.advance(expiryTimes[i] - 1));
+         assertEquals(Collections.singletonList(i), wheel.advance(expiryTimes[i]));
+      }
+      assertEquals(0, wheel.size());
+   }
+
+   public void testRescheduleAndUnschedule() {
+      TimerWheel<String> wheel = new TimerWheel<>(0);
+      wheel.schedule("moved", TimeUnit.HOURS.toMillis(1));
+      wheel.schedule("moved", 2000);
+      wheel.schedule("removed", 1000);
+      wheel.unschedule("removed");
+      assertEquals(1, wheel.size());
+      assertEquals(Collections.emptyList(), wheel.advance(1500));
+      assertEquals(Collections.singletonList("moved"), wheel.advance(TimerWheel.TICK_MILLIS * 3));
+      assertEquals(Collections.emptyList(), wheel.advance(TimeUnit.HOURS.toMillis(2)));
+   }
+
+   public void testAlreadyExpiredKeyIsFoundByNextAdvance() {
+      TimerWheel<String> wheel = new TimerWheel<>(TimeUnit.HOURS.toMillis(1));
+      wheel.schedule("key", 10);
+      assertEquals(Collections.singletonList("key"), wheel.advance(TimeUnit.HOURS.toMillis(1)));
+   }
+
+   public void testRandomSchedule() {
+      Random random = new Random(42);
+      TimerWheel<Integer> wheel = new TimerWheel<>(0);
+      long[] expiryTimes = new long[10_000];
+      for (int i = 0; i < expiryTimes.length; ++i) {
+         expiryTimes[i] = random.nextInt((int) TimeUnit.DAYS.toMillis(7));
+         wheel.schedule(i, expiryTimes[i]);
+      }
+      boolean[] expired = new boolean[expiryTimes.length];
+      int expiredCount = 0;
+      for (long time = 0; time <= TimeUnit.DAYS.toMillis(7); time += random.nextInt((int) TimeUnit.MINUTES.toMillis(10))) {
+         for (Integer key : wheel.advance(time)) {
+            assertTrue(expiryTimes[key] <= time);
+            assertFalse(expired[key]);
+            expired[key] = true;
+            expiredCount++;
+         }
+         assertEquals(expiryTimes.length - expiredCount, wheel.size());
+         // Nothing that expired is left behind
+         for (int i = 0; i < expiryTimes.length; ++i) {
+            assertEquals(expiryTimes[i] <= time, expired[i]);
+         }
+      }
+   }
+}
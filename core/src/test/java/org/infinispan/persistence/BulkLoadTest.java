@@ -0,0 +1,61 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the keys of a multi-key read missing from memory are loaded with a single request to the store.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.BulkLoadTest")
+public class BulkLoadTest extends SingleCacheManagerTest {
+   private static final int NUM_ENTRIES = 50;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence()
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .segmented(true)
+               .storeName(getClass().getName());
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testGetAllLoadsInBulk() {
+      Cache<String, String> cache = cacheManager.getCache();
+      Set<String> keys = new HashSet<>();
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+         keys.add("k" + i);
+         keys.add("missing" + i);
+      }
+      cache.getAdvancedCache().getDataContainer().clear();
+
+      DummyInMemoryStore store = TestingUtil.getFirstStore(cache);
+      store.clearStats();
+      Map<String, String> entries = cache.getAdvancedCache().getAll(keys);
+
+      assertEquals(NUM_ENTRIES, entries.size());
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         assertEquals("v" + i, entries.get("k" + i));
+      }
+      assertEquals(1, store.stats().get("loadAll").intValue());
+      assertEquals(0, store.stats().get("load").intValue());
+      // The loaded entries are in memory again
+      assertEquals(NUM_ENTRIES, cache.getAdvancedCache().getDataContainer().size());
+   }
+}
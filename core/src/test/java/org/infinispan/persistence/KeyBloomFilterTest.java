@@ -0,0 +1,79 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the loads of keys absent from the per-segment bloom filters do not read the store.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.KeyBloomFilterTest")
+public class KeyBloomFilterTest extends SingleCacheManagerTest {
+   private static final int NUM_ENTRIES = 100;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(false);
+   }
+
+   public void testAbsentKeysSkipTheStore() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence()
+            .bloomFilterBits(4096)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .segmented(true)
+               .storeName(getClass().getName());
+      cacheManager.defineConfiguration("bloom", builder.build());
+      Cache<String, String> cache = cacheManager.getCache("bloom");
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      cache.stop();
+      cache.start();
+
+      PersistenceManager persistenceManager = TestingUtil.extractComponent(cache, PersistenceManager.class);
+      DummyInMemoryStore store = TestingUtil.getFirstStore(cache);
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+
+      // The filters are built in the background from the keys written before the restart
+      AtomicInteger probes = new AtomicInteger();
+      eventually(() -> {
+         cache.get("probe" + probes.incrementAndGet());
+         return persistenceManager.getBloomFilterSkippedLoads() > 0;
+      });
+
+      long skippedBefore = persistenceManager.getBloomFilterSkippedLoads();
+      long falsePositivesBefore = persistenceManager.getBloomFilterFalsePositives();
+      int loadsBefore = store.stats().get("load");
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         assertNull(cache.get("missing" + i));
+      }
+      long skipped = persistenceManager.getBloomFilterSkippedLoads() - skippedBefore;
+      long falsePositives = persistenceManager.getBloomFilterFalsePositives() - falsePositivesBefore;
+      assertTrue(skipped > 0);
+      assertEquals(NUM_ENTRIES, skipped + falsePositives);
+      assertEquals(falsePositives, store.stats().get("load") - loadsBefore);
+
+      // Keys written after the filters were built are never skipped
+      cache.put("missing0", "v");
+      cache.getAdvancedCache().getDataContainer().clear();
+      assertEquals("v", cache.get("missing0"));
+   }
+}
@@ -0,0 +1,106 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PreloadManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the preload of a store split in segment groups, both while the cache starts and in the background.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.ParallelPreloadTest")
+public class ParallelPreloadTest extends SingleCacheManagerTest {
+   private static final int NUM_ENTRIES = 200;
+   private static final int NUM_SLOW_ENTRIES = 20;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(false);
+   }
+
+   public void testParallelPreload() throws Exception {
+      doTest("parallel-preload", false);
+   }
+
+   public void testAsyncPreload() throws Exception {
+      doTest("async-preload", true);
+   }
+
+   private void doTest(String cacheName, boolean async) throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence()
+            .preloadParallelism(4)
+            .preloadAsync(async)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .segmented(true)
+               .preload(true)
+               .storeName(getClass().getName() + cacheName);
+      cacheManager.defineConfiguration(cacheName, builder.build());
+      Cache<String, String> cache = cacheManager.getCache(cacheName);
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      cache.stop();
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().size());
+
+      cache.start();
+      PreloadManager preloadManager = TestingUtil.extractComponent(cache, PreloadManager.class);
+      preloadManager.preloadStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      assertFalse(preloadManager.isPreloading());
+      assertEquals(NUM_ENTRIES, preloadManager.getPreloadedEntries());
+      assertEquals(cache.getCacheConfiguration().clustering().hash().numSegments(), preloadManager.getPreloadedSegments());
+      assertEquals(100d, preloadManager.getPreloadProgress());
+      assertEquals(NUM_ENTRIES, cache.getAdvancedCache().getDataContainer().size());
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+   }
+
+   public void testDisableStoreDuringAsyncPreload() throws Exception {
+      String cacheName = "async-preload-disable";
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence()
+            .preloadParallelism(4)
+            .preloadAsync(true)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .segmented(true)
+               .preload(true)
+               .slow(true)
+               .storeName(getClass().getName() + cacheName);
+      cacheManager.defineConfiguration(cacheName, builder.build());
+      Cache<String, String> cache = cacheManager.getCache(cacheName);
+      for (int i = 0; i < NUM_SLOW_ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      cache.stop();
+
+      cache.start();
+      PreloadManager preloadManager = TestingUtil.extractComponent(cache, PreloadManager.class);
+      PersistenceManager persistenceManager = TestingUtil.extractComponent(cache, PersistenceManager.class);
+      // The store is slow enough for the preload to be in progress, and removing it must not wait for the whole
+      // preload to complete
+      persistenceManager.disableStore(DummyInMemoryStore.class.getName()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+      preloadManager.preloadStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+      assertFalse(preloadManager.isPreloading());
+      assertFalse(persistenceManager.isPreloaded());
+      assertTrue(preloadManager.getPreloadedEntries() < NUM_SLOW_ENTRIES);
+      assertTrue(persistenceManager.getStores(DummyInMemoryStore.class).isEmpty());
+   }
+}
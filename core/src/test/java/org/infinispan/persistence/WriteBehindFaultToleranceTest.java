@@ -17,7 +17,9 @@
 import java.util.stream.IntStream;
 
 import org.infinispan.Cache;
+import org.infinispan.commons.test.CommonsTestingUtil;
 import org.infinispan.commons.test.Exceptions;
+import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.global.GlobalConfigurationBuilder;
 import org.infinispan.manager.EmbeddedCacheManager;
@@ -122,6 +124,51 @@ public void testWritesFailSilentlyWhenConfigured() {
       assertEquals(2, cache.get(1));
    }
 
+   @Test
+   public void testFailedBatchReplayedFromJournalOnRestart() {
+      String persistentLocation = CommonsTestingUtil.tmpDirectory(this.getClass());
+      Util.recursiveFileRemove(persistentLocation);
+      try {
+         Cache<Object, Object> cache = createJournaledManagerAndGetCache(persistentLocation);
+         DummyInMemoryStore dims = TestingUtil.getStore(cache, 0, true);
+         cache.put(1, 1);
+         eventually(() -> dims.loadEntry(1) != null);
+
+         // The batch writing the update fails
+         dims.setAvailable(false);
+         cache.put(1, 2);
+         Object asyncStore = ((DelegatingNonBlockingStore) TestingUtil.getStore(cache, 0, false)).delegate();
+         eventually(() -> TestingUtil.extractField(asyncStore, "batchFuture") == null);
+
+         // The next batch succeeds and rewrites the journal, which must keep the failed update
+         dims.setAvailable(true);
+         cache.put(2, 2);
+         eventually(() -> dims.loadEntry(2) != null && TestingUtil.extractField(asyncStore, "batchFuture") == null);
+         assertEquals(1, dims.loadEntry(1).getValue());
+         TestingUtil.killCacheManagers(cacheManager);
+
+         Cache<Object, Object> restarted = createJournaledManagerAndGetCache(persistentLocation);
+         DummyInMemoryStore restartedDims = TestingUtil.getStore(restarted, 0, true);
+         eventuallyEquals(2, () -> restartedDims.loadEntry(1).getValue());
+         assertEquals(2, restartedDims.loadEntry(2).getValue());
+      } finally {
+         TestingUtil.killCacheManagers(cacheManager);
+         Util.recursiveFileRemove(persistentLocation);
+      }
+   }
+
+   private Cache<Object, Object> createJournaledManagerAndGetCache(String persistentLocation) {
+      GlobalConfigurationBuilder globalConfiguration = new GlobalConfigurationBuilder();
+      globalConfiguration.globalState().enable().persistentLocation(persistentLocation);
+      ConfigurationBuilder config = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      // The store must not be polled, so that the writes keep being accepted while the delegate store fails
+      config.persistence().availabilityInterval((int) TimeUnit.MINUTES.toMillis(10)).connectionAttempts(0)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class).storeName(getClass().getSimpleName())
+            .async().enable().journal(true).failSilently(true);
+      cacheManager = TestCacheManagerFactory.createCacheManager(globalConfiguration, config);
+      return cacheManager.getCache();
+   }
+
    @Override
    protected EmbeddedCacheManager createCacheManager() throws Exception {
       // Manager is created later
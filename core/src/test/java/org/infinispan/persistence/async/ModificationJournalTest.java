@@ -0,0 +1,130 @@
+package org.infinispan.persistence.async;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.BlockingManager;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the replay of the {@link ModificationJournal} of the write-behind store.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.async.ModificationJournalTest")
+public class ModificationJournalTest extends SingleCacheManagerTest {
+   private final String tmpDirectory = CommonsTestingUtil.tmpDirectory(this.getClass());
+
+   @AfterClass(alwaysRun = true)
+   protected void clearTempDir() {
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(false);
+   }
+
+   private ModificationJournal journal(Path path) {
+      MarshallableEntryFactory<?, ?> entryFactory = TestingUtil.extractComponent(cache, MarshallableEntryFactory.class);
+      return new ModificationJournal(path, TestingUtil.extractGlobalComponent(cacheManager, BlockingManager.class),
+            TestingUtil.extractPersistenceMarshaller(cacheManager), entryFactory);
+   }
+
+   private PutModification put(String key, String value) {
+      MarshallableEntryFactory<String, String> entryFactory = TestingUtil.extractComponent(cache, MarshallableEntryFactory.class);
+      return new PutModification(1, entryFactory.create(key, value));
+   }
+
+   private void append(ModificationJournal journal, Modification... modifications) {
+      for (Modification modification : modifications) {
+         CompletionStages.join(journal.append(journal.encode(modification)));
+      }
+   }
+
+   public void testReplay() throws Exception {
+      Path path = Paths.get(tmpDirectory, "replay", "journal");
+      ModificationJournal journal = journal(path);
+      assertTrue(journal.open().isEmpty());
+      append(journal, put("k1", "v1"), new RemoveModification(2, "k1"), ClearModification.INSTANCE, put("k2", "v2"));
+      CompletionStages.join(journal.close());
+
+      journal = journal(path);
+      List<Modification> modifications = journal.open();
+      assertEquals(4, modifications.size());
+      assertPut(modifications.get(0), "k1", "v1");
+      assertEquals("k1", ((RemoveModification) modifications.get(1)).getKey());
+      assertEquals(2, modifications.get(1).getSegment());
+      assertSame(ClearModification.INSTANCE, modifications.get(2));
+      assertPut(modifications.get(3), "k2", "v2");
+      CompletionStages.join(journal.close());
+
+      // A record torn by a crash is discarded and overwritten by the next append
+      Files.write(path, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+      journal = journal(path);
+      assertEquals(4, journal.open().size());
+      append(journal, put("k3", "v3"));
+      CompletionStages.join(journal.close());
+
+      journal = journal(path);
+      modifications = journal.open();
+      assertEquals(5, modifications.size());
+      assertPut(modifications.get(4), "k3", "v3");
+      CompletionStages.join(journal.close());
+   }
+
+   public void testRewrite() {
+      Path path = Paths.get(tmpDirectory, "rewrite", "journal");
+      ModificationJournal journal = journal(path);
+      journal.open();
+      append(journal, put("k1", "v1"), put("k1", "v2"), put("k2", "v1"));
+      journal.rewrite(false, Collections.singletonList(put("k1", "v2")));
+      append(journal, put("k3", "v1"));
+      CompletionStages.join(journal.close());
+
+      journal = journal(path);
+      List<Modification> modifications = journal.open();
+      assertEquals(2, modifications.size());
+      assertPut(modifications.get(0), "k1", "v2");
+      assertPut(modifications.get(1), "k3", "v1");
+      journal.rewrite(true, Collections.singletonList(put("k4", "v1")));
+      CompletionStages.join(journal.close());
+
+      journal = journal(path);
+      modifications = journal.open();
+      assertEquals(2, modifications.size());
+      assertSame(ClearModification.INSTANCE, modifications.get(0));
+      assertPut(modifications.get(1), "k4", "v1");
+      // Once the store is idle the journal is emptied
+      journal.rewrite(false, Collections.emptyList());
+      CompletionStages.join(journal.close());
+
+      journal = journal(path);
+      assertTrue(journal.open().isEmpty());
+      CompletionStages.join(journal.close());
+   }
+
+   private void assertPut(Modification modification, String key, String value) {
+      PutModification put = (PutModification) modification;
+      assertEquals(1, put.getSegment());
+      assertEquals(key, put.getEntry().getKey());
+      assertEquals(value, put.getEntry().getValue());
+   }
+}
@@ -2,10 +2,12 @@
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.PrimitiveIterator;
 import java.util.Set;
@@ -16,6 +18,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.Cache;
 import org.infinispan.commons.CacheException;
@@ -273,6 +276,23 @@ public CompletionStage<MarshallableEntry> load(int segment, Object key) {
       return CompletableFuture.completedFuture(me);
    }
 
+   @Override
+   public Flowable<MarshallableEntry> loadAll(Set keys, ToIntFunction segmentMapper) {
+      assertRunning();
+      record("loadAll");
+      return Flowable.defer(() -> {
+         List<MarshallableEntry> entries = new ArrayList<>(keys.size());
+         long now = timeService.wallClockTime();
+         for (Object key : keys) {
+            MarshallableEntry me = deserialize(key, mapForSegment(segmentMapper.applyAsInt(key)).get(key));
+            if (me != null && !isExpired(me, now)) {
+               entries.add(me);
+            }
+         }
+         return Flowable.fromIterable(entries);
+      });
+   }
+
    private boolean isExpired(MarshallableEntry me, long now) {
       return me.isExpired(now);
    }
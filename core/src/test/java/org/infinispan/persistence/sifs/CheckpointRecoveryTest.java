@@ -0,0 +1,199 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the index is recovered from its last checkpoint after a crash, by copying the files of a running store
+ * and starting another store over the copy.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.sifs.CheckpointRecoveryTest")
+public class CheckpointRecoveryTest extends AbstractInfinispanTest {
+   private static final String CACHE_NAME = "checkpointed";
+   private static final int NUM_KEYS = 500;
+   private static final int INDEX_FILE_HEADER_SIZE = 34;
+
+   private final List<EmbeddedCacheManager> cacheManagers = new ArrayList<>();
+   private final Map<String, String> expected = new HashMap<>();
+   private String tmpDirectory;
+
+   @BeforeMethod(alwaysRun = true)
+   protected void clearTempDirectory() {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(getClass());
+      Util.recursiveFileRemove(tmpDirectory);
+      expected.clear();
+   }
+
+   @AfterMethod(alwaysRun = true)
+   protected void killCacheManagers() {
+      TestingUtil.killCacheManagers(cacheManagers);
+      cacheManagers.clear();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testRecoverFromCheckpoint() throws Exception {
+      writeAndCheckpoint(startCache("original"));
+      crash("original", "crashed");
+
+      assertRecovered(startCache("crashed"));
+   }
+
+   public void testUnreadableCheckpointRootRebuildsIndex() throws Exception {
+      writeAndCheckpoint(startCache("original"));
+      crash("original", "crashed");
+      // The header still references the checkpointed root, which is no longer in the file
+      try (Stream<Path> indexFiles = indexFiles("crashed")) {
+         for (Path indexFile : (Iterable<Path>) indexFiles::iterator) {
+            try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+               channel.truncate(INDEX_FILE_HEADER_SIZE);
+            }
+         }
+      }
+
+      assertRecovered(startCache("crashed"));
+   }
+
+   public void testCorruptCheckpointRebuildsIndex() throws Exception {
+      writeAndCheckpoint(startCache("original"));
+      crash("original", "crashed");
+      // The checkpointed root can be read, but the nodes it references cannot
+      try (Stream<Path> indexFiles = indexFiles("crashed")) {
+         for (Path indexFile : (Iterable<Path>) indexFiles::iterator) {
+            corruptAllButRoot(indexFile);
+         }
+      }
+
+      assertRecovered(startCache("crashed"));
+   }
+
+   private Cache<String, String> startCache(String location) {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+      global.globalState().enable().persistentLocation(Paths.get(tmpDirectory, location).toString());
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addSoftIndexFileStore()
+            // Small nodes in a single segment, so that the root of the index references other nodes
+            .indexSegments(1)
+            .maxNodeSize(256)
+            // Only checkpointed by the test
+            .checkpointInterval(TimeUnit.HOURS.toMillis(1));
+      EmbeddedCacheManager cacheManager = TestCacheManagerFactory.createCacheManager(global, new ConfigurationBuilder());
+      cacheManagers.add(cacheManager);
+      cacheManager.defineConfiguration(CACHE_NAME, builder.build());
+      return cacheManager.getCache(CACHE_NAME);
+   }
+
+   private void writeAndCheckpoint(Cache<String, String> cache) throws IOException {
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         put(cache, "key" + i, "value" + i);
+      }
+      store(cache).checkpoint();
+
+      // Overwrite, remove and add entries after the checkpoint
+      for (int i = 0; i < NUM_KEYS / 2; ++i) {
+         put(cache, "key" + i, "updated" + i);
+      }
+      for (int i = NUM_KEYS / 2; i < NUM_KEYS / 2 + 50; ++i) {
+         cache.remove("key" + i);
+         expected.remove("key" + i);
+      }
+      for (int i = NUM_KEYS; i < NUM_KEYS + 100; ++i) {
+         put(cache, "key" + i, "value" + i);
+      }
+   }
+
+   private void put(Cache<String, String> cache, String key, String value) {
+      cache.put(key, value);
+      expected.put(key, value);
+   }
+
+   private void assertRecovered(Cache<String, String> cache) {
+      for (int i = 0; i < NUM_KEYS + 100; ++i) {
+         String key = "key" + i;
+         assertEquals(key, expected.get(key), cache.get(key));
+      }
+      // The recovered store keeps working
+      cache.put("key0", "recovered");
+      assertEquals("recovered", cache.get("key0"));
+   }
+
+   /**
+    * Copies the files of the store while it is running, without stopping it, as they would be found after a crash.
+    */
+   private void crash(String location, String crashedLocation) throws IOException {
+      Path source = Paths.get(tmpDirectory, location, CACHE_NAME);
+      Path target = Paths.get(tmpDirectory, crashedLocation, CACHE_NAME);
+      try (Stream<Path> paths = Files.walk(source)) {
+         for (Path path : (Iterable<Path>) paths::iterator) {
+            Path copy = target.resolve(source.relativize(path));
+            if (Files.isDirectory(path)) {
+               Files.createDirectories(copy);
+            } else {
+               Files.copy(path, copy);
+            }
+         }
+      }
+   }
+
+   private Stream<Path> indexFiles(String location) throws IOException {
+      return Files.list(Paths.get(tmpDirectory, location, CACHE_NAME, "index"))
+            .filter(path -> path.getFileName().toString().startsWith("index."));
+   }
+
+   private static void corruptAllButRoot(Path indexFile) throws IOException {
+      try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+         ByteBuffer header = ByteBuffer.allocate(INDEX_FILE_HEADER_SIZE);
+         channel.read(header, 0);
+         long rootOffset = header.getLong(8);
+         short rootOccupied = header.getShort(16);
+         fill(channel, INDEX_FILE_HEADER_SIZE, rootOffset);
+         fill(channel, rootOffset + rootOccupied, channel.size());
+      }
+   }
+
+   private static void fill(FileChannel channel, long from, long to) throws IOException {
+      if (to <= from) {
+         return;
+      }
+      byte[] bytes = new byte[(int) (to - from)];
+      Arrays.fill(bytes, (byte) 0xFF);
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      while (buffer.hasRemaining()) {
+         channel.write(buffer, from + buffer.position());
+      }
+   }
+
+   private static NonBlockingSoftIndexFileStore<?, ?> store(Cache<?, ?> cache) {
+      return TestingUtil.extractComponent(cache, PersistenceManager.class)
+            .getStores(NonBlockingSoftIndexFileStore.class).iterator().next();
+   }
+}
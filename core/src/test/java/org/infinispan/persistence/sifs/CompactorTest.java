@@ -0,0 +1,94 @@
+package org.infinispan.persistence.sifs;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.JavaSerializationMarshaller;
+import org.infinispan.commons.time.ControlledTimeService;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the order in which the compactor picks the scheduled files and how it limits its rate.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.sifs.CompactorTest")
+public class CompactorTest extends AbstractInfinispanTest {
+   private static final int FILE_SIZE = 1000;
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   private Compactor compactor(long maxCompactionRate) {
+      // The scheduled files are never compacted, as the executor drops the tasks
+      return new Compactor(mock(FileProvider.class), new TemporaryTable(1), new JavaSerializationMarshaller(),
+            timeService, mock(KeyPartitioner.class), FILE_SIZE, 0.5, maxCompactionRate, command -> {});
+   }
+
+   public void testMostFreeFileIsCompactedFirst() {
+      Compactor compactor = compactor(0);
+      compactor.completeFile(1, FILE_SIZE);
+      compactor.free(1, 600);
+      compactor.completeFile(2, FILE_SIZE);
+      compactor.free(2, 900);
+      compactor.completeFile(3, FILE_SIZE);
+      compactor.free(3, 700);
+      // Below the threshold, so it is not scheduled
+      compactor.completeFile(4, FILE_SIZE);
+      compactor.free(4, 400);
+
+      assertEquals(2, compactor.nextScheduledFile());
+      assertEquals(3, compactor.nextScheduledFile());
+      assertEquals(1, compactor.nextScheduledFile());
+      assertEquals(-1, compactor.nextScheduledFile());
+   }
+
+   public void testRankingUsesCurrentFreeSpace() {
+      Compactor compactor = compactor(0);
+      compactor.completeFile(1, FILE_SIZE);
+      compactor.free(1, 600);
+      compactor.completeFile(2, FILE_SIZE);
+      compactor.free(2, 700);
+      // More entries of the first file are overwritten after it was scheduled
+      compactor.free(1, 300);
+
+      assertEquals(1, compactor.nextScheduledFile());
+      assertEquals(2, compactor.nextScheduledFile());
+   }
+
+   public void testThrottle() {
+      // 1000 bytes per second
+      Compactor compactor = compactor(1000);
+      compactor.startThrottle();
+      timeService.advance(100);
+      // Exactly the maximum rate, so it does not wait
+      long start = System.nanoTime();
+      compactor.throttle(100);
+
+      // Over the maximum rate, so it waits until 200 ms of the rate are spent
+      compactor.throttle(100);
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      assertTrue("Throttled for " + elapsedMillis + " ms", elapsedMillis >= 100);
+
+      // A new file starts a new period
+      compactor.startThrottle();
+      timeService.advance(1000);
+      start = System.nanoTime();
+      compactor.throttle(1000);
+      elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      assertTrue("Throttled for " + elapsedMillis + " ms", elapsedMillis < 1000);
+   }
+
+   public void testUnlimitedRate() {
+      Compactor compactor = compactor(0);
+      compactor.startThrottle();
+      long start = System.nanoTime();
+      compactor.throttle(Integer.MAX_VALUE);
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      assertTrue("Throttled for " + elapsedMillis + " ms", elapsedMillis < 1000);
+   }
+}
@@ -0,0 +1,78 @@
+package org.infinispan.persistence.sifs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of compressing the values written by the soft index file store and of decompressing the values
+ * it reads, for values of several sizes that look like serialized objects.
+ *
+ * @since 13.0
+ */
+public class CompressionBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(CompressionBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(ProcessorInfo.availableProcessors())
+            .forks(2)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @org.openjdk.jmh.annotations.State(Scope.Benchmark)
+   public static class State {
+      @Param({"256", "4096", "65536"})
+      int valueSize;
+
+      byte[] value;
+      byte[] compressed;
+      EntryHeader compressedHeader;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         StringBuilder sb = new StringBuilder(valueSize);
+         for (int i = 0; sb.length() < valueSize; ++i) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"user").append(i * 31 % 1000)
+                  .append("\",\"active\":").append(i % 3 == 0).append('}');
+         }
+         value = sb.substring(0, valueSize).getBytes(StandardCharsets.UTF_8);
+         compressed = EntryRecord.compress(value, 0, value.length);
+         ByteBuffer buffer = ByteBuffer.allocate(EntryHeader.HEADER_SIZE_11_0);
+         EntryHeader.writeHeader(buffer, (short) 1, (short) 0, compressed.length, (short) 0, 1, -1, true);
+         buffer.flip();
+         compressedHeader = new EntryHeader(buffer);
+      }
+   }
+
+   @Benchmark
+   public byte[] compress(State state) {
+      return EntryRecord.compress(state.value, 0, state.value.length);
+   }
+
+   @Benchmark
+   public byte[] decompress(State state) {
+      return EntryRecord.decompress(state.compressedHeader, state.compressed);
+   }
+}
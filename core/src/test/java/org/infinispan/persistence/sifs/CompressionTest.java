@@ -0,0 +1,150 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the soft index file store with compressed values.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.sifs.CompressionTest")
+public class CompressionTest extends AbstractInfinispanTest {
+   private static final String CACHE_NAME = "compressed";
+   private static final int COMPRESSION_THRESHOLD = 100;
+   private static final int NUM_KEYS = 100;
+
+   private String tmpDirectory;
+   private EmbeddedCacheManager cacheManager;
+
+   @BeforeMethod(alwaysRun = true)
+   protected void clearTempDirectory() {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(getClass());
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   protected void killCacheManager() {
+      TestingUtil.killCacheManagers(cacheManager);
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testOnlyLargeValuesAreCompressed() throws IOException {
+      Cache<String, String> cache = startCache();
+      cache.put("small", "value");
+      cache.put("large", largeValue(0));
+
+      assertEquals(1, countRecords(cache, true));
+      assertEquals(1, countRecords(cache, false));
+   }
+
+   public void testCompactionPreservesCompressedValues() throws IOException {
+      Cache<String, String> cache = startCache();
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         cache.put("key" + i, largeValue(i));
+      }
+      // Overwrite 2 out of 3 entries, so that the files with the original entries are compacted
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         if (i % 3 != 0) {
+            cache.put("key" + i, largeValue(-i));
+         }
+      }
+      NonBlockingSoftIndexFileStore<?, ?> store = store(cache);
+      eventually(() -> store.getWriteAmplification() > 1);
+
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         String expected = largeValue(i % 3 == 0 ? i : -i);
+         assertEquals(expected, TestingUtil.getFirstStore(cache).loadEntry("key" + i).getValue());
+      }
+      assertEquals(0, countRecords(cache, false));
+   }
+
+   public void testIndexIsRebuiltFromCompressedValues() {
+      Cache<String, String> cache = startCache();
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         cache.put("key" + i, largeValue(i));
+      }
+      TestingUtil.killCacheManagers(cacheManager);
+      // Without the index, the store has to read all the data files again
+      Util.recursiveFileRemove(Paths.get(tmpDirectory, CACHE_NAME, "index").toFile());
+
+      cache = startCache();
+      assertEquals(NUM_KEYS, cache.size());
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         assertEquals(largeValue(i), cache.get("key" + i));
+      }
+   }
+
+   private Cache<String, String> startCache() {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+      global.globalState().enable().persistentLocation(tmpDirectory);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addSoftIndexFileStore()
+            .compressionThreshold(COMPRESSION_THRESHOLD)
+            // Small files, so that they are compacted
+            .maxFileSize(2048);
+      cacheManager = TestCacheManagerFactory.createCacheManager(global, new ConfigurationBuilder());
+      cacheManager.defineConfiguration(CACHE_NAME, builder.build());
+      return cacheManager.getCache(CACHE_NAME);
+   }
+
+   private static String largeValue(int i) {
+      return String.join("", Collections.nCopies(COMPRESSION_THRESHOLD, "value" + i));
+   }
+
+   /**
+    * @return the number of records with a value in the data files, whose value is compressed or not
+    */
+   private static int countRecords(Cache<?, ?> cache, boolean compressed) throws IOException {
+      FileProvider fileProvider = store(cache).getFileProvider();
+      int count = 0;
+      try (CloseableIterator<Integer> it = fileProvider.getFileIterator()) {
+         while (it.hasNext()) {
+            FileProvider.Handle handle = fileProvider.getFile(it.next());
+            if (handle == null) {
+               // Deleted after it was compacted
+               continue;
+            }
+            try {
+               int offset = 0;
+               EntryHeader header;
+               while ((header = EntryRecord.readEntryHeader(handle, offset)) != null) {
+                  if (header.valueLength() > 0 && header.isCompressed() == compressed) {
+                     byte[] value = EntryRecord.decompress(header, EntryRecord.readValue(handle, header, offset));
+                     assertTrue(value.length >= COMPRESSION_THRESHOLD == compressed);
+                     count++;
+                  }
+                  offset += header.totalLength();
+               }
+            } finally {
+               handle.close();
+            }
+         }
+      }
+      return count;
+   }
+
+   private static NonBlockingSoftIndexFileStore<?, ?> store(Cache<?, ?> cache) {
+      return TestingUtil.extractComponent(cache, PersistenceManager.class)
+            .getStores(NonBlockingSoftIndexFileStore.class).iterator().next();
+   }
+}
@@ -0,0 +1,102 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertArrayEquals;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the compression of the values written by the soft index file store.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.sifs.EntryRecordTest")
+public class EntryRecordTest extends AbstractInfinispanTest {
+
+   public void testCompressRoundTrip() {
+      byte[] value = compressible(4096);
+      // The value is compressed from the middle of a larger array
+      byte[] buf = new byte[value.length + 20];
+      System.arraycopy(value, 0, buf, 10, value.length);
+      byte[] compressed = EntryRecord.compress(buf, 10, value.length);
+      assertNotNull(compressed);
+      assertTrue(compressed.length < value.length);
+      assertArrayEquals(value, EntryRecord.decompress(header(compressed.length, true), compressed));
+   }
+
+   public void testCompressReusesBuffers() {
+      // The buffers kept by the thread must not leak the content of a previous, longer value
+      for (int length : new int[]{ 8192, 100, 200 * 1024, 1000 }) {
+         byte[] value = compressible(length);
+         byte[] compressed = EntryRecord.compress(value, 0, value.length);
+         assertNotNull(compressed);
+         assertArrayEquals(value, EntryRecord.decompress(header(compressed.length, true), compressed));
+      }
+   }
+
+   public void testIncompressibleValue() {
+      byte[] value = new byte[1024];
+      new Random(0).nextBytes(value);
+      assertNull(EntryRecord.compress(value, 0, value.length));
+      assertNull(EntryRecord.compress(value, 0, 4));
+   }
+
+   public void testUncompressedValue() {
+      byte[] value = compressible(100);
+      EntryHeader header = header(value.length, false);
+      assertFalse(header.isCompressed());
+      assertSame(value, EntryRecord.decompress(header, value));
+   }
+
+   public void testConcurrentCompression() throws Exception {
+      // More threads than pooled compressors, so that some of them are created and ended
+      int threads = EntryRecord.CODEC_POOL_SIZE * 2;
+      CyclicBarrier barrier = new CyclicBarrier(threads);
+      List<Future<Void>> futures = new ArrayList<>(threads);
+      for (int i = 0; i < threads; ++i) {
+         byte[] value = compressible(1000 + i);
+         futures.add(fork(() -> {
+            barrier.await(10, TimeUnit.SECONDS);
+            for (int j = 0; j < 100; ++j) {
+               byte[] compressed = EntryRecord.compress(value, 0, value.length);
+               assertArrayEquals(value, EntryRecord.decompress(header(compressed.length, true), compressed));
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+   }
+
+   private static byte[] compressible(int length) {
+      byte[] value = new byte[length];
+      for (int i = 0; i < length; ++i) {
+         value[i] = (byte) ('a' + (i * 7 + length) % 5);
+      }
+      return value;
+   }
+
+   private static EntryHeader header(int valueLength, boolean compressed) {
+      ByteBuffer buffer = ByteBuffer.allocate(EntryHeader.HEADER_SIZE_11_0);
+      EntryHeader.writeHeader(buffer, (short) 1, (short) 0, valueLength, (short) 0, 1, -1, compressed);
+      buffer.flip();
+      EntryHeader header = new EntryHeader(buffer);
+      assertEquals(compressed, header.isCompressed());
+      return header;
+   }
+}
@@ -0,0 +1,254 @@
+package org.infinispan.persistence.sifs;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.marshall.JavaSerializationMarshaller;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.Util;
+import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.concurrent.NonBlockingManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the writes of the log appender when sync writes are enabled.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.sifs.LogAppenderTest")
+public class LogAppenderTest extends AbstractInfinispanTest {
+   private static final int MAX_FILE_SIZE = 1024 * 1024;
+   private static final int NUM_WRITES = 10;
+
+   private final Marshaller marshaller = new JavaSerializationMarshaller();
+   private String tmpDirectory;
+   private TestFileProvider fileProvider;
+   private TemporaryTable temporaryTable;
+   private ExecutorService executor;
+   private LogAppender logAppender;
+
+   @BeforeMethod(alwaysRun = true)
+   protected void startAppender() {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(getClass());
+      Util.recursiveFileRemove(tmpDirectory);
+      fileProvider = new TestFileProvider(tmpDirectory);
+      temporaryTable = new TemporaryTable(1);
+      temporaryTable.addSegments(IntSets.immutableSet(0));
+      NonBlockingManager nonBlockingManager = mock(NonBlockingManager.class);
+      doAnswer(invocation -> invocation.<CompletableFuture<Object>>getArgument(0).complete(invocation.getArgument(1)))
+            .when(nonBlockingManager).complete(any(), any());
+      executor = Executors.newSingleThreadExecutor(getTestThreadFactory("LogAppender"));
+      logAppender = new LogAppender(nonBlockingManager, mock(Index.class), temporaryTable, mock(Compactor.class),
+            fileProvider, null, true, 0, MAX_FILE_SIZE, MAX_FILE_SIZE, 0);
+      logAppender.start(executor);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   protected void stopAppender() {
+      logAppender.stop();
+      executor.shutdownNow();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testQueuedWritesShareSync() throws Exception {
+      // Block the appender thread so that all the writes are queued before the first one is appended
+      CountDownLatch latch = new CountDownLatch(1);
+      executor.execute(() -> {
+         try {
+            latch.await(10, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      });
+      List<CompletionStage<Void>> stages = new ArrayList<>(NUM_WRITES);
+      for (int i = 0; i < NUM_WRITES; ++i) {
+         stages.add(logAppender.storeRequest(0, entry("key" + i)));
+      }
+      latch.countDown();
+      for (CompletionStage<Void> stage : stages) {
+         stage.toCompletableFuture().get(10, TimeUnit.SECONDS);
+      }
+      assertEquals(1, fileProvider.forces.get());
+
+      // A write that is not queued with others is synced on its own
+      logAppender.storeRequest(0, entry("single")).toCompletableFuture().get(10, TimeUnit.SECONDS);
+      assertEquals(2, fileProvider.forces.get());
+   }
+
+   public void testFailedWriteIsDiscarded() throws Exception {
+      logAppender.storeRequest(0, entry("first")).toCompletableFuture().get(10, TimeUnit.SECONDS);
+      EntryPosition first = temporaryTable.get(0, "first");
+
+      // Only half of the record reaches the file
+      fileProvider.failNextWrite = true;
+      CompletableFuture<Void> failed = logAppender.storeRequest(0, entry("failed")).toCompletableFuture();
+      Exceptions.expectExecutionException(IOException.class, failed);
+      assertNull(temporaryTable.get(0, "failed"));
+
+      // The next record is appended right after the last one that was written
+      logAppender.storeRequest(0, entry("second")).toCompletableFuture().get(10, TimeUnit.SECONDS);
+      EntryPosition second = temporaryTable.get(0, "second");
+      assertEquals(first.file, second.file);
+      try (FileProvider.Handle handle = fileProvider.getFile(first.file)) {
+         EntryHeader firstHeader = EntryRecord.readEntryHeader(handle, first.offset);
+         assertEquals(first.offset + firstHeader.totalLength(), second.offset);
+         EntryHeader secondHeader = EntryRecord.readEntryHeader(handle, second.offset);
+         assertEquals("second", marshaller.objectFromByteBuffer(EntryRecord.readKey(handle, secondHeader, second.offset)));
+         assertEquals(second.offset + secondHeader.totalLength(), handle.getFileSize());
+      }
+   }
+
+   private MarshallableEntry<String, String> entry(String key) {
+      return MarshalledEntryUtil.create(key, "value-" + key, marshaller);
+   }
+
+   /**
+    * Counts the syncs of the files, and can fail a write after writing half of it.
+    */
+   private static class TestFileProvider extends FileProvider {
+      final AtomicInteger forces = new AtomicInteger();
+      volatile boolean failNextWrite;
+
+      TestFileProvider(String dataDir) {
+         super(Paths.get(dataDir), 10, NonBlockingSoftIndexFileStore.PREFIX_LATEST, MAX_FILE_SIZE);
+      }
+
+      @Override
+      protected FileChannel openChannel(File file, boolean create, boolean readSharedMeadata) throws FileNotFoundException {
+         return new TestFileChannel(super.openChannel(file, create, readSharedMeadata));
+      }
+
+      private class TestFileChannel extends FileChannel {
+         private final FileChannel delegate;
+
+         TestFileChannel(FileChannel delegate) {
+            this.delegate = delegate;
+         }
+
+         @Override
+         public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite) {
+               failNextWrite = false;
+               ByteBuffer half = src.duplicate();
+               half.limit(half.position() + half.remaining() / 2);
+               delegate.write(half);
+               throw new IOException("Injected write failure");
+            }
+            return delegate.write(src);
+         }
+
+         @Override
+         public void force(boolean metaData) throws IOException {
+            forces.incrementAndGet();
+            delegate.force(metaData);
+         }
+
+         @Override
+         public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+         }
+
+         @Override
+         public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+         }
+
+         @Override
+         public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+         }
+
+         @Override
+         public long position() throws IOException {
+            return delegate.position();
+         }
+
+         @Override
+         public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+         }
+
+         @Override
+         public long size() throws IOException {
+            return delegate.size();
+         }
+
+         @Override
+         public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+         }
+
+         @Override
+         public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+         }
+
+         @Override
+         public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+         }
+
+         @Override
+         public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+         }
+
+         @Override
+         public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+         }
+
+         @Override
+         public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+         }
+
+         @Override
+         public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+         }
+
+         @Override
+         public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+         }
+
+         @Override
+         protected void implCloseChannel() throws IOException {
+            delegate.close();
+         }
+      }
+   }
+}
@@ -0,0 +1,79 @@
+package org.infinispan.persistence.sifs;
+
+import static org.infinispan.test.TestingUtil.getCacheObjectName;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.jmx.MBeanServerLookup;
+import org.infinispan.commons.jmx.TestMBeanServerLookup;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the amplification attributes exposed by the soft index file store over JMX.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.sifs.SoftIndexFileStoreMBeanTest")
+public class SoftIndexFileStoreMBeanTest extends AbstractInfinispanTest {
+   private static final String JMX_DOMAIN = SoftIndexFileStoreMBeanTest.class.getName();
+   private static final String CACHE_NAME = "sifs";
+   private static final int NUM_KEYS = 100;
+
+   private final MBeanServerLookup mBeanServerLookup = TestMBeanServerLookup.create();
+   private String tmpDirectory;
+   private EmbeddedCacheManager cacheManager;
+
+   @BeforeMethod(alwaysRun = true)
+   protected void clearTempDirectory() {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(getClass());
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   @AfterMethod(alwaysRun = true)
+   protected void killCacheManager() {
+      TestingUtil.killCacheManagers(cacheManager);
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testAmplification() throws Exception {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+      global.globalState().enable().persistentLocation(tmpDirectory);
+      global.jmx().enabled(true).domain(JMX_DOMAIN).mBeanServerLookup(mBeanServerLookup);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      // Small files, so that they are compacted
+      builder.persistence().addSoftIndexFileStore().maxFileSize(2048);
+      cacheManager = TestCacheManagerFactory.createCacheManager(global, new ConfigurationBuilder());
+      cacheManager.defineConfiguration(CACHE_NAME, builder.build());
+      Cache<String, String> cache = cacheManager.getCache(CACHE_NAME);
+
+      MBeanServer mBeanServer = mBeanServerLookup.getMBeanServer();
+      ObjectName storeObjectName = getCacheObjectName(JMX_DOMAIN, CACHE_NAME + "(local)", "SoftIndexFileStore");
+      assertEquals(1.0, (double) mBeanServer.getAttribute(storeObjectName, "WriteAmplification"), 0);
+
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      // Overwrite 2 out of 3 entries, so that the files with the original entries are compacted
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         if (i % 3 != 0) {
+            cache.put("key" + i, "updated" + i);
+         }
+      }
+      eventually(() -> (double) mBeanServer.getAttribute(storeObjectName, "WriteAmplification") > 1);
+      assertTrue((double) mBeanServer.getAttribute(storeObjectName, "SpaceAmplification") >= 1);
+   }
+}
@@ -0,0 +1,133 @@
+package org.infinispan.stats.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.infinispan.commons.dataconversion.internal.Json;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "stats.impl.DefaultHotKeyTrackerTest")
+public class DefaultHotKeyTrackerTest extends AbstractInfinispanTest {
+
+   public void testSketchKeepsHeavyHitters() {
+      SpaceSavingSketch sketch = new SpaceSavingSketch(8);
+      Random random = new Random(42);
+      Map<Object, Long> counts = new HashMap<>();
+      for (int i = 0; i < 10_000; ++i) {
+         // Half of the offers are for two hot keys, the rest are spread over many cold keys
+         Object key = random.nextBoolean() ? "hot-" + random.nextInt(2) : "cold-" + random.nextInt(1_000);
+         sketch.offer(key, 1);
+         counts.merge(key, 1L, Long::sum);
+      }
+      List<SpaceSavingSketch.Counter> top = sketch.top(2);
+      assertEquals(2, top.size());
+      for (SpaceSavingSketch.Counter counter : top) {
+         assertTrue(String.valueOf(counter.key).startsWith("hot-"));
+         long count = counts.get(counter.key);
+         assertTrue(counter.count >= count);
+         assertTrue(counter.count - counter.error <= count);
+      }
+      assertTrue(top.get(0).count >= top.get(1).count);
+   }
+
+   public void testSketchCountsAreExactUntilFull() {
+      SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+      sketch.offer("a", 3);
+      sketch.offer("b", 1);
+      sketch.offer("a", 2);
+      List<SpaceSavingSketch.Counter> top = sketch.top(10);
+      assertEquals(2, top.size());
+      assertEquals("a", top.get(0).key);
+      assertEquals(5, top.get(0).count);
+      assertEquals(0, top.get(0).error);
+      assertEquals(1, top.get(1).count);
+
+      sketch.offer("c", 1);
+      sketch.offer("d", 1);
+      // Replaces one of the keys counted once, inheriting its count as error
+      sketch.offer("e", 1);
+      top = sketch.top(10);
+      assertEquals(4, top.size());
+      assertEquals(5, top.get(0).count);
+      assertEquals(2, top.get(1).count);
+      assertEquals(1, top.get(1).error);
+
+      sketch.reset();
+      assertTrue(sketch.top(10).isEmpty());
+   }
+
+   public void testSketchReplacesLowestCount() {
+      SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+      sketch.offer("a", 1);
+      sketch.offer("b", 1);
+      sketch.offer("c", 1);
+      // "c" is the only key left with the lowest count
+      sketch.offer("a", 5);
+      sketch.offer("b", 3);
+      sketch.offer("d", 1);
+      List<SpaceSavingSketch.Counter> top = sketch.top(10);
+      assertEquals(3, top.size());
+      assertEquals("a", top.get(0).key);
+      assertEquals("b", top.get(1).key);
+      assertEquals("d", top.get(2).key);
+      assertEquals(2, top.get(2).count);
+      assertEquals(1, top.get(2).error);
+
+      // "d" now has the lowest count and is the one replaced
+      sketch.offer("e", 5);
+      top = sketch.top(10);
+      assertEquals("e", top.get(0).key);
+      assertEquals(7, top.get(0).count);
+      assertEquals(2, top.get(0).error);
+      assertEquals("a", top.get(1).key);
+      assertEquals("b", top.get(2).key);
+   }
+
+   public void testTrackerOnlyRecordsWhenEnabled() {
+      DefaultHotKeyTracker tracker = new DefaultHotKeyTracker(2);
+      TestingUtil.inject(tracker, new ConfigurationBuilder().statistics().enable().hotKeys(2).build());
+      TestingUtil.startComponent(tracker);
+
+      for (int i = 0; i < 3; ++i) {
+         tracker.recordLockWait("k1");
+      }
+      tracker.recordLockWait("k2");
+      tracker.recordLockWait("k3");
+      List<HotKeyTracker.HotKey> hotKeys = tracker.getHotLockWaitKeys();
+      assertEquals(2, hotKeys.size());
+      assertEquals("k1", hotKeys.get(0).key());
+      assertEquals(3, hotKeys.get(0).count());
+      assertEquals(3, tracker.getHottestLockWaitCount());
+
+      // Reads are sampled, but a key read that many times can't be missed
+      for (int i = 0; i < 100 * DefaultHotKeyTracker.SAMPLE_RATE; ++i) {
+         tracker.recordRead("hot");
+      }
+      hotKeys = tracker.getHotReadKeys();
+      assertEquals(1, hotKeys.size());
+      assertEquals(0, hotKeys.get(0).count() % DefaultHotKeyTracker.SAMPLE_RATE);
+      assertTrue(hotKeys.get(0).count() > 0);
+
+      Json json = tracker.toJson();
+      assertEquals("hot", json.at("reads").at(0).at("key").asString());
+      assertEquals(0, json.at("writes").asList().size());
+      assertEquals(2, json.at("lock_waits").asList().size());
+
+      tracker.resetStatistics();
+      tracker.setStatisticsEnabled(false);
+      tracker.recordLockWait("k1");
+      assertTrue(tracker.getHotLockWaitKeys().isEmpty());
+      assertEquals(0, tracker.getHottestLockWaitCount());
+   }
+}
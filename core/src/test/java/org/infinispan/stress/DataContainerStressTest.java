@@ -11,6 +11,7 @@
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.DefaultDataContainer;
@@ -120,6 +121,26 @@ public CompletionStage<Boolean> handlePossibleExpiration(InternalCacheEntry entr
                   return null;
                }
 
+               @Override
+               public void entryWrittenInMemory(int segment, InternalCacheEntry entry) {
+
+               }
+
+               @Override
+               public void entryRemovedInMemory(int segment, Object key) {
+
+               }
+
+               @Override
+               public void entriesClearedInMemory(IntSet segments) {
+
+               }
+
+               @Override
+               public void entriesClearedInMemory() {
+
+               }
+
                @Override
                public void addInternalListener(ExpirationConsumer consumer) {
 
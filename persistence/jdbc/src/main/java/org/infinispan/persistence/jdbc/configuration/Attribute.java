@@ -14,6 +14,7 @@ public enum Attribute {
    UNKNOWN(null),
 
    BATCH_SIZE("batch-size"),
+   COALESCE_WRITES("coalesce-writes"),
    CONNECTION_URL("connection-url"),
    CREATE_ON_START("create-on-start"),
    DIALECT("dialect"),
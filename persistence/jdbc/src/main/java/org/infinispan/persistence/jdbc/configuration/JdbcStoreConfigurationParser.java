@@ -68,6 +68,9 @@ private void parseStringKeyedJdbcStore(final ConfigurationReader reader,
             case KEY_TO_STRING_MAPPER:
                builder.key2StringMapper(value);
                break;
+            case COALESCE_WRITES:
+               builder.coalesceWrites(Boolean.parseBoolean(value));
+               break;
             case DIALECT:
                builder.dialect(DatabaseType.valueOf(value));
                break;
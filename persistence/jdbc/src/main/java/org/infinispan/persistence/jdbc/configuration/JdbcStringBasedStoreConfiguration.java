@@ -20,14 +20,16 @@
 @SerializedWith(JdbcStringBasedStoreConfigurationSerializer.class)
 public class JdbcStringBasedStoreConfiguration extends AbstractJdbcStoreConfiguration implements ConfigurationInfo {
    static final AttributeDefinition<String> KEY2STRING_MAPPER = AttributeDefinition.builder("key2StringMapper", DefaultTwoWayKey2StringMapper.class.getName()).immutable().xmlName("key-to-string-mapper").build();
+   static final AttributeDefinition<Boolean> COALESCE_WRITES = AttributeDefinition.builder("coalesceWrites", false).immutable().xmlName("coalesce-writes").build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(JdbcStringBasedStoreConfiguration.class, AbstractJdbcStoreConfiguration.attributeDefinitionSet(), KEY2STRING_MAPPER);
+      return new AttributeSet(JdbcStringBasedStoreConfiguration.class, AbstractJdbcStoreConfiguration.attributeDefinitionSet(), KEY2STRING_MAPPER, COALESCE_WRITES);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(STRING_KEYED_JDBC_STORE.getLocalName(), true, false);
 
    private final Attribute<String> key2StringMapper;
+   private final Attribute<Boolean> coalesceWrites;
    private final TableManipulationConfiguration table;
 
    public JdbcStringBasedStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
@@ -35,6 +37,7 @@ public JdbcStringBasedStoreConfiguration(AttributeSet attributes, AsyncStoreConf
       super(attributes, async, connectionFactory);
       this.table = table;
       key2StringMapper = attributes.attribute(KEY2STRING_MAPPER);
+      coalesceWrites = attributes.attribute(COALESCE_WRITES);
       subElements.add(table);
    }
 
@@ -47,6 +50,10 @@ public String key2StringMapper() {
       return key2StringMapper.get();
    }
 
+   public boolean coalesceWrites() {
+      return coalesceWrites.get();
+   }
+
    public TableManipulationConfiguration table() {
       return table;
    }
@@ -4,6 +4,7 @@
 import static org.infinispan.persistence.jdbc.configuration.Element.DATA_SOURCE;
 import static org.infinispan.persistence.jdbc.configuration.Element.SIMPLE_CONNECTION;
 import static org.infinispan.persistence.jdbc.configuration.Element.STRING_KEYED_TABLE;
+import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.COALESCE_WRITES;
 import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.KEY2STRING_MAPPER;
 import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.PROPERTIES;
 
@@ -87,6 +88,16 @@ public JdbcStringBasedStoreConfigurationBuilder key2StringMapper(Class<? extends
       return this;
    }
 
+   /**
+    * Coalesces the writes and deletes of concurrent callers into batches that are executed and committed together on a
+    * single connection, instead of using a connection and a transaction for each modification. Only applies when the
+    * dialect supports upserts. Defaults to <code>false</code>
+    */
+   public JdbcStringBasedStoreConfigurationBuilder coalesceWrites(boolean coalesceWrites) {
+      attributes.attribute(COALESCE_WRITES).set(coalesceWrites);
+      return this;
+   }
+
    /**
     * Allows configuration of table-specific parameters such as column names and types
     */
@@ -367,6 +367,32 @@ public String getSelectRowSql() {
       return selectRowSql;
    }
 
+   @Override
+   public String getSelectMultipleRowSql(int numKeys) {
+      return getSelectMultipleRowSql(numKeys, "?");
+   }
+
+   protected String getSelectMultipleRowSql(int numKeys, String idParameter) {
+      StringBuilder stringBuilder = new StringBuilder("SELECT ");
+      stringBuilder.append(config.idColumnName());
+      stringBuilder.append(", ");
+      stringBuilder.append(config.dataColumnName());
+      stringBuilder.append(" FROM ");
+      stringBuilder.append(dataTableName);
+      stringBuilder.append(" WHERE ");
+      stringBuilder.append(config.idColumnName());
+      stringBuilder.append(" IN (");
+      stringBuilder.append(idParameter);
+
+      for (int i = 1; i < numKeys; ++i) {
+         stringBuilder.append(",");
+         stringBuilder.append(idParameter);
+      }
+      stringBuilder.append(")");
+
+      return stringBuilder.toString();
+   }
+
    protected String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = ?", config.idColumnName(), dataTableName, config.idColumnName());
    }
@@ -40,6 +40,11 @@ public String initSelectRowSql() {
                                    config.idColumnName(), config.idColumnType());
    }
 
+   @Override
+   public String getSelectMultipleRowSql(int numKeys) {
+      return getSelectMultipleRowSql(numKeys, "cast(? as " + config.idColumnType() + ")");
+   }
+
    @Override
    public String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = cast(? as %s)",
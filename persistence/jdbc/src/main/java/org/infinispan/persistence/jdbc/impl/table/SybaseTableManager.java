@@ -42,6 +42,11 @@ protected String initSelectRowSql() {
                                    config.idColumnName(), config.idColumnType());
    }
 
+   @Override
+   public String getSelectMultipleRowSql(int numKeys) {
+      return getSelectMultipleRowSql(numKeys, "convert(" + config.idColumnType() + ",?)");
+   }
+
    @Override
    protected String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = convert(%s,?)",
@@ -61,6 +61,8 @@ default void dropTables(Connection conn) throws PersistenceException {
 
    String getSelectRowSql();
 
+   String getSelectMultipleRowSql(int numKeys);
+
    String getSelectIdRowSql();
 
    String getCountNonExpiredRowsSql();
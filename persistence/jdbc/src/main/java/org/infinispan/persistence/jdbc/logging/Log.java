@@ -185,4 +185,14 @@ public interface Log extends BasicLogger {
    @LogMessage(level = ERROR)
    @Message(value = "Error retrieving JDBC metadata", id = 8041)
    void sqlFailureMetaRetrieval(@Cause SQLException e);
+
+   @Message(value = "SQL error while fetching the stored entries of %d keys", id = 8042)
+   PersistenceException sqlFailureReadingKeys(int keys, @Cause SQLException e);
+
+   @Message(value = "SQL error while writing a batch of %d coalesced modifications", id = 8043)
+   PersistenceException sqlFailureWritingCoalescedBatch(int modifications, @Cause SQLException e);
+
+   @LogMessage(level = WARN)
+   @Message(value = "The writes of the store are not coalesced, as the database does not support upserts", id = 8044)
+   void coalescedWritesNotSupported();
 }
@@ -10,14 +10,22 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PrimitiveIterator;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -106,6 +114,7 @@
    private TableManager tableManager;
    private TimeService timeService;
    private KeyPartitioner keyPartitioner;
+   private WriteCoalescer writeCoalescer;
 
    @Override
    public void init(InitializationContext ctx) {
@@ -183,6 +192,13 @@ public void start() {
       if (ctx.getCache().getCacheConfiguration() != null && ctx.getCache().getCacheConfiguration().clustering().cacheMode().isDistributed()) {
          enforceTwoWayMapper("distribution/rehashing");
       }
+      if (configuration.coalesceWrites()) {
+         if (tableManager.isUpsertSupported()) {
+            writeCoalescer = new WriteCoalescer();
+         } else {
+            PERSISTENCE.coalescedWritesNotSupported();
+         }
+      }
    }
 
    private void migrateFromV11() throws SQLException {
@@ -247,6 +263,7 @@ private void migrateFromV11() throws SQLException {
 
    @Override
    public void stop() {
+      writeCoalescer = null;
       try {
          if (tableManager != null) {
             tableManager.stop();
@@ -308,6 +325,10 @@ public void write(int segment, MarshallableEntry<? extends K, ? extends V> entry
 
    @Override
    public void write(MarshallableEntry<? extends K, ? extends V> entry) {
+      if (writeCoalescer != null) {
+         writeCoalescer.write(entry);
+         return;
+      }
       Connection connection = null;
       String keyStr = key2Str(entry.getKey());
       try {
@@ -501,6 +522,54 @@ public MarshallableEntry<K, V> loadEntry(Object key) {
       return entry;
    }
 
+   @Override
+   public Collection<MarshallableEntry<K, V>> loadEntries(Set<Object> keys) {
+      if (keys.size() <= 1) {
+         return SegmentedAdvancedLoadWriteStore.super.loadEntries(keys);
+      }
+      Map<String, Object> keysByLockingKey = new HashMap<>(keys.size());
+      for (Object key : keys) {
+         keysByLockingKey.put(key2Str(key), key);
+      }
+      List<MarshallableEntry<K, V>> entries = new ArrayList<>(keys.size());
+      long now = timeService.wallClockTime();
+      Connection conn = null;
+      PreparedStatement ps = null;
+      ResultSet rs = null;
+      try {
+         conn = connectionFactory.getConnection();
+         List<String> lockingKeys = new ArrayList<>(keysByLockingKey.keySet());
+         // The number of parameters of a statement is limited, so the keys are selected in batches
+         int batchSize = Math.max(1, configuration.maxBatchSize());
+         for (int start = 0; start < lockingKeys.size(); start += batchSize) {
+            List<String> batch = lockingKeys.subList(start, Math.min(start + batchSize, lockingKeys.size()));
+            ps = conn.prepareStatement(tableManager.getSelectMultipleRowSql(batch.size()));
+            ps.setQueryTimeout(configuration.readQueryTimeout());
+            for (int i = 0; i < batch.size(); ++i) {
+               ps.setString(i + 1, batch.get(i));
+            }
+            rs = ps.executeQuery();
+            while (rs.next()) {
+               Object key = keysByLockingKey.get(rs.getString(1));
+               MarshalledValue value = unmarshall(rs.getBinaryStream(2), marshaller);
+               MarshallableEntry<K, V> entry = marshalledEntryFactory.create(key, value);
+               if (entry.getMetadata() == null || !entry.isExpired(now)) {
+                  entries.add(entry);
+               }
+            }
+            JdbcUtil.safeClose(rs);
+            JdbcUtil.safeClose(ps);
+         }
+      } catch (SQLException e) {
+         throw PERSISTENCE.sqlFailureReadingKeys(keys.size(), e);
+      } finally {
+         JdbcUtil.safeClose(rs);
+         JdbcUtil.safeClose(ps);
+         connectionFactory.releaseConnection(conn);
+      }
+      return entries;
+   }
+
    @Override
    public void clear() {
       Connection conn = null;
@@ -554,6 +623,9 @@ public boolean delete(int segment, Object key) {
 
    @Override
    public boolean delete(Object key) {
+      if (writeCoalescer != null) {
+         return writeCoalescer.delete(key);
+      }
       Connection connection = null;
       PreparedStatement ps = null;
       String keyStr = key2Str(key);
@@ -887,6 +959,173 @@ private void enforceTwoWayMapper(String where) throws PersistenceException {
       }
    }
 
+   /**
+    * Coalesces the writes and deletes of concurrent callers into batches that are executed and committed in a single
+    * transaction, so that the callers share the round trips and the commit instead of using a connection each.
+    * <p>
+    * A caller marshalls its entry, enqueues its modification and then waits for the flush lock. The holder of the lock
+    * drains up to {@link JdbcStringBasedStoreConfiguration#maxBatchSize()} modifications, executes them in order, with
+    * the consecutive upserts and deletes in a single batch, and commits them. A caller that acquires the lock after its
+    * modification was committed by another caller returns immediately, so under load every transaction carries the
+    * modifications enqueued while the previous one was executing.
+    */
+   private class WriteCoalescer {
+      private final Queue<CoalescedModification> queue = new ConcurrentLinkedQueue<>();
+      private final Lock flushLock = new ReentrantLock();
+
+      void write(MarshallableEntry<? extends K, ? extends V> entry) {
+         String keyStr = key2Str(entry.getKey());
+         ByteBuffer byteBuffer = marshall(entry.getMarshalledValue(), marshaller);
+         submit(new CoalescedModification(keyStr, getSegment(entry), entry.expiryTime(), byteBuffer));
+      }
+
+      boolean delete(Object key) {
+         return submit(new CoalescedModification(key2Str(key), -1, -1, null));
+      }
+
+      private boolean submit(CoalescedModification modification) {
+         queue.add(modification);
+         flushLock.lock();
+         try {
+            // The modification is still in the queue until it is done
+            while (!modification.done) {
+               flush();
+            }
+         } finally {
+            flushLock.unlock();
+         }
+         if (modification.failure != null) {
+            throw modification.failure;
+         }
+         return modification.removed;
+      }
+
+      private void flush() {
+         int maxBatchSize = Math.max(1, configuration.maxBatchSize());
+         List<CoalescedModification> batch = new ArrayList<>();
+         CoalescedModification polled;
+         while (batch.size() < maxBatchSize && (polled = queue.poll()) != null) {
+            batch.add(polled);
+         }
+         if (batch.isEmpty()) {
+            return;
+         }
+         PersistenceException failure = null;
+         boolean committed = false;
+         Connection connection = null;
+         try {
+            connection = connectionFactory.getConnection();
+            connection.setAutoCommit(false);
+            try (PreparedStatement upsertBatch = connection.prepareStatement(tableManager.getUpsertRowSql());
+                 PreparedStatement deleteBatch = connection.prepareStatement(tableManager.getDeleteRowSql())) {
+               upsertBatch.setQueryTimeout(configuration.writeQueryTimeout());
+               deleteBatch.setQueryTimeout(configuration.writeQueryTimeout());
+               int start = 0;
+               for (int i = 0; i < batch.size(); ++i) {
+                  CoalescedModification modification = batch.get(i);
+                  if (modification.isDelete() != batch.get(start).isDelete()) {
+                     executeBatch(batch.subList(start, i), upsertBatch, deleteBatch);
+                     start = i;
+                  }
+                  if (modification.isDelete()) {
+                     deleteBatch.setString(1, modification.keyStr);
+                     deleteBatch.addBatch();
+                  } else {
+                     tableManager.prepareUpsertStatement(upsertBatch, modification.keyStr, modification.expiryTime,
+                           modification.segment, modification.byteBuffer);
+                     upsertBatch.addBatch();
+                  }
+               }
+               executeBatch(batch.subList(start, batch.size()), upsertBatch, deleteBatch);
+            }
+            connection.commit();
+            committed = true;
+            if (log.isTraceEnabled()) {
+               log.tracef("Committed a batch of %d coalesced modifications", batch.size());
+            }
+         } catch (SQLException e) {
+            failure = PERSISTENCE.sqlFailureWritingCoalescedBatch(batch.size(), e);
+            rollback(connection);
+         } catch (RuntimeException e) {
+            // e.g. no connection, the callers of the other modifications of the batch must fail too
+            failure = e instanceof PersistenceException ? (PersistenceException) e : new PersistenceException(e);
+            rollback(connection);
+         } finally {
+            // The modifications are no longer in the queue, their callers would otherwise wait forever
+            if (!committed && failure == null) {
+               failure = new PersistenceException("Failed to write a batch of " + batch.size() + " modifications");
+            }
+            for (CoalescedModification modification : batch) {
+               modification.failure = failure;
+               modification.done = true;
+            }
+            resetAutoCommit(connection);
+            connectionFactory.releaseConnection(connection);
+         }
+      }
+
+      private void executeBatch(List<CoalescedModification> modifications, PreparedStatement upsertBatch,
+                                PreparedStatement deleteBatch) throws SQLException {
+         if (modifications.isEmpty()) {
+            return;
+         }
+         if (!modifications.get(0).isDelete()) {
+            upsertBatch.executeBatch();
+            return;
+         }
+         int[] updateCounts = deleteBatch.executeBatch();
+         for (int i = 0; i < modifications.size(); ++i) {
+            int count = updateCounts[i];
+            modifications.get(i).removed = count > 0 || count == Statement.SUCCESS_NO_INFO;
+         }
+      }
+
+      private void rollback(Connection connection) {
+         if (connection == null) {
+            return;
+         }
+         try {
+            connection.rollback();
+         } catch (SQLException e) {
+            log.sqlFailureTxRollback(e);
+         }
+      }
+
+      private void resetAutoCommit(Connection connection) {
+         if (connection == null) {
+            return;
+         }
+         try {
+            connection.setAutoCommit(true);
+         } catch (SQLException e) {
+            log.debug("Cannot reset the auto-commit mode of the connection", e);
+         }
+      }
+   }
+
+   private static class CoalescedModification {
+      final String keyStr;
+      final int segment;
+      final long expiryTime;
+      // null for a delete
+      final ByteBuffer byteBuffer;
+      // Guarded by the flush lock
+      boolean done;
+      boolean removed;
+      PersistenceException failure;
+
+      CoalescedModification(String keyStr, int segment, long expiryTime, ByteBuffer byteBuffer) {
+         this.keyStr = keyStr;
+         this.segment = segment;
+         this.expiryTime = expiryTime;
+         this.byteBuffer = byteBuffer;
+      }
+
+      boolean isDelete() {
+         return byteBuffer == null;
+      }
+   }
+
    private class ResultSetEntryIterator extends AbstractIterator<MarshallableEntry<K, V>> {
       private final ResultSet rs;
       private final Predicate<? super K> filter;
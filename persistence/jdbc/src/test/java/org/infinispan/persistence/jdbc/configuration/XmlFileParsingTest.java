@@ -32,7 +32,7 @@ public void testStringKeyedJdbcStore() throws Exception {
             "     <transport/>\n" +
             "      <distributed-cache name=\"default\">\n" +
             "     <persistence>\n" +
-            "       <string-keyed-jdbc-store xmlns=\"urn:infinispan:config:store:jdbc:"+ Version.getSchemaVersion() + "\" key-to-string-mapper=\"DummyKey2StringMapper\" shared=\"true\" " +
+            "       <string-keyed-jdbc-store xmlns=\"urn:infinispan:config:store:jdbc:"+ Version.getSchemaVersion() + "\" key-to-string-mapper=\"DummyKey2StringMapper\" coalesce-writes=\"true\" shared=\"true\" " +
             "                                preload=\"true\" read-only=\"false\" fetch-state=\"true\" dialect=\"H2\">\n" +
             "         <connection-pool connection-url=\"jdbc:h2:mem:infinispan;DB_CLOSE_DELAY=-1\" username=\"dbuser\" password=\"dbpass\" driver=\"org.h2.Driver\"/>\n" +
             "         <string-keyed-table prefix=\"entry\" fetch-size=\"34\" batch-size=\"128\" >\n" +
@@ -59,6 +59,7 @@ public void testStringKeyedJdbcStore() throws Exception {
       assertEquals("segfault", store.table().segmentColumnName());
       assertTrue(store.async().enabled());
       assertEquals("DummyKey2StringMapper", store.key2StringMapper());
+      assertTrue(store.coalesceWrites());
       assertTrue(store.shared());
       assertTrue(store.preload());
       assertEquals(DatabaseType.H2, store.dialect());
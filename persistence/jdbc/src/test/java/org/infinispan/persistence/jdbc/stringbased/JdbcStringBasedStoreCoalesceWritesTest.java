@@ -0,0 +1,114 @@
+package org.infinispan.persistence.jdbc.stringbased;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.persistence.BaseStoreTest;
+import org.infinispan.persistence.jdbc.UnitTestDatabaseManager;
+import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.infinispan.persistence.jdbc.connectionfactory.ConnectionFactory;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link JdbcStringBasedStore} with the writes of concurrent callers coalesced into batches.
+ *
+ * @since 13.0
+ */
+@Test(groups = "functional", testName = "persistence.jdbc.stringbased.JdbcStringBasedStoreCoalesceWritesTest")
+public class JdbcStringBasedStoreCoalesceWritesTest extends BaseStoreTest {
+   private static final int NUM_WRITERS = 8;
+   private static final int NUM_ENTRIES = 50;
+
+   @Override
+   protected AdvancedLoadWriteStore createStore() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      JdbcStringBasedStoreConfigurationBuilder storeBuilder = builder
+            .persistence()
+               .addStore(JdbcStringBasedStoreConfigurationBuilder.class)
+               .coalesceWrites(true);
+      UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
+      UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
+      JdbcStringBasedStore stringBasedCacheStore = new JdbcStringBasedStore();
+      stringBasedCacheStore.init(createContext(builder.build()));
+      return stringBasedCacheStore;
+   }
+
+   public void testConcurrentWritesAndDeletes() throws Exception {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < NUM_WRITERS; i++) {
+         String prefix = "w" + i + "-";
+         futures.add(fork(() -> {
+            for (int j = 0; j < NUM_ENTRIES; j++) {
+               cl.write(marshalledEntry(internalCacheEntry(prefix + j, "v" + j, -1)));
+            }
+            // A delete only removes the row once
+            for (int j = 0; j < NUM_ENTRIES; j += 2) {
+               assertTrue(cl.delete(prefix + j));
+               assertFalse(cl.delete(prefix + j));
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      assertEquals(NUM_WRITERS * NUM_ENTRIES / 2, cl.size());
+      for (int i = 0; i < NUM_WRITERS; i++) {
+         for (int j = 0; j < NUM_ENTRIES; j++) {
+            if (j % 2 == 0) {
+               assertNull(cl.loadEntry("w" + i + "-" + j));
+            } else {
+               assertEquals("v" + j, unwrap(cl.loadEntry("w" + i + "-" + j).getValue()));
+            }
+         }
+      }
+   }
+
+   public void testConnectionFailureFailsAllWriters() throws Exception {
+      JdbcStringBasedStore store = (JdbcStringBasedStore) cl;
+      ConnectionFactory connectionFactory = store.getConnectionFactory();
+      ConnectionFactory failingConnectionFactory = spy(connectionFactory);
+      doThrow(new PersistenceException("No connection")).when(failingConnectionFactory).getConnection();
+      store.setConnectionFactory(failingConnectionFactory);
+      try {
+         List<Future<Void>> futures = new ArrayList<>();
+         for (int i = 0; i < NUM_WRITERS; i++) {
+            String key = "k" + i;
+            futures.add(fork(() -> {
+               cl.write(marshalledEntry(internalCacheEntry(key, "v", -1)));
+               return null;
+            }));
+         }
+         // Every writer fails, including the ones whose modification was in the batch of another writer
+         for (Future<Void> future : futures) {
+            Exceptions.expectExecutionException(PersistenceException.class, "No connection", future, 30, TimeUnit.SECONDS);
+         }
+      } finally {
+         store.setConnectionFactory(connectionFactory);
+      }
+
+      cl.write(marshalledEntry(internalCacheEntry("k", "v", -1)));
+      assertEquals("v", unwrap(cl.loadEntry("k").getValue()));
+   }
+
+   @Override
+   protected boolean storePurgesAllExpired() {
+      // expiration listener is not called for the entries
+      return false;
+   }
+}
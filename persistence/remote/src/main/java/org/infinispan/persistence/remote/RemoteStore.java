@@ -8,6 +8,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.DataFormat;
@@ -243,6 +244,22 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       }
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+      if (configuration.rawValues()) {
+         // Only the single key get returns the metadata of raw values
+         return NonBlockingStore.super.loadAll(keys, segmentMapper);
+      }
+      return Flowable.defer(() -> {
+         Set<Object> unwrappedKeys = keys.stream().map(RemoteStore::unwrap).collect(Collectors.toSet());
+         return Flowable.fromCompletionStage(remoteCache.getAllAsync(unwrappedKeys))
+               .flatMapIterable(Map::entrySet)
+               .map(e -> e.getValue() instanceof MarshalledValue ?
+                     entryFactory.create(wrap(e.getKey()), (MarshalledValue) e.getValue()) :
+                     entryFactory.create(wrap(e.getKey()), e.getValue()));
+      });
+   }
+
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
       key = unwrap(key);
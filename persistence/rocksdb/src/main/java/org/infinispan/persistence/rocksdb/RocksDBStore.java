@@ -17,12 +17,17 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import org.infinispan.AdvancedCache;
@@ -43,8 +48,11 @@
 import org.infinispan.marshall.persistence.impl.MarshallableEntryImpl;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.metrics.impl.CacheMetricsRegistration;
 import org.infinispan.persistence.internal.PersistenceUtil;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration;
+import org.infinispan.persistence.rocksdb.internal.RocksDBSharedResources;
+import org.infinispan.persistence.rocksdb.internal.RocksDBStatistics;
 import org.infinispan.persistence.rocksdb.logging.Log;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
@@ -60,16 +68,21 @@
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.BuiltinComparator;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
@@ -103,6 +116,13 @@
    private KeyPartitioner keyPartitioner;
    private MarshallableEntryFactory<K, V> entryFactory;
    private BlockingManager blockingManager;
+   private RocksDBSharedResources sharedResources;
+   private Cache blockCache;
+   private BloomFilter bloomFilter;
+   private BlockBasedTableConfig tableFormatConfig;
+   private Statistics statistics;
+   private RocksDBStatistics statisticsInfo;
+   private WriteCoalescer writeCoalescer;
 
    @Override
    public CompletionStage<Void> start(InitializationContext ctx) {
@@ -133,6 +153,14 @@ public CompletionStage<Void> start(InitializationContext ctx) {
          }
       }
 
+      initTableFormatConfig();
+      if (ctx.getCache().getCacheConfiguration().statistics().enabled()) {
+         statistics = new Statistics();
+      }
+      if (configuration.coalesceWrites()) {
+         writeCoalescer = new WriteCoalescer();
+      }
+
       return blockingManager.runBlocking(() -> {
          try {
             initDefaultHandler();
@@ -149,9 +177,50 @@ public CompletionStage<Void> start(InitializationContext ctx) {
          } catch (Exception e) {
             throw new CacheConfigurationException("Unable to open database", e);
          }
+         registerMetrics();
       }, "rocksdb-open");
    }
 
+   /**
+    * The block cache, bloom filters and block size are only configured when set, otherwise the data column families
+    * keep the table options of their properties
+    */
+   private void initTableFormatConfig() {
+      if (!configuration.sharedCache() && configuration.cacheSize() <= 0 && configuration.blockSize() <= 0 &&
+            configuration.bloomFilterBitsPerKey() <= 0) {
+         return;
+      }
+      tableFormatConfig = new BlockBasedTableConfig();
+      if (configuration.sharedCache()) {
+         sharedResources = ctx.getCache().getAdvancedCache().getComponentRegistry().getGlobalComponentRegistry()
+               .getComponent(RocksDBSharedResources.class);
+         sharedResources.acquire(configuration.cacheSize());
+         tableFormatConfig.setBlockCache(sharedResources.blockCache());
+      } else if (configuration.cacheSize() > 0) {
+         blockCache = new LRUCache(configuration.cacheSize());
+         tableFormatConfig.setBlockCache(blockCache);
+      }
+      if (configuration.blockSize() > 0) {
+         tableFormatConfig.setBlockSize(configuration.blockSize());
+      }
+      if (configuration.bloomFilterBitsPerKey() > 0) {
+         bloomFilter = new BloomFilter(configuration.bloomFilterBitsPerKey(), false);
+         tableFormatConfig.setFilterPolicy(bloomFilter);
+      }
+   }
+
+   private void registerMetrics() {
+      if (statistics == null) {
+         return;
+      }
+      CacheMetricsRegistration metricsRegistration = ctx.getCache().getAdvancedCache().getComponentRegistry()
+            .getComponent(CacheMetricsRegistration.class);
+      if (metricsRegistration != null && metricsRegistration.metricsEnabled()) {
+         statisticsInfo = new RocksDBStatistics(statistics);
+         metricsRegistration.registerMetrics(statisticsInfo, "persistence", "rocksdb");
+      }
+   }
+
    private void initDefaultHandler() throws RocksDBException {
       this.handler = createHandler(getLocation(), getExpirationLocation());
       this.db = handler.db;
@@ -259,6 +328,13 @@ protected DBOptions dataDbOptions() {
       } else {
          dbOptions = new DBOptions();
       }
+      if (sharedResources != null) {
+         // The memory of the write buffers of all the stores is bounded by the shared block cache
+         dbOptions.setWriteBufferManager(sharedResources.writeBufferManager());
+      }
+      if (statistics != null) {
+         dbOptions.setStatistics(statistics);
+      }
       return dbOptions
             .setCreateIfMissing(true)
             // We have to create missing column families on open.
@@ -287,9 +363,34 @@ protected static RocksDB openDatabase(Path location, Options options) throws Roc
    public CompletionStage<Void> stop() {
       return blockingManager.runBlocking(() -> {
          handler.close();
+         closeResources();
       }, "rocksdb-stop");
    }
 
+   private void closeResources() {
+      if (statisticsInfo != null) {
+         statisticsInfo.close();
+         statisticsInfo = null;
+      }
+      if (statistics != null) {
+         statistics.close();
+         statistics = null;
+      }
+      if (bloomFilter != null) {
+         bloomFilter.close();
+         bloomFilter = null;
+      }
+      if (blockCache != null) {
+         blockCache.close();
+         blockCache = null;
+      }
+      if (sharedResources != null) {
+         sharedResources.release();
+         sharedResources = null;
+      }
+      tableFormatConfig = null;
+   }
+
    @Override
    public Set<Characteristic> characteristics() {
       return EnumSet.of(Characteristic.BULK_READ, Characteristic.EXPIRATION, Characteristic.SEGMENTABLE);
@@ -349,6 +450,11 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return handler.load(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+      return handler.loadAll(keys, segmentMapper);
+   }
+
    @Override
    public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublisher<Object>> removePublisher,
          Publisher<SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) {
@@ -708,6 +814,9 @@ ColumnFamilyDescriptor newDescriptor(byte[] name) {
          if (configuration.attributes().attribute(RocksDBStoreConfiguration.COMPRESSION_TYPE).isModified()) {
             columnFamilyOptions.setCompressionType(configuration.compressionType().getValue());
          }
+         if (tableFormatConfig != null) {
+            columnFamilyOptions.setTableFormatConfig(tableFormatConfig);
+         }
          return new ColumnFamilyDescriptor(name, columnFamilyOptions);
       }
 
@@ -737,6 +846,43 @@ CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
          }
       }
 
+      Publisher<MarshallableEntry<K, V>> loadAll(Set<Object> keys, ToIntFunction<Object> segmentMapper) {
+         return blockingManager.blockingPublisher(Flowable.defer(() -> {
+            List<Object> loadedKeys = new ArrayList<>(keys.size());
+            List<ColumnFamilyHandle> handles = new ArrayList<>(keys.size());
+            List<byte[]> marshalledKeys = new ArrayList<>(keys.size());
+            for (Object key : keys) {
+               ColumnFamilyHandle handle = getHandle(segmentMapper.applyAsInt(key));
+               if (handle == null) {
+                  log.tracef("Ignoring load of key %s as handle is not currently configured", key);
+                  continue;
+               }
+               loadedKeys.add(key);
+               handles.add(handle);
+               marshalledKeys.add(marshall(key));
+            }
+            if (loadedKeys.isEmpty()) {
+               return Flowable.empty();
+            }
+            // A single request looks up all the keys, instead of one request per key
+            List<byte[]> entriesBytes;
+            try {
+               entriesBytes = db.multiGetAsList(handles, marshalledKeys);
+            } catch (RocksDBException e) {
+               throw new PersistenceException(e);
+            }
+            long now = timeService.wallClockTime();
+            List<MarshallableEntry<K, V>> entries = new ArrayList<>(entriesBytes.size());
+            for (int i = 0; i < entriesBytes.size(); ++i) {
+               MarshallableEntry<K, V> me = unmarshallEntry(loadedKeys.get(i), entriesBytes.get(i));
+               if (me != null && !me.isExpired(now)) {
+                  entries.add(me);
+               }
+            }
+            return Flowable.fromIterable(entries);
+         }));
+      }
+
       CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> me) {
          ColumnFamilyHandle handle = getHandle(segment);
          if (handle == null) {
@@ -746,6 +892,9 @@ CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extend
          try {
             byte[] marshalledKey = MarshallUtil.toByteArray(me.getKeyBytes());
             byte[] marshalledValue = marshall(me.getMarshalledValue());
+            if (writeCoalescer != null) {
+               return writeCoalescer.submit(new PendingWrite(handle, marshalledKey, marshalledValue, me));
+            }
             return blockingManager.runBlocking(() -> {
                try {
                   db.put(handle, marshalledKey, marshalledValue);
@@ -766,6 +915,10 @@ CompletionStage<Boolean> delete(int segment, Object key) {
          try {
             byte[] keyBytes = marshall(key);
             ColumnFamilyHandle handle = getHandle(segment);
+            if (writeCoalescer != null) {
+               return writeCoalescer.submit(new PendingWrite(handle, keyBytes, null, null))
+                     .thenApply(ignore -> null);
+            }
             return blockingManager.supplyBlocking(() -> {
                try {
                   db.delete(handle, keyBytes);
@@ -1094,6 +1247,98 @@ CompletionStage<Void> removeSegments(IntSet segments) {
       }
    }
 
+   /**
+    * Coalesces the concurrent writes and deletes into a single write batch. The pending modifications are written by a
+    * single blocking task at a time, which drains up to {@link RocksDBStoreConfiguration#maxBatchSize()} of them into a
+    * write batch, and the stage of each modification completes once its batch is written.
+    */
+   private class WriteCoalescer {
+      private final Queue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+      private final AtomicBoolean flushing = new AtomicBoolean();
+
+      CompletionStage<Void> submit(PendingWrite write) {
+         queue.add(write);
+         tryFlush();
+         return write.future;
+      }
+
+      private void tryFlush() {
+         if (queue.isEmpty() || !flushing.compareAndSet(false, true)) {
+            return;
+         }
+         blockingManager.supplyBlocking(this::flush, "rocksdb-coalesced-write")
+               .whenComplete((writes, t) -> {
+                  flushing.set(false);
+                  if (t != null) {
+                     // The task could not run, fail the modifications it would have written
+                     PendingWrite write;
+                     while ((write = queue.poll()) != null) {
+                        write.future.completeExceptionally(t);
+                     }
+                     return;
+                  }
+                  // The modifications submitted while the batch was written are flushed by the next batch
+                  tryFlush();
+                  for (PendingWrite write : writes) {
+                     if (write.failure != null) {
+                        write.future.completeExceptionally(write.failure);
+                     } else {
+                        write.future.complete(null);
+                     }
+                  }
+               });
+      }
+
+      private List<PendingWrite> flush() {
+         int maxBatchSize = Math.max(1, configuration.maxBatchSize());
+         List<PendingWrite> writes = new ArrayList<>();
+         PendingWrite polled;
+         while (writes.size() < maxBatchSize && (polled = queue.poll()) != null) {
+            writes.add(polled);
+         }
+         try (WriteBatch batch = new WriteBatch()) {
+            for (PendingWrite write : writes) {
+               if (write.value == null) {
+                  batch.delete(write.handle, write.key);
+               } else {
+                  batch.put(write.handle, write.key, write.value);
+               }
+            }
+            db.write(dataWriteOptions(), batch);
+            for (PendingWrite write : writes) {
+               if (write.entry != null && write.entry.expiryTime() > -1) {
+                  addNewExpiry(expiredDb, write.entry);
+               }
+            }
+         } catch (Throwable t) {
+            PersistenceException failure = t instanceof PersistenceException ? (PersistenceException) t :
+                  new PersistenceException(t);
+            for (PendingWrite write : writes) {
+               write.failure = failure;
+            }
+         }
+         return writes;
+      }
+   }
+
+   private class PendingWrite {
+      final ColumnFamilyHandle handle;
+      final byte[] key;
+      // null for a delete
+      final byte[] value;
+      final MarshallableEntry<? extends K, ? extends V> entry;
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      // Only written by the task that wrote the batch, read once the task completed
+      PersistenceException failure;
+
+      PendingWrite(ColumnFamilyHandle handle, byte[] key, byte[] value, MarshallableEntry<? extends K, ? extends V> entry) {
+         this.handle = handle;
+         this.key = key;
+         this.value = value;
+         this.entry = entry;
+      }
+   }
+
    private void putExpireDbData(RocksDB expiredDb, ExpiryEntry entry) throws RocksDBException {
       final byte[] expiryBytes = marshall(entry.expiry);
       final byte[] existingBytes = expiredDb.get(expiryBytes);
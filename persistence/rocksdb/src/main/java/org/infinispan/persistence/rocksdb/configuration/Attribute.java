@@ -13,8 +13,10 @@ public enum Attribute {
    UNKNOWN(null),
 
    BLOCK_SIZE("block-size"),
+   BLOOM_FILTER_BITS_PER_KEY("bloom-filter-bits-per-key"),
    CACHE_SIZE("cache-size"),
    CLEAR_THRESHOLD("clear-threshold"),
+   COALESCE_WRITES("coalesce-writes"),
    COMPRESSION_TYPE("compressionType"),
    EXPIRED_LOCATION("expiredLocation"),
    EXPIRY_QUEUE_SIZE("expiryQueueSize"),
@@ -23,6 +25,7 @@ public enum Attribute {
    PATH("path"),
    RELATIVE_TO("relative-to"),
    QUEUE_SIZE("queue-size"),
+   SHARED_CACHE("shared-cache"),
    TYPE("type"),
    ;
 
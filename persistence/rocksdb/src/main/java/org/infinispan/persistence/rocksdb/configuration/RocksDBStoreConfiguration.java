@@ -30,10 +30,13 @@ public class RocksDBStoreConfiguration extends AbstractStoreConfiguration implem
    final static AttributeDefinition<Integer> BLOCK_SIZE = AttributeDefinition.builder("blockSize", 0).immutable().build();
    final static AttributeDefinition<Long> CACHE_SIZE = AttributeDefinition.builder("cacheSize", 0l).immutable().build();
    final static AttributeDefinition<Integer> CLEAR_THRESHOLD = AttributeDefinition.builder("clearThreshold", 10000).immutable().build();
+   final static AttributeDefinition<Integer> BLOOM_FILTER_BITS_PER_KEY = AttributeDefinition.builder("bloomFilterBitsPerKey", 0).immutable().build();
+   final static AttributeDefinition<Boolean> SHARED_CACHE = AttributeDefinition.builder("sharedCache", false).immutable().build();
+   final static AttributeDefinition<Boolean> COALESCE_WRITES = AttributeDefinition.builder("coalesceWrites", false).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(RocksDBStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, COMPRESSION_TYPE,
-            BLOCK_SIZE, CACHE_SIZE, CLEAR_THRESHOLD);
+            BLOCK_SIZE, CACHE_SIZE, CLEAR_THRESHOLD, BLOOM_FILTER_BITS_PER_KEY, SHARED_CACHE, COALESCE_WRITES);
    }
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(ROCKSDB_STORE.getLocalName(), true, false);
@@ -43,6 +46,9 @@ public static AttributeSet attributeDefinitionSet() {
    private final Attribute<Integer> blockSize;
    private final Attribute<Long> cacheSize;
    private final Attribute<Integer> clearThreshold;
+   private final Attribute<Integer> bloomFilterBitsPerKey;
+   private final Attribute<Boolean> sharedCache;
+   private final Attribute<Boolean> coalesceWrites;
    private final RocksDBExpirationConfiguration expiration;
 
    public RocksDBStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async, RocksDBExpirationConfiguration expiration) {
@@ -52,6 +58,9 @@ public RocksDBStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguratio
       blockSize = attributes.attribute(BLOCK_SIZE);
       cacheSize = attributes.attribute(CACHE_SIZE);
       clearThreshold = attributes.attribute(CLEAR_THRESHOLD);
+      bloomFilterBitsPerKey = attributes.attribute(BLOOM_FILTER_BITS_PER_KEY);
+      sharedCache = attributes.attribute(SHARED_CACHE);
+      coalesceWrites = attributes.attribute(COALESCE_WRITES);
       this.expiration = expiration;
       subElements.add(expiration);
    }
@@ -90,6 +99,18 @@ public Long cacheSize() {
       return cacheSize.get();
    }
 
+   public int bloomFilterBitsPerKey() {
+      return bloomFilterBitsPerKey.get();
+   }
+
+   public boolean sharedCache() {
+      return sharedCache.get();
+   }
+
+   public boolean coalesceWrites() {
+      return coalesceWrites.get();
+   }
+
    /**
     * @deprecated There is no more queue in {@link org.infinispan.persistence.rocksdb.RocksDBStore}
     */
@@ -2,11 +2,15 @@
 
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBExpirationConfiguration.EXPIRED_LOCATION;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.BLOCK_SIZE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.BLOOM_FILTER_BITS_PER_KEY;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.CACHE_SIZE;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.CLEAR_THRESHOLD;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.COALESCE_WRITES;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.COMPRESSION_TYPE;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.LOCATION;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.SHARED_CACHE;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
@@ -88,9 +92,40 @@ public RocksDBStoreConfigurationBuilder compressionType(CompressionType compress
       return self();
    }
 
+   /**
+    * The number of bits per key of the bloom filters of the data files, which allow the reads of absent keys to skip
+    * the files. Defaults to <code>0</code>, which disables the bloom filters.
+    */
+   public RocksDBStoreConfigurationBuilder bloomFilterBitsPerKey(int bloomFilterBitsPerKey) {
+      attributes.attribute(BLOOM_FILTER_BITS_PER_KEY).set(bloomFilterBitsPerKey);
+      return self();
+   }
+
+   /**
+    * Whether the store uses the block cache and the write buffer manager shared by all the RocksDB stores of the cache
+    * manager that enable it, instead of a block cache of its own. The shared block cache is sized with the
+    * {@link #cacheSize(long)} of the first store that opens it, and the memory of the write buffers is charged to it.
+    */
+   public RocksDBStoreConfigurationBuilder sharedCache(boolean sharedCache) {
+      attributes.attribute(SHARED_CACHE).set(sharedCache);
+      return self();
+   }
+
+   /**
+    * Whether the concurrent writes and deletes are coalesced into a single write batch, instead of writing each of
+    * them to the database separately.
+    */
+   public RocksDBStoreConfigurationBuilder coalesceWrites(boolean coalesceWrites) {
+      attributes.attribute(COALESCE_WRITES).set(coalesceWrites);
+      return self();
+   }
+
    @Override
    public void validate() {
       // how do you validate required attributes?
+      if (attributes.attribute(BLOOM_FILTER_BITS_PER_KEY).get() < 0) {
+         throw new CacheConfigurationException("The bloom filter bits per key must not be negative");
+      }
       super.validate();
       expiration.validate();
    }
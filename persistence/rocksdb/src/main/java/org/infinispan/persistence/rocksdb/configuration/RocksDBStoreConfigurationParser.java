@@ -77,6 +77,18 @@ private void parseRocksDBCacheStore(ConfigurationReader reader, RocksDBStoreConf
                builder.cacheSize(Long.parseLong(value));
                break;
             }
+            case BLOOM_FILTER_BITS_PER_KEY: {
+               builder.bloomFilterBitsPerKey(Integer.parseInt(value));
+               break;
+            }
+            case SHARED_CACHE: {
+               builder.sharedCache(Boolean.parseBoolean(value));
+               break;
+            }
+            case COALESCE_WRITES: {
+               builder.coalesceWrites(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                Parser.parseStoreAttribute(reader, i, builder);
             }
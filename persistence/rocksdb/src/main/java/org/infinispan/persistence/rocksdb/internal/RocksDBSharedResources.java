@@ -0,0 +1,65 @@
+package org.infinispan.persistence.rocksdb.internal;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+import org.rocksdb.WriteBufferManager;
+
+/**
+ * The block cache and the write buffer manager shared by the RocksDB stores of a cache manager that enable {@link
+ * org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration#sharedCache()}.
+ * <p>
+ * They are created when the first store acquires them, sized with its cache size, and closed once the last store
+ * released them. The memory of the write buffers of all the stores is limited to half of the block cache and charged
+ * to it, so that the block cache bounds the memory used by all the stores.
+ *
+ * @since 13.0
+ */
+public class RocksDBSharedResources {
+   // Used when the first store does not configure the cache size
+   static final long DEFAULT_CACHE_SIZE = 64L * 1024 * 1024;
+
+   private Cache blockCache;
+   private WriteBufferManager writeBufferManager;
+   private int usage;
+
+   /**
+    * Must be paired with {@link #release()} once the store is stopped
+    */
+   public synchronized void acquire(long cacheSize) {
+      if (usage++ == 0) {
+         long size = cacheSize > 0 ? cacheSize : DEFAULT_CACHE_SIZE;
+         blockCache = new LRUCache(size);
+         writeBufferManager = new WriteBufferManager(size / 2, blockCache);
+      }
+   }
+
+   public synchronized Cache blockCache() {
+      return blockCache;
+   }
+
+   public synchronized WriteBufferManager writeBufferManager() {
+      return writeBufferManager;
+   }
+
+   public synchronized int getUsage() {
+      return usage;
+   }
+
+   public synchronized void release() {
+      if (usage > 0 && --usage == 0) {
+         close();
+      }
+   }
+
+   synchronized void close() {
+      if (writeBufferManager != null) {
+         writeBufferManager.close();
+         writeBufferManager = null;
+      }
+      if (blockCache != null) {
+         blockCache.close();
+         blockCache = null;
+      }
+      usage = 0;
+   }
+}
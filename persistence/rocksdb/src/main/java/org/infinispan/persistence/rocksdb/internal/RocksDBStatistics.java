@@ -0,0 +1,101 @@
+package org.infinispan.persistence.rocksdb.internal;
+
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+
+/**
+ * Exposes the internal statistics of the database of a RocksDB store as metrics.
+ *
+ * @since 13.0
+ */
+@MBean(objectName = "RocksDBStatistics", description = "Internal statistics of the RocksDB store database")
+public final class RocksDBStatistics {
+   private Statistics statistics;
+
+   public RocksDBStatistics(Statistics statistics) {
+      this.statistics = statistics;
+   }
+
+   /**
+    * Invoked before the statistics are closed, the metrics are 0 afterwards
+    */
+   public synchronized void close() {
+      statistics = null;
+   }
+
+   private synchronized long ticker(TickerType type) {
+      return statistics != null ? statistics.getTickerCount(type) : 0;
+   }
+
+   @ManagedAttribute(
+         description = "Time the writes were stalled by the database to let the flushes and compactions catch up",
+         displayName = "Write stall time",
+         units = Units.MICROSECONDS,
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getStallMicros() {
+      return ticker(TickerType.STALL_MICROS);
+   }
+
+   @ManagedAttribute(
+         description = "Number of bytes read by the compactions",
+         displayName = "Compaction read bytes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompactionReadBytes() {
+      return ticker(TickerType.COMPACT_READ_BYTES);
+   }
+
+   @ManagedAttribute(
+         description = "Number of bytes written by the compactions",
+         displayName = "Compaction write bytes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompactionWriteBytes() {
+      return ticker(TickerType.COMPACT_WRITE_BYTES);
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads of the block cache that found the block",
+         displayName = "Block cache hits",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBlockCacheHits() {
+      return ticker(TickerType.BLOCK_CACHE_HIT);
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads of the block cache that did not find the block",
+         displayName = "Block cache misses",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBlockCacheMisses() {
+      return ticker(TickerType.BLOCK_CACHE_MISS);
+   }
+
+   @ManagedAttribute(
+         description = "Percentage hit/(hit+miss) ratio for the block cache",
+         displayName = "Block cache hit ratio",
+         units = Units.PERCENTAGE
+   )
+   public double getBlockCacheHitRatio() {
+      long hits = getBlockCacheHits();
+      double total = hits + getBlockCacheMisses();
+      if (total <= 0)
+         return 0;
+      return hits / total;
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads of data files skipped because their bloom filter excluded the key",
+         displayName = "Bloom filter useful",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBloomFilterUseful() {
+      return ticker(TickerType.BLOOM_FILTER_USEFUL);
+   }
+}
@@ -0,0 +1,24 @@
+package org.infinispan.persistence.rocksdb.internal;
+
+import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.factories.GlobalComponentRegistry;
+import org.infinispan.factories.annotations.InfinispanModule;
+import org.infinispan.lifecycle.ModuleLifecycle;
+
+/**
+ * Registers the resources shared by the RocksDB stores of a cache manager.
+ *
+ * @since 13.0
+ */
+@InfinispanModule(name = "cachestore-rocksdb", requiredModules = "core")
+public class RocksDBStoreLifecycleManager implements ModuleLifecycle {
+   @Override
+   public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguration globalConfiguration) {
+      gcr.registerComponent(new RocksDBSharedResources(), RocksDBSharedResources.class);
+   }
+
+   @Override
+   public void cacheManagerStopping(GlobalComponentRegistry gcr) {
+      gcr.getComponent(RocksDBSharedResources.class).close();
+   }
+}
@@ -0,0 +1,106 @@
+package org.infinispan.persistence.rocksdb;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
+import org.infinispan.persistence.rocksdb.internal.RocksDBSharedResources;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the RocksDB stores sharing the block cache of the cache manager, with bloom filters and coalesced writes.
+ *
+ * @since 13.0
+ */
+@Test(groups = "unit", testName = "persistence.rocksdb.RocksDBSharedResourcesTest")
+public class RocksDBSharedResourcesTest extends SingleCacheManagerTest {
+   private static final int NUM_WRITERS = 4;
+   private static final int NUM_ENTRIES = 100;
+
+   private final String tmpDirectory = CommonsTestingUtil.tmpDirectory(this.getClass());
+
+   @AfterClass(alwaysRun = true)
+   protected void clearTempDir() {
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder().nonClusteredDefault();
+      global.globalState().persistentLocation(tmpDirectory);
+      return TestCacheManagerFactory.createCacheManager(global, new ConfigurationBuilder());
+   }
+
+   public void testSharedCache() throws Exception {
+      RocksDBSharedResources sharedResources = TestingUtil.extractGlobalComponent(cacheManager, RocksDBSharedResources.class);
+      Cache<String, String> first = defineAndStart("first");
+      Cache<String, String> second = defineAndStart("second");
+      assertEquals(2, sharedResources.getUsage());
+
+      writeConcurrently(first);
+      writeConcurrently(second);
+      for (Cache<String, String> cache : Arrays.asList(first, second)) {
+         cache.getAdvancedCache().getDataContainer().clear();
+         for (int i = 0; i < NUM_WRITERS; i++) {
+            for (int j = 0; j < NUM_ENTRIES; j++) {
+               String key = "w" + i + "-" + j;
+               assertEquals(j % 2 == 0 ? null : "v" + j, cache.get(key));
+            }
+         }
+      }
+
+      first.stop();
+      assertEquals(1, sharedResources.getUsage());
+      second.stop();
+      assertEquals(0, sharedResources.getUsage());
+   }
+
+   private Cache<String, String> defineAndStart(String cacheName) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.statistics().enable();
+      builder.persistence()
+            .addStore(RocksDBStoreConfigurationBuilder.class)
+               .location(tmpDirectory + "/" + cacheName + "/data")
+               .expiredLocation(tmpDirectory + "/" + cacheName + "/expired")
+               .cacheSize(8 * 1024 * 1024)
+               .sharedCache(true)
+               .bloomFilterBitsPerKey(10)
+               .coalesceWrites(true);
+      cacheManager.defineConfiguration(cacheName, builder.build());
+      return cacheManager.getCache(cacheName);
+   }
+
+   private void writeConcurrently(Cache<String, String> cache) throws Exception {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < NUM_WRITERS; i++) {
+         String prefix = "w" + i + "-";
+         futures.add(fork(() -> {
+            for (int j = 0; j < NUM_ENTRIES; j++) {
+               cache.put(prefix + j, "v" + j);
+            }
+            for (int j = 0; j < NUM_ENTRIES; j += 2) {
+               cache.remove(prefix + j);
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+   }
+}
@@ -82,5 +82,8 @@ public void testXmlConfig() throws IOException {
       RocksDBStoreConfiguration rocksdbConfig = (RocksDBStoreConfiguration) cacheLoaderConfig;
       assertEquals("/tmp/rocksdb/52/data", rocksdbConfig.location());
       assertEquals("/tmp/rocksdb/52/expired", rocksdbConfig.expiredLocation());
+      assertEquals(10, rocksdbConfig.bloomFilterBitsPerKey());
+      assertTrue(rocksdbConfig.sharedCache());
+      assertTrue(rocksdbConfig.coalesceWrites());
    }
 }
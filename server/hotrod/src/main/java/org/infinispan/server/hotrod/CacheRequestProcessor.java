@@ -53,6 +53,21 @@ void ping(HotRodHeader header, Subject subject) {
       writeResponse(header, header.encoder().pingResponse(header, server, channel, OperationStatus.Success));
    }
 
+   void segmentVersions(HotRodHeader header, Subject subject) {
+      ExtendedCacheInfo cacheInfo = server.getCacheInfo(header);
+      // check the permissions of the client before tracking the cache
+      server.cache(cacheInfo, header, subject);
+      executor.execute(() -> {
+         try {
+            SegmentInvalidationVersions versions = server.getInvalidationVersions(header.cacheName, cacheInfo);
+            writeResponse(header, header.encoder().segmentVersionsResponse(header, server, channel, versions.epoch(),
+                  versions.numSegments(), versions.primarySequences()));
+         } catch (Throwable t) {
+            writeException(header, t);
+         }
+      });
+   }
+
    void stats(HotRodHeader header, Subject subject) {
       AdvancedCache<byte[], byte[]> cache = server.cache(server.getCacheInfo(header), header, subject);
       executor.execute(() -> writeResponse(header, header.encoder().statsResponse(header, server, channel,
@@ -437,6 +452,10 @@ private void clearInternal(HotRodHeader header, AdvancedCache<byte[], byte[]> ca
          if (throwable != null) {
             writeException(header, throwable);
          } else {
+            SegmentInvalidationVersions versions = server.peekInvalidationVersions(header.cacheName);
+            if (versions != null) {
+               versions.invalidateAll();
+            }
             writeSuccess(header);
          }
          RequestTracer.requestEnd(span);
@@ -382,6 +382,19 @@ public ByteBuf longResponse(HotRodHeader header, HotRodServer server, Channel ch
       return buf;
    }
 
+   @Override
+   public ByteBuf segmentVersionsResponse(HotRodHeader header, HotRodServer server, Channel channel, long epoch, int numSegments, Map<Integer, Long> sequences) {
+      ByteBuf buf = writeHeader(header, server, channel, OperationStatus.Success);
+      buf.writeLong(epoch);
+      writeUnsignedInt(numSegments, buf);
+      writeUnsignedInt(sequences.size(), buf);
+      sequences.forEach((segment, sequence) -> {
+         writeUnsignedInt(segment, buf);
+         writeUnsignedLong(sequence, buf);
+      });
+      return buf;
+   }
+
    @Override
    public ByteBuf transactionResponse(HotRodHeader header, HotRodServer server, Channel channel, int xaReturnCode) {
       ByteBuf buf = writeHeader(header, server, channel, OperationStatus.Success);
@@ -42,12 +42,13 @@ public enum HotRodOperation {
    QUERY(0x1F, 0x20, EnumSet.of(OpReqs.REQUIRES_AUTH)),
    ADD_CLIENT_LISTENER(0x25, 0x26, EnumSet.of(OpReqs.REQUIRES_AUTH)),
    REMOVE_CLIENT_LISTENER(0x27, 0x28, EnumSet.of(OpReqs.REQUIRES_AUTH)),
-   ITERATION_START(0x31, 0x32, EnumSet.of(OpReqs.REQUIRES_AUTH)),
+   ITERATION_START(0x31, 0x32, EnumSet.of(OpReqs.REQUIRES_AUTH, OpReqs.CAN_SKIP_CACHE_LOAD)),
    ITERATION_NEXT(0x33, 0x34, EnumSet.of(OpReqs.REQUIRES_AUTH)),
    ITERATION_END(0x35, 0x36, EnumSet.of(OpReqs.REQUIRES_AUTH)),
 
    ADD_BLOOM_FILTER_CLIENT_LISTENER(HotRodConstants.ADD_BLOOM_FILTER_NEAR_CACHE_LISTENER_REQUEST, HotRodConstants.ADD_BLOOM_FILTER_NEAR_CACHE_LISTENER_REQUEST + 1, EnumSet.of(OpReqs.REQUIRES_AUTH)),
    UPDATE_BLOOM_FILTER(HotRodConstants.UPDATE_BLOOM_FILTER_REQUEST, HotRodConstants.UPDATE_BLOOM_FILTER_REQUEST + 1, EnumSet.of(OpReqs.REQUIRES_AUTH)),
+   NEAR_CACHE_SEGMENT_VERSIONS(HotRodConstants.NEAR_CACHE_SEGMENT_VERSIONS_REQUEST, HotRodConstants.NEAR_CACHE_SEGMENT_VERSIONS_REQUEST + 1, EnumSet.of(OpReqs.REQUIRES_AUTH)),
 
    // Operations that end after a Custom Value is read
    PUT_ALL(0x2D, 0x2E, EnumSet.of(OpReqs.REQUIRES_AUTH, OpReqs.CAN_SKIP_INDEXING, OpReqs.CAN_SKIP_CACHE_LOAD)),
@@ -83,6 +83,7 @@
 import org.infinispan.server.hotrod.logging.Log;
 import org.infinispan.server.hotrod.transport.TimeoutEnabledChannelInitializer;
 import org.infinispan.util.KeyValuePair;
+import org.infinispan.util.concurrent.CompletionStages;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
@@ -110,6 +111,7 @@ public class HotRodServer extends AbstractProtocolServer<HotRodServerConfigurati
    private ServerAddress address;
    private Cache<Address, ServerAddress> addressCache;
    private final Map<String, ExtendedCacheInfo> knownCaches = new ConcurrentHashMap<>();
+   private final Map<String, SegmentInvalidationVersions> invalidationVersions = new ConcurrentHashMap<>();
    private QueryFacade queryFacade;
    private ClientListenerRegistry clientListenerRegistry;
    private Marshaller marshaller;
@@ -142,6 +144,25 @@ byte[] query(AdvancedCache<byte[], byte[]> cache, byte[] query) {
       return queryFacade.query(cache, query);
    }
 
+   /**
+    * Returns the invalidation sequence numbers of the segments of a cache, tracking them from now on if they were not
+    * tracked yet.
+    */
+   SegmentInvalidationVersions getInvalidationVersions(String cacheName, ExtendedCacheInfo cacheInfo) {
+      return invalidationVersions.computeIfAbsent(cacheName, name -> {
+         SegmentInvalidationVersions versions = new SegmentInvalidationVersions(cacheInfo.getCache(), cacheInfo.distributionManager);
+         CompletionStages.join(versions.start());
+         return versions;
+      });
+   }
+
+   /**
+    * @return the invalidation sequence numbers of the segments of a cache, or {@code null} if they are not tracked
+    */
+   SegmentInvalidationVersions peekInvalidationVersions(String cacheName) {
+      return invalidationVersions.get(cacheName);
+   }
+
    public ClientListenerRegistry getClientListenerRegistry() {
       return clientListenerRegistry;
    }
@@ -523,6 +544,8 @@ public void stop() {
          scheduledExecutor.shutdownNow();
       }
 
+      invalidationVersions.values().forEach(SegmentInvalidationVersions::stop);
+      invalidationVersions.clear();
       if (clientListenerRegistry != null) clientListenerRegistry.stop();
       if (clientCounterNotificationManager != null) clientCounterNotificationManager.stop();
       super.stop();
@@ -665,6 +688,7 @@ class RemoveCacheListener {
       @CacheStopped
       public void cacheStopped(CacheStoppedEvent event) {
          knownCaches.remove(event.getCacheName());
+         invalidationVersions.remove(event.getCacheName());
       }
    }
 
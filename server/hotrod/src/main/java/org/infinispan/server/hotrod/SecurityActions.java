@@ -2,6 +2,7 @@
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.concurrent.CompletionStage;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
@@ -73,6 +74,10 @@ static void addListener(EmbeddedCacheManager cacheManager, Object listener) {
       doPrivileged(new AddCacheManagerListenerAction(cacheManager, listener));
    }
 
+   static CompletionStage<Void> addListenerAsync(Listenable listenable, Object listener) {
+      return doPrivileged(() -> listenable.addListenerAsync(listener));
+   }
+
    static void removeListener(Listenable listenable, Object listener) {
       RemoveListenerAction action = new RemoveListenerAction(listenable, listener);
       doPrivileged(action);
@@ -0,0 +1,111 @@
+package org.infinispan.server.hotrod;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryExpired;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.remoting.transport.Address;
+
+/**
+ * Tracks an invalidation sequence number for each segment of a cache, so that a near cache reconnecting after a
+ * failover only has to invalidate the segments that were modified while it was disconnected.
+ * <p>
+ * Only the primary owner of a segment tracks it, and it reports the sequence numbers together with its epoch, which
+ * is chosen randomly when the tracking starts: a sequence number can only be compared with one read from the same
+ * epoch. A node that becomes the primary owner of a segment increments its sequence number, as it did not observe
+ * the modifications done while it was not the primary owner. Like the near cache invalidation events, clearing the
+ * cache is only tracked when the clear is received by this node.
+ *
+ * @since 13.0
+ */
+@Listener(primaryOnly = true, observation = Listener.Observation.POST)
+class SegmentInvalidationVersions {
+   private final long epoch = ThreadLocalRandom.current().nextLong();
+   private final AdvancedCache<byte[], byte[]> cache;
+   private final DistributionManager distributionManager;
+   private final AtomicLongArray sequences;
+
+   SegmentInvalidationVersions(AdvancedCache<byte[], byte[]> cache, DistributionManager distributionManager) {
+      this.cache = cache.withStorageMediaType();
+      this.distributionManager = distributionManager;
+      this.sequences = new AtomicLongArray(distributionManager == null ? 1 :
+            distributionManager.getReadConsistentHash().getNumSegments());
+   }
+
+   CompletionStage<Void> start() {
+      return SecurityActions.addListenerAsync(cache, this);
+   }
+
+   void stop() {
+      SecurityActions.removeListener(cache, this);
+   }
+
+   long epoch() {
+      return epoch;
+   }
+
+   int numSegments() {
+      return sequences.length();
+   }
+
+   /**
+    * @return the sequence numbers of the segments this node is the primary owner of
+    */
+   Map<Integer, Long> primarySequences() {
+      Map<Integer, Long> primarySequences = new HashMap<>();
+      if (distributionManager == null) {
+         primarySequences.put(0, sequences.get(0));
+      } else {
+         LocalizedCacheTopology topology = distributionManager.getCacheTopology();
+         for (int segment : topology.getReadConsistentHash().getPrimarySegmentsForOwner(topology.getLocalAddress())) {
+            primarySequences.put(segment, sequences.get(segment));
+         }
+      }
+      return primarySequences;
+   }
+
+   /**
+    * Invalidates all the segments, e.g. after the cache was cleared.
+    */
+   void invalidateAll() {
+      for (int i = 0; i < sequences.length(); i++) {
+         sequences.incrementAndGet(i);
+      }
+   }
+
+   @CacheEntryCreated
+   @CacheEntryModified
+   @CacheEntryRemoved
+   @CacheEntryExpired
+   public void entryChanged(CacheEntryEvent<byte[], byte[]> event) {
+      int segment = distributionManager == null ? 0 : distributionManager.getCacheTopology().getSegment(event.getKey());
+      sequences.incrementAndGet(segment);
+   }
+
+   @TopologyChanged
+   public void topologyChanged(TopologyChangedEvent<byte[], byte[]> event) {
+      Address localAddress = distributionManager.getCacheTopology().getLocalAddress();
+      ConsistentHash start = event.getReadConsistentHashAtStart();
+      Set<Integer> previous = start == null ? null : start.getPrimarySegmentsForOwner(localAddress);
+      for (int segment : event.getReadConsistentHashAtEnd().getPrimarySegmentsForOwner(localAddress)) {
+         if (previous == null || !previous.contains(segment)) {
+            sequences.incrementAndGet(segment);
+         }
+      }
+   }
+}
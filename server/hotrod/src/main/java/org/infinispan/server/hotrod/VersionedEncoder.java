@@ -79,6 +79,8 @@ default ByteBuf pingResponse(HotRodHeader header, HotRodServer server, Channel c
 
    ByteBuf longResponse(HotRodHeader header, HotRodServer server, Channel channel, long value);
 
+   ByteBuf segmentVersionsResponse(HotRodHeader header, HotRodServer server, Channel channel, long epoch, int numSegments, Map<Integer, Long> sequences);
+
    ByteBuf transactionResponse(HotRodHeader header, HotRodServer server, Channel channel, int xaReturnCode);
 
    OperationStatus errorStatus(Throwable t);
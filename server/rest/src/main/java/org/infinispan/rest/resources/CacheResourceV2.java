@@ -50,6 +50,7 @@
 import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
 import org.infinispan.configuration.parsing.ParserRegistry;
 import org.infinispan.distribution.DistributionManager;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.manager.EmbeddedCacheManagerAdmin;
 import org.infinispan.marshall.core.EncoderRegistry;
 import org.infinispan.notifications.Listener;
@@ -77,8 +78,10 @@
 import org.infinispan.rest.framework.impl.Invocations;
 import org.infinispan.rest.logging.Log;
 import org.infinispan.security.AuditContext;
+import org.infinispan.security.AuthorizationManager;
 import org.infinispan.security.AuthorizationPermission;
 import org.infinispan.stats.Stats;
+import org.infinispan.stats.impl.HotKeyTracker;
 import org.infinispan.topology.LocalTopologyManager;
 import org.infinispan.upgrade.RollingUpgradeManager;
 
@@ -111,6 +114,9 @@ public Invocations getInvocations() {
             // Info and statistics
             .invocation().methods(GET, HEAD).path("/v2/caches/{cacheName}").withAction("config").handleWith(this::getCacheConfig)
             .invocation().methods(GET).path("/v2/caches/{cacheName}").withAction("stats").handleWith(this::getCacheStats)
+            .invocation().methods(GET).path("/v2/caches/{cacheName}").withAction("hot-keys")
+            .permission(AuthorizationPermission.BULK_READ)
+            .handleWith(this::getHotKeys)
 
             // List
             .invocation().methods(GET).path("/v2/caches/").handleWith(this::getCacheNames)
@@ -392,6 +398,17 @@ private CompletionStage<RestResponse> getCacheStats(RestRequest request) {
             asJsonResponse(cache.getAdvancedCache().getStats().toJson()), invocationHelper.getExecutor());
    }
 
+   private CompletionStage<RestResponse> getHotKeys(RestRequest request) {
+      String cacheName = request.variables().get("cacheName");
+      Cache<?, ?> cache = invocationHelper.getRestCacheManager().getCache(cacheName, request);
+      ComponentRegistry componentRegistry = SecurityActions.getComponentRegistry(cache.getAdvancedCache());
+      // The keys are returned, so the subject must be allowed to read all the entries of this cache
+      componentRegistry.getComponent(AuthorizationManager.class).checkPermission(request.getSubject(),
+            AuthorizationPermission.BULK_READ);
+      HotKeyTracker hotKeyTracker = componentRegistry.getComponent(HotKeyTracker.class);
+      return CompletableFuture.supplyAsync(() -> asJsonResponse(hotKeyTracker.toJson()), invocationHelper.getExecutor());
+   }
+
    private CompletionStage<RestResponse> getAllDetails(RestRequest request) {
       String cacheName = request.variables().get("cacheName");
       Cache<?, ?> cache = invocationHelper.getRestCacheManager().getCache(cacheName, request);
@@ -319,6 +319,33 @@ public void testCacheV2Stats() {
       assertThat(response).isOk().hasJson().hasProperty("current_number_of_entries").is(0);
    }
 
+   @Test
+   public void testCacheV2HotKeys() {
+      String cacheJson = "{ \"distributed-cache\" : { \"statistics\":true, \"statistics-hot-keys\":5 } }";
+      RestCacheClient cacheClient = client.cache("hotKeysCache");
+
+      RestEntity jsonEntity = RestEntity.create(APPLICATION_JSON, cacheJson);
+      CompletionStage<RestResponse> response = cacheClient.createWithConfiguration(jsonEntity, VOLATILE);
+      assertThat(response).isOk();
+
+      putStringValueInCache("hotKeysCache", "key1", "data");
+
+      RestResponse hotKeys = join(cacheClient.hotKeys());
+      if (security) {
+         // The keys are only returned to the subjects that can read all the entries
+         assertThat(hotKeys).isForbidden();
+         RestClient adminClient = RestClient.forConfiguration(getClientConfig().security().authentication().username("admin").password("admin").build());
+         hotKeys = join(adminClient.cache("hotKeysCache").hotKeys());
+         Util.close(adminClient);
+      }
+      assertThat(hotKeys).isOk();
+
+      Json jsonNode = Json.read(hotKeys.getBody());
+      assertTrue(jsonNode.at("reads").isArray());
+      assertTrue(jsonNode.at("writes").isArray());
+      assertTrue(jsonNode.at("lock_waits").isArray());
+   }
+
    @Test
    public void testCacheSize() {
       for (int i = 0; i < 100; i++) {
@@ -94,7 +94,7 @@ public MarshallableEntry next() {
 
                   if (header.valueLength() > 0) {
                      byte[] serializedKey = EntryRecord.readKey(handle, header, offset);
-                     byte[] serializedValue = EntryRecord.readValue(handle, header, offset);
+                     byte[] serializedValue = EntryRecord.decompress(header, EntryRecord.readValue(handle, header, offset));
 
                      offset += header.totalLength();
                      if (reader.read(handle, offset) == null) {